@@ -0,0 +1,225 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Класс ограничения выполнения регулярных выражений.
+ *
+ * <p>Ограничение задаётся количеством шагов, то есть обращений регулярного выражения
+ * к символам текста, и (или) временем выполнения. Ограничение действует на каждый вызов
+ * метода {@link Html} отдельно: все регулярные выражения одного вызова расходуют общий запас.
+ * При превышении ограничения выбрасывается {@link BudgetExceededException}.</p>
+ *
+ * <p>Ограничение применяется механизмом обработки {@link dev.kalenchukov.html.resources.EngineType#REGEXP}.
+ * Механизм {@link dev.kalenchukov.html.resources.EngineType#TOKENIZER} обрабатывает текст
+ * за линейное время и ограничение не проверяет.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class Budget
+{
+	/**
+	 * Отсутствие ограничений.
+	 */
+	@NotNull
+	private static final Budget UNLIMITED = new Budget(Long.MAX_VALUE, null);
+
+	/**
+	 * Максимальное количество шагов.
+	 */
+	private final long maxSteps;
+
+	/**
+	 * Максимальное время выполнения или {@code null}, если время не ограничено.
+	 */
+	@Nullable
+	private final Duration timeout;
+
+	/**
+	 * Конструктор для {@code Budget}.
+	 *
+	 * @param maxSteps максимальное количество шагов.
+	 * @param timeout максимальное время выполнения или {@code null}, если время не ограничено.
+	 */
+	private Budget(final long maxSteps, @Nullable final Duration timeout)
+	{
+		this.maxSteps = maxSteps;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Возвращает отсутствие ограничений.
+	 *
+	 * @return ограничение, которое никогда не превышается.
+	 */
+	@NotNull
+	public static Budget unlimited()
+	{
+		return UNLIMITED;
+	}
+
+	/**
+	 * Возвращает ограничение по количеству шагов.
+	 *
+	 * @param maxSteps максимальное количество обращений к символам текста.
+	 * @return ограничение.
+	 * @throws IllegalArgumentException если {@code maxSteps} меньше 1.
+	 */
+	@NotNull
+	public static Budget ofSteps(final long maxSteps)
+	{
+		if (maxSteps < 1) {
+			throw new IllegalArgumentException();
+		}
+
+		return new Budget(maxSteps, null);
+	}
+
+	/**
+	 * Возвращает ограничение по времени выполнения.
+	 *
+	 * @param timeout максимальное время выполнения.
+	 * @return ограничение.
+	 * @throws NullPointerException если в качестве {@code timeout} передан {@code null}.
+	 * @throws IllegalArgumentException если {@code timeout} не положительное.
+	 */
+	@NotNull
+	public static Budget ofTimeout(@NotNull final Duration timeout)
+	{
+		Objects.requireNonNull(timeout);
+
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException();
+		}
+
+		return new Budget(Long.MAX_VALUE, timeout);
+	}
+
+	/**
+	 * Возвращает это ограничение с указанным максимальным количеством шагов.
+	 *
+	 * @param maxSteps максимальное количество обращений к символам текста.
+	 * @return ограничение.
+	 * @throws IllegalArgumentException если {@code maxSteps} меньше 1.
+	 */
+	@NotNull
+	public Budget withSteps(final long maxSteps)
+	{
+		if (maxSteps < 1) {
+			throw new IllegalArgumentException();
+		}
+
+		return new Budget(maxSteps, this.timeout);
+	}
+
+	/**
+	 * Возвращает это ограничение с указанным максимальным временем выполнения.
+	 *
+	 * @param timeout максимальное время выполнения.
+	 * @return ограничение.
+	 * @throws NullPointerException если в качестве {@code timeout} передан {@code null}.
+	 * @throws IllegalArgumentException если {@code timeout} не положительное.
+	 */
+	@NotNull
+	public Budget withTimeout(@NotNull final Duration timeout)
+	{
+		Objects.requireNonNull(timeout);
+
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException();
+		}
+
+		return new Budget(this.maxSteps, timeout);
+	}
+
+	/**
+	 * Возвращает максимальное количество шагов.
+	 *
+	 * @return максимальное количество шагов или {@link Long#MAX_VALUE}, если количество шагов не ограничено.
+	 */
+	public long getMaxSteps()
+	{
+		return this.maxSteps;
+	}
+
+	/**
+	 * Возвращает максимальное время выполнения.
+	 *
+	 * @return максимальное время выполнения или {@code null}, если время не ограничено.
+	 */
+	@Nullable
+	public Duration getTimeout()
+	{
+		return this.timeout;
+	}
+
+	/**
+	 * Проверяет отсутствие ограничений.
+	 *
+	 * @return {@code true}, если ограничений нет, иначе {@code false}.
+	 */
+	public boolean isUnlimited()
+	{
+		return this.maxSteps == Long.MAX_VALUE && this.timeout == null;
+	}
+
+	/**
+	 * Начинает отсчёт ограничения для одного вызова.
+	 *
+	 * @return счётчик шагов вызова.
+	 */
+	@NotNull
+	BudgetMeter start()
+	{
+		long deadline = Long.MAX_VALUE;
+
+		if (this.timeout != null) {
+			deadline = System.nanoTime() + Budget.toNanos(this.timeout);
+		}
+
+		return new BudgetMeter(this.maxSteps, deadline);
+	}
+
+	/**
+	 * Возвращает продолжительность в наносекундах без переполнения.
+	 *
+	 * @param duration продолжительность.
+	 * @return продолжительность в наносекундах, но не более чем {@code Long.MAX_VALUE / 2}.
+	 */
+	private static long toNanos(@NotNull final Duration duration)
+	{
+		if (duration.compareTo(Duration.ofNanos(Long.MAX_VALUE / 2)) > 0) {
+			return Long.MAX_VALUE / 2;
+		}
+
+		return duration.toNanos();
+	}
+}
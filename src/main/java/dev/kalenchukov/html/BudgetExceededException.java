@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Regexp;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Исключение превышения ограничения выполнения регулярных выражений {@link Budget}.
+ *
+ * @author Алексей Каленчуков
+ */
+public final class BudgetExceededException extends RuntimeException
+{
+	/**
+	 * Версия сериализации.
+	 */
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Регулярное выражение, при выполнении которого превышено ограничение.
+	 */
+	@NotNull
+	private final Regexp regexp;
+
+	/**
+	 * Количество выполненных шагов.
+	 */
+	private final long steps;
+
+	/**
+	 * Конструктор для {@code BudgetExceededException}.
+	 *
+	 * @param regexp регулярное выражение, при выполнении которого превышено ограничение.
+	 * @param steps количество выполненных шагов.
+	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 */
+	public BudgetExceededException(@NotNull final Regexp regexp, final long steps)
+	{
+		super("Превышено ограничение выполнения регулярного выражения " + Objects.requireNonNull(regexp)
+			+ " после " + steps + " шагов.");
+
+		this.regexp = regexp;
+		this.steps = steps;
+	}
+
+	/**
+	 * Возвращает регулярное выражение, при выполнении которого превышено ограничение.
+	 *
+	 * @return регулярное выражение.
+	 */
+	@NotNull
+	public Regexp getRegexp()
+	{
+		return this.regexp;
+	}
+
+	/**
+	 * Возвращает количество шагов, выполненных до превышения ограничения.
+	 *
+	 * @return количество шагов.
+	 */
+	public long getSteps()
+	{
+		return this.steps;
+	}
+}
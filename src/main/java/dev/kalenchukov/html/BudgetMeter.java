@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Regexp;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Класс счётчика шагов одного вызова, ограниченного {@link Budget}.
+ *
+ * @author Алексей Каленчуков
+ */
+final class BudgetMeter
+{
+	/**
+	 * Количество шагов между проверками времени.
+	 */
+	private static final int CLOCK_INTERVAL = 4096;
+
+	/**
+	 * Максимальное количество шагов.
+	 */
+	private final long maxSteps;
+
+	/**
+	 * Момент окончания времени выполнения по {@link System#nanoTime()}
+	 * или {@link Long#MAX_VALUE}, если время не ограничено.
+	 */
+	private final long deadline;
+
+	/**
+	 * Количество выполненных шагов.
+	 */
+	private long steps;
+
+	/**
+	 * Конструктор для {@code BudgetMeter}.
+	 *
+	 * @param maxSteps максимальное количество шагов.
+	 * @param deadline момент окончания времени выполнения или {@link Long#MAX_VALUE}, если время не ограничено.
+	 */
+	BudgetMeter(final long maxSteps, final long deadline)
+	{
+		this.maxSteps = maxSteps;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Учитывает шаг регулярного выражения.
+	 *
+	 * @param regexp регулярное выражение, которое выполняет шаг.
+	 * @throws BudgetExceededException если ограничение превышено.
+	 */
+	void step(@NotNull final Regexp regexp)
+	{
+		this.steps++;
+
+		if (this.steps > this.maxSteps) {
+			throw new BudgetExceededException(regexp, this.steps);
+		}
+
+		if (this.deadline != Long.MAX_VALUE
+			&& this.steps % CLOCK_INTERVAL == 0
+			&& System.nanoTime() - this.deadline > 0)
+		{
+			throw new BudgetExceededException(regexp, this.steps);
+		}
+	}
+}
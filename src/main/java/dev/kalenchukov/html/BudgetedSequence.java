@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Regexp;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Класс последовательности символов, учитывающей обращения регулярного выражения к символам.
+ *
+ * <p>Передаётся в {@link java.util.regex.Pattern#matcher(CharSequence)}, чтобы прервать
+ * выполнение регулярного выражения при превышении {@link Budget}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class BudgetedSequence implements CharSequence
+{
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Регулярное выражение, которое обращается к тексту.
+	 */
+	@NotNull
+	private final Regexp regexp;
+
+	/**
+	 * Счётчик шагов вызова.
+	 */
+	@NotNull
+	private final BudgetMeter meter;
+
+	/**
+	 * Конструктор для {@code BudgetedSequence}.
+	 *
+	 * @param text текст.
+	 * @param regexp регулярное выражение, которое обращается к тексту.
+	 * @param meter счётчик шагов вызова.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code meter} передан {@code null}.
+	 */
+	BudgetedSequence(@NotNull final CharSequence text, @NotNull final Regexp regexp, @NotNull final BudgetMeter meter)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(regexp);
+		Objects.requireNonNull(meter);
+
+		this.text = text;
+		this.regexp = regexp;
+		this.meter = meter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int length()
+	{
+		return this.text.length();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param index {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws BudgetExceededException если ограничение превышено.
+	 */
+	@Override
+	public char charAt(final int index)
+	{
+		this.meter.step(this.regexp);
+
+		return this.text.charAt(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Копирование части текста не учитывается как шаги регулярного выражения.</p>
+	 *
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public CharSequence subSequence(final int start, final int end)
+	{
+		return this.text.subSequence(start, end).toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public String toString()
+	{
+		return this.text.toString();
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Класс этапа потоковой обработки HTML, которому для распознавания нужен текст после текущей позиции.
+ *
+ * <p>Полученный текст накапливается в {@link StreamBuffer}. Если распознавание прервано нехваткой символов,
+ * оно повторяется, когда объём нераспознанного текста удвоится, поэтому общее время обработки
+ * остаётся линейным. Текст, результат обработки которого определён, передаётся приёмнику
+ * и удаляется из буфера.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+abstract class BufferedStage extends Stage
+{
+	/**
+	 * Наименьшее количество символов, при поступлении которого повторяется распознавание.
+	 */
+	private static final int MIN_BATCH_SIZE = 1024;
+
+	/**
+	 * Буфер текста.
+	 */
+	@NotNull
+	final StreamBuffer buffer;
+
+	/**
+	 * Наибольшее количество символов, накапливаемых для распознавания.
+	 */
+	private final int maxTokenLength;
+
+	/**
+	 * Позиция, до которой результат обработки передан приёмнику.
+	 */
+	private int emitted;
+
+	/**
+	 * Количество символов, при поступлении которого повторяется распознавание.
+	 */
+	private int retryAt;
+
+	/**
+	 * Конструктор для {@code BufferedStage}.
+	 *
+	 * @param target приёмник результата.
+	 * @param maxTokenLength наибольшее количество символов, накапливаемых для распознавания.
+	 * @throws NullPointerException если в качестве {@code target} передан {@code null}.
+	 */
+	BufferedStage(@NotNull final Appendable target, final int maxTokenLength)
+	{
+		super(target);
+
+		this.buffer = new StreamBuffer();
+		this.maxTokenLength = maxTokenLength;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public BufferedStage append(@Nullable final CharSequence csq, final int start, final int end) throws IOException
+	{
+		this.buffer.append(csq == null ? "null" : csq, start, end);
+		this.process();
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param c {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public BufferedStage append(final char c) throws IOException
+	{
+		this.buffer.append(c);
+		this.process();
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param chars {@inheritDoc}
+	 * @param offset {@inheritDoc}
+	 * @param count {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	void write(final char @NotNull [] chars, final int offset, final int count) throws IOException
+	{
+		this.buffer.append(chars, offset, count);
+		this.process();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	void finish() throws IOException
+	{
+		this.buffer.close();
+		this.retryAt = 0;
+		this.process();
+
+		super.finish();
+	}
+
+	/**
+	 * Распознаёт поступивший текст.
+	 *
+	 * <p>Передаёт приёмнику результат обработки с помощью методов {@link #emit(int)} и {@link #omit(int)}.
+	 * Если символов для распознавания не хватает, обработка прерывается исключением
+	 * {@link StreamBuffer.Underflow}, которое перехватывается в этом методе.</p>
+	 *
+	 * @return позицию, с которой продолжится распознавание.
+	 * @throws IOException если приёмник результата не может принять символы.
+	 */
+	abstract int scan() throws IOException;
+
+	/**
+	 * Передаёт приёмнику текст без изменений до указанной позиции.
+	 *
+	 * @param end позиция за концом передаваемого текста.
+	 * @throws IOException если приёмник результата не может принять символы.
+	 */
+	void emit(final int end) throws IOException
+	{
+		this.buffer.appendTo(this.target, this.emitted, end);
+		this.emitted = end;
+	}
+
+	/**
+	 * Пропускает текст до указанной позиции.
+	 *
+	 * <p>Текст до начала пропускаемого должен быть передан приёмнику методом {@link #emit(int)}.</p>
+	 *
+	 * @param end позиция за концом пропускаемого текста.
+	 */
+	void omit(final int end)
+	{
+		this.emitted = end;
+	}
+
+	/**
+	 * Обрабатывает поступивший текст, если его достаточно для продолжения распознавания.
+	 *
+	 * @throws IOException если приёмник результата не может принять символы.
+	 * @throws TokenLengthExceededException если для распознавания накоплено больше символов, чем допускается.
+	 */
+	private void process() throws IOException
+	{
+		final int available = this.buffer.getAvailable();
+
+		if (available < this.retryAt) {
+			return;
+		}
+
+		final int position = this.scan();
+
+		this.emit(position);
+		this.buffer.discard(position);
+
+		final int pending = available - position;
+
+		if (pending > this.maxTokenLength) {
+			throw new TokenLengthExceededException(this.maxTokenLength);
+		}
+
+		this.retryAt = (int) Math.min(
+			(long) available + Math.max(MIN_BATCH_SIZE, pending),
+			(long) position + this.maxTokenLength + 1
+		);
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс этапа потоковой обработки HTML, преобразующего HTML-сущности в специальные символы.
+ *
+ * <p>Результат совпадает с результатом {@link EntityDecoder#decode(String, Set, Set)}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class DecodeStage extends BufferedStage
+{
+	/**
+	 * Типы HTML-сущностей которые будут преобразованы.
+	 */
+	@NotNull
+	private final Set<@NotNull EntityType> entityTypes;
+
+	/**
+	 * HTML-сущности которые будут преобразованы.
+	 */
+	@NotNull
+	private final Set<@NotNull Entity> entities;
+
+	/**
+	 * Позиция, с которой продолжается поиск HTML-сущностей.
+	 */
+	private int position;
+
+	/**
+	 * Конструктор для {@code DecodeStage}.
+	 *
+	 * @param target приёмник результата.
+	 * @param maxTokenLength наибольшее количество символов, накапливаемых для распознавания.
+	 * @param entityTypes типы HTML-сущностей которые будут преобразованы.
+	 * @param entities HTML-сущности которые будут преобразованы.
+	 * @throws NullPointerException если в качестве {@code target} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	DecodeStage(@NotNull final Appendable target,
+				final int maxTokenLength,
+				@NotNull final Set<@NotNull EntityType> entityTypes,
+				@NotNull final Set<@NotNull Entity> entities)
+	{
+		super(target, maxTokenLength);
+
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		this.entityTypes = entityTypes;
+		this.entities = entities;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	int scan() throws IOException
+	{
+		try
+		{
+			int index = this.buffer.indexOf('&', this.position);
+
+			while (index >= 0)
+			{
+				this.position = index;
+
+				final EntityType entityType = EntityDecoder.getType(this.buffer, index);
+				final int end = EntityDecoder.findEnd(this.buffer, index, entityType);
+				Entity entity = null;
+
+				if (end > 0 && this.entityTypes.contains(entityType)) {
+					entity = EntityDecoder.resolve(this.buffer, index, end, entityType, this.entities);
+				}
+
+				if (entity == null)
+				{
+					index = this.buffer.indexOf('&', index + 1);
+
+					continue;
+				}
+
+				this.emit(index);
+				this.omit(end);
+				this.target.append(entity.getSymbol());
+
+				index = this.buffer.indexOf('&', end);
+			}
+
+			this.position = this.buffer.getAvailable();
+		}
+		catch (StreamBuffer.Underflow exception)
+		{
+			// Запись HTML-сущности ещё не поступила полностью.
+		}
+
+		return this.position;
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс этапа потоковой обработки HTML, преобразующего специальные символы в HTML-сущности.
+ *
+ * <p>Каждый символ преобразуется независимо от соседних, поэтому текст не накапливается.
+ * Результат совпадает с результатом {@link EntityEncoder#encode(String, EntityType, Set)}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class EncodeStage extends Stage
+{
+	/**
+	 * Тип HTML-сущностей.
+	 */
+	@NotNull
+	private final EntityType entityType;
+
+	/**
+	 * HTML-сущности в которые будут преобразованы специальные символы.
+	 */
+	@NotNull
+	private final Set<@NotNull Entity> entities;
+
+	/**
+	 * Конструктор для {@code EncodeStage}.
+	 *
+	 * @param target приёмник результата.
+	 * @param entityType тип HTML-сущностей.
+	 * @param entities HTML-сущности в которые будут преобразованы специальные символы.
+	 * @throws NullPointerException если в качестве {@code target} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	EncodeStage(@NotNull final Appendable target,
+				@NotNull final EntityType entityType,
+				@NotNull final Set<@NotNull Entity> entities)
+	{
+		super(target);
+
+		Objects.requireNonNull(entityType);
+		Objects.requireNonNull(entities);
+
+		this.entityType = entityType;
+		this.entities = entities;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public EncodeStage append(@Nullable final CharSequence csq, final int start, final int end) throws IOException
+	{
+		final CharSequence text = csq == null ? "null" : csq;
+
+		Objects.checkFromToIndex(start, end, text.length());
+
+		int copied = start;
+
+		for (int index = start; index < end; index++)
+		{
+			final String mnemonic = EntityEncoder.getMnemonic(text.charAt(index), this.entityType, this.entities);
+
+			if (mnemonic == null) {
+				continue;
+			}
+
+			this.target.append(text, copied, index);
+			this.target.append(mnemonic);
+
+			copied = index + 1;
+		}
+
+		this.target.append(text, copied, end);
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param c {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public EncodeStage append(final char c) throws IOException
+	{
+		final String mnemonic = EntityEncoder.getMnemonic(c, this.entityType, this.entities);
+
+		if (mnemonic == null)
+		{
+			this.target.append(c);
+		}
+		else
+		{
+			this.target.append(mnemonic);
+		}
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param chars {@inheritDoc}
+	 * @param offset {@inheritDoc}
+	 * @param count {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	void write(final char @NotNull [] chars, final int offset, final int count) throws IOException
+	{
+		final int end = offset + count;
+
+		int copied = offset;
+
+		for (int index = offset; index < end; index++)
+		{
+			final String mnemonic = EntityEncoder.getMnemonic(chars[index], this.entityType, this.entities);
+
+			if (mnemonic == null) {
+				continue;
+			}
+
+			Stage.write(this.target, chars, copied, index - copied);
+			this.target.append(mnemonic);
+
+			copied = index + 1;
+		}
+
+		Stage.write(this.target, chars, copied, end - copied);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Интерфейс механизма поиска и удаления лексем HTML.
+ *
+ * @author Алексей Каленчуков
+ */
+interface Engine
+{
+	/**
+	 * Выполняет поиск лексем.
+	 *
+	 * @param text текст.
+	 * @param tokenType тип лексем.
+	 * @return коллекцию найденных лексем.
+	 */
+	@Unmodifiable
+	@NotNull
+	List<@NotNull String> find(@NotNull CharSequence text, @NotNull TokenType tokenType);
+
+	/**
+	 * Выполняет поиск лексем нескольких типов.
+	 *
+	 * @param text текст.
+	 * @param tokenTypes типы лексем.
+	 * @return коллекцию найденных лексем в порядке их начала в тексте.
+	 */
+	@Unmodifiable
+	@NotNull
+	List<@NotNull Token> findTokens(@NotNull CharSequence text, @NotNull Set<@NotNull TokenType> tokenTypes);
+
+	/**
+	 * Возвращает поток лексем нескольких типов.
+	 *
+	 * <p>Лексемы распознаются по мере чтения потока, поэтому операции,
+	 * завершающиеся досрочно, не просматривают текст после найденной лексемы.</p>
+	 *
+	 * @param text текст.
+	 * @param tokenTypes типы лексем.
+	 * @return поток лексем в порядке их начала в тексте.
+	 */
+	@NotNull
+	Stream<@NotNull Token> streamTokens(@NotNull CharSequence text, @NotNull Set<@NotNull TokenType> tokenTypes);
+
+	/**
+	 * Подсчитывает лексемы нескольких типов.
+	 *
+	 * @param text текст.
+	 * @param tokenTypes типы лексем.
+	 * @return количество лексем.
+	 */
+	int count(@NotNull CharSequence text, @NotNull Set<@NotNull TokenType> tokenTypes);
+
+	/**
+	 * Проверяет наличие лексем нескольких типов.
+	 *
+	 * @param text текст.
+	 * @param tokenTypes типы лексем.
+	 * @return {@code true}, если найдена хотя бы одна лексема, иначе {@code false}.
+	 */
+	boolean contains(@NotNull CharSequence text, @NotNull Set<@NotNull TokenType> tokenTypes);
+
+	/**
+	 * Проверяет наличие HTML-тегов любого типа.
+	 *
+	 * @param text текст.
+	 * @param tags HTML-теги.
+	 * @return {@code true}, если найден хотя бы один HTML-тег, иначе {@code false}.
+	 */
+	boolean containsTags(@NotNull CharSequence text, @NotNull Set<@NotNull Tag> tags);
+
+	/**
+	 * Проверяет наличие HTML-сущностей любого типа.
+	 *
+	 * @param text текст.
+	 * @param entities HTML-сущности.
+	 * @return {@code true}, если найдена хотя бы одна HTML-сущность, иначе {@code false}.
+	 */
+	boolean containsEntities(@NotNull CharSequence text, @NotNull Set<@NotNull Entity> entities);
+
+	/**
+	 * Проверяет, является ли весь текст лексемой.
+	 *
+	 * @param text текст.
+	 * @param tokenType тип лексемы.
+	 * @return {@code true}, если является, иначе {@code false}.
+	 */
+	boolean is(@NotNull CharSequence text, @NotNull TokenType tokenType);
+
+	/**
+	 * Удаляет лексемы.
+	 *
+	 * @param text текст.
+	 * @param tokenType тип лексем.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	String delete(@NotNull CharSequence text, @NotNull TokenType tokenType);
+
+	/**
+	 * Удаляет HTML-теги.
+	 *
+	 * @param text текст.
+	 * @param tagTypes типы HTML-тегов которые будут удалены.
+	 * @param tags HTML-теги которые будут удалены.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	String deleteTags(@NotNull CharSequence text, @NotNull Set<@NotNull TagType> tagTypes, @NotNull Set<@NotNull Tag> tags);
+
+	/**
+	 * Удаляет HTML-сущности.
+	 *
+	 * @param text текст.
+	 * @param entityTypes типы HTML-сущностей которые будут удалены.
+	 * @param entities HTML-сущности которые будут удалены.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	String deleteEntities(@NotNull CharSequence text,
+						  @NotNull Set<@NotNull EntityType> entityTypes,
+						  @NotNull Set<@NotNull Entity> entities);
+
+	/**
+	 * Строит индекс лексем текста.
+	 *
+	 * <p>Если механизм поддерживает индекс, результаты {@link #find(CharSequence, TokenType)}
+	 * и {@link #is(CharSequence, TokenType)} совпадают с результатами индекса.</p>
+	 *
+	 * @param text текст.
+	 * @return индекс лексем или {@code null}, если механизм не поддерживает индекс.
+	 */
+	@Nullable
+	default TokenIndex index(@NotNull final CharSequence text)
+	{
+		return null;
+	}
+
+	/**
+	 * Преобразует HTML-сущности в соответствующие специальные символы.
+	 *
+	 * @param text текст.
+	 * @param entityTypes типы HTML-сущностей которые будут преобразованы.
+	 * @param entities HTML-сущности которые будут преобразованы.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	default String decodeEntities(@NotNull final CharSequence text,
+								  @NotNull final Set<@NotNull EntityType> entityTypes,
+								  @NotNull final Set<@NotNull Entity> entities)
+	{
+		return EntityDecoder.decode(text, entityTypes, entities);
+	}
+
+	/**
+	 * Преобразует специальные символы в соответствующие HTML-сущности.
+	 *
+	 * @param text текст.
+	 * @param entityType тип HTML-сущностей.
+	 * @param entities HTML-сущности в которые будут преобразованы специальные символы.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	default String encodeEntities(@NotNull final CharSequence text,
+								  @NotNull final EntityType entityType,
+								  @NotNull final Set<@NotNull Entity> entities)
+	{
+		return EntityEncoder.encode(text, entityType, entities);
+	}
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс преобразования HTML-сущностей в специальные символы за один проход по тексту.
+ *
+ * <p>Распознаёт те же формы записи, что и {@link dev.kalenchukov.html.resources.Regexp#ENTITY_NAME},
+ * {@link dev.kalenchukov.html.resources.Regexp#ENTITY_NUMERIC} и
+ * {@link dev.kalenchukov.html.resources.Regexp#ENTITY_UNICODE}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class EntityDecoder
+{
+	/**
+	 * Конструктор для {@code EntityDecoder}.
+	 */
+	private EntityDecoder() {}
+
+	/**
+	 * Преобразует HTML-сущности в соответствующие специальные символы.
+	 *
+	 * <p>Текст просматривается один раз. Символы, полученные в результате преобразования,
+	 * повторно не рассматриваются как часть HTML-сущности.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param entityTypes типы HTML-сущностей которые будут преобразованы.
+	 * @param entities HTML-сущности которые будут преобразованы.
+	 * @return обработанный текст.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@NotNull
+	static String decode(@NotNull final CharSequence text,
+						 @NotNull final Set<@NotNull EntityType> entityTypes,
+						 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		return EntityDecoder.decode(text, 0, text.length(), entityTypes, entities);
+	}
+
+	/**
+	 * Преобразует HTML-сущности в части текста.
+	 *
+	 * <p>Преобразуются HTML-сущности, которые начинаются в части текста.
+	 * HTML-сущность, которая начинается в части текста и заканчивается за ней,
+	 * также преобразуется, поэтому границы частей не должны приходиться на HTML-сущности.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @param entityTypes типы HTML-сущностей которые будут преобразованы.
+	 * @param entities HTML-сущности которые будут преобразованы.
+	 * @return обработанную часть текста.
+	 */
+	@NotNull
+	static String decode(@NotNull final CharSequence text,
+						 final int start,
+						 final int end,
+						 @NotNull final Set<@NotNull EntityType> entityTypes,
+						 @NotNull final Set<@NotNull Entity> entities)
+	{
+		StringBuilder result = null;
+		int copied = start;
+		int index = EntityDecoder.indexOf(text, start, end);
+
+		while (index >= 0)
+		{
+			final EntityType entityType = getType(text, index);
+			final int entityEnd = findEnd(text, index, entityType);
+			Entity entity = null;
+
+			if (entityEnd > 0 && entityTypes.contains(entityType)) {
+				entity = resolve(text, index, entityEnd, entityType, entities);
+			}
+
+			if (entity == null)
+			{
+				index = EntityDecoder.indexOf(text, index + 1, end);
+
+				continue;
+			}
+
+			if (result == null) {
+				result = new StringBuilder(end - start);
+			}
+
+			result.append(text, copied, index);
+			result.append(entity.getSymbol());
+
+			copied = entityEnd;
+			index = EntityDecoder.indexOf(text, entityEnd, end);
+		}
+
+		if (result == null) {
+			return text.subSequence(start, end).toString();
+		}
+
+		if (copied < end) {
+			result.append(text, copied, end);
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает позицию символа {@literal «&»}.
+	 *
+	 * @param text текст.
+	 * @param start позиция начала поиска.
+	 * @param end позиция окончания поиска.
+	 * @return позицию символа или {@code -1}, если символ не найден.
+	 */
+	private static int indexOf(@NotNull final CharSequence text, final int start, final int end)
+	{
+		if (end == text.length() && text instanceof String string) {
+			return string.indexOf('&', start);
+		}
+
+		for (int index = start; index < end; index++)
+		{
+			if (text.charAt(index) == '&') {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает тип HTML-сущности, начинающейся в указанной позиции.
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «&»}.
+	 * @return тип HTML-сущности.
+	 */
+	@NotNull
+	static EntityType getType(@NotNull final CharSequence text, final int start)
+	{
+		if (start + 2 >= text.length() || text.charAt(start + 1) != '#') {
+			return EntityType.NAME;
+		}
+
+		final char marker = text.charAt(start + 2);
+
+		if (marker == 'X' || marker == 'x') {
+			return EntityType.UNICODE;
+		}
+
+		return EntityType.NUMERIC;
+	}
+
+	/**
+	 * Возвращает позицию за концом HTML-сущности.
+	 *
+	 * <p>Проверяется только синтаксис записи, без проверки существования HTML-сущности.
+	 * Как и в регулярных выражениях {@link dev.kalenchukov.html.resources.Regexp},
+	 * запись должна содержать не менее двух символов между префиксом и символом {@literal «;»}.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «&»}.
+	 * @param entityType тип HTML-сущности.
+	 * @return позицию за символом {@literal «;»} или {@code -1}, если HTML-сущности нет.
+	 */
+	static int findEnd(@NotNull final CharSequence text, final int start, @NotNull final EntityType entityType)
+	{
+		final int length = text.length();
+		final int from = switch (entityType)
+			{
+				case NAME: yield start + 1;
+				case NUMERIC: yield start + 2;
+				case UNICODE: yield start + 3;
+			};
+
+		int index = from;
+
+		while (index < length && isPart(text.charAt(index), entityType)) {
+			index++;
+		}
+
+		if (index - from < 2 || index >= length || text.charAt(index) != ';') {
+			return -1;
+		}
+
+		if (entityType == EntityType.NAME && isDigit(text.charAt(from))) {
+			return -1;
+		}
+
+		return index + 1;
+	}
+
+	/**
+	 * Возвращает HTML-сущность по её записи в тексте.
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «&»}.
+	 * @param end позиция за символом {@literal «;»}.
+	 * @param entityType тип HTML-сущности.
+	 * @param entities допустимые HTML-сущности.
+	 * @return HTML-сущность или {@code null}, если она неизвестна или не допускается.
+	 */
+	@Nullable
+	static Entity resolve(@NotNull final CharSequence text,
+						  final int start,
+						  final int end,
+						  @NotNull final EntityType entityType,
+						  @NotNull final Set<@NotNull Entity> entities)
+	{
+		return switch (entityType)
+			{
+				case NAME: yield resolveName(text, start + 1, end - 1, entities);
+				case NUMERIC: yield resolveCode(Entity.ofNumeric(text, start + 2, end - 1), entities);
+				case UNICODE: yield resolveCode(Entity.ofUnicode(text, start + 3, end - 1), entities);
+			};
+	}
+
+	/**
+	 * Возвращает HTML-сущность по имени.
+	 *
+	 * <p>Если первая HTML-сущность с этим именем не допускается,
+	 * ищется следующая объявленная HTML-сущность с тем же именем.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало имени HTML-сущности.
+	 * @param end позиция за концом имени HTML-сущности.
+	 * @param entities допустимые HTML-сущности.
+	 * @return HTML-сущность или {@code null}.
+	 */
+	@Nullable
+	static Entity resolveName(@NotNull final CharSequence text,
+							  final int start,
+							  final int end,
+							  @NotNull final Set<@NotNull Entity> entities)
+	{
+		final Entity entity = Entity.ofName(text, start, end);
+
+		if (entity == null || entities.contains(entity)) {
+			return entity;
+		}
+
+		for (Entity other : Entity.values())
+		{
+			if (other != entity && entities.contains(other) && other.getEntityName().equals(entity.getEntityName())) {
+				return other;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Возвращает HTML-сущность, если она допускается.
+	 *
+	 * @param entity HTML-сущность.
+	 * @param entities допустимые HTML-сущности.
+	 * @return HTML-сущность или {@code null}.
+	 */
+	@Nullable
+	private static Entity resolveCode(@Nullable final Entity entity, @NotNull final Set<@NotNull Entity> entities)
+	{
+		if (entity == null || !entities.contains(entity)) {
+			return null;
+		}
+
+		return entity;
+	}
+
+	/**
+	 * Проверяет, может ли символ входить в запись HTML-сущности указанного типа.
+	 *
+	 * @param symbol символ.
+	 * @param entityType тип HTML-сущности.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	private static boolean isPart(final char symbol, @NotNull final EntityType entityType)
+	{
+		return switch (entityType)
+			{
+				case NAME: yield isLetterOrDigit(symbol);
+				case NUMERIC: yield isDigit(symbol);
+				case UNICODE: yield isHexDigit(symbol);
+			};
+	}
+
+	/**
+	 * Проверяет, является ли символ цифрой.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из диапазона {@literal «0-9»}, иначе {@code false}.
+	 */
+	private static boolean isDigit(final char symbol)
+	{
+		return symbol >= '0' && symbol <= '9';
+	}
+
+	/**
+	 * Проверяет, является ли символ шестнадцатеричной цифрой.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из диапазонов {@literal «0-9», «A-F», «a-f»}, иначе {@code false}.
+	 */
+	private static boolean isHexDigit(final char symbol)
+	{
+		return isDigit(symbol) || (symbol >= 'A' && symbol <= 'F') || (symbol >= 'a' && symbol <= 'f');
+	}
+
+	/**
+	 * Проверяет, является ли символ латинской буквой или цифрой.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из диапазонов {@literal «0-9», «A-Z», «a-z»}, иначе {@code false}.
+	 */
+	private static boolean isLetterOrDigit(final char symbol)
+	{
+		return isDigit(symbol) || (symbol >= 'A' && symbol <= 'Z') || (symbol >= 'a' && symbol <= 'z');
+	}
+}
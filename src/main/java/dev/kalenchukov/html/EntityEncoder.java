@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс преобразования специальных символов в HTML-сущности за один проход по тексту.
+ *
+ * <p>Каждому специальному символу соответствует одна HTML-сущность — {@link Entity#ofCodePoint(int)}.
+ * Поэтому результат преобразования не зависит от порядка обхода констант,
+ * а записи HTML-сущностей, появившиеся в результате преобразования, повторно не преобразуются.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class EntityEncoder
+{
+	/**
+	 * Записи HTML-сущностей по типу и специальному символу.
+	 */
+	@Nullable
+	private static final String @NotNull [] @NotNull [] MNEMONICS;
+
+	static
+	{
+		int maxSymbol = 0;
+
+		for (Entity entity : Entity.values()) {
+			maxSymbol = Math.max(maxSymbol, entity.getSymbol());
+		}
+
+		MNEMONICS = new String[EntityType.values().length][maxSymbol + 1];
+
+		for (int symbol = 0; symbol <= maxSymbol; symbol++)
+		{
+			final Entity entity = Entity.ofCodePoint(symbol);
+
+			if (entity == null) {
+				continue;
+			}
+
+			for (EntityType entityType : EntityType.values()) {
+				MNEMONICS[entityType.ordinal()][symbol] = entity.getMnemonic(entityType);
+			}
+		}
+	}
+
+	/**
+	 * Конструктор для {@code EntityEncoder}.
+	 */
+	private EntityEncoder() {}
+
+	/**
+	 * Преобразует специальные символы в соответствующие HTML-сущности.
+	 *
+	 * @param text текст для обработки.
+	 * @param entityType тип HTML-сущностей.
+	 * @param entities HTML-сущности в которые будут преобразованы специальные символы.
+	 * @return обработанный текст.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@NotNull
+	static String encode(@NotNull final CharSequence text,
+						 @NotNull final EntityType entityType,
+						 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityType);
+		Objects.requireNonNull(entities);
+
+		return EntityEncoder.encode(text, 0, text.length(), entityType, entities);
+	}
+
+	/**
+	 * Преобразует специальные символы части текста в соответствующие HTML-сущности.
+	 *
+	 * @param text текст.
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @param entityType тип HTML-сущностей.
+	 * @param entities HTML-сущности в которые будут преобразованы специальные символы.
+	 * @return обработанную часть текста.
+	 */
+	@NotNull
+	static String encode(@NotNull final CharSequence text,
+						 final int start,
+						 final int end,
+						 @NotNull final EntityType entityType,
+						 @NotNull final Set<@NotNull Entity> entities)
+	{
+		StringBuilder result = null;
+		int copied = start;
+
+		for (int index = start; index < end; index++)
+		{
+			final String mnemonic = getMnemonic(text.charAt(index), entityType, entities);
+
+			if (mnemonic == null) {
+				continue;
+			}
+
+			if (result == null) {
+				result = new StringBuilder(end - start + 16);
+			}
+
+			result.append(text, copied, index);
+			result.append(mnemonic);
+
+			copied = index + 1;
+		}
+
+		if (result == null) {
+			return text.subSequence(start, end).toString();
+		}
+
+		result.append(text, copied, end);
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает запись HTML-сущности специального символа.
+	 *
+	 * @param symbol символ.
+	 * @param entityType тип HTML-сущности.
+	 * @param entities HTML-сущности в которые преобразуются специальные символы.
+	 * @return запись HTML-сущности или {@code null}, если символ не преобразуется.
+	 */
+	@Nullable
+	static String getMnemonic(final char symbol,
+							  @NotNull final EntityType entityType,
+							  @NotNull final Set<@NotNull Entity> entities)
+	{
+		final String[] mnemonics = MNEMONICS[entityType.ordinal()];
+
+		if (symbol >= mnemonics.length || mnemonics[symbol] == null) {
+			return null;
+		}
+
+		if (!entities.contains(Entity.ofCodePoint(symbol))) {
+			return null;
+		}
+
+		return mnemonics[symbol];
+	}
+}
@@ -0,0 +1,1030 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.TagType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Класс распознавания разметки без регулярных выражений.
+ *
+ * <p>Каждый метод проверяет, начинается ли в указанной позиции текста конструкция,
+ * которую распознаёт соответствующее регулярное выражение {@link dev.kalenchukov.html.resources.Regexp}
+ * с флагами {@link java.util.regex.Pattern#CASE_INSENSITIVE} и {@link java.util.regex.Pattern#UNICODE_CASE},
+ * и возвращает позицию за её концом. Регулярные выражения не содержат неоднозначностей,
+ * поэтому в каждой позиции возможен не более чем один конец конструкции.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class Grammar
+{
+	/**
+	 * Конструктор для {@code Grammar}.
+	 */
+	private Grammar() {}
+
+	/**
+	 * Возвращает позицию за концом HTML-тега.
+	 *
+	 * <p>Распознаёт те же HTML-теги, что и {@link dev.kalenchukov.html.resources.Regexp#SELF_CLOSING_TAG},
+	 * {@link dev.kalenchukov.html.resources.Regexp#OPEN_TAG} и {@link dev.kalenchukov.html.resources.Regexp#CLOSE_TAG}.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «<»}.
+	 * @param tagType тип HTML-тега.
+	 * @return позицию за концом HTML-тега или {@code -1}, если HTML-тега нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+	 */
+	static int matchTag(@NotNull final CharSequence text, final int start, @NotNull final TagType tagType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tagType);
+
+		if (!Grammar.startsWith(text, start, "<")) {
+			return -1;
+		}
+
+		if (tagType == TagType.CLOSE)
+		{
+			if (!Grammar.startsWith(text, start + 1, "/")) {
+				return -1;
+			}
+
+			final int nameEnd = Grammar.matchTagName(text, start + 2);
+
+			if (nameEnd < 0) {
+				return -1;
+			}
+
+			return Grammar.matchCloseTagRest(text, nameEnd);
+		}
+
+		final int nameEnd = Grammar.matchTagName(text, start + 1);
+
+		if (nameEnd < 0) {
+			return -1;
+		}
+
+		return Grammar.matchTagRest(text, nameEnd, tagType == TagType.SELF_CLOSING);
+	}
+
+	/**
+	 * Возвращает позицию за концом названия HTML-тега.
+	 *
+	 * <p>Название начинается с буквы и продолжается, пока идут буквы и цифры,
+	 * так как за названием HTML-тега может следовать только пробельный символ,
+	 * {@literal «/»} или {@literal «>»}.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало названия.
+	 * @return позицию за концом названия или {@code -1}, если название не начинается с буквы.
+	 */
+	static int matchTagName(@NotNull final CharSequence text, final int start)
+	{
+		final int length = text.length();
+
+		if (start >= length || !Grammar.isLetter(text.charAt(start))) {
+			return -1;
+		}
+
+		int index = start + 1;
+
+		while (index < length && (Grammar.isLetter(text.charAt(index)) || Grammar.isDigit(text.charAt(index)))) {
+			index++;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Возвращает позицию за концом закрывающего HTML-тега.
+	 *
+	 * @param text текст.
+	 * @param start позиция за названием HTML-тега.
+	 * @return позицию за концом HTML-тега или {@code -1}, если HTML-тега нет.
+	 */
+	static int matchCloseTagRest(@NotNull final CharSequence text, final int start)
+	{
+		final int index = Grammar.skipSpaces(text, start);
+
+		if (Grammar.startsWith(text, index, ">")) {
+			return index + 1;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию за концом открывающего или самозакрывающегося HTML-тега.
+	 *
+	 * @param text текст.
+	 * @param start позиция за названием HTML-тега.
+	 * @param selfClosing {@code true}, если HTML-тег самозакрывающийся.
+	 * @return позицию за концом HTML-тега или {@code -1}, если HTML-тега нет.
+	 */
+	static int matchTagRest(@NotNull final CharSequence text, final int start, final boolean selfClosing)
+	{
+		final int length = text.length();
+
+		int index = start;
+
+		while (true)
+		{
+			final int paramStart = Grammar.skipSpaces(text, index);
+			final int paramEnd = Grammar.skipParamName(text, paramStart);
+
+			if (paramStart == index || paramEnd == paramStart) {
+				break;
+			}
+
+			index = paramEnd;
+
+			final int equals = Grammar.skipSpaces(text, paramEnd);
+
+			if (!Grammar.startsWith(text, equals, "=")) {
+				continue;
+			}
+
+			final int valueStart = Grammar.skipSpaces(text, equals + 1);
+
+			if (valueStart >= length) {
+				return -1;
+			}
+
+			final char quote = text.charAt(valueStart);
+
+			if (quote == '"' || quote == '\'')
+			{
+				index = Grammar.indexOf(text, quote, valueStart + 1);
+
+				if (index < 0) {
+					return -1;
+				}
+
+				index++;
+
+				continue;
+			}
+
+			index = valueStart;
+
+			while (index < length && Grammar.isUnquotedValue(text.charAt(index), selfClosing)) {
+				index++;
+			}
+
+			if (index == valueStart) {
+				return -1;
+			}
+
+			// Значение без кавычек отдаёт завершающий символ «/» окончанию «/>».
+			if (selfClosing && index - valueStart >= 2 && text.charAt(index - 1) == '/' && Grammar.startsWith(text, index, ">")) {
+				return index + 1;
+			}
+		}
+
+		index = Grammar.skipSpaces(text, index);
+
+		if (selfClosing)
+		{
+			if (Grammar.startsWith(text, index, "/>")) {
+				return index + 2;
+			}
+
+			return -1;
+		}
+
+		if (Grammar.startsWith(text, index, ">")) {
+			return index + 1;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию за концом HTML-комментария.
+	 *
+	 * <p>Распознаёт те же HTML-комментарии, что и {@link dev.kalenchukov.html.resources.Regexp#COMMENT}.
+	 * Просмотр останавливается на первой строке {@literal «<!--»}, поэтому каждый символ текста
+	 * просматривается при распознавании не более чем одного HTML-комментария.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «<»}.
+	 * @return позицию за концом HTML-комментария или {@code -1}, если HTML-комментария нет.
+	 */
+	static int matchComment(@NotNull final CharSequence text, final int start)
+	{
+		if (!Grammar.startsWith(text, start, "<!--")) {
+			return -1;
+		}
+
+		final int valueStart = start + 4;
+
+		if (Grammar.startsWith(text, valueStart, "<") || Grammar.startsWith(text, valueStart, "->")) {
+			return -1;
+		}
+
+		final int length = text.length();
+
+		for (int index = valueStart; index < length; index++)
+		{
+			if (Grammar.startsWith(text, index, "-->")) {
+				return index + 3;
+			}
+
+			if (Grammar.startsWith(text, index, "<!--") || Grammar.startsWith(text, index, "--!>")) {
+				return -1;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию за концом области CDATA.
+	 *
+	 * <p>Распознаёт те же области CDATA, что и {@link dev.kalenchukov.html.resources.Regexp#CDATA}.
+	 * Окончание области ищется через {@code closeSearch}, поэтому при распознавании
+	 * областей CDATA по возрастанию позиций текст просматривается за линейное время.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «<»}.
+	 * @param closeSearch поиск строки {@literal «]]>»} в этом тексте.
+	 * @return позицию за концом области CDATA или {@code -1}, если области CDATA нет.
+	 */
+	static int matchCData(@NotNull final CharSequence text, final int start, @NotNull final MarkerSearch closeSearch)
+	{
+		if (!Grammar.startsWithIgnoreCase(text, start, "<![cdata[")) {
+			return -1;
+		}
+
+		final int close = closeSearch.indexOf(start + 9);
+
+		if (close < 0) {
+			return -1;
+		}
+
+		return close + 3;
+	}
+
+	/**
+	 * Возвращает позицию за концом типа HTML-документа.
+	 *
+	 * <p>Распознаёт те же типы HTML-документа, что и {@link dev.kalenchukov.html.resources.Regexp#DOCTYPE}.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «<»}.
+	 * @return позицию за концом типа HTML-документа или {@code -1}, если типа HTML-документа нет.
+	 */
+	static int matchDoctype(@NotNull final CharSequence text, final int start)
+	{
+		if (!Grammar.startsWithIgnoreCase(text, start, "<!doctype")) {
+			return -1;
+		}
+
+		final int rootStart = Grammar.skipSpaces(text, start + 9);
+		final int rootEnd = Grammar.skipUpperLetters(text, rootStart);
+
+		if (rootStart == start + 9 || rootEnd == rootStart) {
+			return -1;
+		}
+
+		final int dtdEnd = Grammar.matchDoctypeDtd(text, rootEnd);
+
+		if (dtdEnd >= 0)
+		{
+			final int end = Grammar.matchCloseTagRest(text, dtdEnd);
+
+			if (end >= 0) {
+				return end;
+			}
+		}
+
+		return Grammar.matchCloseTagRest(text, rootEnd);
+	}
+
+	/**
+	 * Возвращает позицию за концом публичности, DTD и URL типа HTML-документа.
+	 *
+	 * @param text текст.
+	 * @param start позиция за корневым элементом.
+	 * @return позицию за кавычкой, закрывающей URL, или {@code -1}, если их нет.
+	 */
+	private static int matchDoctypeDtd(@NotNull final CharSequence text, final int start)
+	{
+		final int length = text.length();
+
+		final int publicStart = Grammar.skipSpaces(text, start);
+		final int publicEnd = Grammar.skipUpperLetters(text, publicStart);
+
+		if (publicStart == start || publicEnd == publicStart) {
+			return -1;
+		}
+
+		int index = Grammar.skipSpaces(text, publicEnd);
+
+		if (index == publicEnd || index >= length) {
+			return -1;
+		}
+
+		final char dtdQuote = text.charAt(index);
+
+		if (dtdQuote != '"' && dtdQuote != '\'') {
+			return -1;
+		}
+
+		index++;
+
+		if (!Grammar.startsWith(text, index, "+") && !Grammar.startsWith(text, index, "-")) {
+			return -1;
+		}
+
+		index = Grammar.skipDoctypeField(text, index + 1, true);
+		index = Grammar.skipDoctypeField(text, index, false);
+
+		if (index < 0) {
+			return -1;
+		}
+
+		final int languageStart = index + 2;
+		final int languageEnd = Grammar.skipUpperLetters(text, languageStart);
+
+		if (!Grammar.startsWith(text, index, "//") || languageEnd == languageStart) {
+			return -1;
+		}
+
+		if (languageEnd >= length || text.charAt(languageEnd) != dtdQuote) {
+			return -1;
+		}
+
+		index = Grammar.skipSpaces(text, languageEnd + 1);
+
+		if (index >= length) {
+			return -1;
+		}
+
+		final char urlQuote = text.charAt(index);
+
+		if (urlQuote != '"' && urlQuote != '\'') {
+			return -1;
+		}
+
+		final int urlStart = index + 1;
+
+		index = urlStart;
+
+		while (index < length && text.charAt(index) != '"' && text.charAt(index) != '\'') {
+			index++;
+		}
+
+		if (index == urlStart || index >= length || text.charAt(index) != urlQuote) {
+			return -1;
+		}
+
+		return index + 1;
+	}
+
+	/**
+	 * Возвращает позицию за полем DTD вместе с предшествующей строкой {@literal «//»}.
+	 *
+	 * @param text текст.
+	 * @param start позиция строки {@literal «//»} или {@code -1}.
+	 * @param organization {@code true}, если поле является названием организации.
+	 * @return позицию за полем или {@code -1}, если поля нет.
+	 */
+	private static int skipDoctypeField(@NotNull final CharSequence text, final int start, final boolean organization)
+	{
+		if (start < 0 || !Grammar.startsWith(text, start, "//")) {
+			return -1;
+		}
+
+		final int length = text.length();
+		final int fieldStart = start + 2;
+
+		int index = fieldStart;
+
+		while (index < length)
+		{
+			final char symbol = text.charAt(index);
+
+			if (!Grammar.isDigit(symbol)
+				&& !Grammar.isUpperLetter(symbol)
+				&& !Grammar.isSpace(symbol)
+				&& symbol != '.'
+				&& (!organization || symbol != '-'))
+			{
+				break;
+			}
+
+			index++;
+		}
+
+		if (index == fieldStart) {
+			return -1;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Возвращает позицию за концом HTML-сущности.
+	 *
+	 * <p>Распознаёт те же HTML-сущности, что и {@link dev.kalenchukov.html.resources.Regexp#ENTITY_NAME},
+	 * {@link dev.kalenchukov.html.resources.Regexp#ENTITY_NUMERIC} и
+	 * {@link dev.kalenchukov.html.resources.Regexp#ENTITY_UNICODE}.
+	 * Как и в регулярных выражениях, начиная с символа {@literal «&»} в строке должно быть
+	 * не менее 4, 5 или 6 символов соответственно.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция символа {@literal «&»}.
+	 * @param entityType тип HTML-сущности.
+	 * @return позицию за символом {@literal «;»} или {@code -1}, если HTML-сущности нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 */
+	static int matchEntity(@NotNull final CharSequence text, final int start, @NotNull final EntityType entityType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityType);
+
+		final int length = text.length();
+
+		int index = switch (entityType)
+			{
+				case NAME:
+				{
+					if (!Grammar.startsWith(text, start, "&")
+						|| !Grammar.hasLine(text, start, 4)
+						|| start + 1 >= length
+						|| Grammar.isDigit(text.charAt(start + 1)))
+					{
+						yield -1;
+					}
+
+					yield start + 1;
+				}
+				case NUMERIC:
+				{
+					if (!Grammar.startsWith(text, start, "&#") || !Grammar.hasLine(text, start, 5)) {
+						yield -1;
+					}
+
+					yield start + 2;
+				}
+				case UNICODE:
+				{
+					if (!Grammar.startsWithIgnoreCase(text, start, "&#x") || !Grammar.hasLine(text, start, 6)) {
+						yield -1;
+					}
+
+					yield start + 3;
+				}
+			};
+
+		if (index < 0) {
+			return -1;
+		}
+
+		final int valueStart = index;
+
+		while (index < length && Grammar.isEntityPart(text.charAt(index), entityType)) {
+			index++;
+		}
+
+		if (index == valueStart || !Grammar.startsWith(text, index, ";")) {
+			return -1;
+		}
+
+		return index + 1;
+	}
+
+	/**
+	 * Проверяет, может ли символ входить в запись HTML-сущности указанного типа.
+	 *
+	 * @param symbol символ.
+	 * @param entityType тип HTML-сущности.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	private static boolean isEntityPart(final char symbol, @NotNull final EntityType entityType)
+	{
+		return switch (entityType)
+			{
+				case NAME: yield Grammar.isDigit(symbol) || Grammar.isUpperLetter(symbol);
+				case NUMERIC: yield Grammar.isDigit(symbol);
+				case UNICODE: yield Grammar.isDigit(symbol) || Grammar.inRangeIgnoreCase(symbol, 'A', 'F');
+			};
+	}
+
+	/**
+	 * Проверяет, что с указанной позиции в текст без переводов строки входит указанное количество символов.
+	 *
+	 * <p>Соответствует опережающей проверке {@code (?=.{count,})} регулярного выражения.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция начала проверки.
+	 * @param count количество символов Unicode.
+	 * @return {@code true}, если символов достаточно, иначе {@code false}.
+	 */
+	private static boolean hasLine(@NotNull final CharSequence text, final int start, final int count)
+	{
+		final int length = text.length();
+
+		int index = start;
+
+		for (int counted = 0; counted < count; counted++)
+		{
+			if (index >= length || Grammar.isLineTerminator(text.charAt(index))) {
+				return false;
+			}
+
+			if (Character.isHighSurrogate(text.charAt(index))
+				&& index + 1 < length
+				&& Character.isLowSurrogate(text.charAt(index + 1)))
+			{
+				index++;
+			}
+
+			index++;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Возвращает позицию за концом названия параметра HTML-тега.
+	 *
+	 * @param text текст.
+	 * @param start начало названия параметра.
+	 * @return позицию за концом названия параметра или {@code start}, если названия нет.
+	 */
+	static int skipParamName(@NotNull final CharSequence text, final int start)
+	{
+		final int length = text.length();
+
+		int index = start;
+
+		while (index < length)
+		{
+			final char symbol = text.charAt(index);
+
+			if (!Grammar.isLetter(symbol) && !Grammar.isDigit(symbol) && symbol != '-' && symbol != '_') {
+				break;
+			}
+
+			index++;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Распознаёт параметр открывающего или самозакрывающегося HTML-тега.
+	 *
+	 * <p>Позиции параметра записываются в массив подряд: начало и конец названия,
+	 * начало и конец значения. Если у параметра нет значения, позиции значения равны {@code -1}.
+	 * Кавычки вокруг значения в значение не входят.</p>
+	 *
+	 * @param text текст.
+	 * @param start позиция за названием HTML-тега или за предыдущим параметром.
+	 * @param end позиция за концом HTML-тега.
+	 * @param selfClosing {@code true}, если HTML-тег самозакрывающийся.
+	 * @param positions массив для позиций параметра.
+	 * @param offset смещение в массиве.
+	 * @return позицию за концом параметра или {@code -1}, если параметров больше нет.
+	 */
+	static int matchParam(@NotNull final CharSequence text,
+						  final int start,
+						  final int end,
+						  final boolean selfClosing,
+						  final int @NotNull [] positions,
+						  final int offset)
+	{
+		final int nameStart = Grammar.skipSpaces(text, start);
+		final int nameEnd = Grammar.skipParamName(text, nameStart);
+
+		if (nameStart == start || nameEnd == nameStart) {
+			return -1;
+		}
+
+		int valueStart = -1;
+		int valueEnd = -1;
+		int index = nameEnd;
+
+		final int equals = Grammar.skipSpaces(text, nameEnd);
+
+		if (Grammar.startsWith(text, equals, "="))
+		{
+			valueStart = Grammar.skipSpaces(text, equals + 1);
+
+			final char quote = text.charAt(valueStart);
+
+			if (quote == '"' || quote == '\'')
+			{
+				valueEnd = Grammar.indexOf(text, quote, ++valueStart);
+				index = valueEnd + 1;
+			}
+			else
+			{
+				valueEnd = valueStart;
+
+				while (valueEnd < end && Grammar.isUnquotedValue(text.charAt(valueEnd), selfClosing)) {
+					valueEnd++;
+				}
+
+				index = valueEnd;
+
+				// Завершающий символ «/» значения без кавычек принадлежит окончанию «/>».
+				if (selfClosing && valueEnd == end - 1 && text.charAt(valueEnd - 1) == '/') {
+					valueEnd--;
+					index = valueEnd;
+				}
+			}
+		}
+
+		positions[offset] = nameStart;
+		positions[offset + 1] = nameEnd;
+		positions[offset + 2] = valueStart;
+		positions[offset + 3] = valueEnd;
+
+		return index;
+	}
+
+	/**
+	 * Возвращает позицию за последовательностью символов из диапазона {@literal «A-Z»}.
+	 *
+	 * @param text текст.
+	 * @param start позиция начала последовательности.
+	 * @return позицию за последовательностью или {@code start}, если её нет.
+	 */
+	private static int skipUpperLetters(@NotNull final CharSequence text, final int start)
+	{
+		final int length = text.length();
+
+		int index = start;
+
+		while (index < length && Grammar.isUpperLetter(text.charAt(index))) {
+			index++;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Возвращает позицию первого непробельного символа.
+	 *
+	 * @param text текст.
+	 * @param start позиция начала поиска.
+	 * @return позицию первого непробельного символа или длину текста.
+	 */
+	static int skipSpaces(@NotNull final CharSequence text, final int start)
+	{
+		final int length = text.length();
+
+		int index = start;
+
+		while (index < length && Grammar.isSpace(text.charAt(index))) {
+			index++;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Возвращает позицию символа в тексте.
+	 *
+	 * @param text текст.
+	 * @param symbol искомый символ.
+	 * @param start позиция начала поиска.
+	 * @return позицию символа или {@code -1}, если символ не найден.
+	 */
+	static int indexOf(@NotNull final CharSequence text, final char symbol, final int start)
+	{
+		final int length = text.length();
+
+		for (int index = start; index < length; index++)
+		{
+			if (text.charAt(index) == symbol) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию строки в тексте.
+	 *
+	 * @param text текст.
+	 * @param string искомая строка.
+	 * @param start позиция начала поиска.
+	 * @return позицию строки или {@code -1}, если строка не найдена.
+	 */
+	static int indexOf(@NotNull final CharSequence text, @NotNull final String string, final int start)
+	{
+		final char first = string.charAt(0);
+		final int last = text.length() - string.length();
+
+		for (int index = Math.max(start, 0); index <= last; index++)
+		{
+			if (text.charAt(index) == first && Grammar.startsWith(text, index, string)) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию последнего вхождения строки в тексте.
+	 *
+	 * @param text текст.
+	 * @param string искомая строка.
+	 * @return позицию строки или {@code -1}, если строка не найдена.
+	 */
+	static int lastIndexOf(@NotNull final CharSequence text, @NotNull final String string)
+	{
+		final char first = string.charAt(0);
+
+		for (int index = text.length() - string.length(); index >= 0; index--)
+		{
+			if (text.charAt(index) == first && Grammar.startsWith(text, index, string)) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает позицию закрывающего HTML-тега.
+	 *
+	 * <p>Название сравнивается без учёта регистра. За названием должен следовать
+	 * пробельный символ, символ {@literal «/»}, символ {@literal «>»} или конец текста.</p>
+	 *
+	 * @param text текст.
+	 * @param name название HTML-тега в нижнем регистре.
+	 * @param start позиция начала поиска.
+	 * @return позицию символа {@literal «<»} или {@code -1}, если HTML-тег не найден.
+	 */
+	static int indexOfCloseTag(@NotNull final CharSequence text, @NotNull final String name, final int start)
+	{
+		int index = Grammar.indexOf(text, "</", start);
+
+		while (index >= 0)
+		{
+			final int nameEnd = index + 2 + name.length();
+
+			if (Grammar.startsWithIgnoreCase(text, index + 2, name)
+				&& (nameEnd == text.length() || Grammar.isCloseTagBound(text.charAt(nameEnd))))
+			{
+				return index;
+			}
+
+			index = Grammar.indexOf(text, "</", index + 2);
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Проверяет, может ли символ следовать за названием закрывающего HTML-тега.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	private static boolean isCloseTagBound(final char symbol)
+	{
+		return symbol == '/' || symbol == '>' || Grammar.isSpace(symbol);
+	}
+
+	/**
+	 * Проверяет, начинается ли с указанной позиции текста строка.
+	 *
+	 * @param text текст.
+	 * @param start позиция в тексте.
+	 * @param string строка.
+	 * @return {@code true}, если начинается, иначе {@code false}.
+	 */
+	static boolean startsWith(@NotNull final CharSequence text, final int start, @NotNull final String string)
+	{
+		if (start < 0 || start + string.length() > text.length()) {
+			return false;
+		}
+
+		for (int index = 0; index < string.length(); index++)
+		{
+			if (text.charAt(start + index) != string.charAt(index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Проверяет без учёта регистра, начинается ли с указанной позиции текста строка.
+	 *
+	 * @param text текст.
+	 * @param start позиция в тексте.
+	 * @param string строка в нижнем регистре.
+	 * @return {@code true}, если начинается, иначе {@code false}.
+	 */
+	static boolean startsWithIgnoreCase(@NotNull final CharSequence text,
+										final int start,
+										@NotNull final String string)
+	{
+		if (start < 0 || start + string.length() > text.length()) {
+			return false;
+		}
+
+		for (int index = 0; index < string.length(); index++)
+		{
+			if (Grammar.foldCase(text.charAt(start + index)) != string.charAt(index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Проверяет, может ли символ входить в значение параметра HTML-тега без кавычек.
+	 *
+	 * @param symbol символ.
+	 * @param selfClosing {@code true}, если HTML-тег самозакрывающийся.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	static boolean isUnquotedValue(final char symbol, final boolean selfClosing)
+	{
+		return switch (symbol)
+			{
+				case '"', '\'', '=', '<', '>', '`': yield false;
+				case '/': yield selfClosing;
+				default: yield !Grammar.isSpace(symbol);
+			};
+	}
+
+	/**
+	 * Проверяет, является ли символ пробельным.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из набора {@literal «\s»} регулярных выражений, иначе {@code false}.
+	 */
+	static boolean isSpace(final char symbol)
+	{
+		return symbol == ' ' || (symbol >= '\t' && symbol <= '\r');
+	}
+
+	/**
+	 * Проверяет, является ли символ переводом строки.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ не входит в набор {@literal «.»} регулярных выражений, иначе {@code false}.
+	 */
+	private static boolean isLineTerminator(final char symbol)
+	{
+		return symbol == '\n' || symbol == '\r' || symbol == '\u0085' || symbol == '\u2028' || symbol == '\u2029';
+	}
+
+	/**
+	 * Проверяет, является ли символ буквой из диапазона {@literal «a-z»} без учёта регистра.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если является, иначе {@code false}.
+	 */
+	static boolean isLetter(final char symbol)
+	{
+		return Grammar.inRangeIgnoreCase(symbol, 'a', 'z');
+	}
+
+	/**
+	 * Проверяет, является ли символ буквой из диапазона {@literal «A-Z»} без учёта регистра.
+	 *
+	 * <p>Отличается от {@link #isLetter(char)} для символов, которые в верхнем регистре
+	 * не переходят в латинскую букву, например {@literal «K»} (знак кельвина).</p>
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если является, иначе {@code false}.
+	 */
+	private static boolean isUpperLetter(final char symbol)
+	{
+		return Grammar.inRangeIgnoreCase(symbol, 'A', 'Z');
+	}
+
+	/**
+	 * Проверяет, является ли символ цифрой.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из диапазона {@literal «0-9»}, иначе {@code false}.
+	 */
+	static boolean isDigit(final char symbol)
+	{
+		return symbol >= '0' && symbol <= '9';
+	}
+
+	/**
+	 * Проверяет, входит ли символ в диапазон без учёта регистра.
+	 *
+	 * <p>Повторяет правило диапазонов регулярных выражений с флагами
+	 * {@link java.util.regex.Pattern#CASE_INSENSITIVE} и {@link java.util.regex.Pattern#UNICODE_CASE}.</p>
+	 *
+	 * @param symbol символ.
+	 * @param lower начало диапазона.
+	 * @param upper конец диапазона.
+	 * @return {@code true}, если входит, иначе {@code false}.
+	 */
+	private static boolean inRangeIgnoreCase(final char symbol, final char lower, final char upper)
+	{
+		if (symbol >= lower && symbol <= upper) {
+			return true;
+		}
+
+		if (symbol < 128 && !Grammar.isAsciiLetter(symbol)) {
+			return false;
+		}
+
+		final char upperCase = Character.toUpperCase(symbol);
+
+		if (upperCase >= lower && upperCase <= upper) {
+			return true;
+		}
+
+		final char lowerCase = Character.toLowerCase(upperCase);
+
+		return lowerCase >= lower && lowerCase <= upper;
+	}
+
+	/**
+	 * Приводит символ к виду для сравнения без учёта регистра.
+	 *
+	 * @param symbol символ.
+	 * @return символ в нижнем регистре после перевода в верхний регистр.
+	 */
+	static char foldCase(final char symbol)
+	{
+		if (symbol < 128)
+		{
+			if (symbol >= 'A' && symbol <= 'Z') {
+				return (char) (symbol + ('a' - 'A'));
+			}
+
+			return symbol;
+		}
+
+		return Character.toLowerCase(Character.toUpperCase(symbol));
+	}
+
+	/**
+	 * Приводит строку к виду для сравнения без учёта регистра.
+	 *
+	 * @param string строка.
+	 * @return строку, каждый символ которой приведён методом {@link #foldCase(char)}.
+	 */
+	@NotNull
+	static String foldCase(@NotNull final String string)
+	{
+		final char[] symbols = string.toCharArray();
+
+		for (int index = 0; index < symbols.length; index++) {
+			symbols[index] = Grammar.foldCase(symbols[index]);
+		}
+
+		return new String(symbols);
+	}
+
+	/**
+	 * Проверяет, является ли символ латинской буквой.
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если символ из диапазонов {@literal «A-Z», «a-z»}, иначе {@code false}.
+	 */
+	private static boolean isAsciiLetter(final char symbol)
+	{
+		return (symbol >= 'A' && symbol <= 'Z') || (symbol >= 'a' && symbol <= 'z');
+	}
+}
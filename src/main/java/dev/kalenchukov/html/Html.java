@@ -24,17 +24,26 @@
 
 package dev.kalenchukov.html;
 
+import dev.kalenchukov.html.resources.EngineType;
 import dev.kalenchukov.html.resources.Entity;
 import dev.kalenchukov.html.resources.EntityType;
 import dev.kalenchukov.html.resources.Tag;
 import dev.kalenchukov.html.resources.TagType;
-import dev.kalenchukov.html.resources.Regexp;
+import dev.kalenchukov.html.resources.TokenType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
-
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * Класс работы с HTML.
@@ -47,31 +56,216 @@ public class Html implements Hypertext
 	 * Текст для обработки.
 	 */
 	@NotNull
-	private String text;
+	private CharSequence text;
 
 	/**
-	 * Управляющие символы.
-	 *
-	 * <p>Символы которые используются в синтаксисе HTML-сущностей.</p>
+	 * Тип механизма обработки.
+	 */
+	@NotNull
+	private final EngineType engineType;
+
+	/**
+	 * Ограничение выполнения регулярных выражений.
 	 */
 	@NotNull
-	private static final List<@NotNull Entity> CONTROL_SYMBOLS = List.of(
-		Entity.NUM,
-		Entity.AMP,
-		Entity.SEMI
-	);
+	private final Budget budget;
+
+	/**
+	 * Механизм обработки.
+	 */
+	@NotNull
+	private final Engine engine;
+
+	/**
+	 * Индекс лексем текста или {@code null}, если индекс не построен.
+	 */
+	@Nullable
+	private TokenIndex index;
+
+	/**
+	 * Индекс начал строк текста или {@code null}, если индекс не построен.
+	 */
+	@Nullable
+	private LineIndex lines;
+
+	/**
+	 * Дерево HTML-документа или {@code null}, если дерево не построено.
+	 */
+	@Nullable
+	private HtmlDocument document;
 
 	/**
 	 * Конструктор для {@code Html}.
 	 *
+	 * <p>Используется механизм обработки {@link EngineType#TOKENIZER}.</p>
+	 *
 	 * @param text текст для обработки.
 	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
 	 */
 	public Html(@NotNull final String text)
+	{
+		this(text, EngineType.TOKENIZER);
+	}
+
+	/**
+	 * Конструктор для {@code Html}.
+	 *
+	 * @param text текст для обработки.
+	 * @param engineType тип механизма обработки.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code engineType} передан {@code null}.
+	 */
+	public Html(@NotNull final String text, @NotNull final EngineType engineType)
+	{
+		this(text, engineType, Budget.unlimited());
+	}
+
+	/**
+	 * Конструктор для {@code Html}.
+	 *
+	 * <p>Ограничение {@code budget} действует на каждый вызов метода отдельно
+	 * и применяется механизмом обработки {@link EngineType#REGEXP}.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param engineType тип механизма обработки.
+	 * @param budget ограничение выполнения регулярных выражений.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code engineType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code budget} передан {@code null}.
+	 */
+	public Html(@NotNull final String text, @NotNull final EngineType engineType, @NotNull final Budget budget)
+	{
+		this(text, engineType, budget, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Конструктор для {@code Html}.
+	 *
+	 * <p>Используется механизм обработки {@link EngineType#PARALLEL}, части текста которого
+	 * обрабатываются в пуле потоков {@code pool}. Пул не завершается объектом.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param pool пул потоков.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code pool} передан {@code null}.
+	 */
+	public Html(@NotNull final String text, @NotNull final ForkJoinPool pool)
+	{
+		this(text, EngineType.PARALLEL, Budget.unlimited(), pool);
+	}
+
+	/**
+	 * Конструктор для {@code Html}.
+	 *
+	 * @param text текст для обработки.
+	 * @param engineType тип механизма обработки.
+	 * @param budget ограничение выполнения регулярных выражений.
+	 * @param pool пул потоков механизма обработки {@link EngineType#PARALLEL}.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code engineType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code budget} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code pool} передан {@code null}.
+	 */
+	private Html(@NotNull final CharSequence text,
+				 @NotNull final EngineType engineType,
+				 @NotNull final Budget budget,
+				 @NotNull final ForkJoinPool pool)
 	{
 		Objects.requireNonNull(text);
+		Objects.requireNonNull(engineType);
+		Objects.requireNonNull(budget);
+		Objects.requireNonNull(pool);
 
 		this.text = text;
+		this.engineType = engineType;
+		this.budget = budget;
+		this.engine = switch (engineType)
+			{
+				case TOKENIZER: yield new TokenizerEngine();
+				case REGEXP: yield new RegexpEngine(PatternCache.getDefault(), budget);
+				case PARALLEL: yield new ParallelEngine(pool);
+			};
+	}
+
+	/**
+	 * Создаёт объект для обработки HTML из файла, отображённого в память.
+	 *
+	 * <p>Используется механизм обработки {@link EngineType#TOKENIZER}.</p>
+	 *
+	 * @param path путь к файлу.
+	 * @param charset кодировка файла.
+	 * @return объект для обработки HTML.
+	 * @throws NullPointerException если в качестве {@code path} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IllegalArgumentException если кодировка не является однобайтовой или UTF-8.
+	 * @throws IllegalArgumentException если размер файла превышает {@link Integer#MAX_VALUE} байтов.
+	 * @throws IOException если файл не удалось прочитать.
+	 * @see MappedText#ofFile(Path, Charset)
+	 */
+	@NotNull
+	public static Html ofFile(@NotNull final Path path, @NotNull final Charset charset) throws IOException
+	{
+		return Html.ofFile(path, charset, EngineType.TOKENIZER, Budget.unlimited());
+	}
+
+	/**
+	 * Создаёт объект для обработки HTML из файла, отображённого в память.
+	 *
+	 * <p>Методы поиска и проверки обращаются к файлу без его копирования в кучу.
+	 * Текст копируется в строку при вызове {@link #getText()} и при изменении текста.</p>
+	 *
+	 * @param path путь к файлу.
+	 * @param charset кодировка файла.
+	 * @param engineType тип механизма обработки.
+	 * @param budget ограничение выполнения регулярных выражений.
+	 * @return объект для обработки HTML.
+	 * @throws NullPointerException если в качестве {@code path} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code engineType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code budget} передан {@code null}.
+	 * @throws IllegalArgumentException если кодировка не является однобайтовой или UTF-8.
+	 * @throws IllegalArgumentException если размер файла превышает {@link Integer#MAX_VALUE} байтов.
+	 * @throws IOException если файл не удалось прочитать.
+	 * @see MappedText#ofFile(Path, Charset)
+	 */
+	@NotNull
+	public static Html ofFile(@NotNull final Path path,
+							  @NotNull final Charset charset,
+							  @NotNull final EngineType engineType,
+							  @NotNull final Budget budget) throws IOException
+	{
+		Objects.requireNonNull(engineType);
+		Objects.requireNonNull(budget);
+
+		return new Html(MappedText.ofFile(path, charset), engineType, budget, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Создаёт объект для обработки HTML из файла, отображённого в память.
+	 *
+	 * <p>Используется механизм обработки {@link EngineType#PARALLEL}, части текста которого
+	 * обрабатываются в пуле потоков {@code pool}. Пул не завершается объектом.</p>
+	 *
+	 * @param path путь к файлу.
+	 * @param charset кодировка файла.
+	 * @param pool пул потоков.
+	 * @return объект для обработки HTML.
+	 * @throws NullPointerException если в качестве {@code path} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code pool} передан {@code null}.
+	 * @throws IllegalArgumentException если кодировка не является однобайтовой или UTF-8.
+	 * @throws IllegalArgumentException если размер файла превышает {@link Integer#MAX_VALUE} байтов.
+	 * @throws IOException если файл не удалось прочитать.
+	 * @see MappedText#ofFile(Path, Charset)
+	 */
+	@NotNull
+	public static Html ofFile(@NotNull final Path path,
+							  @NotNull final Charset charset,
+							  @NotNull final ForkJoinPool pool) throws IOException
+	{
+		Objects.requireNonNull(pool);
+
+		return new Html(MappedText.ofFile(path, charset), EngineType.PARALLEL, Budget.unlimited(), pool);
 	}
 
 	/**
@@ -85,7 +279,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(text);
 
-		this.text = text;
+		this.update(text);
 	}
 
 	/**
@@ -97,7 +291,76 @@ public class Html implements Hypertext
 	@Override
 	public String getText()
 	{
-		return this.text;
+		return this.text.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param output {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	public void writeText(@NotNull final Appendable output) throws IOException
+	{
+		WriterOutput.write(output, target -> target.append(this.text));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param output {@inheritDoc}
+	 * @param charset {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	public void writeText(@NotNull final OutputStream output, @NotNull final Charset charset) throws IOException
+	{
+		final WriterOutput writerOutput = WriterOutput.of(output, charset);
+
+		writerOutput.append(this.text);
+		writerOutput.flush();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param channel {@inheritDoc}
+	 * @param charset {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	public void writeText(@NotNull final WritableByteChannel channel, @NotNull final Charset charset) throws IOException
+	{
+		final WriterOutput writerOutput = WriterOutput.of(channel, charset);
+
+		writerOutput.append(this.text);
+		writerOutput.flush();
+	}
+
+	/**
+	 * Возвращает тип механизма обработки.
+	 *
+	 * @return тип механизма обработки.
+	 */
+	@NotNull
+	public EngineType getEngineType()
+	{
+		return this.engineType;
+	}
+
+	/**
+	 * Возвращает ограничение выполнения регулярных выражений.
+	 *
+	 * @return ограничение выполнения регулярных выражений.
+	 */
+	@NotNull
+	public Budget getBudget()
+	{
+		return this.budget;
 	}
 
 	/**
@@ -111,8 +374,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(tag);
 
-		Arrays.stream(TagType.values())
-			  .forEach(tagType -> this.deleteTag(tag, tagType));
+		this.update(this.engine.deleteTags(this.text, EnumSet.allOf(TagType.class), EnumSet.of(tag)));
 	}
 
 	/**
@@ -129,45 +391,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(tag);
 		Objects.requireNonNull(tagType);
 
-		Map<TagType, Pattern> patterns = new HashMap<>();
-
-		patterns.put(
-			TagType.SELF_CLOSING,
-			Pattern.compile(
-				Regexp.SELF_CLOSING_TAG.getPattern().replace(
-					"(?<name>[a-z]+)",
-					"(?<name>" + tag.getName() + ")"
-				),
-				Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-			)
-		);
-
-		patterns.put(
-			TagType.OPEN,
-			Pattern.compile(
-				Regexp.OPEN_TAG.getPattern().replace(
-					"(?<name>[a-z]+)",
-					"(?<name>" + tag.getName() + ")"
-				),
-				Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-			)
-		);
-
-		patterns.put(
-			TagType.CLOSE,
-			Pattern.compile(
-				Regexp.CLOSE_TAG.getPattern().replace(
-					"(?<name>[a-z]+)",
-					"(?<name>" + tag.getName() + ")"
-				),
-				Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-			)
-		);
-
-		Matcher matcher = patterns.get(tagType)
-								  .matcher(this.text);
-
-		this.text = matcher.replaceAll("");
+		this.update(this.engine.deleteTags(this.text, EnumSet.of(tagType), EnumSet.of(tag)));
 	}
 
 	/**
@@ -190,8 +414,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(tagType);
 
-		Arrays.stream(Tag.values())
-			  .forEach(tag -> this.deleteTag(tag, tagType));
+		this.update(this.engine.deleteTags(this.text, EnumSet.of(tagType), EnumSet.allOf(Tag.class)));
 	}
 
 	/**
@@ -205,9 +428,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(excludeTags);
 
-		Arrays.stream(Tag.values())
-			  .filter(tag -> !excludeTags.contains(tag))
-			  .forEach(this::deleteTag);
+		this.update(this.engine.deleteTags(this.text, EnumSet.allOf(TagType.class), Html.getTags(excludeTags)));
 	}
 
 	/**
@@ -224,9 +445,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(tagType);
 		Objects.requireNonNull(excludeTags);
 
-		Arrays.stream(Tag.values())
-			  .filter(tag -> !excludeTags.contains(tag))
-			  .forEach(tag -> this.deleteTag(tag, tagType));
+		this.update(this.engine.deleteTags(this.text, EnumSet.of(tagType), Html.getTags(excludeTags)));
 	}
 
 	/**
@@ -249,9 +468,9 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(excludeEntities);
 
-		Arrays.stream(Entity.values())
-			  .filter(entity -> !excludeEntities.contains(entity))
-			  .forEach(this::deleteEntity);
+		this.update(this.engine.deleteEntities(
+			this.text, EnumSet.allOf(EntityType.class), Html.getEntities(excludeEntities)
+		));
 	}
 
 	/**
@@ -265,8 +484,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(entity);
 
-		Arrays.stream(EntityType.values())
-			  .forEach(entityType -> this.deleteEntity(entity, entityType));
+		this.update(this.engine.deleteEntities(this.text, EnumSet.allOf(EntityType.class), EnumSet.of(entity)));
 	}
 
 	/**
@@ -283,45 +501,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(entity);
 		Objects.requireNonNull(entityType);
 
-		Map<EntityType, Pattern> patterns = new HashMap<>();
-
-		patterns.put(
-			EntityType.NAME,
-			Pattern.compile(
-				Regexp.ENTITY_NAME.getPattern().replace(
-					"(?<name>[0-9A-Z]+)",
-					"(?<name>" + entity.getEntity(entityType) + ")"
-				),
-				Pattern.UNICODE_CASE
-			)
-		);
-
-		patterns.put(
-			EntityType.NUMERIC,
-			Pattern.compile(
-				Regexp.ENTITY_NUMERIC.getPattern().replace(
-					"(?<numericLeast>[0-9]+)",
-					"(?<numericLeast>" + entity.getEntity(entityType) + ")"
-				),
-				Pattern.UNICODE_CASE
-			)
-		);
-
-		patterns.put(
-			EntityType.UNICODE,
-			Pattern.compile(
-				Regexp.ENTITY_UNICODE.getPattern().replace(
-					"(?<unicodeLeast>[0-9A-F]+)",
-					"(?<unicodeLeast>" + entity.getEntity(entityType) + ")"
-				),
-				Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-			)
-		);
-
-		Matcher matcher = patterns.get(entityType)
-								  .matcher(this.text);
-
-		this.text = matcher.replaceAll("");
+		this.update(this.engine.deleteEntities(this.text, EnumSet.of(entityType), EnumSet.of(entity)));
 	}
 
 	/**
@@ -330,14 +510,7 @@ public class Html implements Hypertext
 	@Override
 	public void deleteComments()
 	{
-		Pattern pattern = Pattern.compile(
-			Regexp.COMMENT.getPattern(),
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
-
-		Matcher matcher = pattern.matcher(this.text);
-
-		this.text = matcher.replaceAll("");
+		this.update(this.engine.delete(this.text, TokenType.COMMENT));
 	}
 
 	/**
@@ -346,14 +519,7 @@ public class Html implements Hypertext
 	@Override
 	public void deleteCData()
 	{
-		Pattern pattern = Pattern.compile(
-			Regexp.CDATA.getPattern(),
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
-
-		Matcher matcher = pattern.matcher(this.text);
-
-		this.text = matcher.replaceAll("");
+		this.update(this.engine.delete(this.text, TokenType.CDATA));
 	}
 
 	/**
@@ -362,14 +528,7 @@ public class Html implements Hypertext
 	@Override
 	public void deleteDoctype()
 	{
-		Pattern pattern = Pattern.compile(
-			Regexp.DOCTYPE.getPattern(),
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
-
-		Matcher matcher = pattern.matcher(this.text);
-
-		this.text = matcher.replaceAll("");
+		this.update(this.engine.delete(this.text, TokenType.DOCTYPE));
 	}
 
 	/**
@@ -386,10 +545,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(entity);
 		Objects.requireNonNull(entityType);
 
-		this.text = this.text.replaceAll(
-			Pattern.quote(String.valueOf(entity.getSymbol())),
-			entity.getMnemonic(entityType)
-		);
+		this.update(this.engine.encodeEntities(this.text, entityType, EnumSet.of(entity)));
 	}
 
 	/**
@@ -421,15 +577,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(entityType);
 		Objects.requireNonNull(excludeEntities);
 
-		// В первую очередь, кодируются управляющие символы.
-		CONTROL_SYMBOLS.stream()
-			  .filter(controlSymbol -> !excludeEntities.contains(controlSymbol))
-			  .forEach(controlSymbol -> this.encodeEntity(controlSymbol, entityType));
-
-		Arrays.stream(Entity.values())
-			  .filter(entity -> !CONTROL_SYMBOLS.contains(entity))
-			  .filter(entity -> !excludeEntities.contains(entity))
-			  .forEach(entity -> this.encodeEntity(entity, entityType));
+		this.update(this.engine.encodeEntities(this.text, entityType, Html.getEntities(excludeEntities)));
 	}
 
 	/**
@@ -443,8 +591,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(entity);
 
-		Arrays.stream(EntityType.values())
-			  .forEach(entityType -> this.decodeEntity(entity, entityType));
+		this.update(this.engine.decodeEntities(this.text, EnumSet.allOf(EntityType.class), EnumSet.of(entity)));
 	}
 
 	/**
@@ -461,43 +608,7 @@ public class Html implements Hypertext
 		Objects.requireNonNull(entity);
 		Objects.requireNonNull(entityType);
 
-		Map<EntityType, Pattern> patterns = new HashMap<>();
-
-		patterns.put(
-			EntityType.NAME,
-			Pattern.compile(
-				Regexp.ENTITY_NAME.getPattern().replace(
-					"(?<name>[0-9A-Z]+)",
-					"(?<name>" + entity.getEntity(entityType) + ")"
-				)
-			)
-		);
-
-		patterns.put(
-			EntityType.NUMERIC,
-			Pattern.compile(
-				Regexp.ENTITY_NUMERIC.getPattern().replace(
-					"(?<numericLeast>[0-9]+)",
-					"(?<numericLeast>" + entity.getEntity(entityType) + ")"
-				)
-			)
-		);
-
-		patterns.put(
-			EntityType.UNICODE,
-			Pattern.compile(
-				Regexp.ENTITY_UNICODE.getPattern().replace(
-					"(?<unicodeLeast>[0-9A-F]+)",
-					"(?<unicodeLeast>" + entity.getEntity(entityType) + ")"
-				),
-				Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-			)
-		);
-
-		Matcher matcher = patterns.get(entityType)
-								  .matcher(this.text);
-
-		this.text = matcher.replaceAll(String.valueOf(entity.getSymbol()));
+		this.update(this.engine.decodeEntities(this.text, EnumSet.of(entityType), EnumSet.of(entity)));
 	}
 
 	/**
@@ -520,8 +631,7 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(entityType);
 
-		Arrays.stream(Entity.values())
-			  .forEach(entity -> this.decodeEntity(entity, entityType));
+		this.decodeEntities(entityType, Collections.emptySet());
 	}
 
 	/**
@@ -535,9 +645,11 @@ public class Html implements Hypertext
 	{
 		Objects.requireNonNull(excludeEntities);
 
-		Arrays.stream(Entity.values())
-			  .filter(entity -> !excludeEntities.contains(entity))
-			  .forEach(this::decodeEntity);
+		this.update(this.engine.decodeEntities(
+			this.text,
+			EnumSet.allOf(EntityType.class),
+			Html.getEntities(excludeEntities)
+		));
 	}
 
 	/**
@@ -555,9 +667,11 @@ public class Html implements Hypertext
 		Objects.requireNonNull(entityType);
 		Objects.requireNonNull(excludeEntities);
 
-		Arrays.stream(Entity.values())
-			  .filter(entity -> !excludeEntities.contains(entity))
-			  .forEach(entity -> this.decodeEntity(entity, entityType));
+		this.update(this.engine.decodeEntities(
+			this.text,
+			EnumSet.of(entityType),
+			Html.getEntities(excludeEntities)
+		));
 	}
 
 	/**
@@ -568,10 +682,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isComment()
 	{
-		return this.is(
-			Regexp.COMMENT,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.is(TokenType.COMMENT);
 	}
 
 	/**
@@ -593,10 +704,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isEntityName()
 	{
-		return this.is(
-			Regexp.ENTITY_NAME,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.is(TokenType.ENTITY_NAME);
 	}
 
 	/**
@@ -607,7 +715,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isEntityNumeric()
 	{
-		return this.is(Regexp.ENTITY_NUMERIC);
+		return this.is(TokenType.ENTITY_NUMERIC);
 	}
 
 	/**
@@ -618,10 +726,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isEntityUnicode()
 	{
-		return this.is(
-			Regexp.ENTITY_UNICODE,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.is(TokenType.ENTITY_UNICODE);
 	}
 
 	/**
@@ -632,10 +737,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isDoctype()
 	{
-		return this.is(
-			Regexp.DOCTYPE,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.is(TokenType.DOCTYPE);
 	}
 
 	/**
@@ -646,10 +748,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isCData()
 	{
-		return this.is(
-			Regexp.CDATA,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.is(TokenType.CDATA);
 	}
 
 	/**
@@ -660,10 +759,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isCloseTag()
 	{
-		return this.is(
-			Regexp.CLOSE_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.is(TokenType.CLOSE_TAG);
 	}
 
 	/**
@@ -685,10 +781,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isOpenTag()
 	{
-		return this.is(
-			Regexp.OPEN_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.is(TokenType.OPEN_TAG);
 	}
 
 	/**
@@ -699,10 +792,7 @@ public class Html implements Hypertext
 	@Override
 	public boolean isSelfClosingTag()
 	{
-		return this.is(
-			Regexp.SELF_CLOSING_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.is(TokenType.SELF_CLOSING_TAG);
 	}
 
 	/**
@@ -733,10 +823,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findSelfClosingTags()
 	{
-		return this.find(
-			Regexp.SELF_CLOSING_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.find(TokenType.SELF_CLOSING_TAG);
 	}
 
 	/**
@@ -749,10 +836,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findOpenTags()
 	{
-		return this.find(
-			Regexp.OPEN_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.find(TokenType.OPEN_TAG);
 	}
 
 	/**
@@ -765,10 +849,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findCloseTags()
 	{
-		return this.find(
-			Regexp.CLOSE_TAG,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.find(TokenType.CLOSE_TAG);
 	}
 
 	/**
@@ -781,10 +862,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findCData()
 	{
-		return this.find(
-			Regexp.CDATA,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.find(TokenType.CDATA);
 	}
 
 	/**
@@ -797,10 +875,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findDoctype()
 	{
-		return this.find(
-			Regexp.DOCTYPE,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.find(TokenType.DOCTYPE);
 	}
 
 	/**
@@ -831,10 +906,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findEntitiesName()
 	{
-		return this.find(
-			Regexp.ENTITY_NAME,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.find(TokenType.ENTITY_NAME);
 	}
 
 	/**
@@ -847,7 +919,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findEntitiesNumeric()
 	{
-		return this.find(Regexp.ENTITY_NUMERIC);
+		return this.find(TokenType.ENTITY_NUMERIC);
 	}
 
 	/**
@@ -860,10 +932,7 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findEntitiesUnicode()
 	{
-		return this.find(
-			Regexp.ENTITY_UNICODE,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
-		);
+		return this.find(TokenType.ENTITY_UNICODE);
 	}
 
 	/**
@@ -876,81 +945,437 @@ public class Html implements Hypertext
 	@NotNull
 	public List<@NotNull String> findComments()
 	{
-		return this.find(
-			Regexp.COMMENT,
-			Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
-		);
+		return this.find(TokenType.COMMENT);
 	}
 
 	/**
-	 * Проверяет, является ли строка значением.
+	 * {@inheritDoc}
 	 *
-	 * @param regexp регулярное выражение.
-	 * @return {@code true}, если соответствует {@code regexp}, иначе {@code false}.
-	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull Token> findTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		final TokenIndex index = this.getIndex();
+
+		if (index == null) {
+			return this.engine.findTokens(this.text, tokenTypes);
+		}
+
+		return index.findTokens(tokenTypes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
 	 */
-	private boolean is(@NotNull final Regexp regexp)
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull Match> findMatches(@NotNull final Set<@NotNull TokenType> tokenTypes)
 	{
-		Objects.requireNonNull(regexp);
+		Objects.requireNonNull(tokenTypes);
+
+		final List<Token> tokens = this.findTokens(tokenTypes);
+		final LineIndex lines = this.getLines();
+		final List<Match> matches = new ArrayList<>(tokens.size());
+
+		for (Token token : tokens)
+		{
+			matches.add(new Match(
+				token, lines.getLine(token.getStart()), lines.getColumn(token.getStart())
+			));
+		}
 
-		return this.is(regexp, 0);
+		return Collections.unmodifiableList(matches);
 	}
 
 	/**
-	 * Проверяет, является ли строка значением.
+	 * {@inheritDoc}
+	 *
+	 * <p>Если индекс лексем уже построен для текущего текста, количество берётся из него.
+	 * Иначе лексемы подсчитываются механизмом обработки, а индекс не строится.</p>
 	 *
-	 * @param regexp регулярное выражение.
-	 * @param flags флаги регулярного выражения.
-	 * @return {@code true}, если соответствует {@code regexp}, иначе {@code false}.
-	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
 	 */
-	private boolean is(@NotNull final Regexp regexp, final int flags)
+	@Override
+	public int countTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
 	{
-		Objects.requireNonNull(regexp);
+		Objects.requireNonNull(tokenTypes);
+
+		final TokenIndex index = this.getBuiltIndex();
 
-		final Pattern pattern = Pattern.compile(regexp.getPattern(), flags);
-		final Matcher matcher = pattern.matcher(this.getText());
+		if (index == null) {
+			return this.engine.count(this.text, tokenTypes);
+		}
 
-		return matcher.matches();
+		return index.count(tokenTypes);
 	}
 
 	/**
-	 * Выполняет поиск значений.
+	 * {@inheritDoc}
 	 *
-	 * @return коллекцию с найденными значениями.
-	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
 	 */
-	@Unmodifiable
+	@Override
+	public boolean containsTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		final TokenIndex index = this.getBuiltIndex();
+
+		if (index == null) {
+			return this.engine.contains(this.text, tokenTypes);
+		}
+
+		return index.count(tokenTypes) > 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param tag {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tag} передан {@code null}.
+	 */
+	@Override
+	public boolean containsTag(@NotNull final Tag tag)
+	{
+		Objects.requireNonNull(tag);
+
+		final TokenIndex index = this.getBuiltIndex();
+
+		if (index == null) {
+			return this.engine.containsTags(this.text, EnumSet.of(tag));
+		}
+
+		return index.containsTags(EnumSet.of(tag));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param entity {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+	 */
+	@Override
+	public boolean containsEntity(@NotNull final Entity entity)
+	{
+		Objects.requireNonNull(entity);
+
+		final TokenIndex index = this.getBuiltIndex();
+
+		if (index == null) {
+			return this.engine.containsEntities(this.text, EnumSet.of(entity));
+		}
+
+		return index.containsEntities(EnumSet.of(entity));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param handler {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code handler} передан {@code null}.
+	 */
+	@Override
+	public void parse(@NotNull final HtmlHandler handler)
+	{
+		Objects.requireNonNull(handler);
+
+		HtmlParser.parse(this.text, handler);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
 	@NotNull
-	private List<@NotNull String> find(@NotNull final Regexp regexp)
+	public HtmlReader getReader()
 	{
-		Objects.requireNonNull(regexp);
+		return new HtmlReader(this.text);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Дерево строится при первом вызове и используется до изменения текста.</p>
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	@NotNull
+	public HtmlDocument getDocument()
+	{
+		if (this.document == null || !this.document.isOf(this.text)) {
+			this.document = HtmlDocument.parse(this.text);
+		}
 
-		return this.find(regexp, 0);
+		return this.document;
 	}
 
 	/**
-	 * Выполняет поиск значений.
+	 * {@inheritDoc}
+	 *
+	 * @param normalizeSpaces {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	@NotNull
+	public String toPlainText(final boolean normalizeSpaces)
+	{
+		final StringBuilder result = new StringBuilder(this.text.length());
+
+		try
+		{
+			TextExtractor.extract(this.text, result, normalizeSpaces);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param output {@inheritDoc}
+	 * @param normalizeSpaces {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	public void writePlainText(@NotNull final Appendable output, final boolean normalizeSpaces) throws IOException
+	{
+		Objects.requireNonNull(output);
+
+		TextExtractor.extract(this.text, output, normalizeSpaces);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void minify()
+	{
+		final StringBuilder result = new StringBuilder(this.text.length());
+
+		try
+		{
+			HtmlMinifier.minify(this.text, result);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+
+		this.update(result.toString());
+	}
+
+	/**
+	 * {@inheritDoc}
 	 *
-	 * @param flags флаги регулярного выражения.
-	 * @return коллекцию с найденными значениями.
-	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 * @param output {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	public void writeMinified(@NotNull final Appendable output) throws IOException
+	{
+		Objects.requireNonNull(output);
+
+		HtmlMinifier.minify(this.text, output);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Если индекс лексем уже построен для текущего текста, поток строится по нему.
+	 * Иначе лексемы распознаются механизмом обработки по мере чтения потока, а индекс не строится.</p>
+	 *
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public Stream<@NotNull Token> streamTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		final TokenIndex index = this.getBuiltIndex();
+
+		if (index == null) {
+			return this.engine.streamTokens(this.text, tokenTypes);
+		}
+
+		return index.streamTokens(tokenTypes);
+	}
+
+	/**
+	 * Выполняет поиск лексем.
+	 *
+	 * @param tokenType тип лексем.
+	 * @return коллекцию найденных лексем.
 	 */
 	@Unmodifiable
 	@NotNull
-	private List<@NotNull String> find(@NotNull final Regexp regexp, final int flags)
+	private List<@NotNull String> find(@NotNull final TokenType tokenType)
 	{
-		Objects.requireNonNull(regexp);
+		final TokenIndex index = this.getIndex();
 
-		final List<String> values = new ArrayList<>();
+		if (index == null) {
+			return this.engine.find(this.text, tokenType);
+		}
 
-		final Pattern pattern = Pattern.compile(regexp.getPattern(), flags);
-		final Matcher matcher = pattern.matcher(this.getText());
+		return index.find(tokenType);
+	}
+
+	/**
+	 * Проверяет, является ли весь текст лексемой.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @return {@code true}, если является, иначе {@code false}.
+	 */
+	private boolean is(@NotNull final TokenType tokenType)
+	{
+		final TokenIndex index = this.getIndex();
 
-		while (matcher.find()) {
-			values.add(matcher.group(regexp.getGroup()));
+		if (index == null) {
+			return this.engine.is(this.text, tokenType);
 		}
 
-		return Collections.unmodifiableList(values);
+		return index.is(tokenType);
+	}
+
+	/**
+	 * Возвращает индекс лексем текста.
+	 *
+	 * <p>Индекс строится при первом поиске или проверке и используется до изменения текста,
+	 * поэтому повторные поиски и проверки не анализируют текст заново.</p>
+	 *
+	 * @return индекс лексем или {@code null}, если механизм обработки не поддерживает индекс.
+	 */
+	@Nullable
+	private TokenIndex getIndex()
+	{
+		if (this.index == null || !this.index.isOf(this.text)) {
+			this.index = this.engine.index(this.text);
+		}
+
+		return this.index;
+	}
+
+	/**
+	 * Возвращает индекс начал строк текста.
+	 *
+	 * <p>Индекс строится при первом поиске с номерами строк и используется до изменения текста.</p>
+	 *
+	 * @return индекс начал строк.
+	 */
+	@NotNull
+	private LineIndex getLines()
+	{
+		if (this.lines == null || !this.lines.isOf(this.text)) {
+			this.lines = LineIndex.of(this.text);
+		}
+
+		return this.lines;
+	}
+
+	/**
+	 * Заменяет текст и сбрасывает индексы и дерево HTML-документа.
+	 *
+	 * <p>Индексы и дерево ссылаются на прежний текст, поэтому сбрасываются сразу,
+	 * а не при следующем запросе.</p>
+	 *
+	 * @param text новый текст.
+	 */
+	private void update(@NotNull final CharSequence text)
+	{
+		this.text = text;
+		this.index = null;
+		this.lines = null;
+		this.document = null;
+	}
+
+	/**
+	 * Проверяет, построены ли индексы или дерево HTML-документа.
+	 *
+	 * @return {@code true}, если построен хотя бы один индекс или дерево, иначе {@code false}.
+	 */
+	@VisibleForTesting
+	boolean isCached()
+	{
+		return this.index != null || this.lines != null || this.document != null;
+	}
+
+	/**
+	 * Возвращает индекс лексем текста, если он уже построен.
+	 *
+	 * @return индекс лексем или {@code null}, если индекс для текущего текста не построен.
+	 */
+	@Nullable
+	private TokenIndex getBuiltIndex()
+	{
+		if (this.index == null || !this.index.isOf(this.text)) {
+			return null;
+		}
+
+		return this.index;
+	}
+
+	/**
+	 * Возвращает HTML-теги за исключением указанных.
+	 *
+	 * @param excludeTags коллекция исключаемых HTML-тегов.
+	 * @return коллекцию HTML-тегов.
+	 * @throws NullPointerException если в качестве {@code excludeTags} передан {@code null}.
+	 */
+	@NotNull
+	static Set<@NotNull Tag> getTags(@NotNull final Set<@NotNull Tag> excludeTags)
+	{
+		Objects.requireNonNull(excludeTags);
+
+		final Set<Tag> tags = EnumSet.allOf(Tag.class);
+		tags.removeAll(excludeTags);
+
+		return tags;
+	}
+
+	/**
+	 * Возвращает HTML-сущности за исключением указанных.
+	 *
+	 * @param excludeEntities коллекция исключаемых HTML-сущностей.
+	 * @return коллекцию HTML-сущностей.
+	 * @throws NullPointerException если в качестве {@code excludeEntities} передан {@code null}.
+	 */
+	@NotNull
+	static Set<@NotNull Entity> getEntities(@NotNull final Set<@NotNull Entity> excludeEntities)
+	{
+		Objects.requireNonNull(excludeEntities);
+
+		final Set<Entity> entities = EnumSet.allOf(Entity.class);
+		entities.removeAll(excludeEntities);
+
+		return entities;
 	}
 }
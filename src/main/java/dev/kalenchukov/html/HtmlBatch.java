@@ -0,0 +1,370 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Класс пакетной обработки множества HTML-текстов.
+ *
+ * <p>Операция выполняется над каждым текстом в {@link Executor}, а результаты возвращаются
+ * в порядке текстов. Одновременно обрабатывается не больше {@link Builder#setWindowSize(int)} текстов:
+ * обработка следующего текста начинается только после получения результата самого раннего текста,
+ * поэтому тексты и результаты не накапливаются в памяти при медленной обработке.</p>
+ *
+ * <p>Операция вызывается одновременно из нескольких потоков. Неизменяемая цепочка {@link HtmlPipeline}
+ * подходит для этого, а объект {@link Html} должен создаваться внутри операции для каждого текста.</p>
+ *
+ * <pre>{@code
+ * HtmlPipeline pipeline = HtmlPipeline.builder()
+ *     .deleteComments()
+ *     .decodeEntities()
+ *     .build();
+ *
+ * HtmlBatch<String> batch = HtmlBatch.builder(pipeline::apply).build();
+ *
+ * List<String> texts = batch.apply(fragments);
+ *
+ * HtmlBatch<List<String>> tags = HtmlBatch.builder(text -> new Html(text).findTags())
+ *     .setExecutor(executor)
+ *     .setWindowSize(64)
+ *     .build();
+ *
+ * tags.apply(Files.lines(path), result -> System.out.println(result));
+ * }</pre>
+ *
+ * @param <R> тип результата обработки текста.
+ * @author Алексей Каленчуков
+ */
+public final class HtmlBatch<R>
+{
+	/**
+	 * Операция над текстом.
+	 */
+	@NotNull
+	private final Function<? super @NotNull String, ? extends @NotNull R> operation;
+
+	/**
+	 * Исполнитель операций.
+	 */
+	@NotNull
+	private final Executor executor;
+
+	/**
+	 * Наибольшее количество одновременно обрабатываемых текстов.
+	 */
+	private final int windowSize;
+
+	/**
+	 * Конструктор для {@code HtmlBatch}.
+	 *
+	 * @param operation операция над текстом.
+	 * @param executor исполнитель операций.
+	 * @param windowSize наибольшее количество одновременно обрабатываемых текстов.
+	 */
+	private HtmlBatch(@NotNull final Function<? super @NotNull String, ? extends @NotNull R> operation,
+					  @NotNull final Executor executor,
+					  final int windowSize)
+	{
+		this.operation = operation;
+		this.executor = executor;
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Возвращает построитель пакетной обработки.
+	 *
+	 * @param operation операция над текстом.
+	 * @param <R> тип результата обработки текста.
+	 * @return построитель пакетной обработки.
+	 * @throws NullPointerException если в качестве {@code operation} передан {@code null}.
+	 */
+	@NotNull
+	public static <R> Builder<R> builder(@NotNull final Function<? super @NotNull String, ? extends @NotNull R> operation)
+	{
+		Objects.requireNonNull(operation);
+
+		return new Builder<>(operation);
+	}
+
+	/**
+	 * Обрабатывает тексты.
+	 *
+	 * @param texts тексты для обработки.
+	 * @return результаты обработки в порядке текстов.
+	 * @throws NullPointerException если в качестве {@code texts} передан {@code null}.
+	 * @throws NullPointerException если в качестве текста или результата передан {@code null}.
+	 * @throws RuntimeException если операция над текстом завершилась исключением.
+	 */
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull R> apply(@NotNull final Iterable<@NotNull String> texts)
+	{
+		Objects.requireNonNull(texts);
+
+		final List<R> results = new ArrayList<>();
+
+		this.apply(texts, results::add);
+
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Обрабатывает тексты.
+	 *
+	 * <p>Поток текстов не закрывается.</p>
+	 *
+	 * @param texts тексты для обработки.
+	 * @return результаты обработки в порядке текстов.
+	 * @throws NullPointerException если в качестве {@code texts} передан {@code null}.
+	 * @throws NullPointerException если в качестве текста или результата передан {@code null}.
+	 * @throws RuntimeException если операция над текстом завершилась исключением.
+	 */
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull R> apply(@NotNull final Stream<@NotNull String> texts)
+	{
+		Objects.requireNonNull(texts);
+
+		return this.apply(texts::iterator);
+	}
+
+	/**
+	 * Обрабатывает тексты и передаёт результаты получателю.
+	 *
+	 * <p>Результаты передаются в порядке текстов в текущем потоке по мере готовности,
+	 * поэтому количество текстов не ограничено памятью.</p>
+	 *
+	 * @param texts тексты для обработки.
+	 * @param consumer получатель результатов.
+	 * @throws NullPointerException если в качестве {@code texts} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code consumer} передан {@code null}.
+	 * @throws NullPointerException если в качестве текста или результата передан {@code null}.
+	 * @throws RuntimeException если операция над текстом завершилась исключением.
+	 */
+	public void apply(@NotNull final Iterable<@NotNull String> texts, @NotNull final Consumer<? super @NotNull R> consumer)
+	{
+		Objects.requireNonNull(texts);
+		Objects.requireNonNull(consumer);
+
+		final Queue<CompletableFuture<R>> pending = new ArrayDeque<>();
+
+		try
+		{
+			for (String text : texts)
+			{
+				Objects.requireNonNull(text);
+
+				if (pending.size() == this.windowSize) {
+					consumer.accept(HtmlBatch.join(pending.remove()));
+				}
+
+				pending.add(CompletableFuture.supplyAsync(() -> this.operation.apply(text), this.executor));
+			}
+
+			while (!pending.isEmpty()) {
+				consumer.accept(HtmlBatch.join(pending.remove()));
+			}
+		}
+		finally
+		{
+			for (CompletableFuture<R> future : pending) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Обрабатывает тексты и передаёт результаты получателю.
+	 *
+	 * <p>Поток текстов не закрывается.</p>
+	 *
+	 * @param texts тексты для обработки.
+	 * @param consumer получатель результатов.
+	 * @throws NullPointerException если в качестве {@code texts} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code consumer} передан {@code null}.
+	 * @throws NullPointerException если в качестве текста или результата передан {@code null}.
+	 * @throws RuntimeException если операция над текстом завершилась исключением.
+	 */
+	public void apply(@NotNull final Stream<@NotNull String> texts, @NotNull final Consumer<? super @NotNull R> consumer)
+	{
+		Objects.requireNonNull(texts);
+
+		this.apply(texts::iterator, consumer);
+	}
+
+	/**
+	 * Возвращает исполнитель операций.
+	 *
+	 * @return исполнитель операций.
+	 */
+	@NotNull
+	public Executor getExecutor()
+	{
+		return this.executor;
+	}
+
+	/**
+	 * Возвращает наибольшее количество одновременно обрабатываемых текстов.
+	 *
+	 * @return наибольшее количество текстов.
+	 */
+	public int getWindowSize()
+	{
+		return this.windowSize;
+	}
+
+	/**
+	 * Возвращает результат операции.
+	 *
+	 * @param future результат операции.
+	 * @param <R> тип результата.
+	 * @return результат операции.
+	 * @throws NullPointerException если результат операции {@code null}.
+	 * @throws RuntimeException если операция завершилась исключением.
+	 */
+	@NotNull
+	private static <R> R join(@NotNull final CompletableFuture<R> future)
+	{
+		try {
+			return Objects.requireNonNull(future.join());
+		}
+		catch (CompletionException exception)
+		{
+			if (exception.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+
+			if (exception.getCause() instanceof Error cause) {
+				throw cause;
+			}
+
+			throw exception;
+		}
+	}
+
+	/**
+	 * Класс построителя пакетной обработки.
+	 *
+	 * @param <R> тип результата обработки текста.
+	 */
+	public static final class Builder<R>
+	{
+		/**
+		 * Операция над текстом.
+		 */
+		@NotNull
+		private final Function<? super @NotNull String, ? extends @NotNull R> operation;
+
+		/**
+		 * Исполнитель операций.
+		 */
+		@NotNull
+		private Executor executor;
+
+		/**
+		 * Наибольшее количество одновременно обрабатываемых текстов.
+		 */
+		private int windowSize;
+
+		/**
+		 * Конструктор для {@code Builder}.
+		 *
+		 * @param operation операция над текстом.
+		 */
+		private Builder(@NotNull final Function<? super @NotNull String, ? extends @NotNull R> operation)
+		{
+			this.operation = operation;
+			this.executor = ForkJoinPool.commonPool();
+			this.windowSize = Runtime.getRuntime().availableProcessors() * 4;
+		}
+
+		/**
+		 * Устанавливает исполнитель операций.
+		 *
+		 * <p>По умолчанию используется {@link ForkJoinPool#commonPool()}.
+		 * Исполнитель не завершается после обработки.</p>
+		 *
+		 * @param executor исполнитель операций.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code executor} передан {@code null}.
+		 */
+		@NotNull
+		public Builder<R> setExecutor(@NotNull final Executor executor)
+		{
+			Objects.requireNonNull(executor);
+
+			this.executor = executor;
+
+			return this;
+		}
+
+		/**
+		 * Устанавливает наибольшее количество одновременно обрабатываемых текстов.
+		 *
+		 * <p>По умолчанию в четыре раза больше количества процессоров.</p>
+		 *
+		 * @param windowSize наибольшее количество текстов.
+		 * @return этот построитель.
+		 * @throws IllegalArgumentException если {@code windowSize} меньше {@code 1}.
+		 */
+		@NotNull
+		public Builder<R> setWindowSize(final int windowSize)
+		{
+			if (windowSize < 1) {
+				throw new IllegalArgumentException();
+			}
+
+			this.windowSize = windowSize;
+
+			return this;
+		}
+
+		/**
+		 * Создаёт пакетную обработку.
+		 *
+		 * @return пакетную обработку.
+		 */
+		@NotNull
+		public HtmlBatch<R> build()
+		{
+			return new HtmlBatch<>(this.operation, this.executor, this.windowSize);
+		}
+	}
+}
@@ -0,0 +1,1145 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.NodeType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс дерева HTML-документа.
+ *
+ * <p>Дерево строится за один просмотр текста с помощью {@link HtmlReader}. Узлы обозначаются
+ * номерами в порядке их начала в тексте, корневой узел имеет номер {@code 0}. Связи и позиции
+ * узлов хранятся в массивах чисел, по одному элементу массива на узел, а текст узлов
+ * не копируется и возвращается как часть исходного текста.</p>
+ *
+ * <p>HTML-элемент закрывается ближайшим открытым HTML-элементом с тем же названием.
+ * HTML-элементы, открытые внутри него, закрываются вместе с ним. Закрывающий HTML-тег
+ * без открытого HTML-элемента пропускается. Пустые HTML-элементы, например {@link Tag#BR},
+ * не имеют содержимого и без символа {@literal «/»} в конце.</p>
+ *
+ * <p>HTML-элементы с необязательным закрывающим HTML-тегом закрываются открывающим HTML-тегом
+ * следующего HTML-элемента, как в HTML:</p>
+ * <ul>
+ * 		<li>{@link Tag#LI} — HTML-тегом {@link Tag#LI} в том же списке;</li>
+ * 		<li>{@link Tag#DT} и {@link Tag#DD} — HTML-тегами {@link Tag#DT} и {@link Tag#DD} в том же списке;</li>
+ * 		<li>{@link Tag#TR} — HTML-тегами {@link Tag#TR}, {@link Tag#THEAD}, {@link Tag#TBODY}
+ * 		и {@link Tag#TFOOT} в той же таблице;</li>
+ * 		<li>{@link Tag#TD} и {@link Tag#TH} — HTML-тегами {@link Tag#TD}, {@link Tag#TH}, {@link Tag#TR},
+ * 		{@link Tag#THEAD}, {@link Tag#TBODY} и {@link Tag#TFOOT} в той же таблице;</li>
+ * 		<li>{@link Tag#THEAD}, {@link Tag#TBODY} и {@link Tag#TFOOT} — HTML-тегами {@link Tag#THEAD},
+ * 		{@link Tag#TBODY} и {@link Tag#TFOOT} в той же таблице;</li>
+ * 		<li>{@link Tag#OPTION} — HTML-тегами {@link Tag#OPTION} и {@link Tag#OPTGROUP};</li>
+ * 		<li>{@link Tag#OPTGROUP} — HTML-тегом {@link Tag#OPTGROUP} в том же списке;</li>
+ * 		<li>{@link Tag#P} — HTML-тегами блочных HTML-элементов, например {@link Tag#DIV},
+ * 		{@link Tag#UL} и {@link Tag#P}, вне таблицы и кнопки.</li>
+ * </ul>
+ *
+ * <p>Такие HTML-элементы заканчиваются в начале закрывающего их HTML-тега. Закрывающий HTML-тег
+ * родительского HTML-элемента, например {@literal «</ul>»} для {@link Tag#LI}, закрывает их по общему правилу.</p>
+ *
+ * <pre>{@code
+ * HtmlDocument document = HtmlDocument.parse(text);
+ *
+ * for (int node = document.getFirstChild(HtmlDocument.ROOT); node >= 0; node = document.getNextSibling(node)) {
+ *     System.out.println(document.getType(node) + " " + document.getSource(node));
+ * }
+ * }</pre>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlDocument
+{
+	/**
+	 * Номер корневого узла.
+	 */
+	public static final int ROOT = 0;
+
+	/**
+	 * Номер, обозначающий отсутствие узла.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * Пустые HTML-элементы.
+	 */
+	@NotNull
+	private static final Set<@NotNull Tag> VOID_TAGS = EnumSet.of(
+		Tag.AREA, Tag.BASE, Tag.BR, Tag.COL, Tag.EMBED, Tag.HR, Tag.IMG, Tag.INPUT,
+		Tag.KEYGEN, Tag.LINK, Tag.META, Tag.PARAM, Tag.SOURCE, Tag.TRACK, Tag.WBR
+	);
+
+	/**
+	 * Закрытие HTML-элемента {@link Tag#P}.
+	 */
+	@NotNull
+	private static final ImpliedEnd PARAGRAPH_END = new ImpliedEnd(
+		EnumSet.of(Tag.P),
+		EnumSet.of(Tag.APPLET, Tag.BUTTON, Tag.CAPTION, Tag.HTML, Tag.MARQUEE, Tag.OBJECT, Tag.TABLE, Tag.TD, Tag.TH)
+	);
+
+	/**
+	 * Закрытие HTML-элемента {@link Tag#TR}.
+	 */
+	@NotNull
+	private static final ImpliedEnd ROW_END = new ImpliedEnd(
+		EnumSet.of(Tag.TR), EnumSet.of(Tag.TABLE, Tag.THEAD, Tag.TBODY, Tag.TFOOT)
+	);
+
+	/**
+	 * Закрытие HTML-элементов {@link Tag#TD} и {@link Tag#TH}.
+	 */
+	@NotNull
+	private static final ImpliedEnd CELL_END = new ImpliedEnd(
+		EnumSet.of(Tag.TD, Tag.TH), EnumSet.of(Tag.TABLE, Tag.THEAD, Tag.TBODY, Tag.TFOOT, Tag.TR)
+	);
+
+	/**
+	 * Закрытие HTML-элементов {@link Tag#THEAD}, {@link Tag#TBODY} и {@link Tag#TFOOT}.
+	 */
+	@NotNull
+	private static final ImpliedEnd SECTION_END = new ImpliedEnd(
+		EnumSet.of(Tag.THEAD, Tag.TBODY, Tag.TFOOT), EnumSet.of(Tag.TABLE)
+	);
+
+	/**
+	 * Закрытие HTML-элементов {@link Tag#DT} и {@link Tag#DD}.
+	 */
+	@NotNull
+	private static final ImpliedEnd DEFINITION_END = new ImpliedEnd(
+		EnumSet.of(Tag.DT, Tag.DD), EnumSet.of(Tag.DL, Tag.TABLE, Tag.TD, Tag.TH)
+	);
+
+	/**
+	 * Закрытие HTML-элемента {@link Tag#OPTION}.
+	 */
+	@NotNull
+	private static final ImpliedEnd OPTION_END = new ImpliedEnd(
+		EnumSet.of(Tag.OPTION), EnumSet.of(Tag.SELECT, Tag.DATALIST, Tag.OPTGROUP)
+	);
+
+	/**
+	 * HTML-теги, закрывающие открытый HTML-элемент {@link Tag#P}.
+	 */
+	@NotNull
+	private static final Set<@NotNull Tag> PARAGRAPH_CLOSERS = EnumSet.of(
+		Tag.ADDRESS, Tag.ARTICLE, Tag.ASIDE, Tag.BLOCKQUOTE, Tag.CENTER, Tag.DD, Tag.DETAILS, Tag.DIR,
+		Tag.DIV, Tag.DL, Tag.DT, Tag.FIELDSET, Tag.FIGCAPTION, Tag.FIGURE, Tag.FOOTER, Tag.FORM,
+		Tag.H1, Tag.H2, Tag.H3, Tag.H4, Tag.H5, Tag.H6, Tag.HEADER, Tag.HGROUP, Tag.HR, Tag.LI,
+		Tag.LISTING, Tag.MAIN, Tag.MENU, Tag.NAV, Tag.OL, Tag.P, Tag.PLAINTEXT, Tag.PRE, Tag.SECTION,
+		Tag.SUMMARY, Tag.TABLE, Tag.UL, Tag.XMP
+	);
+
+	/**
+	 * Закрытия HTML-элементов открывающим HTML-тегом по HTML-тегу в порядке выполнения.
+	 */
+	@NotNull
+	private static final Map<@NotNull Tag, @NotNull List<@NotNull ImpliedEnd>> IMPLIED_ENDS = Map.ofEntries(
+		Map.entry(Tag.LI, List.of(
+			new ImpliedEnd(EnumSet.of(Tag.LI), EnumSet.of(Tag.UL, Tag.OL, Tag.MENU, Tag.DIR, Tag.TABLE, Tag.TD, Tag.TH))
+		)),
+		Map.entry(Tag.DT, List.of(DEFINITION_END)),
+		Map.entry(Tag.DD, List.of(DEFINITION_END)),
+		Map.entry(Tag.TR, List.of(ROW_END)),
+		Map.entry(Tag.TD, List.of(CELL_END)),
+		Map.entry(Tag.TH, List.of(CELL_END)),
+		Map.entry(Tag.THEAD, List.of(SECTION_END, ROW_END)),
+		Map.entry(Tag.TBODY, List.of(SECTION_END, ROW_END)),
+		Map.entry(Tag.TFOOT, List.of(SECTION_END, ROW_END)),
+		Map.entry(Tag.OPTION, List.of(OPTION_END)),
+		Map.entry(Tag.OPTGROUP, List.of(
+			OPTION_END, new ImpliedEnd(EnumSet.of(Tag.OPTGROUP), EnumSet.of(Tag.SELECT, Tag.DATALIST))
+		))
+	);
+
+	/**
+	 * Типы узлов.
+	 */
+	@NotNull
+	private static final NodeType @NotNull [] NODE_TYPES = NodeType.values();
+
+	/**
+	 * HTML-теги.
+	 */
+	@NotNull
+	private static final Tag @NotNull [] TAGS = Tag.values();
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Количество узлов.
+	 */
+	private int count;
+
+	/**
+	 * Типы узлов по порядковому номеру {@link NodeType}.
+	 */
+	private byte @NotNull [] types;
+
+	/**
+	 * Порядковые номера HTML-тегов узлов или {@code -1}.
+	 */
+	private short @NotNull [] tags;
+
+	/**
+	 * Родительские узлы.
+	 */
+	private int @NotNull [] parents;
+
+	/**
+	 * Первые дочерние узлы.
+	 */
+	private int @NotNull [] firstChildren;
+
+	/**
+	 * Следующие узлы того же родителя.
+	 */
+	private int @NotNull [] nextSiblings;
+
+	/**
+	 * Начала узлов в тексте.
+	 */
+	private int @NotNull [] starts;
+
+	/**
+	 * Позиции за концом узлов в тексте.
+	 */
+	private int @NotNull [] ends;
+
+	/**
+	 * HTML-элементы по порядковому номеру HTML-тега или {@code null}, если индекс не построен.
+	 *
+	 * <p>Последний элемент массива содержит HTML-элементы с неизвестными названиями.</p>
+	 */
+	private int @Nullable [] @NotNull [] tagIndex;
+
+	/**
+	 * HTML-элементы по значению параметра {@code id} или {@code null}, если индекс не построен.
+	 */
+	@Nullable
+	private Map<@NotNull String, int @NotNull []> idIndex;
+
+	/**
+	 * HTML-элементы по классу из параметра {@code class} или {@code null}, если индекс не построен.
+	 */
+	@Nullable
+	private Map<@NotNull String, int @NotNull []> classIndex;
+
+	/**
+	 * Конструктор для {@code HtmlDocument}.
+	 *
+	 * @param text текст.
+	 * @param capacity начальное количество узлов.
+	 */
+	private HtmlDocument(@NotNull final CharSequence text, final int capacity)
+	{
+		this.text = text;
+		this.types = new byte[capacity];
+		this.tags = new short[capacity];
+		this.parents = new int[capacity];
+		this.firstChildren = new int[capacity];
+		this.nextSiblings = new int[capacity];
+		this.starts = new int[capacity];
+		this.ends = new int[capacity];
+	}
+
+	/**
+	 * Строит дерево HTML-документа.
+	 *
+	 * @param text текст.
+	 * @return дерево HTML-документа.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	@NotNull
+	public static HtmlDocument parse(@NotNull final CharSequence text)
+	{
+		Objects.requireNonNull(text);
+
+		final HtmlDocument document = new HtmlDocument(text, 16);
+		final HtmlReader reader = new HtmlReader(text);
+
+		int[] lastChildren = new int[16];
+		int[] open = new int[16];
+		int depth = 0;
+
+		open[0] = document.add(NodeType.DOCUMENT, null, NONE, 0, text.length(), lastChildren);
+
+		while (reader.next())
+		{
+			if (lastChildren.length < document.count + 1) {
+				lastChildren = Arrays.copyOf(lastChildren, lastChildren.length * 2);
+			}
+
+			final int start = reader.getTextStart();
+			final int end = reader.getTextEnd();
+			final TokenType tokenType = reader.getTokenType();
+
+			if (tokenType == TokenType.CLOSE_TAG)
+			{
+				final int match = document.findOpen(open, depth, reader.getTagName(), start + 2);
+
+				if (match < 0) {
+					continue;
+				}
+
+				while (depth > match) {
+					document.ends[open[depth--]] = start;
+				}
+
+				document.ends[open[depth--]] = end;
+
+				continue;
+			}
+
+			if (tokenType == TokenType.OPEN_TAG || tokenType == TokenType.SELF_CLOSING_TAG) {
+				depth = document.closeImplied(open, depth, reader.getTagName(), start);
+			}
+
+			final int node = document.add(
+				HtmlDocument.getNodeType(tokenType), reader.getTagName(), open[depth], start, end, lastChildren
+			);
+
+			if (tokenType == TokenType.OPEN_TAG && !VOID_TAGS.contains(reader.getTagName()))
+			{
+				if (++depth == open.length) {
+					open = Arrays.copyOf(open, depth * 2);
+				}
+
+				open[depth] = node;
+			}
+		}
+
+		while (depth > 0) {
+			document.ends[open[depth--]] = text.length();
+		}
+
+		document.trim();
+
+		return document;
+	}
+
+	/**
+	 * Возвращает количество узлов.
+	 *
+	 * @return количество узлов вместе с корневым узлом.
+	 */
+	public int getNodeCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Возвращает тип узла.
+	 *
+	 * @param node номер узла.
+	 * @return тип узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	@NotNull
+	public NodeType getType(final int node)
+	{
+		return NODE_TYPES[this.types[this.check(node)]];
+	}
+
+	/**
+	 * Возвращает HTML-тег узла.
+	 *
+	 * @param node номер узла.
+	 * @return HTML-тег или {@code null}, если узел не является HTML-элементом или название HTML-тега неизвестно.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	@Nullable
+	public Tag getTag(final int node)
+	{
+		final short tag = this.tags[this.check(node)];
+
+		return tag < 0 ? null : TAGS[tag];
+	}
+
+	/**
+	 * Возвращает родительский узел.
+	 *
+	 * @param node номер узла.
+	 * @return номер родительского узла или {@link #NONE} для корневого узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int getParent(final int node)
+	{
+		return this.parents[this.check(node)];
+	}
+
+	/**
+	 * Возвращает первый дочерний узел.
+	 *
+	 * @param node номер узла.
+	 * @return номер первого дочернего узла или {@link #NONE}, если дочерних узлов нет.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int getFirstChild(final int node)
+	{
+		return this.firstChildren[this.check(node)];
+	}
+
+	/**
+	 * Возвращает следующий узел того же родителя.
+	 *
+	 * @param node номер узла.
+	 * @return номер следующего узла или {@link #NONE}, если узел последний.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int getNextSibling(final int node)
+	{
+		return this.nextSiblings[this.check(node)];
+	}
+
+	/**
+	 * Возвращает дочерние узлы.
+	 *
+	 * @param node номер узла.
+	 * @return номера дочерних узлов по порядку.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int @NotNull [] getChildren(final int node)
+	{
+		int size = 0;
+
+		for (int child = this.getFirstChild(node); child >= 0; child = this.nextSiblings[child]) {
+			size++;
+		}
+
+		final int[] children = new int[size];
+
+		for (int child = this.firstChildren[node], index = 0; child >= 0; child = this.nextSiblings[child]) {
+			children[index++] = child;
+		}
+
+		return children;
+	}
+
+	/**
+	 * Возвращает начало узла в тексте.
+	 *
+	 * @param node номер узла.
+	 * @return позицию первого символа узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int getStart(final int node)
+	{
+		return this.starts[this.check(node)];
+	}
+
+	/**
+	 * Возвращает конец узла в тексте.
+	 *
+	 * <p>Для HTML-элемента это позиция за закрывающим HTML-тегом, а если HTML-элемент
+	 * закрыт вместе с внешним HTML-элементом, то позиция закрывающего HTML-тега внешнего HTML-элемента.</p>
+	 *
+	 * @param node номер узла.
+	 * @return позицию за последним символом узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public int getEnd(final int node)
+	{
+		return this.ends[this.check(node)];
+	}
+
+	/**
+	 * Возвращает текст узла.
+	 *
+	 * <p>Текст не копируется: возвращается представление части исходного текста.</p>
+	 *
+	 * @param node номер узла.
+	 * @return текст узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	@NotNull
+	public CharSequence getSource(final int node)
+	{
+		return CharBuffer.wrap(this.text, this.getStart(node), this.ends[node]);
+	}
+
+	/**
+	 * Возвращает текстовое содержимое узла.
+	 *
+	 * <p>Объединяет текст всех узлов {@link NodeType#TEXT} внутри узла. Известные HTML-сущности
+	 * заменяются специальными символами, неизвестные остаются без изменений.</p>
+	 *
+	 * @param node номер узла.
+	 * @return текстовое содержимое.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	@NotNull
+	public String getTextContent(final int node)
+	{
+		final int end = this.getEnd(node);
+		final StringBuilder result = new StringBuilder();
+
+		for (int index = node; index < this.count && this.starts[index] < end; index++)
+		{
+			if (!this.isDescendant(index, node)) {
+				continue;
+			}
+
+			if (this.types[index] == NodeType.TEXT.ordinal()) {
+				result.append(this.text, this.starts[index], this.ends[index]);
+			}
+			else if (this.types[index] == NodeType.ENTITY.ordinal())
+			{
+				final Entity entity = HtmlDocument.getEntity(this.text, this.starts[index], this.ends[index]);
+
+				if (entity == null) {
+					result.append(this.text, this.starts[index], this.ends[index]);
+				}
+				else
+				{
+					result.append(entity.getSymbol());
+				}
+			}
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает значение параметра HTML-элемента.
+	 *
+	 * <p>Название параметра сравнивается без учёта регистра. Значение возвращается
+	 * без кавычек и без преобразования HTML-сущностей.</p>
+	 *
+	 * @param node номер узла.
+	 * @param name название параметра.
+	 * @return значение первого параметра с этим названием, пустую строку, если у параметра нет значения,
+	 * или {@code null}, если параметра нет или узел не является HTML-элементом.
+	 * @throws NullPointerException если в качестве {@code name} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	@Nullable
+	public String getAttribute(final int node, @NotNull final String name)
+	{
+		Objects.requireNonNull(name);
+
+		final int[] positions = new int[4];
+
+		if (!this.findAttribute(this.check(node), Grammar.foldCase(name), positions)) {
+			return null;
+		}
+
+		if (positions[2] < 0) {
+			return "";
+		}
+
+		return this.text.subSequence(positions[2], positions[3]).toString();
+	}
+
+	/**
+	 * Возвращает HTML-элемент по значению параметра {@code id}.
+	 *
+	 * @param id значение параметра {@code id}.
+	 * @return номер первого HTML-элемента с этим значением или {@link #NONE}, если его нет.
+	 * @throws NullPointerException если в качестве {@code id} передан {@code null}.
+	 */
+	public int getElementById(@NotNull final String id)
+	{
+		Objects.requireNonNull(id);
+
+		final int[] nodes = this.getIdIndex(id);
+
+		return nodes.length == 0 ? NONE : nodes[0];
+	}
+
+	/**
+	 * Возвращает HTML-элементы, подходящие под CSS-селектор.
+	 *
+	 * @param selector CSS-селектор.
+	 * @return номера HTML-элементов по порядку.
+	 * @throws NullPointerException если в качестве {@code selector} передан {@code null}.
+	 * @throws IllegalArgumentException если CSS-селектор записан неверно.
+	 * @see Selector#compile(String)
+	 */
+	public int @NotNull [] select(@NotNull final String selector)
+	{
+		return Selector.compile(selector).select(this);
+	}
+
+	/**
+	 * Возвращает HTML-элементы с HTML-тегом.
+	 *
+	 * <p>Индекс HTML-тегов строится при первом вызове. Массив не копируется и не должен изменяться.</p>
+	 *
+	 * @param tag HTML-тег или {@code null} для HTML-элементов с неизвестными названиями.
+	 * @return номера HTML-элементов по порядку.
+	 */
+	int @NotNull [] getTagIndex(@Nullable final Tag tag)
+	{
+		if (this.tagIndex == null)
+		{
+			final int unknown = TAGS.length;
+			final int[] sizes = new int[unknown + 1];
+
+			for (int node = 0; node < this.count; node++)
+			{
+				if (this.types[node] == NodeType.ELEMENT.ordinal()) {
+					sizes[this.tags[node] < 0 ? unknown : this.tags[node]]++;
+				}
+			}
+
+			final int[][] index = new int[unknown + 1][];
+
+			for (int slot = 0; slot <= unknown; slot++) {
+				index[slot] = new int[sizes[slot]];
+			}
+
+			Arrays.fill(sizes, 0);
+
+			for (int node = 0; node < this.count; node++)
+			{
+				if (this.types[node] == NodeType.ELEMENT.ordinal())
+				{
+					final int slot = this.tags[node] < 0 ? unknown : this.tags[node];
+
+					index[slot][sizes[slot]++] = node;
+				}
+			}
+
+			this.tagIndex = index;
+		}
+
+		return this.tagIndex[tag == null ? this.tagIndex.length - 1 : tag.ordinal()];
+	}
+
+	/**
+	 * Возвращает HTML-элементы со значением параметра {@code id}.
+	 *
+	 * <p>Индексы параметров {@code id} и {@code class} строятся вместе при первом вызове.
+	 * Массив не копируется и не должен изменяться.</p>
+	 *
+	 * @param id значение параметра {@code id}.
+	 * @return номера HTML-элементов по порядку.
+	 */
+	int @NotNull [] getIdIndex(@NotNull final String id)
+	{
+		if (this.idIndex == null) {
+			this.buildAttributeIndexes();
+		}
+
+		return this.idIndex.getOrDefault(id, new int[0]);
+	}
+
+	/**
+	 * Возвращает HTML-элементы с классом.
+	 *
+	 * <p>Индексы параметров {@code id} и {@code class} строятся вместе при первом вызове.
+	 * Массив не копируется и не должен изменяться.</p>
+	 *
+	 * @param className класс.
+	 * @return номера HTML-элементов по порядку.
+	 */
+	int @NotNull [] getClassIndex(@NotNull final String className)
+	{
+		if (this.classIndex == null) {
+			this.buildAttributeIndexes();
+		}
+
+		return this.classIndex.getOrDefault(className, new int[0]);
+	}
+
+	/**
+	 * Возвращает текст.
+	 *
+	 * @return текст, по которому построено дерево.
+	 */
+	@NotNull
+	CharSequence getText()
+	{
+		return this.text;
+	}
+
+	/**
+	 * Проверяет, является ли узел HTML-элементом.
+	 *
+	 * @param node номер узла.
+	 * @return {@code true}, если узел является HTML-элементом, иначе {@code false}.
+	 */
+	boolean isElement(final int node)
+	{
+		return this.types[node] == NodeType.ELEMENT.ordinal();
+	}
+
+	/**
+	 * Проверяет название HTML-элемента с неизвестным HTML-тегом.
+	 *
+	 * @param node номер узла.
+	 * @param name название в виде {@link Grammar#foldCase(String)}.
+	 * @return {@code true}, если название совпадает, иначе {@code false}.
+	 */
+	boolean hasName(final int node, @NotNull final String name)
+	{
+		final int start = this.starts[node] + 1;
+
+		return Grammar.matchTagName(this.text, start) - start == name.length()
+			&& Grammar.startsWithIgnoreCase(this.text, start, name);
+	}
+
+	/**
+	 * Ищет параметр HTML-элемента.
+	 *
+	 * @param node номер узла.
+	 * @param name название параметра в виде {@link Grammar#foldCase(String)}.
+	 * @param positions массив для позиций параметра, как в {@link Grammar#matchParam}.
+	 * @return {@code true}, если параметр найден, иначе {@code false}.
+	 */
+	boolean findAttribute(final int node, @NotNull final String name, final int @NotNull [] positions)
+	{
+		if (this.types[node] != NodeType.ELEMENT.ordinal()) {
+			return false;
+		}
+
+		final int start = this.starts[node];
+		int end = Grammar.matchTag(this.text, start, TagType.SELF_CLOSING);
+		final boolean selfClosing = end >= 0;
+
+		if (!selfClosing) {
+			end = Grammar.matchTag(this.text, start, TagType.OPEN);
+		}
+
+		int index = Grammar.matchTagName(this.text, start + 1);
+
+		while ((index = Grammar.matchParam(this.text, index, end, selfClosing, positions, 0)) >= 0)
+		{
+			if (positions[1] - positions[0] == name.length() && Grammar.startsWithIgnoreCase(this.text, positions[0], name)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Строит индексы параметров {@code id} и {@code class}.
+	 */
+	private void buildAttributeIndexes()
+	{
+		final Map<String, int[]> ids = new HashMap<>();
+		final Map<String, int[]> classes = new HashMap<>();
+		final int[] positions = new int[4];
+
+		for (int node = 0; node < this.count; node++)
+		{
+			if (this.findAttribute(node, "id", positions) && positions[2] >= 0) {
+				HtmlDocument.addToIndex(ids, this.text.subSequence(positions[2], positions[3]).toString(), node);
+			}
+
+			if (this.findAttribute(node, "class", positions) && positions[2] >= 0)
+			{
+				int index = positions[2];
+
+				while (index < positions[3])
+				{
+					final int classStart = index;
+
+					while (index < positions[3] && !Grammar.isSpace(this.text.charAt(index))) {
+						index++;
+					}
+
+					if (index > classStart) {
+						HtmlDocument.addToIndex(classes, this.text.subSequence(classStart, index).toString(), node);
+					}
+
+					index++;
+				}
+			}
+		}
+
+		this.idIndex = HtmlDocument.trimIndex(ids);
+		this.classIndex = HtmlDocument.trimIndex(classes);
+	}
+
+	/**
+	 * Добавляет узел в индекс.
+	 *
+	 * <p>В первом элементе массива индекса хранится количество узлов в нём.</p>
+	 *
+	 * @param index индекс.
+	 * @param key ключ.
+	 * @param node номер узла.
+	 */
+	private static void addToIndex(@NotNull final Map<@NotNull String, int @NotNull []> index,
+								   @NotNull final String key,
+								   final int node)
+	{
+		int[] nodes = index.get(key);
+
+		if (nodes == null)
+		{
+			nodes = new int[2];
+			index.put(key, nodes);
+		}
+
+		if (nodes[0] > 0 && nodes[nodes[0]] == node) {
+			return;
+		}
+
+		if (nodes[0] + 1 == nodes.length)
+		{
+			nodes = Arrays.copyOf(nodes, nodes.length * 2);
+			index.put(key, nodes);
+		}
+
+		nodes[++nodes[0]] = node;
+	}
+
+	/**
+	 * Удаляет из массивов индекса количество узлов и свободные элементы.
+	 *
+	 * @param index индекс.
+	 * @return индекс.
+	 */
+	@NotNull
+	private static Map<@NotNull String, int @NotNull []> trimIndex(@NotNull final Map<@NotNull String, int @NotNull []> index)
+	{
+		index.replaceAll((key, nodes) -> Arrays.copyOfRange(nodes, 1, nodes[0] + 1));
+
+		return index;
+	}
+
+	/**
+	 * Проверяет, построено ли дерево для текста.
+	 *
+	 * @param text текст.
+	 * @return {@code true}, если дерево построено для этого же объекта текста, иначе {@code false}.
+	 */
+	boolean isOf(@NotNull final CharSequence text)
+	{
+		return this.text == text;
+	}
+
+	/**
+	 * Проверяет, находится ли узел внутри другого узла.
+	 *
+	 * @param node номер узла.
+	 * @param ancestor номер другого узла.
+	 * @return {@code true}, если узел совпадает с другим узлом или находится внутри него, иначе {@code false}.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} или {@code ancestor} нет.
+	 */
+	public boolean isDescendant(final int node, final int ancestor)
+	{
+		this.check(ancestor);
+
+		for (int current = this.check(node); current >= 0; current = this.parents[current])
+		{
+			if (current == ancestor) {
+				return true;
+			}
+
+			if (current < ancestor) {
+				return false;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Добавляет узел.
+	 *
+	 * @param nodeType тип узла.
+	 * @param tag HTML-тег или {@code null}.
+	 * @param parent родительский узел или {@link #NONE}.
+	 * @param start начало узла.
+	 * @param end позиция за концом узла.
+	 * @param lastChildren последние дочерние узлы.
+	 * @return номер узла.
+	 */
+	private int add(@NotNull final NodeType nodeType,
+					@Nullable final Tag tag,
+					final int parent,
+					final int start,
+					final int end,
+					final int @NotNull [] lastChildren)
+	{
+		if (this.count == this.types.length) {
+			this.resize(this.count * 2);
+		}
+
+		final int node = this.count++;
+
+		this.types[node] = (byte) nodeType.ordinal();
+		this.tags[node] = (short) (tag == null ? -1 : tag.ordinal());
+		this.parents[node] = parent;
+		this.firstChildren[node] = NONE;
+		this.nextSiblings[node] = NONE;
+		this.starts[node] = start;
+		this.ends[node] = end;
+
+		lastChildren[node] = NONE;
+
+		if (parent >= 0)
+		{
+			if (lastChildren[parent] < 0) {
+				this.firstChildren[parent] = node;
+			}
+			else
+			{
+				this.nextSiblings[lastChildren[parent]] = node;
+			}
+
+			lastChildren[parent] = node;
+		}
+
+		return node;
+	}
+
+	/**
+	 * Возвращает глубину открытого HTML-элемента с тем же названием, что у закрывающего HTML-тега.
+	 *
+	 * @param open открытые HTML-элементы по глубине.
+	 * @param depth глубина последнего открытого HTML-элемента.
+	 * @param tag HTML-тег закрывающего HTML-тега или {@code null}, если название неизвестно.
+	 * @param nameStart начало названия в закрывающем HTML-теге.
+	 * @return глубину HTML-элемента или {@code -1}, если открытого HTML-элемента нет.
+	 */
+	private int findOpen(final int @NotNull [] open, final int depth, @Nullable final Tag tag, final int nameStart)
+	{
+		for (int index = depth; index > 0; index--)
+		{
+			final int node = open[index];
+
+			if (tag != null && this.tags[node] == tag.ordinal()) {
+				return index;
+			}
+
+			if (tag == null && this.tags[node] < 0 && this.isSameName(this.starts[node] + 1, nameStart)) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Закрывает HTML-элементы, которые закрывает открывающий HTML-тег.
+	 *
+	 * @param open открытые HTML-элементы по глубине.
+	 * @param depth глубина последнего открытого HTML-элемента.
+	 * @param tag HTML-тег открывающего HTML-тега или {@code null}, если название неизвестно.
+	 * @param position начало открывающего HTML-тега.
+	 * @return глубину последнего открытого HTML-элемента после закрытия.
+	 */
+	private int closeImplied(final int @NotNull [] open, final int depth, @Nullable final Tag tag, final int position)
+	{
+		if (tag == null) {
+			return depth;
+		}
+
+		int result = depth;
+
+		if (PARAGRAPH_CLOSERS.contains(tag)) {
+			result = this.closeImplied(open, result, PARAGRAPH_END, position);
+		}
+
+		for (ImpliedEnd impliedEnd : IMPLIED_ENDS.getOrDefault(tag, List.of())) {
+			result = this.closeImplied(open, result, impliedEnd, position);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Закрывает ближайший открытый HTML-элемент из закрываемых вместе с HTML-элементами, открытыми внутри него.
+	 *
+	 * @param open открытые HTML-элементы по глубине.
+	 * @param depth глубина последнего открытого HTML-элемента.
+	 * @param impliedEnd закрытие HTML-элементов.
+	 * @param position позиция за концом закрываемых HTML-элементов.
+	 * @return глубину последнего открытого HTML-элемента после закрытия.
+	 */
+	private int closeImplied(final int @NotNull [] open,
+							 final int depth,
+							 @NotNull final ImpliedEnd impliedEnd,
+							 final int position)
+	{
+		for (int index = depth; index > 0; index--)
+		{
+			final int tag = this.tags[open[index]];
+
+			if (tag < 0) {
+				continue;
+			}
+
+			if (impliedEnd.closes().contains(TAGS[tag]))
+			{
+				for (int current = depth; current >= index; current--) {
+					this.ends[open[current]] = position;
+				}
+
+				return index - 1;
+			}
+
+			if (impliedEnd.scope().contains(TAGS[tag])) {
+				break;
+			}
+		}
+
+		return depth;
+	}
+
+	/**
+	 * Сравнивает без учёта регистра названия двух HTML-тегов.
+	 *
+	 * @param first начало первого названия.
+	 * @param second начало второго названия.
+	 * @return {@code true}, если названия совпадают, иначе {@code false}.
+	 */
+	private boolean isSameName(final int first, final int second)
+	{
+		final int firstEnd = Grammar.matchTagName(this.text, first);
+		final int secondEnd = Grammar.matchTagName(this.text, second);
+
+		if (firstEnd - first != secondEnd - second) {
+			return false;
+		}
+
+		for (int index = 0; index < firstEnd - first; index++)
+		{
+			if (Grammar.foldCase(this.text.charAt(first + index)) != Grammar.foldCase(this.text.charAt(second + index))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Изменяет размер массивов узлов.
+	 *
+	 * @param capacity количество узлов.
+	 */
+	private void resize(final int capacity)
+	{
+		this.types = Arrays.copyOf(this.types, capacity);
+		this.tags = Arrays.copyOf(this.tags, capacity);
+		this.parents = Arrays.copyOf(this.parents, capacity);
+		this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+		this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+		this.starts = Arrays.copyOf(this.starts, capacity);
+		this.ends = Arrays.copyOf(this.ends, capacity);
+	}
+
+	/**
+	 * Уменьшает массивы узлов до количества узлов.
+	 */
+	private void trim()
+	{
+		if (this.count < this.types.length) {
+			this.resize(this.count);
+		}
+	}
+
+	/**
+	 * Проверяет номер узла.
+	 *
+	 * @param node номер узла.
+	 * @return номер узла.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	private int check(final int node)
+	{
+		return Objects.checkIndex(node, this.count);
+	}
+
+	/**
+	 * Возвращает тип узла лексемы.
+	 *
+	 * @param tokenType тип лексемы или {@code null} для текста.
+	 * @return тип узла.
+	 */
+	@NotNull
+	private static NodeType getNodeType(@Nullable final TokenType tokenType)
+	{
+		if (tokenType == null) {
+			return NodeType.TEXT;
+		}
+
+		return switch (tokenType)
+			{
+				case OPEN_TAG, SELF_CLOSING_TAG, CLOSE_TAG: yield NodeType.ELEMENT;
+				case COMMENT: yield NodeType.COMMENT;
+				case CDATA: yield NodeType.CDATA;
+				case DOCTYPE: yield NodeType.DOCTYPE;
+				case ENTITY_NAME, ENTITY_NUMERIC, ENTITY_UNICODE: yield NodeType.ENTITY;
+			};
+	}
+
+	/**
+	 * Возвращает HTML-сущность по её записи.
+	 *
+	 * @param text текст.
+	 * @param start начало записи.
+	 * @param end позиция за концом записи.
+	 * @return HTML-сущность или {@code null}, если она неизвестна.
+	 */
+	@Nullable
+	private static Entity getEntity(@NotNull final CharSequence text, final int start, final int end)
+	{
+		if (text.charAt(start + 1) != '#') {
+			return Entity.ofName(text, start + 1, end - 1);
+		}
+
+		final char marker = text.charAt(start + 2);
+
+		if (marker == 'x' || marker == 'X') {
+			return Entity.ofUnicode(text, start + 3, end - 1);
+		}
+
+		return Entity.ofNumeric(text, start + 2, end - 1);
+	}
+
+	/**
+	 * Закрытие HTML-элементов открывающим HTML-тегом.
+	 *
+	 * @param closes HTML-теги закрываемых HTML-элементов.
+	 * @param scope HTML-теги HTML-элементов, на которых поиск закрываемого HTML-элемента прекращается.
+	 */
+	private record ImpliedEnd(@NotNull Set<@NotNull Tag> closes, @NotNull Set<@NotNull Tag> scope)
+	{
+	}
+}
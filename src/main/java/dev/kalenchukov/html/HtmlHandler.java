@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Интерфейс обработчика событий {@link HtmlParser}.
+ *
+ * <p>Методы получают символы лексемы или текста в массиве {@code ch} с позиции {@code start}
+ * длиной {@code length}. Массив используется повторно и действителен только до возврата из метода.
+ * Лексемы передаются вместе с символами разметки. HTML-теги, объявление типа HTML-документа
+ * и HTML-сущности передаются целиком, а текст между лексемами, HTML-комментарии и области CDATA
+ * могут передаваться частями несколькими последовательными вызовами {@link #text(char[], int, int)},
+ * {@link #comment(char[], int, int)} и {@link #cdata(char[], int, int)}. Первая часть HTML-комментария
+ * начинается с {@literal «<!--»}, а последняя заканчивается {@literal «-->»}; для области CDATA это
+ * {@literal «<![CDATA[»} и {@literal «]]>»}.</p>
+ *
+ * <p>Все методы по умолчанию ничего не делают, поэтому достаточно переопределить нужные.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public interface HtmlHandler
+{
+	/**
+	 * Вызывается перед началом разбора текста.
+	 */
+	default void startDocument() {}
+
+	/**
+	 * Вызывается после окончания разбора текста.
+	 */
+	default void endDocument() {}
+
+	/**
+	 * Вызывается для открывающего HTML-тега.
+	 *
+	 * @param tag HTML-тег или {@code null}, если название HTML-тега неизвестно.
+	 * @param ch символы.
+	 * @param start начало HTML-тега в массиве.
+	 * @param length длина HTML-тега.
+	 */
+	default void startTag(@Nullable Tag tag, char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для закрывающего HTML-тега.
+	 *
+	 * @param tag HTML-тег или {@code null}, если название HTML-тега неизвестно.
+	 * @param ch символы.
+	 * @param start начало HTML-тега в массиве.
+	 * @param length длина HTML-тега.
+	 */
+	default void endTag(@Nullable Tag tag, char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для самозакрывающегося HTML-тега.
+	 *
+	 * @param tag HTML-тег или {@code null}, если название HTML-тега неизвестно.
+	 * @param ch символы.
+	 * @param start начало HTML-тега в массиве.
+	 * @param length длина HTML-тега.
+	 */
+	default void selfClosingTag(@Nullable Tag tag, char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для текста вне лексем.
+	 *
+	 * @param ch символы.
+	 * @param start начало текста в массиве.
+	 * @param length длина текста.
+	 */
+	default void text(char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для HTML-комментария или его части.
+	 *
+	 * @param ch символы.
+	 * @param start начало HTML-комментария или его части в массиве.
+	 * @param length длина HTML-комментария или его части.
+	 */
+	default void comment(char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для области CDATA или её части.
+	 *
+	 * @param ch символы.
+	 * @param start начало области CDATA или её части в массиве.
+	 * @param length длина области CDATA или её части.
+	 */
+	default void cdata(char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для объявления типа HTML-документа.
+	 *
+	 * @param ch символы.
+	 * @param start начало объявления в массиве.
+	 * @param length длина объявления.
+	 */
+	default void doctype(char @NotNull [] ch, int start, int length) {}
+
+	/**
+	 * Вызывается для HTML-сущности.
+	 *
+	 * @param entity HTML-сущность или {@code null}, если HTML-сущность неизвестна.
+	 * @param ch символы.
+	 * @param start начало HTML-сущности в массиве.
+	 * @param length длина HTML-сущности.
+	 */
+	default void entity(@Nullable Entity entity, char @NotNull [] ch, int start, int length) {}
+}
@@ -0,0 +1,553 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Класс сжатия HTML за один проход.
+ *
+ * <p>Текст читается один раз с помощью {@link HtmlReader} и сразу записывается в {@link Appendable}:</p>
+ * <ul>
+ *     <li>HTML-комментарии удаляются, кроме условных комментариев {@code <!--[if ...]>} и {@code <![endif]-->}
+ *     и HTML-комментариев, после удаления которых соседний текст образовал бы новый HTML-тег
+ *     или HTML-комментарий;</li>
+ *     <li>последовательности пробельных символов в тексте заменяются одним пробелом. Текст только
+ *     из пробельных символов удаляется, если рядом с ним прерывается строка текста: в начале и в конце
+ *     документа, рядом с блочными HTML-тегами, HTML-тегами структуры документа и таблиц, {@link Tag#LI}
+ *     и {@link Tag#BR}. Содержимое HTML-тегов {@link Tag#PRE}, {@link Tag#TEXTAREA}, {@link Tag#SCRIPT}
+ *     и {@link Tag#STYLE} не изменяется;</li>
+ *     <li>названия HTML-тегов приводятся к нижнему регистру, лишние пробельные символы внутри
+ *     HTML-тегов удаляются, а кавычки вокруг значений параметров удаляются, если значение
+ *     распознаётся и без них.</li>
+ * </ul>
+ *
+ * <p>В результате эта библиотека распознаёт те же HTML-теги с теми же параметрами, что и в исходном тексте.
+ * HTML-сущности могут распознаваться иначе: HTML-сущность в кратчайшей записи распознаётся, только если
+ * за ней в той же строке следуют другие символы, а сжатие изменяет пробельные символы и удаляет
+ * HTML-комментарии после неё.</p>
+ *
+ * <p>Если получатель является {@link Writer}, символы передаются ему массивами через буфер.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlMinifier
+{
+	/**
+	 * Средство чтения текста.
+	 */
+	@NotNull
+	private final HtmlReader reader;
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Получатель сжатого текста.
+	 */
+	@NotNull
+	private final Appendable output;
+
+	/**
+	 * Количество открытых HTML-тегов, содержимое которых не изменяется.
+	 */
+	private int preserveDepth;
+
+	/**
+	 * Является ли следующий текст содержимым HTML-тега {@link Tag#SCRIPT} или {@link Tag#STYLE}.
+	 */
+	private boolean rawText;
+
+	/**
+	 * Прерывается ли строка текста перед следующей записью.
+	 */
+	private boolean lineStart = true;
+
+	/**
+	 * Ожидает ли записи пробел, заменяющий текст только из пробельных символов.
+	 */
+	private boolean spacePending;
+
+	/**
+	 * Записан ли символ {@literal «<»} в тексте после последней записанной лексемы.
+	 */
+	private boolean openBracket;
+
+	/**
+	 * Записана ли строка {@literal «<!--»} в тексте после последнего записанного HTML-комментария.
+	 */
+	private boolean strayComment;
+
+	/**
+	 * Конструктор для {@code HtmlMinifier}.
+	 *
+	 * @param text текст.
+	 * @param output получатель сжатого текста.
+	 */
+	private HtmlMinifier(@NotNull final CharSequence text, @NotNull final Appendable output)
+	{
+		this.reader = new HtmlReader(text);
+		this.text = text;
+		this.output = output;
+	}
+
+	/**
+	 * Записывает сжатый HTML.
+	 *
+	 * @param text текст.
+	 * @param output получатель сжатого текста.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	public static void minify(@NotNull final CharSequence text, @NotNull final Appendable output) throws IOException
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(output);
+
+		WriterOutput.write(output, target -> new HtmlMinifier(text, target).minify());
+	}
+
+	/**
+	 * Записывает сжатый HTML.
+	 *
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void minify() throws IOException
+	{
+		while (this.reader.next())
+		{
+			final TokenType tokenType = this.reader.getTokenType();
+			final int start = this.reader.getTextStart();
+			final int end = this.reader.getTextEnd();
+
+			if (tokenType == null)
+			{
+				this.markText(start, end);
+
+				if (this.rawText || this.preserveDepth > 0)
+				{
+					this.appendPendingSpace();
+					this.output.append(this.text, start, end);
+				}
+				else
+				{
+					this.appendText(start, end);
+				}
+
+				continue;
+			}
+
+			if (tokenType != TokenType.COMMENT && !HtmlMinifier.isEntity(tokenType)) {
+				this.openBracket = false;
+			}
+
+			switch (tokenType)
+			{
+				case OPEN_TAG:
+					this.breakLine(LineBreaks.isBreak(this.reader.getTagName()));
+					this.rawText = HtmlMinifier.isRawText(this.reader.getTagName());
+
+					if (HtmlMinifier.isPreserved(this.reader.getTagName())) {
+						this.preserveDepth++;
+					}
+
+					this.appendTag(false);
+					break;
+				case SELF_CLOSING_TAG:
+					this.breakLine(LineBreaks.isBreak(this.reader.getTagName()));
+					this.appendTag(true);
+					break;
+				case CLOSE_TAG:
+					this.breakLine(LineBreaks.isBreak(this.reader.getTagName()));
+					this.rawText = false;
+
+					if (HtmlMinifier.isPreserved(this.reader.getTagName()) && this.preserveDepth > 0) {
+						this.preserveDepth--;
+					}
+
+					this.appendCloseTag();
+					break;
+				case COMMENT:
+					if (this.isConditionalComment(start, end) || this.openBracket || this.strayComment)
+					{
+						this.appendPendingSpace();
+						this.output.append(this.text, start, end);
+
+						this.openBracket = false;
+						this.strayComment = false;
+					}
+					break;
+				case DOCTYPE:
+					this.breakLine(true);
+					this.output.append(this.text, start, end);
+					break;
+				default:
+					this.appendPendingSpace();
+					this.output.append(this.text, start, end);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Отмечает границу перед следующей лексемой.
+	 *
+	 * <p>Если на лексеме прерывается строка текста, ожидающий записи пробел удаляется,
+	 * иначе он записывается.</p>
+	 *
+	 * @param lineBreak {@code true}, если на лексеме прерывается строка текста.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void breakLine(final boolean lineBreak) throws IOException
+	{
+		if (lineBreak)
+		{
+			this.spacePending = false;
+			this.lineStart = true;
+
+			return;
+		}
+
+		this.appendPendingSpace();
+	}
+
+	/**
+	 * Записывает пробел, заменяющий текст только из пробельных символов, если он ожидает записи.
+	 *
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendPendingSpace() throws IOException
+	{
+		if (this.spacePending)
+		{
+			this.output.append(' ');
+			this.spacePending = false;
+		}
+
+		this.lineStart = false;
+	}
+
+	/**
+	 * Отмечает символы разметки в тексте, который записывается без изменения лексем.
+	 *
+	 * <p>Удаление HTML-комментария соединяет текст до и после него. Если перед HTML-комментарием
+	 * записан символ {@literal «<»} без лексемы, соединение может образовать новый HTML-тег,
+	 * а строка {@literal «<!--»}, которая не распознана как HTML-комментарий из-за следующего
+	 * HTML-комментария, может образовать HTML-комментарий вместе с более поздним {@literal «-->»}.
+	 * В этих случаях HTML-комментарий сохраняется.</p>
+	 *
+	 * @param start начало текста.
+	 * @param end позиция за концом текста.
+	 */
+	private void markText(final int start, final int end)
+	{
+		for (int index = start; index < end; index++)
+		{
+			if (this.text.charAt(index) != '<') {
+				continue;
+			}
+
+			this.openBracket = true;
+
+			if (index + 4 <= end && Grammar.startsWith(this.text, index, "<!--")) {
+				this.strayComment = true;
+			}
+		}
+	}
+
+	/**
+	 * Записывает текст, заменяя последовательности пробельных символов одним пробелом.
+	 *
+	 * <p>Запись пробела откладывается до следующего слова или лексемы, так как пробел не нужен,
+	 * если на лексеме прерывается строка текста, а пробельные символы по обе стороны
+	 * от удалённого HTML-комментария заменяются одним пробелом.</p>
+	 *
+	 * @param start начало текста.
+	 * @param end позиция за концом текста.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendText(final int start, final int end) throws IOException
+	{
+		int index = start;
+
+		while (index < end)
+		{
+			if (Grammar.isSpace(this.text.charAt(index)))
+			{
+				if (!this.lineStart) {
+					this.spacePending = true;
+				}
+
+				while (index < end && Grammar.isSpace(this.text.charAt(index))) {
+					index++;
+				}
+
+				continue;
+			}
+
+			final int wordStart = index;
+
+			while (index < end && !Grammar.isSpace(this.text.charAt(index))) {
+				index++;
+			}
+
+			this.appendPendingSpace();
+			this.output.append(this.text, wordStart, index);
+		}
+	}
+
+	/**
+	 * Записывает текущий открывающий или самозакрывающийся HTML-тег.
+	 *
+	 * @param selfClosing {@code true}, если HTML-тег самозакрывающийся.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendTag(final boolean selfClosing) throws IOException
+	{
+		final int start = this.reader.getTextStart();
+		final int count = this.reader.getAttributeCount();
+
+		this.output.append('<');
+		this.appendName(start + 1);
+
+		boolean unquotedLast = false;
+
+		for (int index = 0; index < count; index++)
+		{
+			final int valueStart = this.reader.getAttributeValueStart(index);
+			final int valueEnd = this.reader.getAttributeValueEnd(index);
+
+			this.output.append(' ');
+			this.output.append(this.text, this.reader.getAttributeNameStart(index), this.reader.getAttributeNameEnd(index));
+
+			unquotedLast = false;
+
+			if (valueStart < 0) {
+				continue;
+			}
+
+			this.output.append('=');
+
+			if (this.isUnquotable(valueStart, valueEnd, selfClosing))
+			{
+				this.output.append(this.text, valueStart, valueEnd);
+
+				unquotedLast = true;
+
+				continue;
+			}
+
+			final char quote = this.text.charAt(valueStart - 1);
+
+			if (quote != '"' && quote != '\'')
+			{
+				this.appendQuoted(valueStart, valueEnd);
+
+				continue;
+			}
+
+			this.output.append(quote);
+			this.output.append(this.text, valueStart, valueEnd);
+			this.output.append(quote);
+		}
+
+		if (selfClosing)
+		{
+			// Без пробела браузеры отнесут символ «/» к значению без кавычек.
+			this.output.append(unquotedLast ? " />" : "/>");
+		}
+		else
+		{
+			this.output.append('>');
+		}
+	}
+
+	/**
+	 * Записывает в кавычках значение параметра, которое в исходном тексте записано без кавычек.
+	 *
+	 * <p>Кавычки выбираются по значению: двойные, если значение их не содержит, иначе одинарные.
+	 * Если значение содержит кавычки обоих видов, двойные кавычки в нём заменяются
+	 * HTML-сущностью {@literal «&quot;»}.</p>
+	 *
+	 * @param start начало значения.
+	 * @param end позиция за концом значения.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendQuoted(final int start, final int end) throws IOException
+	{
+		boolean hasDouble = false;
+		boolean hasSingle = false;
+
+		for (int index = start; index < end; index++)
+		{
+			final char symbol = this.text.charAt(index);
+
+			if (symbol == '"') {
+				hasDouble = true;
+			}
+
+			if (symbol == '\'') {
+				hasSingle = true;
+			}
+		}
+
+		if (!hasDouble || !hasSingle)
+		{
+			final char quote = hasDouble ? '\'' : '"';
+
+			this.output.append(quote);
+			this.output.append(this.text, start, end);
+			this.output.append(quote);
+
+			return;
+		}
+
+		this.output.append('"');
+
+		for (int index = start; index < end; index++)
+		{
+			final char symbol = this.text.charAt(index);
+
+			if (symbol == '"') {
+				this.output.append("&quot;");
+			}
+			else
+			{
+				this.output.append(symbol);
+			}
+		}
+
+		this.output.append('"');
+	}
+
+	/**
+	 * Записывает текущий закрывающий HTML-тег.
+	 *
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendCloseTag() throws IOException
+	{
+		this.output.append("</");
+		this.appendName(this.reader.getTextStart() + 2);
+		this.output.append('>');
+	}
+
+	/**
+	 * Записывает название HTML-тега в нижнем регистре.
+	 *
+	 * @param start начало названия.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendName(final int start) throws IOException
+	{
+		final int end = Grammar.matchTagName(this.text, start);
+
+		for (int index = start; index < end; index++) {
+			this.output.append(Grammar.foldCase(this.text.charAt(index)));
+		}
+	}
+
+	/**
+	 * Проверяет, распознаётся ли значение параметра без кавычек.
+	 *
+	 * @param start начало значения.
+	 * @param end позиция за концом значения.
+	 * @param selfClosing {@code true}, если HTML-тег самозакрывающийся.
+	 * @return {@code true}, если кавычки можно удалить, иначе {@code false}.
+	 */
+	private boolean isUnquotable(final int start, final int end, final boolean selfClosing)
+	{
+		if (start == end || this.text.charAt(end - 1) == '/') {
+			return false;
+		}
+
+		for (int index = start; index < end; index++)
+		{
+			if (!Grammar.isUnquotedValue(this.text.charAt(index), selfClosing)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Проверяет, является ли HTML-комментарий условным.
+	 *
+	 * @param start начало HTML-комментария.
+	 * @param end позиция за концом HTML-комментария.
+	 * @return {@code true}, если HTML-комментарий условный, иначе {@code false}.
+	 */
+	private boolean isConditionalComment(final int start, final int end)
+	{
+		return Grammar.startsWithIgnoreCase(this.text, start, "<!--[if")
+			|| Grammar.startsWithIgnoreCase(this.text, end - 12, "<![endif]-->");
+	}
+
+	/**
+	 * Проверяет, является ли лексема HTML-сущностью.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @return {@code true}, если лексема является HTML-сущностью, иначе {@code false}.
+	 */
+	private static boolean isEntity(@NotNull final TokenType tokenType)
+	{
+		return tokenType == TokenType.ENTITY_NAME
+			|| tokenType == TokenType.ENTITY_NUMERIC
+			|| tokenType == TokenType.ENTITY_UNICODE;
+	}
+
+	/**
+	 * Проверяет, является ли содержимое HTML-тега текстом без разметки.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 * @return {@code true}, если HTML-тег {@link Tag#SCRIPT} или {@link Tag#STYLE}, иначе {@code false}.
+	 */
+	private static boolean isRawText(@Nullable final Tag tag)
+	{
+		return tag == Tag.SCRIPT || tag == Tag.STYLE;
+	}
+
+	/**
+	 * Проверяет, сохраняются ли пробельные символы в содержимом HTML-тега.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 * @return {@code true}, если HTML-тег {@link Tag#PRE} или {@link Tag#TEXTAREA}, иначе {@code false}.
+	 */
+	private static boolean isPreserved(@Nullable final Tag tag)
+	{
+		return tag == Tag.PRE || tag == Tag.TEXTAREA;
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Класс разбора HTML с передачей событий обработчику {@link HtmlHandler}.
+ *
+ * <p>Текст читается один раз с помощью {@link HtmlReader}, поэтому лексемы не пересекаются,
+ * содержимое HTML-тегов {@link Tag#SCRIPT} и {@link Tag#STYLE} передаётся как текст,
+ * а в содержимом HTML-тегов {@link Tag#TEXTAREA} и {@link Tag#TITLE} распознаются только HTML-сущности.</p>
+ *
+ * <p>Символы передаются через массив, который используется повторно,
+ * поэтому разбор не создаёт объектов для каждой лексемы. Текст, HTML-комментарии и области CDATA
+ * передаются частями, поэтому размер массива не зависит от их длины.</p>
+ *
+ * <pre>{@code
+ * HtmlParser.parse(text, new HtmlHandler() {
+ *     @Override
+ *     public void startTag(Tag tag, char[] ch, int start, int length) {
+ *         System.out.println(tag);
+ *     }
+ * });
+ * }</pre>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlParser
+{
+	/**
+	 * Наибольшая длина части текста, HTML-комментария или области CDATA, передаваемой обработчику за один вызов.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Обработчик событий.
+	 */
+	@NotNull
+	private final HtmlHandler handler;
+
+	/**
+	 * Средство чтения текста.
+	 */
+	@NotNull
+	private final HtmlReader reader;
+
+	/**
+	 * Массив для передачи символов обработчику.
+	 */
+	private char @NotNull [] buffer;
+
+	/**
+	 * Конструктор для {@code HtmlParser}.
+	 *
+	 * @param text текст.
+	 * @param handler обработчик событий.
+	 */
+	private HtmlParser(@NotNull final CharSequence text, @NotNull final HtmlHandler handler)
+	{
+		this.text = text;
+		this.handler = handler;
+		this.reader = new HtmlReader(text);
+		this.buffer = new char[Math.min(text.length(), CHUNK_SIZE)];
+	}
+
+	/**
+	 * Разбирает текст.
+	 *
+	 * @param text текст.
+	 * @param handler обработчик событий.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code handler} передан {@code null}.
+	 */
+	public static void parse(@NotNull final CharSequence text, @NotNull final HtmlHandler handler)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(handler);
+
+		new HtmlParser(text, handler).parse();
+	}
+
+	/**
+	 * Разбирает текст.
+	 */
+	private void parse()
+	{
+		this.handler.startDocument();
+
+		while (this.reader.next())
+		{
+			final int start = this.reader.getTextStart();
+			final int end = this.reader.getTextEnd();
+
+			final TokenType tokenType = this.reader.getTokenType();
+
+			if (tokenType == null || tokenType == TokenType.COMMENT || tokenType == TokenType.CDATA) {
+				this.chunks(tokenType, start, end);
+			}
+			else
+			{
+				this.token(tokenType, start, end);
+			}
+		}
+
+		this.handler.endDocument();
+	}
+
+	/**
+	 * Передаёт обработчику текущую лексему целиком.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @param start начало лексемы.
+	 * @param end позиция за концом лексемы.
+	 */
+	private void token(@NotNull final TokenType tokenType, final int start, final int end)
+	{
+		final char[] ch = this.copy(start, end);
+		final int length = end - start;
+
+		switch (tokenType)
+		{
+			case OPEN_TAG:
+				this.handler.startTag(this.reader.getTagName(), ch, 0, length);
+				break;
+			case CLOSE_TAG:
+				this.handler.endTag(this.reader.getTagName(), ch, 0, length);
+				break;
+			case SELF_CLOSING_TAG:
+				this.handler.selfClosingTag(this.reader.getTagName(), ch, 0, length);
+				break;
+			case DOCTYPE:
+				this.handler.doctype(ch, 0, length);
+				break;
+			default:
+				this.handler.entity(this.reader.getEntity(), ch, 0, length);
+		}
+	}
+
+	/**
+	 * Передаёт обработчику текст, HTML-комментарий или область CDATA частями не длиннее {@link #CHUNK_SIZE}.
+	 *
+	 * <p>Суррогатная пара символов не разделяется между частями.</p>
+	 *
+	 * @param tokenType {@link TokenType#COMMENT}, {@link TokenType#CDATA} или {@code null}, если передаётся текст.
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 */
+	private void chunks(@Nullable final TokenType tokenType, final int start, final int end)
+	{
+		int position = start;
+
+		while (position < end)
+		{
+			int chunkEnd = Math.min(end, position + CHUNK_SIZE);
+
+			if (chunkEnd < end && Character.isHighSurrogate(this.text.charAt(chunkEnd - 1))) {
+				chunkEnd--;
+			}
+
+			final char[] ch = this.copy(position, chunkEnd);
+			final int length = chunkEnd - position;
+
+			if (tokenType == TokenType.COMMENT) {
+				this.handler.comment(ch, 0, length);
+			}
+			else if (tokenType == TokenType.CDATA) {
+				this.handler.cdata(ch, 0, length);
+			}
+			else
+			{
+				this.handler.text(ch, 0, length);
+			}
+
+			position = chunkEnd;
+		}
+	}
+
+	/**
+	 * Копирует часть текста в начало массива для передачи обработчику.
+	 *
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @return массив с символами части текста.
+	 */
+	private char @NotNull [] copy(final int start, final int end)
+	{
+		final int length = end - start;
+
+		if (this.buffer.length < length) {
+			this.buffer = new char[Math.max(length, this.buffer.length * 2)];
+		}
+
+		if (this.text instanceof String string) {
+			string.getChars(start, end, this.buffer, 0);
+		}
+		else
+		{
+			for (int index = 0; index < length; index++) {
+				this.buffer[index] = this.text.charAt(start + index);
+			}
+		}
+
+		return this.buffer;
+	}
+}
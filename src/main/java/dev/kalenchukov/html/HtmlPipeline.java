@@ -0,0 +1,806 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс цепочки операций обработки HTML.
+ *
+ * <p>Операции задаются один раз с помощью {@link Builder} и выполняются за один просмотр текста:
+ * каждая операция является этапом, который получает результат предыдущего этапа частями
+ * по мере его готовности, поэтому промежуточный текст целиком не создаётся.
+ * Результат совпадает с результатом последовательного вызова тех же методов {@link Html}.</p>
+ *
+ * <p>Текст может обрабатываться потоком из {@link Reader} в {@link Writer}. В памяти хранится только часть текста,
+ * результат обработки которой ещё не определён, например начало незавершённого HTML-комментария.
+ * Её размер ограничивается наибольшей длиной лексемы {@link Builder#setMaxTokenLength(int)},
+ * по умолчанию {@link #DEFAULT_MAX_TOKEN_LENGTH} символов. При обработке текста, который уже находится
+ * в памяти, длина лексемы не ограничивается.</p>
+ *
+ * <p>Объект цепочки неизменяем и может использоваться одновременно из нескольких потоков.</p>
+ *
+ * <pre>{@code
+ * HtmlPipeline pipeline = HtmlPipeline.builder()
+ *     .deleteComments()
+ *     .deleteDoctype()
+ *     .deleteTags(Set.of(Tag.P))
+ *     .decodeEntities()
+ *     .build();
+ *
+ * String text = pipeline.apply(html);
+ *
+ * try (Reader reader = Files.newBufferedReader(source); Writer writer = Files.newBufferedWriter(target)) {
+ *     pipeline.apply(reader, writer);
+ * }
+ * }</pre>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlPipeline
+{
+	/**
+	 * Наибольшая длина лексемы по умолчанию.
+	 */
+	public static final int DEFAULT_MAX_TOKEN_LENGTH = 1024 * 1024;
+
+	/**
+	 * Количество символов текста, передаваемых первому этапу за один раз.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Фабрики этапов в порядке выполнения операций.
+	 */
+	@NotNull
+	private final List<@NotNull StageFactory> stages;
+
+	/**
+	 * Наибольшая длина лексемы.
+	 */
+	private final int maxTokenLength;
+
+	/**
+	 * Конструктор для {@code HtmlPipeline}.
+	 *
+	 * @param stages фабрики этапов в порядке выполнения операций.
+	 * @param maxTokenLength наибольшая длина лексемы.
+	 */
+	private HtmlPipeline(@NotNull final List<@NotNull StageFactory> stages, final int maxTokenLength)
+	{
+		this.stages = List.copyOf(stages);
+		this.maxTokenLength = maxTokenLength;
+	}
+
+	/**
+	 * Возвращает построитель цепочки операций.
+	 *
+	 * @return построитель цепочки операций.
+	 */
+	@NotNull
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Выполняет операции над текстом.
+	 *
+	 * @param text текст для обработки.
+	 * @return обработанный текст.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	@NotNull
+	public String apply(@NotNull final String text)
+	{
+		Objects.requireNonNull(text);
+
+		if (this.stages.isEmpty()) {
+			return text;
+		}
+
+		final StringBuilder result = new StringBuilder(text.length());
+
+		try
+		{
+			this.write(text, result);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Выполняет операции над текстом и записывает результат.
+	 *
+	 * <p>Результат записывается по мере готовности, поэтому обработанный текст целиком не создаётся.
+	 * Неизменённые части текста записываются целиком. Если {@code output} является {@link Writer},
+	 * части текста передаются ему массивами символов через буфер, а сам {@code output} не сбрасывается.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param output получатель обработанного текста.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	public void apply(@NotNull final CharSequence text, @NotNull final Appendable output) throws IOException
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(output);
+
+		WriterOutput.write(output, target -> this.write(text, target));
+	}
+
+	/**
+	 * Выполняет операции над текстом и записывает результат в поток байтов.
+	 *
+	 * <p>Поток не закрывается, но сбрасывается после записи.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param output поток байтов.
+	 * @param charset кодировка результата.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	public void apply(@NotNull final CharSequence text,
+					  @NotNull final OutputStream output,
+					  @NotNull final Charset charset) throws IOException
+	{
+		Objects.requireNonNull(text);
+
+		final WriterOutput writerOutput = WriterOutput.of(output, charset);
+
+		this.write(text, writerOutput);
+		writerOutput.flush();
+	}
+
+	/**
+	 * Выполняет операции над текстом и записывает результат в канал.
+	 *
+	 * <p>Канал не закрывается.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param channel канал.
+	 * @param charset кодировка результата.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code channel} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	public void apply(@NotNull final CharSequence text,
+					  @NotNull final WritableByteChannel channel,
+					  @NotNull final Charset charset) throws IOException
+	{
+		Objects.requireNonNull(text);
+
+		final WriterOutput writerOutput = WriterOutput.of(channel, charset);
+
+		this.write(text, writerOutput);
+		writerOutput.flush();
+	}
+
+	/**
+	 * Выполняет операции над текстом, читая его из потока и записывая результат в поток.
+	 *
+	 * <p>Лексемы, разделённые границей прочитанных частей текста, распознаются так же, как в целом тексте.
+	 * Потоки не закрываются, а {@code writer} не сбрасывается.</p>
+	 *
+	 * @param reader поток текста для обработки.
+	 * @param writer поток обработанного текста.
+	 * @throws NullPointerException если в качестве {@code reader} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code writer} передан {@code null}.
+	 * @throws TokenLengthExceededException если длина лексемы превышает {@link #getMaxTokenLength()}.
+	 * @throws IOException если произошла ошибка чтения или записи.
+	 */
+	public void apply(@NotNull final Reader reader, @NotNull final Writer writer) throws IOException
+	{
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(writer);
+
+		final Appendable target = this.chain(writer, this.maxTokenLength);
+		final char[] chars = new char[CHUNK_SIZE];
+
+		int count;
+
+		while ((count = reader.read(chars)) >= 0) {
+			Stage.write(target, chars, 0, count);
+		}
+
+		if (target instanceof Stage stage) {
+			stage.finish();
+		}
+	}
+
+	/**
+	 * Возвращает наибольшую длину лексемы при обработке потока {@link #apply(Reader, Writer)}.
+	 *
+	 * @return наибольшую длину лексемы.
+	 */
+	public int getMaxTokenLength()
+	{
+		return this.maxTokenLength;
+	}
+
+	/**
+	 * Выполняет операции над текстом и передаёт результат получателю.
+	 *
+	 * <p>Текст уже находится в памяти, поэтому длина лексемы не ограничивается.</p>
+	 *
+	 * @param text текст для обработки.
+	 * @param output получатель обработанного текста.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void write(@NotNull final CharSequence text, @NotNull final Appendable output) throws IOException
+	{
+		final Appendable target = this.chain(output, Integer.MAX_VALUE);
+		final int length = text.length();
+
+		for (int start = 0; start < length; start += CHUNK_SIZE) {
+			target.append(text, start, Math.min(length, start + CHUNK_SIZE));
+		}
+
+		if (target instanceof Stage stage) {
+			stage.finish();
+		}
+	}
+
+	/**
+	 * Создаёт цепочку этапов.
+	 *
+	 * @param target приёмник результата последнего этапа.
+	 * @param maxTokenLength наибольшая длина лексемы.
+	 * @return первый этап цепочки или {@code target}, если операций нет.
+	 */
+	@NotNull
+	private Appendable chain(@NotNull final Appendable target, final int maxTokenLength)
+	{
+		Appendable appendable = target;
+
+		for (int index = this.stages.size() - 1; index >= 0; index--) {
+			appendable = this.stages.get(index).create(appendable, maxTokenLength);
+		}
+
+		return appendable;
+	}
+
+	/**
+	 * Интерфейс фабрики этапа обработки.
+	 */
+	@FunctionalInterface
+	private interface StageFactory
+	{
+		/**
+		 * Создаёт этап обработки.
+		 *
+		 * @param target приёмник результата.
+		 * @param maxTokenLength наибольшая длина лексемы.
+		 * @return этап обработки.
+		 */
+		@NotNull
+		Stage create(@NotNull Appendable target, int maxTokenLength);
+	}
+
+	/**
+	 * Класс построителя цепочки операций обработки HTML.
+	 *
+	 * <p>Методы соответствуют одноимённым методам {@link Hypertext}
+	 * и добавляют операции в порядке вызова.</p>
+	 */
+	public static final class Builder
+	{
+		/**
+		 * Фабрики этапов в порядке выполнения операций.
+		 */
+		@NotNull
+		private final List<@NotNull StageFactory> stages;
+
+		/**
+		 * Наибольшая длина лексемы.
+		 */
+		private int maxTokenLength;
+
+		/**
+		 * Конструктор для {@code Builder}.
+		 */
+		private Builder()
+		{
+			this.stages = new ArrayList<>();
+			this.maxTokenLength = DEFAULT_MAX_TOKEN_LENGTH;
+		}
+
+		/**
+		 * Устанавливает наибольшую длину лексемы.
+		 *
+		 * <p>Ограничивает количество символов, которое накапливается для распознавания лексемы
+		 * или HTML-сущности при обработке потока {@link HtmlPipeline#apply(Reader, Writer)}, например
+		 * незавершённого HTML-комментария. По умолчанию {@link HtmlPipeline#DEFAULT_MAX_TOKEN_LENGTH} символов,
+		 * поэтому незавершённый HTML-комментарий или область CDATA в начале большого потока не приводит
+		 * к накоплению всего оставшегося текста.</p>
+		 *
+		 * @param maxTokenLength наибольшая длина лексемы.
+		 * @return этот построитель.
+		 * @throws IllegalArgumentException если {@code maxTokenLength} меньше {@code 1}.
+		 */
+		@NotNull
+		public Builder setMaxTokenLength(final int maxTokenLength)
+		{
+			if (maxTokenLength < 1) {
+				throw new IllegalArgumentException();
+			}
+
+			this.maxTokenLength = maxTokenLength;
+
+			return this;
+		}
+
+		/**
+		 * Добавляет удаление HTML-комментариев.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder deleteComments()
+		{
+			return this.deleteTokens(EnumSet.of(TokenType.COMMENT), null, null);
+		}
+
+		/**
+		 * Добавляет удаление разделов CDATA.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder deleteCData()
+		{
+			return this.deleteTokens(EnumSet.of(TokenType.CDATA), null, null);
+		}
+
+		/**
+		 * Добавляет удаление типа документа.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder deleteDoctype()
+		{
+			return this.deleteTokens(EnumSet.of(TokenType.DOCTYPE), null, null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-тега.
+		 *
+		 * @param tag HTML-тег.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code tag} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteTag(@NotNull final Tag tag)
+		{
+			Objects.requireNonNull(tag);
+
+			return this.deleteTokens(getTokenTypes(EnumSet.allOf(TagType.class)), EnumSet.of(tag), null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-тега.
+		 *
+		 * @param tag HTML-тег.
+		 * @param tagType тип HTML-тега.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code tag} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteTag(@NotNull final Tag tag, @NotNull final TagType tagType)
+		{
+			Objects.requireNonNull(tag);
+			Objects.requireNonNull(tagType);
+
+			return this.deleteTokens(getTokenTypes(EnumSet.of(tagType)), EnumSet.of(tag), null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-тегов.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder deleteTags()
+		{
+			return this.deleteTags(Collections.emptySet());
+		}
+
+		/**
+		 * Добавляет удаление HTML-тегов.
+		 *
+		 * @param tagType тип HTML-тегов.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteTags(@NotNull final TagType tagType)
+		{
+			Objects.requireNonNull(tagType);
+
+			return this.deleteTokens(getTokenTypes(EnumSet.of(tagType)), EnumSet.allOf(Tag.class), null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-тегов.
+		 *
+		 * @param excludeTags коллекция исключаемых HTML-тегов.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code excludeTags} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteTags(@NotNull final Set<@NotNull Tag> excludeTags)
+		{
+			Objects.requireNonNull(excludeTags);
+
+			return this.deleteTokens(getTokenTypes(EnumSet.allOf(TagType.class)), Html.getTags(excludeTags), null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-тегов.
+		 *
+		 * @param tagType тип HTML-тегов.
+		 * @param excludeTags коллекция исключаемых HTML-тегов.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code excludeTags} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteTags(@NotNull final TagType tagType, @NotNull final Set<@NotNull Tag> excludeTags)
+		{
+			Objects.requireNonNull(tagType);
+			Objects.requireNonNull(excludeTags);
+
+			return this.deleteTokens(getTokenTypes(EnumSet.of(tagType)), Html.getTags(excludeTags), null);
+		}
+
+		/**
+		 * Добавляет удаление HTML-сущности.
+		 *
+		 * @param entity HTML-сущность.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteEntity(@NotNull final Entity entity)
+		{
+			Objects.requireNonNull(entity);
+
+			return this.deleteTokens(getTokenTypes(EntityType.values()), null, EnumSet.of(entity));
+		}
+
+		/**
+		 * Добавляет удаление HTML-сущности.
+		 *
+		 * @param entity HTML-сущность.
+		 * @param entityType тип HTML-сущности.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteEntity(@NotNull final Entity entity, @NotNull final EntityType entityType)
+		{
+			Objects.requireNonNull(entity);
+			Objects.requireNonNull(entityType);
+
+			return this.deleteTokens(getTokenTypes(entityType), null, EnumSet.of(entity));
+		}
+
+		/**
+		 * Добавляет удаление HTML-сущностей.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder deleteEntities()
+		{
+			return this.deleteEntities(Collections.emptySet());
+		}
+
+		/**
+		 * Добавляет удаление HTML-сущностей.
+		 *
+		 * @param excludeEntities коллекция исключаемых HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code excludeEntities} передан {@code null}.
+		 */
+		@NotNull
+		public Builder deleteEntities(@NotNull final Set<@NotNull Entity> excludeEntities)
+		{
+			Objects.requireNonNull(excludeEntities);
+
+			return this.deleteTokens(getTokenTypes(EntityType.values()), null, Html.getEntities(excludeEntities));
+		}
+
+		/**
+		 * Добавляет преобразование специального символа в HTML-сущность.
+		 *
+		 * @param entity HTML-сущность.
+		 * @param entityType тип HTML-сущности.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder encodeEntity(@NotNull final Entity entity, @NotNull final EntityType entityType)
+		{
+			Objects.requireNonNull(entity);
+			Objects.requireNonNull(entityType);
+
+			return this.encode(entityType, EnumSet.of(entity));
+		}
+
+		/**
+		 * Добавляет преобразование специальных символов в HTML-сущности.
+		 *
+		 * @param entityType тип HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder encodeEntities(@NotNull final EntityType entityType)
+		{
+			return this.encodeEntities(entityType, Collections.emptySet());
+		}
+
+		/**
+		 * Добавляет преобразование специальных символов в HTML-сущности.
+		 *
+		 * @param entityType тип HTML-сущностей.
+		 * @param excludeEntities коллекция исключаемых HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code excludeEntities} передан {@code null}.
+		 */
+		@NotNull
+		public Builder encodeEntities(@NotNull final EntityType entityType,
+									  @NotNull final Set<@NotNull Entity> excludeEntities)
+		{
+			Objects.requireNonNull(entityType);
+			Objects.requireNonNull(excludeEntities);
+
+			return this.encode(entityType, Html.getEntities(excludeEntities));
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущности в специальный символ.
+		 *
+		 * @param entity HTML-сущность.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+		 */
+		@NotNull
+		public Builder decodeEntity(@NotNull final Entity entity)
+		{
+			Objects.requireNonNull(entity);
+
+			return this.decode(EnumSet.allOf(EntityType.class), EnumSet.of(entity));
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущности в специальный символ.
+		 *
+		 * @param entity HTML-сущность.
+		 * @param entityType тип HTML-сущности.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder decodeEntity(@NotNull final Entity entity, @NotNull final EntityType entityType)
+		{
+			Objects.requireNonNull(entity);
+			Objects.requireNonNull(entityType);
+
+			return this.decode(EnumSet.of(entityType), EnumSet.of(entity));
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущностей в специальные символы.
+		 *
+		 * @return этот построитель.
+		 */
+		@NotNull
+		public Builder decodeEntities()
+		{
+			return this.decodeEntities(Collections.emptySet());
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущностей в специальные символы.
+		 *
+		 * @param entityType тип HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 */
+		@NotNull
+		public Builder decodeEntities(@NotNull final EntityType entityType)
+		{
+			return this.decodeEntities(entityType, Collections.emptySet());
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущностей в специальные символы.
+		 *
+		 * @param excludeEntities коллекция исключаемых HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code excludeEntities} передан {@code null}.
+		 */
+		@NotNull
+		public Builder decodeEntities(@NotNull final Set<@NotNull Entity> excludeEntities)
+		{
+			Objects.requireNonNull(excludeEntities);
+
+			return this.decode(EnumSet.allOf(EntityType.class), Html.getEntities(excludeEntities));
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущностей в специальные символы.
+		 *
+		 * @param entityType тип HTML-сущностей.
+		 * @param excludeEntities коллекция исключаемых HTML-сущностей.
+		 * @return этот построитель.
+		 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+		 * @throws NullPointerException если в качестве {@code excludeEntities} передан {@code null}.
+		 */
+		@NotNull
+		public Builder decodeEntities(@NotNull final EntityType entityType,
+									  @NotNull final Set<@NotNull Entity> excludeEntities)
+		{
+			Objects.requireNonNull(entityType);
+			Objects.requireNonNull(excludeEntities);
+
+			return this.decode(EnumSet.of(entityType), Html.getEntities(excludeEntities));
+		}
+
+		/**
+		 * Создаёт цепочку из добавленных операций.
+		 *
+		 * <p>Построитель можно продолжать использовать: изменения не затрагивают созданную цепочку.</p>
+		 *
+		 * @return цепочку операций.
+		 */
+		@NotNull
+		public HtmlPipeline build()
+		{
+			return new HtmlPipeline(this.stages, this.maxTokenLength);
+		}
+
+		/**
+		 * Добавляет удаление лексем.
+		 *
+		 * @param tokenTypes типы удаляемых лексем.
+		 * @param tags HTML-теги которые будут удалены или {@code null}, если удаляются HTML-теги с любым названием.
+		 * @param entities HTML-сущности которые будут удалены или {@code null}, если удаляются все лексемы.
+		 * @return этот построитель.
+		 */
+		@NotNull
+		private Builder deleteTokens(@NotNull final Set<@NotNull TokenType> tokenTypes,
+									 @Nullable final Set<@NotNull Tag> tags,
+									 @Nullable final Set<@NotNull Entity> entities)
+		{
+			this.stages.add((target, maxTokenLength) -> new TokenStage(target, maxTokenLength, tokenTypes, tags, entities));
+
+			return this;
+		}
+
+		/**
+		 * Добавляет преобразование специальных символов в HTML-сущности.
+		 *
+		 * @param entityType тип HTML-сущностей.
+		 * @param entities HTML-сущности в которые будут преобразованы специальные символы.
+		 * @return этот построитель.
+		 */
+		@NotNull
+		private Builder encode(@NotNull final EntityType entityType, @NotNull final Set<@NotNull Entity> entities)
+		{
+			this.stages.add((target, maxTokenLength) -> new EncodeStage(target, entityType, entities));
+
+			return this;
+		}
+
+		/**
+		 * Добавляет преобразование HTML-сущностей в специальные символы.
+		 *
+		 * @param entityTypes типы HTML-сущностей которые будут преобразованы.
+		 * @param entities HTML-сущности которые будут преобразованы.
+		 * @return этот построитель.
+		 */
+		@NotNull
+		private Builder decode(@NotNull final Set<@NotNull EntityType> entityTypes,
+							   @NotNull final Set<@NotNull Entity> entities)
+		{
+			this.stages.add((target, maxTokenLength) -> new DecodeStage(target, maxTokenLength, entityTypes, entities));
+
+			return this;
+		}
+
+		/**
+		 * Возвращает типы лексем HTML-тегов.
+		 *
+		 * @param tagTypes типы HTML-тегов.
+		 * @return типы лексем.
+		 */
+		@NotNull
+		private static Set<@NotNull TokenType> getTokenTypes(@NotNull final Set<@NotNull TagType> tagTypes)
+		{
+			final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+			for (TagType tagType : tagTypes) {
+				tokenTypes.add(TokenType.ofTagType(tagType));
+			}
+
+			return tokenTypes;
+		}
+
+		/**
+		 * Возвращает типы лексем HTML-сущностей.
+		 *
+		 * @param entityTypes типы HTML-сущностей.
+		 * @return типы лексем.
+		 */
+		@NotNull
+		private static Set<@NotNull TokenType> getTokenTypes(@NotNull final EntityType @NotNull ... entityTypes)
+		{
+			final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+			for (EntityType entityType : entityTypes) {
+				tokenTypes.add(TokenType.ofEntityType(entityType));
+			}
+
+			return tokenTypes;
+		}
+	}
+}
@@ -0,0 +1,655 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * Класс последовательного чтения HTML.
+ *
+ * <p>Каждый вызов {@link #next()} переходит к следующей лексеме или к тексту между лексемами.
+ * Лексемы не пересекаются: лексемы, которые начинаются внутри предыдущей лексемы,
+ * например HTML-сущность в значении параметра HTML-тега, пропускаются.</p>
+ *
+ * <p>Содержимое HTML-тегов {@link Tag#SCRIPT} и {@link Tag#STYLE} читается как текст
+ * до соответствующего закрывающего HTML-тега. В содержимом HTML-тегов {@link Tag#TEXTAREA}
+ * и {@link Tag#TITLE} распознаются только HTML-сущности.</p>
+ *
+ * <p>Позиции и параметры HTML-тегов доступны без создания объектов, поэтому один экземпляр
+ * читает весь текст без создания объектов для каждой лексемы. Методы, возвращающие строки,
+ * создают их при каждом вызове.</p>
+ *
+ * <pre>{@code
+ * HtmlReader reader = new HtmlReader(text);
+ *
+ * while (reader.next()) {
+ *     if (reader.getTagName() == Tag.A) {
+ *         System.out.println(reader.getAttributeValue("href"));
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlReader
+{
+	/**
+	 * Количество позиций одного параметра HTML-тега в массиве параметров.
+	 */
+	private static final int ATTRIBUTE_STRIDE = 4;
+
+	/**
+	 * Позиции, до которых не распознаются лексемы, в начале анализа.
+	 */
+	private static final int @NotNull [] NOT_BLOCKED = new int[TokenType.values().length];
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Лексический анализатор текста.
+	 */
+	@NotNull
+	private final HtmlTokenizer tokenizer;
+
+	/**
+	 * Лексический анализатор HTML-сущностей в содержимом HTML-тегов.
+	 */
+	@NotNull
+	private final HtmlTokenizer entityTokenizer;
+
+	/**
+	 * Лексический анализатор текущей или отложенной лексемы.
+	 */
+	@NotNull
+	private HtmlTokenizer source;
+
+	/**
+	 * Позиция за концом прочитанной части текста.
+	 */
+	private int position;
+
+	/**
+	 * Признак лексемы, которая будет прочитана после текста перед ней.
+	 */
+	private boolean pending;
+
+	/**
+	 * Позиция за концом содержимого, читаемого как текст, или {@code -1}.
+	 */
+	private int rawTextEnd;
+
+	/**
+	 * Позиция за концом содержимого, в котором распознаются только HTML-сущности, или {@code -1}.
+	 */
+	private int escapableTextEnd;
+
+	/**
+	 * Признак наличия текущей лексемы или текста.
+	 */
+	private boolean current;
+
+	/**
+	 * Признак текста.
+	 */
+	private boolean isText;
+
+	/**
+	 * Начало текущей лексемы или текста.
+	 */
+	private int start;
+
+	/**
+	 * Позиция за концом текущей лексемы или текста.
+	 */
+	private int end;
+
+	/**
+	 * Позиции параметров текущего HTML-тега: начало и конец названия, начало и конец значения.
+	 */
+	private int @NotNull [] attributes;
+
+	/**
+	 * Количество параметров текущего HTML-тега или {@code -1}, если параметры ещё не прочитаны.
+	 */
+	private int attributeCount;
+
+	/**
+	 * Конструктор для {@code HtmlReader}.
+	 *
+	 * @param text текст.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	public HtmlReader(@NotNull final CharSequence text)
+	{
+		Objects.requireNonNull(text);
+
+		this.text = text;
+		this.tokenizer = new HtmlTokenizer(text);
+		this.entityTokenizer = new HtmlTokenizer(
+			text, EnumSet.of(TokenType.ENTITY_NAME, TokenType.ENTITY_NUMERIC, TokenType.ENTITY_UNICODE)
+		);
+		this.source = this.tokenizer;
+		this.rawTextEnd = -1;
+		this.escapableTextEnd = -1;
+		this.attributes = new int[ATTRIBUTE_STRIDE * 8];
+	}
+
+	/**
+	 * Переходит к следующей лексеме или тексту.
+	 *
+	 * @return {@code true}, если лексема или текст найдены, иначе {@code false}.
+	 */
+	public boolean next()
+	{
+		this.attributeCount = -1;
+
+		if (this.pending)
+		{
+			this.pending = false;
+
+			return this.setToken();
+		}
+
+		if (this.rawTextEnd >= 0)
+		{
+			final int rawEnd = this.rawTextEnd;
+
+			this.rawTextEnd = -1;
+
+			if (this.position < rawEnd) {
+				return this.setText(rawEnd);
+			}
+		}
+
+		if (this.escapableTextEnd >= 0)
+		{
+			if (this.entityTokenizer.next()) {
+				return this.setNextToken(this.entityTokenizer);
+			}
+
+			final int escapableEnd = this.escapableTextEnd;
+
+			this.escapableTextEnd = -1;
+
+			if (this.position < escapableEnd) {
+				return this.setText(escapableEnd);
+			}
+		}
+
+		if (this.tokenizer.next()) {
+			return this.setNextToken(this.tokenizer);
+		}
+
+		if (this.position < this.text.length()) {
+			return this.setText(this.text.length());
+		}
+
+		this.current = false;
+
+		return false;
+	}
+
+	/**
+	 * Проверяет, является ли текущая позиция текстом между лексемами.
+	 *
+	 * @return {@code true}, если является, иначе {@code false}.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	public boolean isText()
+	{
+		this.checkCurrent();
+
+		return this.isText;
+	}
+
+	/**
+	 * Возвращает тип текущей лексемы.
+	 *
+	 * @return тип лексемы или {@code null}, если текущая позиция является текстом.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	@Nullable
+	public TokenType getTokenType()
+	{
+		this.checkCurrent();
+
+		if (this.isText) {
+			return null;
+		}
+
+		return this.source.getType();
+	}
+
+	/**
+	 * Возвращает HTML-тег текущей лексемы.
+	 *
+	 * @return HTML-тег или {@code null}, если лексема не является HTML-тегом или название HTML-тега неизвестно.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	@Nullable
+	public Tag getTagName()
+	{
+		this.checkCurrent();
+
+		if (this.isText) {
+			return null;
+		}
+
+		return this.source.getTag();
+	}
+
+	/**
+	 * Возвращает HTML-сущность текущей лексемы.
+	 *
+	 * @return HTML-сущность или {@code null}, если лексема не является HTML-сущностью или HTML-сущность неизвестна.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	@Nullable
+	public Entity getEntity()
+	{
+		this.checkCurrent();
+
+		if (this.isText) {
+			return null;
+		}
+
+		return this.source.getEntity();
+	}
+
+	/**
+	 * Возвращает начало текущей лексемы или текста.
+	 *
+	 * @return позицию первого символа в тексте.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	public int getTextStart()
+	{
+		this.checkCurrent();
+
+		return this.start;
+	}
+
+	/**
+	 * Возвращает конец текущей лексемы или текста.
+	 *
+	 * @return позицию за последним символом в тексте.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	public int getTextEnd()
+	{
+		this.checkCurrent();
+
+		return this.end;
+	}
+
+	/**
+	 * Возвращает текущую лексему или текст.
+	 *
+	 * @return текущую лексему или текст.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	@NotNull
+	public String getText()
+	{
+		this.checkCurrent();
+
+		return this.text.subSequence(this.start, this.end).toString();
+	}
+
+	/**
+	 * Возвращает количество параметров текущего HTML-тега.
+	 *
+	 * @return количество параметров или {@code 0}, если лексема не является открывающим
+	 * или самозакрывающимся HTML-тегом.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	public int getAttributeCount()
+	{
+		this.checkCurrent();
+
+		if (this.attributeCount < 0) {
+			this.readAttributes();
+		}
+
+		return this.attributeCount;
+	}
+
+	/**
+	 * Возвращает начало названия параметра.
+	 *
+	 * @param index номер параметра.
+	 * @return позицию первого символа названия в тексте.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	public int getAttributeNameStart(final int index)
+	{
+		return this.attributes[this.getAttributeOffset(index)];
+	}
+
+	/**
+	 * Возвращает конец названия параметра.
+	 *
+	 * @param index номер параметра.
+	 * @return позицию за последним символом названия в тексте.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	public int getAttributeNameEnd(final int index)
+	{
+		return this.attributes[this.getAttributeOffset(index) + 1];
+	}
+
+	/**
+	 * Возвращает начало значения параметра.
+	 *
+	 * <p>Кавычки вокруг значения в значение не входят.</p>
+	 *
+	 * @param index номер параметра.
+	 * @return позицию первого символа значения в тексте или {@code -1}, если у параметра нет значения.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	public int getAttributeValueStart(final int index)
+	{
+		return this.attributes[this.getAttributeOffset(index) + 2];
+	}
+
+	/**
+	 * Возвращает конец значения параметра.
+	 *
+	 * @param index номер параметра.
+	 * @return позицию за последним символом значения в тексте или {@code -1}, если у параметра нет значения.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	public int getAttributeValueEnd(final int index)
+	{
+		return this.attributes[this.getAttributeOffset(index) + 3];
+	}
+
+	/**
+	 * Возвращает название параметра.
+	 *
+	 * @param index номер параметра.
+	 * @return название параметра.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	@NotNull
+	public String getAttributeName(final int index)
+	{
+		final int offset = this.getAttributeOffset(index);
+
+		return this.text.subSequence(this.attributes[offset], this.attributes[offset + 1]).toString();
+	}
+
+	/**
+	 * Возвращает значение параметра.
+	 *
+	 * @param index номер параметра.
+	 * @return значение параметра или {@code null}, если у параметра нет значения.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	@Nullable
+	public String getAttributeValue(final int index)
+	{
+		final int offset = this.getAttributeOffset(index);
+
+		if (this.attributes[offset + 2] < 0) {
+			return null;
+		}
+
+		return this.text.subSequence(this.attributes[offset + 2], this.attributes[offset + 3]).toString();
+	}
+
+	/**
+	 * Возвращает номер параметра по названию.
+	 *
+	 * <p>Название сравнивается без учёта регистра.</p>
+	 *
+	 * @param name название параметра.
+	 * @return номер первого параметра с этим названием или {@code -1}, если параметра нет.
+	 * @throws NullPointerException если в качестве {@code name} передан {@code null}.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	public int getAttributeIndex(@NotNull final String name)
+	{
+		Objects.requireNonNull(name);
+
+		final int count = this.getAttributeCount();
+
+		for (int index = 0; index < count; index++)
+		{
+			final int nameStart = this.attributes[index * ATTRIBUTE_STRIDE];
+			final int nameEnd = this.attributes[index * ATTRIBUTE_STRIDE + 1];
+
+			if (nameEnd - nameStart == name.length() && this.regionEqualsIgnoreCase(nameStart, name)) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Возвращает значение параметра по названию.
+	 *
+	 * @param name название параметра.
+	 * @return значение первого параметра с этим названием или {@code null},
+	 * если параметра нет или у него нет значения.
+	 * @throws NullPointerException если в качестве {@code name} передан {@code null}.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	@Nullable
+	public String getAttributeValue(@NotNull final String name)
+	{
+		final int index = this.getAttributeIndex(name);
+
+		if (index < 0) {
+			return null;
+		}
+
+		return this.getAttributeValue(index);
+	}
+
+	/**
+	 * Устанавливает текст до лексемы или лексему, найденную анализатором.
+	 *
+	 * @param tokenizer лексический анализатор.
+	 * @return {@code true}.
+	 */
+	private boolean setNextToken(@NotNull final HtmlTokenizer tokenizer)
+	{
+		this.source = tokenizer;
+
+		if (this.position < tokenizer.getStart())
+		{
+			this.pending = true;
+
+			return this.setText(tokenizer.getStart());
+		}
+
+		return this.setToken();
+	}
+
+	/**
+	 * Устанавливает текущей лексему анализатора {@link #source}.
+	 *
+	 * @return {@code true}.
+	 */
+	private boolean setToken()
+	{
+		final HtmlTokenizer tokenizer = this.source;
+
+		tokenizer.skip();
+
+		this.current = true;
+		this.isText = false;
+		this.start = tokenizer.getStart();
+		this.end = tokenizer.getEnd();
+		this.position = this.end;
+
+		if (tokenizer == this.tokenizer && tokenizer.getType() == TokenType.OPEN_TAG)
+		{
+			final Tag tag = tokenizer.getTag();
+
+			if (tag == Tag.SCRIPT || tag == Tag.STYLE)
+			{
+				this.rawTextEnd = this.findContentEnd(tag);
+				this.tokenizer.skipTo(this.rawTextEnd);
+			}
+			else if (tag == Tag.TEXTAREA || tag == Tag.TITLE)
+			{
+				this.escapableTextEnd = this.findContentEnd(tag);
+				this.entityTokenizer.restart(this.end, this.escapableTextEnd, NOT_BLOCKED);
+				this.tokenizer.skipTo(this.escapableTextEnd);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Устанавливает текущим текст от конца прочитанной части.
+	 *
+	 * @param end позиция за концом текста.
+	 * @return {@code true}.
+	 */
+	private boolean setText(final int end)
+	{
+		this.current = true;
+		this.isText = true;
+		this.start = this.position;
+		this.end = end;
+		this.position = end;
+
+		return true;
+	}
+
+	/**
+	 * Возвращает конец содержимого HTML-тега.
+	 *
+	 * @param tag HTML-тег.
+	 * @return позицию закрывающего HTML-тега или длину текста, если его нет.
+	 */
+	private int findContentEnd(@NotNull final Tag tag)
+	{
+		final int close = Grammar.indexOfCloseTag(this.text, tag.getName(), this.end);
+
+		return close < 0 ? this.text.length() : close;
+	}
+
+	/**
+	 * Читает параметры текущего HTML-тега.
+	 */
+	private void readAttributes()
+	{
+		this.attributeCount = 0;
+
+		final TokenType tokenType = this.isText ? null : this.source.getType();
+
+		if (tokenType != TokenType.OPEN_TAG && tokenType != TokenType.SELF_CLOSING_TAG) {
+			return;
+		}
+
+		final boolean selfClosing = tokenType == TokenType.SELF_CLOSING_TAG;
+
+		int index = Grammar.matchTagName(this.text, this.start + 1);
+
+		while (true)
+		{
+			final int offset = this.attributeCount * ATTRIBUTE_STRIDE;
+
+			if (offset == this.attributes.length) {
+				this.attributes = Arrays.copyOf(this.attributes, offset * 2);
+			}
+
+			index = Grammar.matchParam(this.text, index, this.end, selfClosing, this.attributes, offset);
+
+			if (index < 0) {
+				break;
+			}
+
+			this.attributeCount++;
+		}
+	}
+
+	/**
+	 * Возвращает смещение параметра в массиве параметров.
+	 *
+	 * @param index номер параметра.
+	 * @return смещение параметра.
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 * @throws IndexOutOfBoundsException если параметра с номером {@code index} нет.
+	 */
+	private int getAttributeOffset(final int index)
+	{
+		return Objects.checkIndex(index, this.getAttributeCount()) * ATTRIBUTE_STRIDE;
+	}
+
+	/**
+	 * Сравнивает без учёта регистра часть текста со строкой.
+	 *
+	 * @param start начало части текста.
+	 * @param string строка.
+	 * @return {@code true}, если часть текста совпадает со строкой, иначе {@code false}.
+	 */
+	private boolean regionEqualsIgnoreCase(final int start, @NotNull final String string)
+	{
+		for (int index = 0; index < string.length(); index++)
+		{
+			if (Grammar.foldCase(this.text.charAt(start + index)) != Grammar.foldCase(string.charAt(index))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Проверяет наличие текущей лексемы или текста.
+	 *
+	 * @throws IllegalStateException если текущей лексемы или текста нет.
+	 */
+	private void checkCurrent()
+	{
+		if (!this.current) {
+			throw new IllegalStateException();
+		}
+	}
+}
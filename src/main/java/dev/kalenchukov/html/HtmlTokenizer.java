@@ -0,0 +1,609 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Класс лексического анализатора HTML.
+ *
+ * <p>Распознаёт за один просмотр текста лексемы всех типов {@link TokenType}
+ * и возвращает их в порядке начала в тексте. Лексемы распознаются так же,
+ * как соответствующими регулярными выражениями {@link TokenType#getRegexp()}:
+ * лексемы одного типа не пересекаются, а лексемы разных типов распознаются независимо,
+ * поэтому HTML-сущность в значении параметра HTML-тега будет возвращена после этого HTML-тега.
+ * Чтобы продолжить анализ с конца текущей лексемы, используется метод {@link #skip()}.</p>
+ *
+ * <p>Анализатор не создаёт объектов при переходе к следующей лексеме. Время анализа линейно
+ * зависит от длины текста, в том числе для незавершённых HTML-комментариев, областей CDATA
+ * и значений параметров HTML-тегов в кавычках.</p>
+ *
+ * <pre>{@code
+ * HtmlTokenizer tokenizer = new HtmlTokenizer(text);
+ *
+ * while (tokenizer.next()) {
+ *     System.out.println(tokenizer.getType() + " " + tokenizer.getStart() + " " + tokenizer.getEnd());
+ * }
+ * }</pre>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class HtmlTokenizer
+{
+	/**
+	 * Текст для анализа.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Типы распознаваемых лексем.
+	 */
+	@NotNull
+	private final Set<@NotNull TokenType> tokenTypes;
+
+	/**
+	 * Распознаваемые HTML-теги или {@code null}, если распознаются HTML-теги с любым названием.
+	 */
+	@Nullable
+	private final Set<@NotNull Tag> tags;
+
+	/**
+	 * Позиции, до которых не распознаются лексемы каждого типа.
+	 */
+	private final int @NotNull [] blocked;
+
+	/**
+	 * Поиск окончания области CDATA.
+	 */
+	@NotNull
+	private final MarkerSearch cdataCloseSearch;
+
+	/**
+	 * Позиция, с которой продолжается анализ.
+	 */
+	private int position;
+
+	/**
+	 * Позиция, с которой лексемы не распознаются.
+	 */
+	private int limit;
+
+	/**
+	 * Тип текущей лексемы или {@code null}, если текущей лексемы нет.
+	 */
+	@Nullable
+	private TokenType type;
+
+	/**
+	 * Начало текущей лексемы.
+	 */
+	private int start;
+
+	/**
+	 * Позиция за концом текущей лексемы.
+	 */
+	private int end;
+
+	/**
+	 * Начало названия HTML-тега или значения HTML-сущности текущей лексемы.
+	 */
+	private int nameStart;
+
+	/**
+	 * Позиция за концом названия HTML-тега или значения HTML-сущности текущей лексемы.
+	 */
+	private int nameEnd;
+
+	/**
+	 * Конструктор для {@code HtmlTokenizer}.
+	 *
+	 * <p>Распознаются лексемы всех типов.</p>
+	 *
+	 * @param text текст для анализа.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	public HtmlTokenizer(@NotNull final CharSequence text)
+	{
+		this(text, EnumSet.allOf(TokenType.class));
+	}
+
+	/**
+	 * Конструктор для {@code HtmlTokenizer}.
+	 *
+	 * @param text текст для анализа.
+	 * @param tokenTypes типы распознаваемых лексем.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	public HtmlTokenizer(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		this(text, tokenTypes, null, new MarkerSearch(text, "]]>"));
+	}
+
+	/**
+	 * Конструктор для {@code HtmlTokenizer}.
+	 *
+	 * <p>HTML-теги, названия которых не входят в {@code tags}, не распознаются
+	 * и не мешают распознаванию лексем внутри себя.</p>
+	 *
+	 * @param text текст для анализа.
+	 * @param tokenTypes типы распознаваемых лексем.
+	 * @param tags распознаваемые HTML-теги.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	public HtmlTokenizer(@NotNull final CharSequence text,
+						 @NotNull final Set<@NotNull TokenType> tokenTypes,
+						 @NotNull final Set<@NotNull Tag> tags)
+	{
+		this(text, tokenTypes, Objects.requireNonNull(tags), new MarkerSearch(text, "]]>"));
+	}
+
+	/**
+	 * Конструктор для {@code HtmlTokenizer}.
+	 *
+	 * @param text текст для анализа.
+	 * @param tokenTypes типы распознаваемых лексем.
+	 * @param tags распознаваемые HTML-теги или {@code null}, если распознаются HTML-теги с любым названием.
+	 * @param cdataCloseSearch поиск окончания области CDATA в тексте.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code cdataCloseSearch} передан {@code null}.
+	 */
+	HtmlTokenizer(@NotNull final CharSequence text,
+				  @NotNull final Set<@NotNull TokenType> tokenTypes,
+				  @Nullable final Set<@NotNull Tag> tags,
+				  @NotNull final MarkerSearch cdataCloseSearch)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+		Objects.requireNonNull(cdataCloseSearch);
+
+		this.text = text;
+		this.tokenTypes = tokenTypes.isEmpty() ? EnumSet.noneOf(TokenType.class) : EnumSet.copyOf(tokenTypes);
+
+		if (tags == null) {
+			this.tags = null;
+		}
+		else
+		{
+			this.tags = tags.isEmpty() ? EnumSet.noneOf(Tag.class) : EnumSet.copyOf(tags);
+		}
+
+		this.blocked = new int[TokenType.values().length];
+		this.cdataCloseSearch = cdataCloseSearch;
+		this.limit = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Переходит к следующей лексеме.
+	 *
+	 * @return {@code true}, если лексема найдена, иначе {@code false}.
+	 */
+	public boolean next()
+	{
+		final int length = Math.min(this.text.length(), this.limit);
+
+		while (this.position < length)
+		{
+			final int index = this.position;
+			final char symbol = this.text.charAt(index);
+			final boolean matched = (symbol == '<' && this.matchMarkup(index))
+				|| (symbol == '&' && this.matchEntity(index));
+
+			this.position = index + 1;
+
+			if (matched) {
+				return true;
+			}
+		}
+
+		this.type = null;
+
+		return false;
+	}
+
+	/**
+	 * Продолжает анализ с конца текущей лексемы.
+	 *
+	 * <p>Лексемы, которые начинаются внутри текущей лексемы, не будут возвращены.</p>
+	 *
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	public void skip()
+	{
+		this.checkToken();
+
+		this.position = Math.max(this.position, this.end);
+	}
+
+	/**
+	 * Продолжает анализ с указанной позиции, если она находится дальше текущей.
+	 *
+	 * <p>Лексемы, которые начинаются до этой позиции, не будут возвращены.</p>
+	 *
+	 * @param position позиция в тексте.
+	 */
+	void skipTo(final int position)
+	{
+		this.position = Math.max(this.position, position);
+	}
+
+	/**
+	 * Возвращает позицию, с которой продолжится анализ.
+	 *
+	 * <p>Если текст прочитан не полностью и распознавание прервано нехваткой символов,
+	 * повторный вызов {@link #next()} продолжит анализ с этой позиции.</p>
+	 *
+	 * @return позицию в тексте.
+	 */
+	int getPosition()
+	{
+		return this.position;
+	}
+
+	/**
+	 * Продолжает анализ с указанной позиции.
+	 *
+	 * <p>Распознаются только лексемы, которые начинаются до позиции {@code limit},
+	 * но лексемы могут заканчиваться за ней. Лексемы каждого типа не распознаются
+	 * до соответствующей позиции {@code blocked}, как после предыдущего вызова {@link #getBlocked()}.</p>
+	 *
+	 * @param position позиция, с которой продолжается анализ.
+	 * @param limit позиция, с которой лексемы не распознаются.
+	 * @param blocked позиции, до которых не распознаются лексемы каждого типа.
+	 */
+	void restart(final int position, final int limit, final int @NotNull [] blocked)
+	{
+		System.arraycopy(blocked, 0, this.blocked, 0, this.blocked.length);
+
+		this.position = position;
+		this.limit = limit;
+		this.type = null;
+	}
+
+	/**
+	 * Возвращает позиции, до которых не распознаются лексемы каждого типа.
+	 *
+	 * <p>Вместе с {@link #getPosition()} позиции полностью определяют дальнейший анализ.</p>
+	 *
+	 * @return позиции по порядковому номеру типа лексемы.
+	 */
+	int @NotNull [] getBlocked()
+	{
+		return this.blocked.clone();
+	}
+
+	/**
+	 * Возвращает тип текущей лексемы.
+	 *
+	 * @return тип лексемы.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	@NotNull
+	public TokenType getType()
+	{
+		this.checkToken();
+
+		return Objects.requireNonNull(this.type);
+	}
+
+	/**
+	 * Возвращает начало текущей лексемы.
+	 *
+	 * @return позицию первого символа лексемы.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	public int getStart()
+	{
+		this.checkToken();
+
+		return this.start;
+	}
+
+	/**
+	 * Возвращает конец текущей лексемы.
+	 *
+	 * @return позицию за последним символом лексемы.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	public int getEnd()
+	{
+		this.checkToken();
+
+		return this.end;
+	}
+
+	/**
+	 * Возвращает текст текущей лексемы.
+	 *
+	 * @return текст лексемы.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	@NotNull
+	public String getValue()
+	{
+		this.checkToken();
+
+		return this.text.subSequence(this.start, this.end).toString();
+	}
+
+	/**
+	 * Возвращает название HTML-тега или имя HTML-сущности текущей лексемы.
+	 *
+	 * @return название HTML-тега, имя HTML-сущности или {@code null}, если у лексемы нет названия.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	@Nullable
+	public String getName()
+	{
+		if (!this.isTag() && this.getType() != TokenType.ENTITY_NAME) {
+			return null;
+		}
+
+		return this.text.subSequence(this.nameStart, this.nameEnd).toString();
+	}
+
+	/**
+	 * Возвращает HTML-тег текущей лексемы.
+	 *
+	 * @return HTML-тег или {@code null}, если лексема не является HTML-тегом или название HTML-тега неизвестно.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	@Nullable
+	public Tag getTag()
+	{
+		if (!this.isTag()) {
+			return null;
+		}
+
+		return Tag.ofName(this.text, this.nameStart, this.nameEnd);
+	}
+
+	/**
+	 * Возвращает HTML-сущность текущей лексемы.
+	 *
+	 * <p>Если одно имя имеют несколько HTML-сущностей, возвращается первая объявленная.</p>
+	 *
+	 * @return HTML-сущность или {@code null}, если лексема не является HTML-сущностью или HTML-сущность неизвестна.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	@Nullable
+	public Entity getEntity()
+	{
+		return switch (this.getType())
+			{
+				case ENTITY_NAME: yield Entity.ofName(this.text, this.nameStart, this.nameEnd);
+				case ENTITY_NUMERIC: yield Entity.ofNumeric(this.text, this.nameStart, this.nameEnd);
+				case ENTITY_UNICODE: yield Entity.ofUnicode(this.text, this.nameStart, this.nameEnd);
+				default: yield null;
+			};
+	}
+
+	/**
+	 * Проверяет, является ли текущая лексема HTML-тегом.
+	 *
+	 * @return {@code true}, если является, иначе {@code false}.
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	private boolean isTag()
+	{
+		return switch (this.getType())
+			{
+				case OPEN_TAG, CLOSE_TAG, SELF_CLOSING_TAG: yield true;
+				default: yield false;
+			};
+	}
+
+	/**
+	 * Проверяет наличие текущей лексемы.
+	 *
+	 * @throws IllegalStateException если текущей лексемы нет.
+	 */
+	private void checkToken()
+	{
+		if (this.type == null) {
+			throw new IllegalStateException();
+		}
+	}
+
+	/**
+	 * Распознаёт лексему разметки, начинающуюся с символа {@literal «<»}.
+	 *
+	 * @param index позиция символа {@literal «<»}.
+	 * @return {@code true}, если лексема распознана, иначе {@code false}.
+	 */
+	private boolean matchMarkup(final int index)
+	{
+		if (Grammar.startsWith(this.text, index + 1, "/")) {
+			return this.matchTag(TokenType.CLOSE_TAG, index, index + 2);
+		}
+
+		if (Grammar.startsWith(this.text, index + 1, "!"))
+		{
+			return this.matchDeclaration(TokenType.COMMENT, index)
+				|| this.matchDeclaration(TokenType.CDATA, index)
+				|| this.matchDeclaration(TokenType.DOCTYPE, index);
+		}
+
+		return this.matchTag(TokenType.OPEN_TAG, index, index + 1)
+			|| this.matchTag(TokenType.SELF_CLOSING_TAG, index, index + 1);
+	}
+
+	/**
+	 * Распознаёт HTML-тег.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @param index позиция символа {@literal «<»}.
+	 * @param nameStart начало названия HTML-тега.
+	 * @return {@code true}, если HTML-тег распознан, иначе {@code false}.
+	 */
+	private boolean matchTag(@NotNull final TokenType tokenType, final int index, final int nameStart)
+	{
+		if (!this.accepts(tokenType, index)) {
+			return false;
+		}
+
+		final int nameEnd = Grammar.matchTagName(this.text, nameStart);
+
+		if (nameEnd < 0) {
+			return false;
+		}
+
+		if (this.tags != null)
+		{
+			final Tag tag = Tag.ofName(this.text, nameStart, nameEnd);
+
+			if (tag == null || !this.tags.contains(tag)) {
+				return false;
+			}
+		}
+
+		final int tokenEnd = switch (tokenType)
+			{
+				case CLOSE_TAG: yield Grammar.matchCloseTagRest(this.text, nameEnd);
+				case SELF_CLOSING_TAG: yield Grammar.matchTagRest(this.text, nameEnd, true);
+				default: yield Grammar.matchTagRest(this.text, nameEnd, false);
+			};
+
+		return this.setToken(tokenType, index, tokenEnd, nameStart, nameEnd);
+	}
+
+	/**
+	 * Распознаёт HTML-комментарий, область CDATA или тип HTML-документа.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @param index позиция символа {@literal «<»}.
+	 * @return {@code true}, если лексема распознана, иначе {@code false}.
+	 */
+	private boolean matchDeclaration(@NotNull final TokenType tokenType, final int index)
+	{
+		if (!this.accepts(tokenType, index)) {
+			return false;
+		}
+
+		final int tokenEnd = switch (tokenType)
+			{
+				case COMMENT: yield Grammar.matchComment(this.text, index);
+				case CDATA: yield Grammar.matchCData(this.text, index, this.cdataCloseSearch);
+				default: yield Grammar.matchDoctype(this.text, index);
+			};
+
+		return this.setToken(tokenType, index, tokenEnd, index, index);
+	}
+
+	/**
+	 * Распознаёт HTML-сущность.
+	 *
+	 * @param index позиция символа {@literal «&»}.
+	 * @return {@code true}, если HTML-сущность распознана, иначе {@code false}.
+	 */
+	private boolean matchEntity(final int index)
+	{
+		final TokenType tokenType;
+		final EntityType entityType;
+		final int valueStart;
+
+		if (!Grammar.startsWith(this.text, index + 1, "#"))
+		{
+			tokenType = TokenType.ENTITY_NAME;
+			entityType = EntityType.NAME;
+			valueStart = index + 1;
+		}
+		else if (index + 2 < this.text.length() && Grammar.foldCase(this.text.charAt(index + 2)) == 'x')
+		{
+			tokenType = TokenType.ENTITY_UNICODE;
+			entityType = EntityType.UNICODE;
+			valueStart = index + 3;
+		}
+		else
+		{
+			tokenType = TokenType.ENTITY_NUMERIC;
+			entityType = EntityType.NUMERIC;
+			valueStart = index + 2;
+		}
+
+		if (!this.accepts(tokenType, index)) {
+			return false;
+		}
+
+		final int tokenEnd = Grammar.matchEntity(this.text, index, entityType);
+
+		return this.setToken(tokenType, index, tokenEnd, valueStart, tokenEnd - 1);
+	}
+
+	/**
+	 * Проверяет, может ли в позиции начинаться лексема указанного типа.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @param index позиция.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	private boolean accepts(@NotNull final TokenType tokenType, final int index)
+	{
+		return this.tokenTypes.contains(tokenType) && this.blocked[tokenType.ordinal()] <= index;
+	}
+
+	/**
+	 * Устанавливает текущую лексему.
+	 *
+	 * @param tokenType тип лексемы.
+	 * @param tokenStart начало лексемы.
+	 * @param tokenEnd позиция за концом лексемы или {@code -1}, если лексема не распознана.
+	 * @param nameStart начало названия HTML-тега или значения HTML-сущности.
+	 * @param nameEnd позиция за концом названия HTML-тега или значения HTML-сущности.
+	 * @return {@code true}, если лексема распознана, иначе {@code false}.
+	 */
+	private boolean setToken(@NotNull final TokenType tokenType,
+							 final int tokenStart,
+							 final int tokenEnd,
+							 final int nameStart,
+							 final int nameEnd)
+	{
+		if (tokenEnd < 0) {
+			return false;
+		}
+
+		this.type = tokenType;
+		this.start = tokenStart;
+		this.end = tokenEnd;
+		this.nameStart = nameStart;
+		this.nameEnd = nameEnd;
+		this.blocked[tokenType.ordinal()] = tokenEnd;
+
+		return true;
+	}
+}
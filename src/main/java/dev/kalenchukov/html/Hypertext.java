@@ -28,12 +28,27 @@ import dev.kalenchukov.html.resources.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Интерфейс для реализации класса работы с гипертекстом.
  *
+ * <p>Методы, добавленные в версии 1.5.0, имеют реализации по умолчанию, которые при каждом вызове
+ * обрабатывают текст {@link #getText()} механизмом {@link dev.kalenchukov.html.resources.EngineType#TOKENIZER},
+ * поэтому существующие реализации интерфейса их не переопределяют. {@link Html} переопределяет их,
+ * чтобы использовать свой механизм обработки и построенные индексы.</p>
+ *
  * @author Алексей Каленчуков
  */
 public interface Hypertext
@@ -52,6 +67,61 @@ public interface Hypertext
 	 */
 	String getText();
 
+	/**
+	 * Записывает обработанный текст.
+	 *
+	 * <p>Текст записывается целиком, без создания строки. Если {@code output} является {@link java.io.Writer},
+	 * текст передаётся ему массивами символов через буфер, а сам {@code output} не сбрасывается.</p>
+	 *
+	 * @param output получатель текста.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	default void writeText(@NotNull final Appendable output) throws IOException
+	{
+		final String text = this.getText();
+
+		WriterOutput.write(output, target -> target.append(text));
+	}
+
+	/**
+	 * Записывает обработанный текст в поток байтов.
+	 *
+	 * <p>Поток не закрывается, но сбрасывается после записи.</p>
+	 *
+	 * @param output поток байтов.
+	 * @param charset кодировка.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	default void writeText(@NotNull final OutputStream output, @NotNull final Charset charset) throws IOException
+	{
+		final WriterOutput writerOutput = WriterOutput.of(output, charset);
+
+		writerOutput.append(this.getText());
+		writerOutput.flush();
+	}
+
+	/**
+	 * Записывает обработанный текст в канал.
+	 *
+	 * <p>Канал не закрывается.</p>
+	 *
+	 * @param channel канал.
+	 * @param charset кодировка.
+	 * @throws NullPointerException если в качестве {@code channel} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	default void writeText(@NotNull final WritableByteChannel channel, @NotNull final Charset charset) throws IOException
+	{
+		final WriterOutput writerOutput = WriterOutput.of(channel, charset);
+
+		writerOutput.append(this.getText());
+		writerOutput.flush();
+	}
+
 	/**
 	 * Удаляет HTML-комментарии.
 	 */
@@ -376,4 +446,423 @@ public interface Hypertext
 	@Unmodifiable
 	@NotNull
 	List<@NotNull String> findComments();
+
+	/**
+	 * Выполняет поиск лексем.
+	 *
+	 * <p>Лексемы всех указанных типов находятся за один просмотр текста
+	 * и возвращаются в порядке их начала в тексте вместе с типом и позицией.</p>
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return коллекцию с найденными лексемами.
+	 */
+	@Unmodifiable
+	@NotNull
+	default List<@NotNull Token> findTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		return new TokenizerEngine().findTokens(this.getText(), tokenTypes);
+	}
+
+	/**
+	 * Выполняет поиск HTML-тегов в порядке их следования в тексте.
+	 *
+	 * <p>В отличие от {@link #findTags()}, HTML-теги не группируются по типу.</p>
+	 *
+	 * @return коллекцию с найденными HTML-тегами.
+	 */
+	@Unmodifiable
+	@NotNull
+	default List<@NotNull Token> findTagTokens()
+	{
+		return this.findTokens(EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG, TokenType.CLOSE_TAG));
+	}
+
+	/**
+	 * Выполняет поиск HTML-сущностей в порядке их следования в тексте.
+	 *
+	 * <p>В отличие от {@link #findEntities()}, HTML-сущности не группируются по типу.</p>
+	 *
+	 * @return коллекцию с найденными HTML-сущностями.
+	 */
+	@Unmodifiable
+	@NotNull
+	default List<@NotNull Token> findEntityTokens()
+	{
+		return this.findTokens(EnumSet.of(TokenType.ENTITY_NAME, TokenType.ENTITY_NUMERIC, TokenType.ENTITY_UNICODE));
+	}
+
+	/**
+	 * Выполняет поиск лексем с позицией в строках и именованными группами.
+	 *
+	 * <p>Номера строк и символов вычисляются по индексу начал строк двоичным поиском,
+	 * а именованные группы {@link dev.kalenchukov.html.resources.Regexp#getGroups()}
+	 * вычисляются при первом обращении к ним.</p>
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return коллекцию с найденными лексемами в порядке их начала в тексте.
+	 */
+	@Unmodifiable
+	@NotNull
+	default List<@NotNull Match> findMatches(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		final String text = this.getText();
+		final List<Token> tokens = new TokenizerEngine().findTokens(text, tokenTypes);
+		final LineIndex lines = LineIndex.of(text);
+		final List<Match> matches = new ArrayList<>(tokens.size());
+
+		for (Token token : tokens)
+		{
+			matches.add(new Match(
+				token, lines.getLine(token.getStart()), lines.getColumn(token.getStart())
+			));
+		}
+
+		return Collections.unmodifiableList(matches);
+	}
+
+	/**
+	 * Подсчитывает лексемы.
+	 *
+	 * <p>В отличие от {@link #findTokens(Set)}, значения лексем не создаются.</p>
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return количество лексем.
+	 */
+	default int countTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		return new TokenizerEngine().count(this.getText(), tokenTypes);
+	}
+
+	/**
+	 * Подсчитывает HTML-теги.
+	 *
+	 * @return количество HTML-тегов.
+	 */
+	default int countTags()
+	{
+		return this.countTokens(EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG, TokenType.CLOSE_TAG));
+	}
+
+	/**
+	 * Подсчитывает HTML-сущности.
+	 *
+	 * @return количество HTML-сущностей.
+	 */
+	default int countEntities()
+	{
+		return this.countTokens(EnumSet.of(TokenType.ENTITY_NAME, TokenType.ENTITY_NUMERIC, TokenType.ENTITY_UNICODE));
+	}
+
+	/**
+	 * Подсчитывает HTML-комментарии.
+	 *
+	 * @return количество HTML-комментариев.
+	 */
+	default int countComments()
+	{
+		return this.countTokens(EnumSet.of(TokenType.COMMENT));
+	}
+
+	/**
+	 * Проверяет наличие лексем.
+	 *
+	 * <p>Поиск завершается на первой найденной лексеме.</p>
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return {@code true}, если найдена хотя бы одна лексема, иначе {@code false}.
+	 */
+	default boolean containsTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		return new TokenizerEngine().contains(this.getText(), tokenTypes);
+	}
+
+	/**
+	 * Проверяет наличие HTML-тега.
+	 *
+	 * <p>Учитываются открывающие, самозакрывающиеся и закрывающие HTML-теги.
+	 * Поиск завершается на первом найденном HTML-теге.</p>
+	 *
+	 * @param tag HTML-тег.
+	 * @return {@code true}, если HTML-тег найден, иначе {@code false}.
+	 */
+	default boolean containsTag(@NotNull final Tag tag)
+	{
+		Objects.requireNonNull(tag);
+
+		return new TokenizerEngine().containsTags(this.getText(), EnumSet.of(tag));
+	}
+
+	/**
+	 * Проверяет наличие HTML-сущности.
+	 *
+	 * <p>Учитываются все типы записи HTML-сущности.
+	 * Поиск завершается на первой найденной HTML-сущности.</p>
+	 *
+	 * @param entity HTML-сущность.
+	 * @return {@code true}, если HTML-сущность найдена, иначе {@code false}.
+	 */
+	default boolean containsEntity(@NotNull final Entity entity)
+	{
+		Objects.requireNonNull(entity);
+
+		return new TokenizerEngine().containsEntities(this.getText(), EnumSet.of(entity));
+	}
+
+	/**
+	 * Проверяет наличие HTML-комментария.
+	 *
+	 * <p>Поиск завершается на первом найденном HTML-комментарии.</p>
+	 *
+	 * @return {@code true}, если HTML-комментарий найден, иначе {@code false}.
+	 */
+	default boolean containsComment()
+	{
+		return this.containsTokens(EnumSet.of(TokenType.COMMENT));
+	}
+
+	/**
+	 * Разбирает текст с передачей событий обработчику.
+	 *
+	 * @param handler обработчик событий.
+	 * @see HtmlParser#parse(CharSequence, HtmlHandler)
+	 */
+	default void parse(@NotNull final HtmlHandler handler)
+	{
+		Objects.requireNonNull(handler);
+
+		HtmlParser.parse(this.getText(), handler);
+	}
+
+	/**
+	 * Возвращает средство последовательного чтения текста.
+	 *
+	 * <p>Средство читает текст на момент вызова метода.</p>
+	 *
+	 * @return средство последовательного чтения.
+	 */
+	@NotNull
+	default HtmlReader getReader()
+	{
+		return new HtmlReader(this.getText());
+	}
+
+	/**
+	 * Возвращает дерево HTML-документа.
+	 *
+	 * @return дерево HTML-документа текста на момент вызова метода.
+	 * @see HtmlDocument#parse(CharSequence)
+	 */
+	@NotNull
+	default HtmlDocument getDocument()
+	{
+		return HtmlDocument.parse(this.getText());
+	}
+
+	/**
+	 * Выполняет поиск HTML-элементов по CSS-селектору.
+	 *
+	 * @param selector CSS-селектор, например {@code "div.price > span"}.
+	 * @return коллекцию с текстом найденных HTML-элементов.
+	 * @throws NullPointerException если в качестве {@code selector} передан {@code null}.
+	 * @throws IllegalArgumentException если CSS-селектор записан неверно.
+	 * @see Selector#compile(String)
+	 */
+	@Unmodifiable
+	@NotNull
+	default List<@NotNull String> select(@NotNull final String selector)
+	{
+		Objects.requireNonNull(selector);
+
+		final HtmlDocument document = this.getDocument();
+		final int[] nodes = Selector.compile(selector).select(document);
+		final List<String> result = new ArrayList<>(nodes.length);
+
+		for (int node : nodes) {
+			result.add(document.getSource(node).toString());
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Возвращает видимый текст.
+	 *
+	 * @param normalizeSpaces {@code true}, если последовательности пробельных символов заменяются одним пробелом.
+	 * @return видимый текст.
+	 * @see TextExtractor#extract(CharSequence, Appendable, boolean)
+	 */
+	@NotNull
+	default String toPlainText(final boolean normalizeSpaces)
+	{
+		final StringBuilder result = new StringBuilder();
+
+		try
+		{
+			this.writePlainText(result, normalizeSpaces);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Записывает видимый текст.
+	 *
+	 * @param output получатель видимого текста.
+	 * @param normalizeSpaces {@code true}, если последовательности пробельных символов заменяются одним пробелом.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 * @see TextExtractor#extract(CharSequence, Appendable, boolean)
+	 */
+	default void writePlainText(@NotNull final Appendable output, final boolean normalizeSpaces) throws IOException
+	{
+		Objects.requireNonNull(output);
+
+		TextExtractor.extract(this.getText(), output, normalizeSpaces);
+	}
+
+	/**
+	 * Сжимает HTML.
+	 *
+	 * @see HtmlMinifier#minify(CharSequence, Appendable)
+	 */
+	default void minify()
+	{
+		final StringBuilder result = new StringBuilder();
+
+		try
+		{
+			this.writeMinified(result);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+
+		this.setText(result.toString());
+	}
+
+	/**
+	 * Записывает сжатый HTML.
+	 *
+	 * <p>Текст не изменяется.</p>
+	 *
+	 * @param output получатель сжатого текста.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 * @see HtmlMinifier#minify(CharSequence, Appendable)
+	 */
+	default void writeMinified(@NotNull final Appendable output) throws IOException
+	{
+		Objects.requireNonNull(output);
+
+		HtmlMinifier.minify(this.getText(), output);
+	}
+
+	/**
+	 * Возвращает поток лексем.
+	 *
+	 * <p>Лексемы находятся по мере чтения потока, поэтому операции, завершающиеся досрочно,
+	 * например {@link Stream#findFirst()} или {@link Stream#anyMatch(java.util.function.Predicate)},
+	 * не просматривают оставшийся текст. Поток обрабатывает текст на момент вызова метода.</p>
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return поток лексем в порядке их начала в тексте.
+	 */
+	@NotNull
+	default Stream<@NotNull Token> streamTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(tokenTypes);
+
+		return new TokenizerEngine().streamTokens(this.getText(), tokenTypes);
+	}
+
+	/**
+	 * Возвращает поток HTML-тегов в порядке их следования в тексте.
+	 *
+	 * <p>Ленивый аналог {@link #findTags()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток HTML-тегов.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamTags()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG, TokenType.CLOSE_TAG)).map(Token::getValue);
+	}
+
+	/**
+	 * Возвращает поток открывающих HTML-тегов.
+	 *
+	 * <p>Ленивый аналог {@link #findOpenTags()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток открывающих HTML-тегов.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamOpenTags()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.OPEN_TAG)).map(Token::getValue);
+	}
+
+	/**
+	 * Возвращает поток самозакрывающихся HTML-тегов.
+	 *
+	 * <p>Ленивый аналог {@link #findSelfClosingTags()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток самозакрывающихся HTML-тегов.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamSelfClosingTags()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.SELF_CLOSING_TAG)).map(Token::getValue);
+	}
+
+	/**
+	 * Возвращает поток закрывающих HTML-тегов.
+	 *
+	 * <p>Ленивый аналог {@link #findCloseTags()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток закрывающих HTML-тегов.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamCloseTags()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.CLOSE_TAG)).map(Token::getValue);
+	}
+
+	/**
+	 * Возвращает поток HTML-сущностей в порядке их следования в тексте.
+	 *
+	 * <p>Ленивый аналог {@link #findEntities()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток HTML-сущностей.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamEntities()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.ENTITY_NAME, TokenType.ENTITY_NUMERIC, TokenType.ENTITY_UNICODE)).map(Token::getValue);
+	}
+
+	/**
+	 * Возвращает поток HTML-комментариев.
+	 *
+	 * <p>Ленивый аналог {@link #findComments()}, см. {@link #streamTokens(Set)}.</p>
+	 *
+	 * @return поток HTML-комментариев.
+	 */
+	@NotNull
+	default Stream<@NotNull String> streamComments()
+	{
+		return this.streamTokens(EnumSet.of(TokenType.COMMENT)).map(Token::getValue);
+	}
 }
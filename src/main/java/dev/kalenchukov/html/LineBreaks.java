@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Класс HTML-тегов, на которых при отображении прерывается строка текста.
+ *
+ * <p>К ним относятся блочные HTML-элементы, элементы структуры документа, строки и ячейки таблиц,
+ * пункты списков и {@link Tag#BR}. Пробельные символы рядом с такими HTML-тегами не отображаются,
+ * а слова по разные стороны от них не сливаются.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class LineBreaks
+{
+	/**
+	 * HTML-теги, на которых прерывается строка текста.
+	 */
+	@NotNull
+	private static final Set<@NotNull Tag> TAGS = EnumSet.of(
+		Tag.ADDRESS, Tag.ARTICLE, Tag.ASIDE, Tag.BLOCKQUOTE, Tag.BODY, Tag.BR, Tag.CAPTION, Tag.CENTER,
+		Tag.COLGROUP, Tag.DD, Tag.DETAILS, Tag.DIR, Tag.DIV, Tag.DL, Tag.DT, Tag.FIELDSET, Tag.FIGCAPTION,
+		Tag.FIGURE, Tag.FOOTER, Tag.FORM, Tag.H1, Tag.H2, Tag.H3, Tag.H4, Tag.H5, Tag.H6, Tag.HEAD,
+		Tag.HEADER, Tag.HGROUP, Tag.HR, Tag.HTML, Tag.LEGEND, Tag.LI, Tag.LISTING, Tag.MAIN, Tag.MENU,
+		Tag.NAV, Tag.OL, Tag.OPTGROUP, Tag.OPTION, Tag.P, Tag.PLAINTEXT, Tag.PRE, Tag.SECTION, Tag.SUMMARY,
+		Tag.TABLE, Tag.TBODY, Tag.TD, Tag.TFOOT, Tag.TH, Tag.THEAD, Tag.TITLE, Tag.TR, Tag.UL, Tag.XMP
+	);
+
+	/**
+	 * Конструктор для {@code LineBreaks}.
+	 */
+	private LineBreaks() {}
+
+	/**
+	 * Проверяет, прерывается ли на HTML-теге строка текста.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 * @return {@code true}, если на HTML-теге прерывается строка текста, иначе {@code false}.
+	 */
+	static boolean isBreak(@Nullable final Tag tag)
+	{
+		return tag != null && TAGS.contains(tag);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Класс индекса начал строк текста.
+ *
+ * <p>Концом строки считается {@literal «\n»}, {@literal «\r»} или {@literal «\r\n»}.
+ * Номер строки по позиции в тексте находится двоичным поиском.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class LineIndex
+{
+	/**
+	 * Текст, для которого построен индекс.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Начала строк по возрастанию.
+	 */
+	private final int @NotNull [] starts;
+
+	/**
+	 * Конструктор для {@code LineIndex}.
+	 *
+	 * @param text текст, для которого построен индекс.
+	 * @param starts начала строк по возрастанию.
+	 */
+	private LineIndex(@NotNull final CharSequence text, final int @NotNull [] starts)
+	{
+		this.text = text;
+		this.starts = starts;
+	}
+
+	/**
+	 * Строит индекс начал строк текста.
+	 *
+	 * @param text текст.
+	 * @return индекс начал строк.
+	 */
+	@NotNull
+	static LineIndex of(@NotNull final CharSequence text)
+	{
+		final int length = text.length();
+		int[] starts = new int[16];
+		int count = 1;
+
+		for (int index = 0; index < length; index++)
+		{
+			final char symbol = text.charAt(index);
+
+			if (symbol != '\n' && symbol != '\r') {
+				continue;
+			}
+
+			if (symbol == '\r' && index + 1 < length && text.charAt(index + 1) == '\n') {
+				index++;
+			}
+
+			if (count == starts.length) {
+				starts = Arrays.copyOf(starts, count * 2);
+			}
+
+			starts[count++] = index + 1;
+		}
+
+		return new LineIndex(text, Arrays.copyOf(starts, count));
+	}
+
+	/**
+	 * Проверяет, построен ли индекс для текста.
+	 *
+	 * @param text текст.
+	 * @return {@code true}, если индекс построен для этого же объекта текста, иначе {@code false}.
+	 */
+	boolean isOf(@NotNull final CharSequence text)
+	{
+		return this.text == text;
+	}
+
+	/**
+	 * Возвращает номер строки.
+	 *
+	 * @param position позиция в тексте.
+	 * @return номер строки, начиная с 1.
+	 */
+	int getLine(final int position)
+	{
+		final int index = Arrays.binarySearch(this.starts, position);
+
+		if (index >= 0) {
+			return index + 1;
+		}
+
+		return -index - 1;
+	}
+
+	/**
+	 * Возвращает номер символа в строке.
+	 *
+	 * @param position позиция в тексте.
+	 * @return номер символа в строке, начиная с 1.
+	 */
+	int getColumn(final int position)
+	{
+		return position - this.starts[this.getLine(position) - 1] + 1;
+	}
+}
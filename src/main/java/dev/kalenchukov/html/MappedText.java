@@ -0,0 +1,491 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Класс текста файла, отображённого в память.
+ *
+ * <p>Файл отображается в память с помощью {@link FileChannel#map(FileChannel.MapMode, long, long)}
+ * и не копируется в кучу: символы декодируются при обращении к ним. Поэтому текст можно передать
+ * {@link HtmlTokenizer} или {@link Html#ofFile(Path, Charset)} и выполнять поиск и проверки
+ * без чтения файла в строку. Символы совпадают с символами строки {@code new String(bytes, charset)}.</p>
+ *
+ * <p>Поддерживаются однобайтовые кодировки и {@link StandardCharsets#UTF_8}. Для однобайтовых кодировок
+ * символ определяется по байту в той же позиции. Для UTF-8 при открытии файла один раз запоминаются
+ * позиции начала блоков текста, а при обращении к символу декодируется содержащий его блок,
+ * поэтому последовательный просмотр текста выполняется за линейное время.</p>
+ *
+ * <p>Объект не является потокобезопасным. Для параллельной обработки каждый поток
+ * использует собственную копию текста.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class MappedText implements CharSequence
+{
+	/**
+	 * Количество байтов блока текста в кодировке UTF-8.
+	 */
+	private static final int BLOCK_SIZE = 8192;
+
+	/**
+	 * Байты файла.
+	 */
+	@NotNull
+	private final ByteBuffer bytes;
+
+	/**
+	 * Кодировка.
+	 */
+	@NotNull
+	private final Charset charset;
+
+	/**
+	 * Символы по значению байта или {@code null}, если кодировка не однобайтовая.
+	 */
+	private final char @Nullable [] table;
+
+	/**
+	 * Позиции первых байтов блоков.
+	 */
+	private final int @Nullable [] byteStarts;
+
+	/**
+	 * Позиции первых символов блоков и длина текста в последнем элементе.
+	 */
+	private final int @Nullable [] charStarts;
+
+	/**
+	 * Количество символов.
+	 */
+	private final int length;
+
+	/**
+	 * Декодер блоков.
+	 */
+	@Nullable
+	private final CharsetDecoder decoder;
+
+	/**
+	 * Символы декодированного блока.
+	 */
+	private final char @Nullable [] block;
+
+	/**
+	 * Номер декодированного блока или {@code -1}, если блок не декодирован.
+	 */
+	private int blockIndex;
+
+	/**
+	 * Конструктор для {@code MappedText}.
+	 *
+	 * @param bytes байты файла.
+	 * @param charset кодировка.
+	 * @throws IllegalArgumentException если кодировка не поддерживается.
+	 * @throws CharacterCodingException если байты не удалось декодировать.
+	 */
+	private MappedText(@NotNull final ByteBuffer bytes, @NotNull final Charset charset)
+		throws CharacterCodingException
+	{
+		this.bytes = bytes;
+		this.charset = charset;
+		this.blockIndex = -1;
+
+		if (MappedText.isSingleByte(charset))
+		{
+			this.table = MappedText.getTable(charset);
+			this.byteStarts = null;
+			this.charStarts = null;
+			this.decoder = null;
+			this.block = null;
+			this.length = bytes.limit();
+		}
+		else if (charset.equals(StandardCharsets.UTF_8))
+		{
+			final int count = bytes.limit() / (BLOCK_SIZE - 3) + 1;
+			final int[] byteStarts = new int[count + 1];
+			final int[] charStarts = new int[count + 1];
+
+			this.table = null;
+			this.decoder = MappedText.newDecoder(charset);
+			this.block = new char[BLOCK_SIZE];
+			this.length = this.index(byteStarts, charStarts);
+			this.byteStarts = byteStarts;
+			this.charStarts = charStarts;
+		}
+		else
+		{
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Конструктор для {@code MappedText}.
+	 *
+	 * <p>Создаёт копию текста с собственным декодированным блоком.</p>
+	 *
+	 * @param other текст.
+	 */
+	private MappedText(@NotNull final MappedText other)
+	{
+		this.bytes = other.bytes;
+		this.charset = other.charset;
+		this.table = other.table;
+		this.byteStarts = other.byteStarts;
+		this.charStarts = other.charStarts;
+		this.length = other.length;
+		this.decoder = other.decoder == null ? null : MappedText.newDecoder(other.charset);
+		this.block = other.block == null ? null : new char[other.block.length];
+		this.blockIndex = -1;
+	}
+
+	/**
+	 * Отображает файл в память.
+	 *
+	 * @param path путь к файлу.
+	 * @param charset кодировка файла.
+	 * @return текст файла.
+	 * @throws NullPointerException если в качестве {@code path} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 * @throws IllegalArgumentException если кодировка не является однобайтовой или UTF-8.
+	 * @throws IllegalArgumentException если размер файла превышает {@link Integer#MAX_VALUE} байтов.
+	 * @throws IOException если файл не удалось прочитать.
+	 */
+	@NotNull
+	public static MappedText ofFile(@NotNull final Path path, @NotNull final Charset charset) throws IOException
+	{
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(charset);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+
+			if (size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException();
+			}
+
+			return new MappedText(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset);
+		}
+	}
+
+	/**
+	 * Возвращает кодировку текста.
+	 *
+	 * @return кодировку.
+	 */
+	@NotNull
+	public Charset getCharset()
+	{
+		return this.charset;
+	}
+
+	/**
+	 * Возвращает копию текста для использования в другом потоке.
+	 *
+	 * <p>Копия использует те же байты файла и позиции блоков и не декодирует текст заново.</p>
+	 *
+	 * @return копию текста.
+	 */
+	@NotNull
+	MappedText copy()
+	{
+		return new MappedText(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int length()
+	{
+		return this.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param index {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IndexOutOfBoundsException если {@code index} находится за пределами текста.
+	 */
+	@Override
+	public char charAt(final int index)
+	{
+		Objects.checkIndex(index, this.length);
+
+		if (this.table != null) {
+			return this.table[this.bytes.get(index) & 0xFF];
+		}
+
+		final int[] charStarts = Objects.requireNonNull(this.charStarts);
+		final char[] block = Objects.requireNonNull(this.block);
+
+		if (this.blockIndex < 0 || index < charStarts[this.blockIndex] || index >= charStarts[this.blockIndex + 1]) {
+			this.decode(this.findBlock(index));
+		}
+
+		return block[index - charStarts[this.blockIndex]];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IndexOutOfBoundsException если {@code start} или {@code end} находятся за пределами текста.
+	 */
+	@NotNull
+	@Override
+	public CharSequence subSequence(final int start, final int end)
+	{
+		Objects.checkFromToIndex(start, end, this.length);
+
+		final char[] chars = new char[end - start];
+
+		for (int index = start; index < end; index++) {
+			chars[index - start] = this.charAt(index);
+		}
+
+		return new String(chars);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Копирует весь текст в строку.</p>
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public String toString()
+	{
+		return this.subSequence(0, this.length).toString();
+	}
+
+	/**
+	 * Запоминает позиции начала блоков текста в кодировке UTF-8.
+	 *
+	 * <p>Каждый блок, кроме последнего, заканчивается на границе символа
+	 * не дальше {@link #BLOCK_SIZE} байтов от своего начала. Так как символ UTF-8 занимает
+	 * не более четырёх байтов, блок содержит не менее {@code BLOCK_SIZE - 3} байтов.</p>
+	 *
+	 * @param byteStarts массив для позиций первых байтов блоков.
+	 * @param charStarts массив для позиций первых символов блоков.
+	 * @return количество символов.
+	 * @throws CharacterCodingException если байты не удалось декодировать.
+	 */
+	private int index(final int @NotNull [] byteStarts, final int @NotNull [] charStarts)
+		throws CharacterCodingException
+	{
+		final CharsetDecoder decoder = Objects.requireNonNull(this.decoder);
+		final CharBuffer output = CharBuffer.wrap(Objects.requireNonNull(this.block));
+		final ByteBuffer input = this.bytes.duplicate();
+		final int size = input.limit();
+
+		int count = 0;
+		int chars = 0;
+
+		do
+		{
+			byteStarts[count] = input.position();
+			charStarts[count] = chars;
+			count++;
+
+			input.limit(Math.min(size, input.position() + BLOCK_SIZE));
+			output.clear();
+
+			MappedText.decode(decoder, input, output, input.limit() == size);
+
+			chars += output.position();
+		}
+		while (input.limit() < size);
+
+		Arrays.fill(byteStarts, count, byteStarts.length, size);
+		Arrays.fill(charStarts, count, charStarts.length, chars);
+
+		return chars;
+	}
+
+	/**
+	 * Возвращает номер блока, содержащего символ.
+	 *
+	 * @param index позиция символа.
+	 * @return номер блока.
+	 */
+	private int findBlock(final int index)
+	{
+		final int[] charStarts = Objects.requireNonNull(this.charStarts);
+
+		int low = 0;
+		int high = charStarts.length - 2;
+
+		while (low < high)
+		{
+			final int middle = (low + high + 1) >>> 1;
+
+			if (charStarts[middle] <= index) {
+				low = middle;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Декодирует блок текста.
+	 *
+	 * <p>Блок декодируется с теми же границами, что и при запоминании позиций блоков,
+	 * поэтому результат совпадает с декодированием всего текста.</p>
+	 *
+	 * @param index номер блока.
+	 */
+	private void decode(final int index)
+	{
+		final int[] byteStarts = Objects.requireNonNull(this.byteStarts);
+		final int size = this.bytes.limit();
+		final ByteBuffer input = this.bytes.duplicate();
+
+		input.position(byteStarts[index]);
+		input.limit(Math.min(size, byteStarts[index] + BLOCK_SIZE));
+
+		try {
+			MappedText.decode(
+				Objects.requireNonNull(this.decoder),
+				input,
+				CharBuffer.wrap(Objects.requireNonNull(this.block)),
+				input.limit() == size
+			);
+		}
+		catch (CharacterCodingException exception) {
+			throw new IllegalStateException(exception);
+		}
+
+		this.blockIndex = index;
+	}
+
+	/**
+	 * Декодирует байты.
+	 *
+	 * @param decoder декодер.
+	 * @param input байты.
+	 * @param output символы.
+	 * @param endOfInput признак последних байтов текста.
+	 * @throws CharacterCodingException если байты не удалось декодировать.
+	 */
+	private static void decode(@NotNull final CharsetDecoder decoder,
+							   @NotNull final ByteBuffer input,
+							   @NotNull final CharBuffer output,
+							   final boolean endOfInput) throws CharacterCodingException
+	{
+		decoder.reset();
+
+		CoderResult result = decoder.decode(input, output, endOfInput);
+
+		if (endOfInput && result.isUnderflow()) {
+			result = decoder.flush(output);
+		}
+
+		if (!result.isUnderflow()) {
+			result.throwException();
+		}
+	}
+
+	/**
+	 * Проверяет, является ли кодировка однобайтовой.
+	 *
+	 * @param charset кодировка.
+	 * @return {@code true}, если каждый символ кодируется одним байтом, иначе {@code false}.
+	 */
+	private static boolean isSingleByte(@NotNull final Charset charset)
+	{
+		return charset.canEncode()
+			&& charset.newEncoder().maxBytesPerChar() == 1.0f
+			&& charset.newDecoder().maxCharsPerByte() == 1.0f;
+	}
+
+	/**
+	 * Возвращает символы однобайтовой кодировки по значению байта.
+	 *
+	 * @param charset кодировка.
+	 * @return символы по значению байта.
+	 * @throws CharacterCodingException если байты не удалось декодировать.
+	 */
+	private static char @NotNull [] getTable(@NotNull final Charset charset) throws CharacterCodingException
+	{
+		final CharsetDecoder decoder = MappedText.newDecoder(charset);
+		final char[] table = new char[256];
+
+		for (int value = 0; value < table.length; value++)
+		{
+			final CharBuffer output = CharBuffer.allocate(1);
+
+			MappedText.decode(decoder, ByteBuffer.wrap(new byte[] {(byte) value}), output, true);
+
+			table[value] = output.get(0);
+		}
+
+		return table;
+	}
+
+	/**
+	 * Создаёт декодер, заменяющий некорректные байты, как при создании строки.
+	 *
+	 * @param charset кодировка.
+	 * @return декодер.
+	 */
+	@NotNull
+	private static CharsetDecoder newDecoder(@NotNull final Charset charset)
+	{
+		return charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Класс поиска строки в тексте с запоминанием результата.
+ *
+ * <p>Если позиции начала поиска не убывают, каждый символ текста просматривается не более одного раза,
+ * сколько бы раз ни выполнялся поиск. Это исключает повторный просмотр текста до его конца
+ * для каждой незавершённой конструкции, например {@literal «<![CDATA[<![CDATA[...»}.
+ * Если позиции всех вхождений строки известны заранее, поиск выполняется по ним
+ * и не зависит от порядка позиций начала поиска.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class MarkerSearch
+{
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Искомая строка.
+	 */
+	@NotNull
+	private final String marker;
+
+	/**
+	 * Позиции всех вхождений строки по возрастанию или {@code null}, если они неизвестны.
+	 */
+	private final int @Nullable [] positions;
+
+	/**
+	 * Позиция начала последнего поиска.
+	 */
+	private int from;
+
+	/**
+	 * Результат последнего поиска.
+	 */
+	private int index;
+
+	/**
+	 * Конструктор для {@code MarkerSearch}.
+	 *
+	 * @param text текст.
+	 * @param marker искомая строка.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code marker} передан {@code null}.
+	 */
+	MarkerSearch(@NotNull final CharSequence text, @NotNull final String marker)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(marker);
+
+		this.text = text;
+		this.marker = marker;
+		this.positions = null;
+		this.from = Integer.MAX_VALUE;
+		this.index = -1;
+	}
+
+	/**
+	 * Конструктор для {@code MarkerSearch}.
+	 *
+	 * @param text текст.
+	 * @param marker искомая строка.
+	 * @param positions позиции всех вхождений строки в тексте по возрастанию.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code marker} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code positions} передан {@code null}.
+	 */
+	MarkerSearch(@NotNull final CharSequence text, @NotNull final String marker, final int @NotNull [] positions)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(marker);
+		Objects.requireNonNull(positions);
+
+		this.text = text;
+		this.marker = marker;
+		this.positions = positions;
+		this.from = Integer.MAX_VALUE;
+		this.index = -1;
+	}
+
+	/**
+	 * Возвращает позицию первого вхождения строки начиная с указанной позиции.
+	 *
+	 * @param start позиция начала поиска.
+	 * @return позицию строки или {@code -1}, если строка не найдена.
+	 */
+	int indexOf(final int start)
+	{
+		if (this.positions != null)
+		{
+			final int found = Arrays.binarySearch(this.positions, start);
+			final int next = found < 0 ? -found - 1 : found;
+
+			return next < this.positions.length ? this.positions[next] : -1;
+		}
+
+		if (start >= this.from && (this.index < 0 || this.index >= start)) {
+			return this.index;
+		}
+
+		final int found = Grammar.indexOf(this.text, this.marker, start);
+
+		this.from = start;
+		this.index = found;
+
+		return this.index;
+	}
+}
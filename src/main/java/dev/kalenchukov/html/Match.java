@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+
+/**
+ * Класс результата поиска лексемы HTML.
+ *
+ * <p>Кроме лексемы содержит номер строки и символа её начала и значения всех
+ * именованных групп регулярного выражения {@link TokenType#getRegexp()}.
+ * Группы вычисляются при первом обращении и только по тексту лексемы.</p>
+ *
+ * <p>Экземпляр не предназначен для одновременного использования в нескольких потоках.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class Match
+{
+	/**
+	 * Лексема.
+	 */
+	@NotNull
+	private final Token token;
+
+	/**
+	 * Номер строки начала лексемы.
+	 */
+	private final int line;
+
+	/**
+	 * Номер символа начала лексемы в строке.
+	 */
+	private final int column;
+
+	/**
+	 * Значения именованных групп.
+	 */
+	@Nullable
+	private Map<@NotNull String, @NotNull String> groups;
+
+	/**
+	 * Конструктор для {@code Match}.
+	 *
+	 * @param token лексема.
+	 * @param line номер строки начала лексемы.
+	 * @param column номер символа начала лексемы в строке.
+	 * @throws NullPointerException если в качестве {@code token} передан {@code null}.
+	 */
+	Match(@NotNull final Token token, final int line, final int column)
+	{
+		Objects.requireNonNull(token);
+
+		this.token = token;
+		this.line = line;
+		this.column = column;
+	}
+
+	/**
+	 * Возвращает лексему.
+	 *
+	 * @return лексему.
+	 */
+	@NotNull
+	public Token getToken()
+	{
+		return this.token;
+	}
+
+	/**
+	 * Возвращает тип лексемы.
+	 *
+	 * @return тип лексемы.
+	 */
+	@NotNull
+	public TokenType getType()
+	{
+		return this.token.getType();
+	}
+
+	/**
+	 * Возвращает начало лексемы.
+	 *
+	 * @return позицию первого символа лексемы в тексте.
+	 */
+	public int getStart()
+	{
+		return this.token.getStart();
+	}
+
+	/**
+	 * Возвращает конец лексемы.
+	 *
+	 * @return позицию за последним символом лексемы в тексте.
+	 */
+	public int getEnd()
+	{
+		return this.token.getEnd();
+	}
+
+	/**
+	 * Возвращает текст лексемы.
+	 *
+	 * @return текст лексемы.
+	 */
+	@NotNull
+	public String getValue()
+	{
+		return this.token.getValue();
+	}
+
+	/**
+	 * Возвращает номер строки начала лексемы.
+	 *
+	 * @return номер строки, начиная с 1.
+	 */
+	public int getLine()
+	{
+		return this.line;
+	}
+
+	/**
+	 * Возвращает номер символа начала лексемы в строке.
+	 *
+	 * @return номер символа, начиная с 1.
+	 */
+	public int getColumn()
+	{
+		return this.column;
+	}
+
+	/**
+	 * Возвращает значение именованной группы.
+	 *
+	 * @param group имя группы из {@link dev.kalenchukov.html.resources.Regexp#getGroups()}.
+	 * @return значение группы или {@code null}, если группа не участвует в совпадении.
+	 * @throws NullPointerException если в качестве {@code group} передан {@code null}.
+	 */
+	@Nullable
+	public String getGroup(@NotNull final String group)
+	{
+		Objects.requireNonNull(group);
+
+		return this.getGroups().get(group);
+	}
+
+	/**
+	 * Возвращает значения именованных групп.
+	 *
+	 * @return коллекцию значений групп, участвующих в совпадении, в порядке их следования в шаблоне.
+	 */
+	@Unmodifiable
+	@NotNull
+	public Map<@NotNull String, @NotNull String> getGroups()
+	{
+		if (this.groups == null) {
+			this.groups = Match.parse(this.token);
+		}
+
+		return this.groups;
+	}
+
+	/**
+	 * Вычисляет значения именованных групп лексемы.
+	 *
+	 * @param token лексема.
+	 * @return коллекцию значений групп.
+	 */
+	@Unmodifiable
+	@NotNull
+	private static Map<@NotNull String, @NotNull String> parse(@NotNull final Token token)
+	{
+		final TokenType tokenType = token.getType();
+		final Matcher matcher = PatternCache.getDefault()
+			.getPattern(tokenType.getRegexp(), RegexpEngine.getFlags(tokenType))
+			.matcher(token.getValue());
+
+		if (!matcher.matches()) {
+			return Map.of(tokenType.getRegexp().getGroup(), token.getValue());
+		}
+
+		final Map<String, String> groups = new LinkedHashMap<>();
+
+		for (String group : tokenType.getRegexp().getGroups())
+		{
+			final String value = matcher.group(group);
+
+			if (value != null) {
+				groups.put(group, value);
+			}
+		}
+
+		return Collections.unmodifiableMap(groups);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param object {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof Match match)) {
+			return false;
+		}
+
+		return this.token.equals(match.token)
+			&& this.line == match.line
+			&& this.column == match.column;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.token, this.line, this.column);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public String toString()
+	{
+		return this.line + ":" + this.column + " " + this.token;
+	}
+}
@@ -0,0 +1,941 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Класс механизма поиска и удаления лексем HTML, обрабатывающего части текста параллельно.
+ *
+ * <p>Текст делится на части, которые анализируются {@link HtmlTokenizer} в {@link ForkJoinPool}
+ * так, как если бы перед началом части не было лексем. Затем части проверяются по порядку:
+ * если анализ предыдущих частей закончился лексемой, которая продолжается в следующей части,
+ * или запретом распознавания лексемы за её началом, часть анализируется повторно в текущем потоке
+ * с учётом этого состояния. Поэтому результат совпадает с результатом {@link TokenizerEngine},
+ * а в худшем случае каждая часть анализируется дважды.</p>
+ *
+ * <p>Границы частей для лексем выбираются перед символом {@literal «<»}, а для HTML-сущностей —
+ * перед символом, который не может входить в запись HTML-сущности.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class ParallelEngine implements Engine
+{
+	/**
+	 * Минимальная длина части текста по умолчанию.
+	 */
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * Количество частей текста на один поток.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * Пул потоков.
+	 */
+	@NotNull
+	private final ForkJoinPool pool;
+
+	/**
+	 * Минимальная длина части текста.
+	 */
+	private final int minChunkSize;
+
+	/**
+	 * Механизм обработки короткого текста.
+	 */
+	@NotNull
+	private final TokenizerEngine tokenizerEngine;
+
+	/**
+	 * Конструктор для {@code ParallelEngine}.
+	 *
+	 * @param pool пул потоков.
+	 * @throws NullPointerException если в качестве {@code pool} передан {@code null}.
+	 */
+	ParallelEngine(@NotNull final ForkJoinPool pool)
+	{
+		this(pool, MIN_CHUNK_SIZE);
+	}
+
+	/**
+	 * Конструктор для {@code ParallelEngine}.
+	 *
+	 * @param pool пул потоков.
+	 * @param minChunkSize минимальная длина части текста.
+	 * @throws NullPointerException если в качестве {@code pool} передан {@code null}.
+	 * @throws IllegalArgumentException если {@code minChunkSize} меньше 1.
+	 */
+	ParallelEngine(@NotNull final ForkJoinPool pool, final int minChunkSize)
+	{
+		Objects.requireNonNull(pool);
+
+		if (minChunkSize < 1) {
+			throw new IllegalArgumentException();
+		}
+
+		this.pool = pool;
+		this.minChunkSize = minChunkSize;
+		this.tokenizerEngine = new TokenizerEngine();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull String> find(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.find(text, tokenType);
+		}
+
+		final List<ForkJoinTask<List<String>>> tasks = new ArrayList<>();
+
+		for (Segment segment : this.scan(text, bounds, EnumSet.of(tokenType), null, null, false)) {
+			tasks.add(this.pool.submit(() -> segment.getValues(ParallelEngine.copy(text))));
+		}
+
+		final List<String> values = new ArrayList<>();
+
+		for (ForkJoinTask<List<String>> task : tasks) {
+			values.addAll(task.join());
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull Token> findTokens(@NotNull final CharSequence text,
+										   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<' || symbol == '&');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.findTokens(text, tokenTypes);
+		}
+
+		final List<ForkJoinTask<List<Token>>> tasks = new ArrayList<>();
+
+		for (Segment segment : this.scan(text, bounds, tokenTypes, null, null, false)) {
+			tasks.add(this.pool.submit(() -> segment.getTokens(ParallelEngine.copy(text))));
+		}
+
+		final List<Token> tokens = new ArrayList<>();
+
+		for (ForkJoinTask<List<Token>> task : tasks) {
+			tokens.addAll(task.join());
+		}
+
+		return Collections.unmodifiableList(tokens);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Лексемы распознаются в текущем потоке по мере чтения потока лексем.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public Stream<@NotNull Token> streamTokens(@NotNull final CharSequence text,
+											   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		return this.tokenizerEngine.streamTokens(text, tokenTypes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Части текста обрабатываются параллельно, а значения лексем не создаются.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public int count(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<' || symbol == '&');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.count(text, tokenTypes);
+		}
+
+		int count = 0;
+
+		for (Segment segment : this.scan(text, bounds, tokenTypes, null, null, false)) {
+			count += segment.tokens().length / TokenIndex.STRIDE;
+		}
+
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public boolean contains(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		return this.tokenizerEngine.contains(text, tokenTypes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	public boolean containsTags(@NotNull final CharSequence text, @NotNull final Set<@NotNull Tag> tags)
+	{
+		return this.tokenizerEngine.containsTags(text, tags);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	public boolean containsEntities(@NotNull final CharSequence text, @NotNull final Set<@NotNull Entity> entities)
+	{
+		return this.tokenizerEngine.containsEntities(text, entities);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Проверка выполняется в текущем потоке.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	public boolean is(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		return this.tokenizerEngine.is(text, tokenType);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String delete(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.delete(text, tokenType);
+		}
+
+		return ParallelEngine.delete(text, this.scan(text, bounds, EnumSet.of(tokenType), null, null, true));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>HTML-теги, которые не удаляются, не распознаются,
+	 * поэтому HTML-теги в значениях их параметров также удаляются.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tagTypes {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tagTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteTags(@NotNull final CharSequence text,
+							 @NotNull final Set<@NotNull TagType> tagTypes,
+							 @NotNull final Set<@NotNull Tag> tags)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tagTypes);
+		Objects.requireNonNull(tags);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.deleteTags(text, tagTypes, tags);
+		}
+
+		final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+		for (TagType tagType : tagTypes) {
+			tokenTypes.add(TokenType.ofTagType(tagType));
+		}
+
+		return ParallelEngine.delete(text, this.scan(text, bounds, tokenTypes, tags, null, true));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entityTypes {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteEntities(@NotNull final CharSequence text,
+								 @NotNull final Set<@NotNull EntityType> entityTypes,
+								 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		final int[] bounds = this.split(text, ParallelEngine::isEntityBound);
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.deleteEntities(text, entityTypes, entities);
+		}
+
+		final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+		for (EntityType entityType : entityTypes) {
+			tokenTypes.add(TokenType.ofEntityType(entityType));
+		}
+
+		return ParallelEngine.delete(text, this.scan(text, bounds, tokenTypes, null, entities, true));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Части текста анализируются параллельно, как в {@link #find(CharSequence, TokenType)}.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public TokenIndex index(@NotNull final CharSequence text)
+	{
+		Objects.requireNonNull(text);
+
+		final int[] bounds = this.split(text, symbol -> symbol == '<' || symbol == '&');
+
+		if (bounds.length <= 2) {
+			return this.tokenizerEngine.index(text);
+		}
+
+		final List<Segment> segments = this.scan(text, bounds, EnumSet.allOf(TokenType.class), null, null, false);
+		int size = 0;
+
+		for (Segment segment : segments) {
+			size += segment.tokens().length;
+		}
+
+		final int[] tokens = new int[size];
+		int position = 0;
+
+		for (Segment segment : segments)
+		{
+			System.arraycopy(segment.tokens(), 0, tokens, position, segment.tokens().length);
+			position += segment.tokens().length;
+		}
+
+		return new TokenIndex(text, tokens);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>HTML-сущности не пересекают границы частей текста, поэтому части преобразуются независимо.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entityTypes {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String decodeEntities(@NotNull final CharSequence text,
+								 @NotNull final Set<@NotNull EntityType> entityTypes,
+								 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		final int[] bounds = this.split(text, ParallelEngine::isEntityBound);
+
+		if (bounds.length <= 2) {
+			return EntityDecoder.decode(text, entityTypes, entities);
+		}
+
+		final List<ForkJoinTask<String>> tasks = new ArrayList<>();
+
+		for (int index = 0; index < bounds.length - 1; index++)
+		{
+			final int start = bounds[index];
+			final int end = bounds[index + 1];
+
+			tasks.add(this.pool.submit(
+				() -> EntityDecoder.decode(ParallelEngine.copy(text), start, end, entityTypes, entities)
+			));
+		}
+
+		return ParallelEngine.join(tasks);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Каждый символ преобразуется независимо, поэтому части преобразуются независимо.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entityType {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String encodeEntities(@NotNull final CharSequence text,
+								 @NotNull final EntityType entityType,
+								 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityType);
+		Objects.requireNonNull(entities);
+
+		final int[] bounds = this.split(text, symbol -> true);
+
+		if (bounds.length <= 2) {
+			return EntityEncoder.encode(text, entityType, entities);
+		}
+
+		final List<ForkJoinTask<String>> tasks = new ArrayList<>();
+
+		for (int index = 0; index < bounds.length - 1; index++)
+		{
+			final int start = bounds[index];
+			final int end = bounds[index + 1];
+
+			tasks.add(this.pool.submit(
+				() -> EntityEncoder.encode(ParallelEngine.copy(text), start, end, entityType, entities)
+			));
+		}
+
+		return ParallelEngine.join(tasks);
+	}
+
+	/**
+	 * Возвращает границы частей текста.
+	 *
+	 * <p>Граница части выбирается на первом подходящем символе после равномерной границы.
+	 * Если подходящего символа нет до следующей равномерной границы, части объединяются.
+	 * Если в пуле потоков один поток, текст не делится.</p>
+	 *
+	 * @param text текст.
+	 * @param isBound проверка символа, перед которым может начинаться часть.
+	 * @return позиции начала частей и длину текста в последнем элементе.
+	 */
+	private int @NotNull [] split(@NotNull final CharSequence text, @NotNull final IntPredicate isBound)
+	{
+		final int length = text.length();
+		final int parallelism = this.pool.getParallelism();
+		final int count = parallelism < 2 ? 1 : Math.min(parallelism * CHUNKS_PER_THREAD, length / this.minChunkSize);
+		final int[] bounds = new int[Math.max(count, 1) + 1];
+		int size = 1;
+
+		for (int chunk = 1; chunk < count; chunk++)
+		{
+			final int from = (int) ((long) length * chunk / count);
+			final int to = (int) ((long) length * (chunk + 1) / count);
+
+			for (int index = from; index < to; index++)
+			{
+				if (isBound.test(text.charAt(index)))
+				{
+					bounds[size++] = index;
+
+					break;
+				}
+			}
+		}
+
+		bounds[size++] = length;
+
+		return Arrays.copyOf(bounds, size);
+	}
+
+	/**
+	 * Анализирует части текста.
+	 *
+	 * @param text текст.
+	 * @param bounds границы частей текста.
+	 * @param tokenTypes типы лексем.
+	 * @param tags распознаваемые HTML-теги или {@code null}, если распознаются HTML-теги с любым названием.
+	 * @param entities HTML-сущности или {@code null}, если возвращаются все лексемы.
+	 * @param skip признак продолжения анализа с конца каждой лексемы.
+	 * @return лексемы частей текста по порядку.
+	 */
+	@NotNull
+	private List<@NotNull Segment> scan(@NotNull final CharSequence text,
+										final int @NotNull [] bounds,
+										@NotNull final Set<@NotNull TokenType> tokenTypes,
+										@Nullable final Set<@NotNull Tag> tags,
+										@Nullable final Set<@NotNull Entity> entities,
+										final boolean skip)
+	{
+		final int[] cdataCloses = tokenTypes.contains(TokenType.CDATA)
+			? this.findAll(text, bounds, "]]>")
+			: new int[0];
+
+		final List<ForkJoinTask<Segment>> tasks = new ArrayList<>();
+
+		for (int index = 0; index < bounds.length - 1; index++)
+		{
+			final int start = bounds[index];
+			final int end = bounds[index + 1];
+
+			tasks.add(this.pool.submit(() -> ParallelEngine.tokenize(
+				ParallelEngine.copy(text), tokenTypes, tags, entities, cdataCloses, skip,
+				start, end, new int[TokenType.values().length]
+			)));
+		}
+
+		final List<Segment> segments = new ArrayList<>();
+		int position = 0;
+		int[] blocked = new int[TokenType.values().length];
+
+		for (int index = 0; index < tasks.size(); index++)
+		{
+			Segment segment = tasks.get(index).join();
+
+			if (!ParallelEngine.isFresh(position, blocked, bounds[index]))
+			{
+				segment = ParallelEngine.tokenize(
+					text, tokenTypes, tags, entities, cdataCloses, skip,
+					position, bounds[index + 1], blocked
+				);
+			}
+
+			segments.add(segment);
+			position = segment.position();
+			blocked = segment.blocked();
+		}
+
+		return segments;
+	}
+
+	/**
+	 * Возвращает позиции всех вхождений строки в тексте.
+	 *
+	 * @param text текст.
+	 * @param bounds границы частей текста.
+	 * @param marker искомая строка.
+	 * @return позиции вхождений по возрастанию.
+	 */
+	private int @NotNull [] findAll(@NotNull final CharSequence text,
+									final int @NotNull [] bounds,
+									@NotNull final String marker)
+	{
+		final List<ForkJoinTask<int[]>> tasks = new ArrayList<>();
+
+		for (int index = 0; index < bounds.length - 1; index++)
+		{
+			final int start = bounds[index];
+			final int end = bounds[index + 1];
+
+			tasks.add(this.pool.submit(() -> ParallelEngine.findAll(ParallelEngine.copy(text), marker, start, end)));
+		}
+
+		int[] positions = new int[0];
+
+		for (ForkJoinTask<int[]> task : tasks)
+		{
+			final int[] found = task.join();
+			final int size = positions.length;
+
+			positions = Arrays.copyOf(positions, size + found.length);
+			System.arraycopy(found, 0, positions, size, found.length);
+		}
+
+		return positions;
+	}
+
+	/**
+	 * Возвращает позиции вхождений строки, которые начинаются в части текста.
+	 *
+	 * @param text текст.
+	 * @param marker искомая строка.
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @return позиции вхождений по возрастанию.
+	 */
+	private static int @NotNull [] findAll(@NotNull final CharSequence text,
+										   @NotNull final String marker,
+										   final int start,
+										   final int end)
+	{
+		int[] positions = new int[0];
+		int size = 0;
+
+		for (int index = start; index < end; index++)
+		{
+			if (text.charAt(index) != marker.charAt(0) || !Grammar.startsWith(text, index, marker)) {
+				continue;
+			}
+
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+			}
+
+			positions[size++] = index;
+		}
+
+		return Arrays.copyOf(positions, size);
+	}
+
+	/**
+	 * Анализирует часть текста.
+	 *
+	 * @param text текст.
+	 * @param tokenTypes типы лексем.
+	 * @param tags распознаваемые HTML-теги или {@code null}, если распознаются HTML-теги с любым названием.
+	 * @param entities HTML-сущности или {@code null}, если возвращаются все лексемы.
+	 * @param cdataCloses позиции окончаний областей CDATA в тексте.
+	 * @param skip признак продолжения анализа с конца каждой лексемы.
+	 * @param position позиция, с которой начинается анализ.
+	 * @param limit позиция, с которой лексемы не распознаются.
+	 * @param blocked позиции, до которых не распознаются лексемы каждого типа.
+	 * @return лексемы части текста.
+	 */
+	@NotNull
+	private static Segment tokenize(@NotNull final CharSequence text,
+									@NotNull final Set<@NotNull TokenType> tokenTypes,
+									@Nullable final Set<@NotNull Tag> tags,
+									@Nullable final Set<@NotNull Entity> entities,
+									final int @NotNull [] cdataCloses,
+									final boolean skip,
+									final int position,
+									final int limit,
+									final int @NotNull [] blocked)
+	{
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(
+			text, tokenTypes, tags, new MarkerSearch(text, "]]>", cdataCloses)
+		);
+
+		tokenizer.restart(position, limit, blocked);
+
+		int[] tokens = new int[TokenIndex.STRIDE * 16];
+		int size = 0;
+
+		while (tokenizer.next())
+		{
+			if (entities != null && !TokenizerEngine.contains(text, tokenizer, entities)) {
+				continue;
+			}
+
+			if (size == tokens.length) {
+				tokens = Arrays.copyOf(tokens, size * 2);
+			}
+
+			tokens[size++] = tokenizer.getStart();
+			tokens[size++] = tokenizer.getEnd();
+			tokens[size++] = tokenizer.getType().ordinal();
+
+			if (skip) {
+				tokenizer.skip();
+			}
+		}
+
+		return new Segment(Arrays.copyOf(tokens, size), tokenizer.getPosition(), tokenizer.getBlocked());
+	}
+
+	/**
+	 * Проверяет, совпадает ли состояние анализа с состоянием в начале текста.
+	 *
+	 * @param position позиция, с которой продолжается анализ.
+	 * @param blocked позиции, до которых не распознаются лексемы каждого типа.
+	 * @param start начало части текста.
+	 * @return {@code true}, если анализ части текста не зависит от предыдущих частей, иначе {@code false}.
+	 */
+	private static boolean isFresh(final int position, final int @NotNull [] blocked, final int start)
+	{
+		if (position > start) {
+			return false;
+		}
+
+		for (int value : blocked)
+		{
+			if (value > start) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Удаляет лексемы.
+	 *
+	 * @param text текст.
+	 * @param segments лексемы частей текста.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	private static String delete(@NotNull final CharSequence text, @NotNull final List<@NotNull Segment> segments)
+	{
+		StringBuilder result = null;
+		int copied = 0;
+
+		for (Segment segment : segments)
+		{
+			final int[] tokens = segment.tokens();
+
+			for (int index = 0; index < tokens.length; index += TokenIndex.STRIDE)
+			{
+				if (result == null) {
+					result = new StringBuilder(text.length());
+				}
+
+				result.append(text, copied, tokens[index]);
+				copied = tokens[index + 1];
+			}
+		}
+
+		if (result == null) {
+			return text.toString();
+		}
+
+		result.append(text, copied, text.length());
+
+		return result.toString();
+	}
+
+	/**
+	 * Объединяет обработанные части текста.
+	 *
+	 * @param tasks задачи обработки частей текста.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	private static String join(@NotNull final List<@NotNull ForkJoinTask<String>> tasks)
+	{
+		final List<String> parts = new ArrayList<>();
+		int length = 0;
+
+		for (ForkJoinTask<String> task : tasks)
+		{
+			final String part = task.join();
+
+			parts.add(part);
+			length += part.length();
+		}
+
+		final StringBuilder result = new StringBuilder(length);
+
+		for (String part : parts) {
+			result.append(part);
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает текст для обработки в другом потоке.
+	 *
+	 * @param text текст.
+	 * @return текст или его копию, если текст не является потокобезопасным.
+	 */
+	@NotNull
+	private static CharSequence copy(@NotNull final CharSequence text)
+	{
+		if (text instanceof MappedText mappedText) {
+			return mappedText.copy();
+		}
+
+		return text;
+	}
+
+	/**
+	 * Проверяет, может ли перед символом начинаться часть текста при обработке HTML-сущностей.
+	 *
+	 * <p>Символ не должен входить в запись HTML-сущности, кроме её начала.</p>
+	 *
+	 * @param symbol символ.
+	 * @return {@code true}, если может, иначе {@code false}.
+	 */
+	private static boolean isEntityBound(final int symbol)
+	{
+		return !((symbol >= '0' && symbol <= '9')
+			|| (symbol >= 'A' && symbol <= 'Z')
+			|| (symbol >= 'a' && symbol <= 'z')
+			|| symbol == '#'
+			|| symbol == ';');
+	}
+
+	/**
+	 * Лексемы части текста и состояние анализа после неё.
+	 *
+	 * @param tokens начало, конец и порядковый номер типа каждой лексемы.
+	 * @param position позиция, с которой продолжается анализ.
+	 * @param blocked позиции, до которых не распознаются лексемы каждого типа.
+	 */
+	private record Segment(int @NotNull [] tokens, int position, int @NotNull [] blocked)
+	{
+		/**
+		 * Возвращает текст лексем.
+		 *
+		 * @param text текст.
+		 * @return коллекцию текстов лексем.
+		 */
+		@NotNull
+		private List<@NotNull String> getValues(@NotNull final CharSequence text)
+		{
+			final List<String> values = new ArrayList<>(this.tokens.length / TokenIndex.STRIDE);
+
+			for (int index = 0; index < this.tokens.length; index += TokenIndex.STRIDE) {
+				values.add(text.subSequence(this.tokens[index], this.tokens[index + 1]).toString());
+			}
+
+			return values;
+		}
+
+		/**
+		 * Возвращает лексемы.
+		 *
+		 * @param text текст.
+		 * @return коллекцию лексем.
+		 */
+		@NotNull
+		private List<@NotNull Token> getTokens(@NotNull final CharSequence text)
+		{
+			final TokenType[] tokenTypes = TokenType.values();
+			final List<Token> values = new ArrayList<>(this.tokens.length / TokenIndex.STRIDE);
+
+			for (int index = 0; index < this.tokens.length; index += TokenIndex.STRIDE)
+			{
+				final int start = this.tokens[index];
+				final int end = this.tokens[index + 1];
+
+				values.add(new Token(
+					tokenTypes[this.tokens[index + 2]], start, end, text.subSequence(start, end).toString()
+				));
+			}
+
+			return values;
+		}
+	}
+}
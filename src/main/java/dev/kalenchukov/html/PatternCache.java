@@ -0,0 +1,375 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Regexp;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Класс кэша скомпилированных регулярных выражений.
+ *
+ * <p>Кэш ограничен по размеру: при переполнении вытесняется регулярное выражение,
+ * которое дольше всех не запрашивалось. Ключом служит набор
+ * из {@link Regexp}, {@link Tag} или {@link Entity}, {@link EntityType} и флагов регулярного выражения.</p>
+ *
+ * <p>Экземпляр кэша безопасен для использования из нескольких потоков.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class PatternCache
+{
+	/**
+	 * Вместимость кэша по умолчанию.
+	 *
+	 * <p>Достаточна для всех регулярных выражений, которые использует {@link Html}.</p>
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	/**
+	 * Кэш по умолчанию.
+	 */
+	@NotNull
+	private static final PatternCache DEFAULT = new PatternCache(DEFAULT_CAPACITY);
+
+	/**
+	 * Вместимость кэша.
+	 */
+	private final int capacity;
+
+	/**
+	 * Скомпилированные регулярные выражения в порядке обращения к ним.
+	 */
+	@NotNull
+	private final Map<@NotNull Key, @NotNull Pattern> patterns;
+
+	/**
+	 * Количество найденных в кэше регулярных выражений.
+	 */
+	@NotNull
+	private final LongAdder hits;
+
+	/**
+	 * Количество не найденных в кэше регулярных выражений.
+	 */
+	@NotNull
+	private final LongAdder misses;
+
+	/**
+	 * Количество вытесненных из кэша регулярных выражений.
+	 */
+	@NotNull
+	private final LongAdder evictions;
+
+	/**
+	 * Конструктор для {@code PatternCache}.
+	 *
+	 * @param capacity вместимость кэша.
+	 * @throws IllegalArgumentException если {@code capacity} меньше 1.
+	 */
+	public PatternCache(final int capacity)
+	{
+		if (capacity < 1) {
+			throw new IllegalArgumentException();
+		}
+
+		this.capacity = capacity;
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.evictions = new LongAdder();
+		this.patterns = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(@NotNull final Map.Entry<@NotNull Key, @NotNull Pattern> eldest)
+			{
+				if (this.size() > PatternCache.this.capacity)
+				{
+					PatternCache.this.evictions.increment();
+
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Возвращает кэш по умолчанию.
+	 *
+	 * @return кэш по умолчанию.
+	 */
+	@NotNull
+	public static PatternCache getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Возвращает скомпилированное регулярное выражение.
+	 *
+	 * @param regexp регулярное выражение.
+	 * @param flags флаги регулярного выражения.
+	 * @return скомпилированное регулярное выражение.
+	 * @throws NullPointerException если в качестве {@code regexp} передан {@code null}.
+	 */
+	@NotNull
+	public Pattern getPattern(@NotNull final Regexp regexp, final int flags)
+	{
+		Objects.requireNonNull(regexp);
+
+		return this.getPattern(new Key(regexp, null, null, flags));
+	}
+
+	/**
+	 * Возвращает скомпилированное регулярное выражение HTML-тега.
+	 *
+	 * @param tag HTML-тег.
+	 * @param tagType тип HTML-тега.
+	 * @return скомпилированное регулярное выражение.
+	 * @throws NullPointerException если в качестве {@code tag} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+	 */
+	@NotNull
+	public Pattern getPattern(@NotNull final Tag tag, @NotNull final TagType tagType)
+	{
+		Objects.requireNonNull(tag);
+		Objects.requireNonNull(tagType);
+
+		final Regexp regexp = switch (tagType)
+			{
+				case SELF_CLOSING: yield Regexp.SELF_CLOSING_TAG;
+				case OPEN: yield Regexp.OPEN_TAG;
+				case CLOSE: yield Regexp.CLOSE_TAG;
+			};
+
+		return this.getPattern(
+			new Key(regexp, tag, null, Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL)
+		);
+	}
+
+	/**
+	 * Возвращает скомпилированное регулярное выражение HTML-сущности.
+	 *
+	 * @param entity HTML-сущность.
+	 * @param entityType тип HTML-сущности.
+	 * @return скомпилированное регулярное выражение.
+	 * @throws NullPointerException если в качестве {@code entity} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 */
+	@NotNull
+	public Pattern getPattern(@NotNull final Entity entity, @NotNull final EntityType entityType)
+	{
+		Objects.requireNonNull(entity);
+		Objects.requireNonNull(entityType);
+
+		final Key key = switch (entityType)
+			{
+				case NAME: yield new Key(
+					Regexp.ENTITY_NAME, entity, entityType, Pattern.UNICODE_CASE
+				);
+				case NUMERIC: yield new Key(
+					Regexp.ENTITY_NUMERIC, entity, entityType, Pattern.UNICODE_CASE
+				);
+				case UNICODE: yield new Key(
+					Regexp.ENTITY_UNICODE, entity, entityType, Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
+				);
+			};
+
+		return this.getPattern(key);
+	}
+
+	/**
+	 * Возвращает вместимость кэша.
+	 *
+	 * @return вместимость кэша.
+	 */
+	public int getCapacity()
+	{
+		return this.capacity;
+	}
+
+	/**
+	 * Возвращает количество регулярных выражений в кэше.
+	 *
+	 * @return количество регулярных выражений в кэше.
+	 */
+	public int size()
+	{
+		synchronized (this.patterns) {
+			return this.patterns.size();
+		}
+	}
+
+	/**
+	 * Возвращает количество запросов, для которых регулярное выражение было найдено в кэше.
+	 *
+	 * @return количество попаданий в кэш.
+	 */
+	public long getHits()
+	{
+		return this.hits.sum();
+	}
+
+	/**
+	 * Возвращает количество запросов, для которых регулярное выражение пришлось скомпилировать.
+	 *
+	 * @return количество промахов кэша.
+	 */
+	public long getMisses()
+	{
+		return this.misses.sum();
+	}
+
+	/**
+	 * Возвращает количество регулярных выражений, вытесненных из кэша.
+	 *
+	 * @return количество вытеснений.
+	 */
+	public long getEvictions()
+	{
+		return this.evictions.sum();
+	}
+
+	/**
+	 * Удаляет все регулярные выражения из кэша.
+	 *
+	 * <p>Счётчики попаданий, промахов и вытеснений не сбрасываются.</p>
+	 */
+	public void clear()
+	{
+		synchronized (this.patterns) {
+			this.patterns.clear();
+		}
+	}
+
+	/**
+	 * Возвращает скомпилированное регулярное выражение по ключу.
+	 *
+	 * <p>Компиляция выполняется без блокировки кэша,
+	 * поэтому при одновременных промахах регулярное выражение может быть скомпилировано несколько раз.</p>
+	 *
+	 * @param key ключ.
+	 * @return скомпилированное регулярное выражение.
+	 */
+	@NotNull
+	private Pattern getPattern(@NotNull final Key key)
+	{
+		Pattern pattern;
+
+		synchronized (this.patterns) {
+			pattern = this.patterns.get(key);
+		}
+
+		if (pattern != null)
+		{
+			this.hits.increment();
+
+			return pattern;
+		}
+
+		this.misses.increment();
+
+		pattern = key.compile();
+
+		synchronized (this.patterns)
+		{
+			final Pattern existing = this.patterns.putIfAbsent(key, pattern);
+
+			if (existing != null) {
+				return existing;
+			}
+		}
+
+		return pattern;
+	}
+
+	/**
+	 * Ключ кэша.
+	 *
+	 * @param regexp регулярное выражение.
+	 * @param target HTML-тег или HTML-сущность, либо {@code null}.
+	 * @param entityType тип HTML-сущности, либо {@code null}.
+	 * @param flags флаги регулярного выражения.
+	 */
+	private record Key(@NotNull Regexp regexp,
+					   @Nullable Enum<?> target,
+					   @Nullable EntityType entityType,
+					   int flags)
+	{
+		/**
+		 * Компилирует регулярное выражение.
+		 *
+		 * @return скомпилированное регулярное выражение.
+		 */
+		@NotNull
+		Pattern compile()
+		{
+			final String pattern;
+
+			if (this.target instanceof Tag tag)
+			{
+				pattern = this.regexp.getPattern().replace(
+					"(?<name>[a-z][0-9a-z]*)",
+					"(?<name>" + tag.getName() + ")"
+				);
+			}
+			else if (this.target instanceof Entity entity && this.entityType != null)
+			{
+				pattern = switch (this.entityType)
+					{
+						case NAME: yield this.regexp.getPattern().replace(
+							"(?<name>[0-9A-Z]+)",
+							"(?<name>" + entity.getEntity(this.entityType) + ")"
+						);
+						case NUMERIC: yield this.regexp.getPattern().replace(
+							"(?<numericLeast>[0-9]+)",
+							"(?<numericLeast>" + entity.getEntity(this.entityType) + ")"
+						);
+						case UNICODE: yield this.regexp.getPattern().replace(
+							"(?<unicodeLeast>[0-9A-F]+)",
+							"(?<unicodeLeast>" + entity.getEntity(this.entityType) + ")"
+						);
+					};
+			}
+			else
+			{
+				pattern = this.regexp.getPattern();
+			}
+
+			return Pattern.compile(pattern, this.flags);
+		}
+	}
+}
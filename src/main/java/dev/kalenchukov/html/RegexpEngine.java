@@ -0,0 +1,602 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Regexp;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Класс механизма поиска и удаления лексем HTML на регулярных выражениях.
+ *
+ * <p>HTML-теги и HTML-сущности удаляются отдельным проходом по тексту
+ * для каждого HTML-тега или HTML-сущности и каждого их типа.</p>
+ *
+ * <p>Выполнение регулярных выражений каждого вызова ограничивается {@link Budget}.</p>
+ *
+ * <p>Области CDATA ищутся только до конца последней строки {@literal «]]>»} текста,
+ * поэтому незавершённые области {@literal «<![CDATA[<![CDATA[...»} не просматриваются
+ * до конца текста каждая и поиск выполняется за линейное время.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class RegexpEngine implements Engine
+{
+	/**
+	 * Кэш скомпилированных регулярных выражений.
+	 */
+	@NotNull
+	private final PatternCache patternCache;
+
+	/**
+	 * Ограничение выполнения регулярных выражений.
+	 */
+	@NotNull
+	private final Budget budget;
+
+	/**
+	 * Конструктор для {@code RegexpEngine}.
+	 *
+	 * @param patternCache кэш скомпилированных регулярных выражений.
+	 * @param budget ограничение выполнения регулярных выражений.
+	 * @throws NullPointerException если в качестве {@code patternCache} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code budget} передан {@code null}.
+	 */
+	RegexpEngine(@NotNull final PatternCache patternCache, @NotNull final Budget budget)
+	{
+		Objects.requireNonNull(patternCache);
+		Objects.requireNonNull(budget);
+
+		this.patternCache = patternCache;
+		this.budget = budget;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull String> find(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final List<String> values = new ArrayList<>();
+		final Matcher matcher = this.getMatcher(text, tokenType, this.budget.start());
+
+		while (matcher.find()) {
+			values.add(matcher.group(tokenType.getRegexp().getGroup()));
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Лексемы каждого типа находятся отдельным регулярным выражением, а затем упорядочиваются
+	 * по началу в тексте. Ограничение {@link Budget} действует на все регулярные выражения вызова.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull Token> findTokens(@NotNull final CharSequence text,
+										   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final BudgetMeter meter = this.budget.start();
+		final List<Token> tokens = new ArrayList<>();
+
+		for (TokenType tokenType : TokenType.values())
+		{
+			if (!tokenTypes.contains(tokenType)) {
+				continue;
+			}
+
+			final String group = tokenType.getRegexp().getGroup();
+			final Matcher matcher = this.getMatcher(text, tokenType, meter);
+
+			while (matcher.find()) {
+				tokens.add(new Token(tokenType, matcher.start(group), matcher.end(group), matcher.group(group)));
+			}
+		}
+
+		tokens.sort(Comparator.comparingInt(Token::getStart));
+
+		return Collections.unmodifiableList(tokens);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Для каждого типа лексем хранится следующее совпадение регулярного выражения,
+	 * и поток возвращает совпадение с наименьшим началом. Ограничение {@link Budget}
+	 * действует на все регулярные выражения потока с момента его создания.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public Stream<@NotNull Token> streamTokens(@NotNull final CharSequence text,
+											   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final BudgetMeter meter = this.budget.start();
+		final List<TokenType> types = new ArrayList<>();
+		final List<Matcher> matchers = new ArrayList<>();
+
+		for (TokenType tokenType : TokenType.values())
+		{
+			if (tokenTypes.contains(tokenType))
+			{
+				types.add(tokenType);
+				matchers.add(this.getMatcher(text, tokenType, meter));
+			}
+		}
+
+		final boolean[] found = new boolean[types.size()];
+
+		return StreamSupport.stream(
+			new Spliterators.AbstractSpliterator<Token>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL)
+			{
+				/**
+				 * Признак поиска первых совпадений.
+				 */
+				private boolean started;
+
+				@Override
+				public boolean tryAdvance(@NotNull final Consumer<? super Token> action)
+				{
+					if (!this.started)
+					{
+						for (int index = 0; index < found.length; index++) {
+							found[index] = matchers.get(index).find();
+						}
+
+						this.started = true;
+					}
+
+					int next = -1;
+
+					for (int index = 0; index < found.length; index++)
+					{
+						if (found[index] && (next < 0 || start(index) < start(next))) {
+							next = index;
+						}
+					}
+
+					if (next < 0) {
+						return false;
+					}
+
+					final Matcher matcher = matchers.get(next);
+					final String group = types.get(next).getRegexp().getGroup();
+
+					action.accept(new Token(types.get(next), matcher.start(group), matcher.end(group), matcher.group(group)));
+
+					found[next] = matcher.find();
+
+					return true;
+				}
+
+				/**
+				 * Возвращает начало текущего совпадения регулярного выражения.
+				 *
+				 * @param index номер регулярного выражения.
+				 * @return начало совпадения.
+				 */
+				private int start(final int index)
+				{
+					return matchers.get(index).start(types.get(index).getRegexp().getGroup());
+				}
+			},
+			false
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Лексемы каждого типа подсчитываются отдельным регулярным выражением.
+	 * Ограничение {@link Budget} действует на все регулярные выражения вызова.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public int count(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final BudgetMeter meter = this.budget.start();
+		int count = 0;
+
+		for (TokenType tokenType : tokenTypes)
+		{
+			final Matcher matcher = this.getMatcher(text, tokenType, meter);
+
+			while (matcher.find()) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public boolean contains(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final BudgetMeter meter = this.budget.start();
+
+		for (TokenType tokenType : tokenTypes)
+		{
+			final Matcher matcher = this.getMatcher(text, tokenType, meter);
+
+			if (matcher.find()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	public boolean containsTags(@NotNull final CharSequence text, @NotNull final Set<@NotNull Tag> tags)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tags);
+
+		final BudgetMeter meter = this.budget.start();
+
+		for (Tag tag : tags)
+		{
+			for (TagType tagType : TagType.values())
+			{
+				final Matcher matcher = this.patternCache.getPattern(tag, tagType).matcher(
+					this.getSequence(text, TokenType.ofTagType(tagType).getRegexp(), meter)
+				);
+
+				if (matcher.find()) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	public boolean containsEntities(@NotNull final CharSequence text, @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entities);
+
+		final BudgetMeter meter = this.budget.start();
+
+		for (Entity entity : entities)
+		{
+			for (EntityType entityType : EntityType.values())
+			{
+				final Matcher matcher = this.patternCache.getPattern(entity, entityType).matcher(
+					this.getSequence(text, TokenType.ofEntityType(entityType).getRegexp(), meter)
+				);
+
+				if (matcher.find()) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	public boolean is(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		return this.getPattern(tokenType).matcher(
+			this.getSequence(text, tokenType.getRegexp(), this.budget.start())
+		).matches();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String delete(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final Matcher matcher = this.getMatcher(text, tokenType, this.budget.start());
+		final StringBuilder result = new StringBuilder(text.length());
+
+		while (matcher.find()) {
+			matcher.appendReplacement(result, "");
+		}
+
+		return matcher.appendTail(result).toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tagTypes {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tagTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteTags(@NotNull final CharSequence text,
+							 @NotNull final Set<@NotNull TagType> tagTypes,
+							 @NotNull final Set<@NotNull Tag> tags)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tagTypes);
+		Objects.requireNonNull(tags);
+
+		final BudgetMeter meter = this.budget.start();
+
+		CharSequence result = text;
+
+		for (Tag tag : Tag.values())
+		{
+			if (!tags.contains(tag)) {
+				continue;
+			}
+
+			for (TagType tagType : TagType.values())
+			{
+				if (tagTypes.contains(tagType))
+				{
+					result = this.patternCache.getPattern(tag, tagType).matcher(
+						this.getSequence(result, TokenType.ofTagType(tagType).getRegexp(), meter)
+					).replaceAll("");
+				}
+			}
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entityTypes {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteEntities(@NotNull final CharSequence text,
+								 @NotNull final Set<@NotNull EntityType> entityTypes,
+								 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		final BudgetMeter meter = this.budget.start();
+
+		CharSequence result = text;
+
+		for (Entity entity : Entity.values())
+		{
+			if (!entities.contains(entity)) {
+				continue;
+			}
+
+			for (EntityType entityType : EntityType.values())
+			{
+				if (entityTypes.contains(entityType))
+				{
+					result = this.patternCache.getPattern(entity, entityType).matcher(
+						this.getSequence(result, TokenType.ofEntityType(entityType).getRegexp(), meter)
+					).replaceAll("");
+				}
+			}
+		}
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает текст для выполнения регулярного выражения с учётом ограничения.
+	 *
+	 * @param text текст.
+	 * @param regexp регулярное выражение.
+	 * @param meter счётчик шагов вызова.
+	 * @return текст, обращения к символам которого учитываются, или исходный текст, если ограничения нет.
+	 */
+	@NotNull
+	private CharSequence getSequence(@NotNull final CharSequence text,
+									 @NotNull final Regexp regexp,
+									 @NotNull final BudgetMeter meter)
+	{
+		if (this.budget.isUnlimited()) {
+			return text;
+		}
+
+		return new BudgetedSequence(text, regexp, meter);
+	}
+
+	/**
+	 * Возвращает поиск лексем указанного типа в тексте.
+	 *
+	 * <p>Область CDATA не может закончиться после последней строки {@literal «]]>»},
+	 * поэтому поиск областей CDATA ограничивается концом этой строки.</p>
+	 *
+	 * @param text текст.
+	 * @param tokenType тип лексем.
+	 * @param meter счётчик шагов вызова.
+	 * @return поиск лексем.
+	 */
+	@NotNull
+	private Matcher getMatcher(@NotNull final CharSequence text,
+							   @NotNull final TokenType tokenType,
+							   @NotNull final BudgetMeter meter)
+	{
+		final Matcher matcher = this.getPattern(tokenType).matcher(
+			this.getSequence(text, tokenType.getRegexp(), meter)
+		);
+
+		if (tokenType == TokenType.CDATA)
+		{
+			final int close = Grammar.lastIndexOf(text, "]]>");
+
+			matcher.region(0, close < 0 ? 0 : close + 3);
+		}
+
+		return matcher;
+	}
+
+	/**
+	 * Возвращает скомпилированное регулярное выражение для лексем указанного типа.
+	 *
+	 * @param tokenType тип лексем.
+	 * @return скомпилированное регулярное выражение.
+	 */
+	@NotNull
+	private Pattern getPattern(@NotNull final TokenType tokenType)
+	{
+		return this.patternCache.getPattern(tokenType.getRegexp(), RegexpEngine.getFlags(tokenType));
+	}
+
+	/**
+	 * Возвращает флаги регулярного выражения лексем.
+	 *
+	 * @param tokenType тип лексем.
+	 * @return флаги регулярного выражения.
+	 */
+	static int getFlags(@NotNull final TokenType tokenType)
+	{
+		return switch (tokenType)
+			{
+				case ENTITY_NUMERIC: yield 0;
+				case CLOSE_TAG, ENTITY_NAME, ENTITY_UNICODE: yield Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE;
+				default: yield Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL;
+			};
+	}
+}
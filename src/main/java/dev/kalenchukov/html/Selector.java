@@ -0,0 +1,865 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Класс скомпилированного CSS-селектора.
+ *
+ * <p>Поддерживаются универсальный селектор {@code *}, селекторы HTML-тега, {@code #id}, {@code .class},
+ * {@code [name]} и {@code [name=value]}, комбинаторы {@literal « », «>», «+», «~»} и перечисление
+ * селекторов через запятую. Названия HTML-тегов и параметров сравниваются без учёта регистра,
+ * значения параметров {@code id} и {@code class} и других параметров — с учётом регистра
+ * и без преобразования HTML-сущностей.</p>
+ *
+ * <p>Селектор проверяется справа налево. HTML-элементы для проверки берутся из самого узкого индекса
+ * дерева {@link HtmlDocument}: по значению {@code id}, по классу или по HTML-тегу.
+ * Скомпилированные селекторы хранятся в ограниченном по размеру кэше и используются повторно
+ * для любых документов.</p>
+ *
+ * <p>Экземпляр селектора неизменяем и безопасен для использования из нескольких потоков.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class Selector
+{
+	/**
+	 * Вместимость кэша скомпилированных селекторов.
+	 */
+	private static final int CACHE_CAPACITY = 1024;
+
+	/**
+	 * Скомпилированные селекторы в порядке обращения к ним.
+	 */
+	@NotNull
+	private static final Map<@NotNull String, @NotNull Selector> CACHE = new LinkedHashMap<>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(@NotNull final Map.Entry<@NotNull String, @NotNull Selector> eldest)
+		{
+			return this.size() > CACHE_CAPACITY;
+		}
+	};
+
+	/**
+	 * Запись селектора.
+	 */
+	@NotNull
+	private final String selector;
+
+	/**
+	 * Перечисленные через запятую селекторы, каждый из которых записан справа налево.
+	 */
+	@NotNull
+	private final Compound @NotNull [] @NotNull [] compounds;
+
+	/**
+	 * Комбинаторы между соседними частями селекторов.
+	 *
+	 * <p>Комбинатор с номером {@code i} связывает части {@code i} и {@code i + 1}.</p>
+	 */
+	@NotNull
+	private final Combinator @NotNull [] @NotNull [] combinators;
+
+	/**
+	 * Конструктор для {@code Selector}.
+	 *
+	 * @param selector запись селектора.
+	 * @param compounds части селекторов справа налево.
+	 * @param combinators комбинаторы между частями.
+	 */
+	private Selector(@NotNull final String selector,
+					 @NotNull final Compound @NotNull [] @NotNull [] compounds,
+					 @NotNull final Combinator @NotNull [] @NotNull [] combinators)
+	{
+		this.selector = selector;
+		this.compounds = compounds;
+		this.combinators = combinators;
+	}
+
+	/**
+	 * Компилирует CSS-селектор.
+	 *
+	 * <p>Если селектор уже компилировался, возвращается тот же экземпляр из кэша.</p>
+	 *
+	 * @param selector запись селектора, например {@code "div.price > span"}.
+	 * @return скомпилированный селектор.
+	 * @throws NullPointerException если в качестве {@code selector} передан {@code null}.
+	 * @throws IllegalArgumentException если селектор записан неверно.
+	 */
+	@NotNull
+	public static Selector compile(@NotNull final String selector)
+	{
+		Objects.requireNonNull(selector);
+
+		synchronized (CACHE)
+		{
+			final Selector cached = CACHE.get(selector);
+
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		final Selector compiled = new Parser(selector).parse();
+
+		synchronized (CACHE) {
+			CACHE.putIfAbsent(selector, compiled);
+		}
+
+		return compiled;
+	}
+
+	/**
+	 * Возвращает HTML-элементы документа, подходящие под селектор.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @return номера HTML-элементов по порядку, без повторов.
+	 * @throws NullPointerException если в качестве {@code document} передан {@code null}.
+	 */
+	public int @NotNull [] select(@NotNull final HtmlDocument document)
+	{
+		Objects.requireNonNull(document);
+
+		final int[] positions = new int[4];
+
+		if (this.compounds.length == 1) {
+			return this.select(document, 0, positions, null);
+		}
+
+		final boolean[] found = new boolean[document.getNodeCount()];
+		int size = 0;
+
+		for (int group = 0; group < this.compounds.length; group++)
+		{
+			for (int node : this.select(document, group, positions, found))
+			{
+				found[node] = true;
+				size++;
+			}
+		}
+
+		final int[] result = new int[size];
+
+		for (int node = 0, index = 0; index < size; node++)
+		{
+			if (found[node]) {
+				result[index++] = node;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Проверяет, подходит ли узел под селектор.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param node номер узла.
+	 * @return {@code true}, если узел является HTML-элементом и подходит под селектор, иначе {@code false}.
+	 * @throws NullPointerException если в качестве {@code document} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если узла с номером {@code node} нет.
+	 */
+	public boolean matches(@NotNull final HtmlDocument document, final int node)
+	{
+		Objects.requireNonNull(document);
+		Objects.checkIndex(node, document.getNodeCount());
+
+		if (!document.isElement(node)) {
+			return false;
+		}
+
+		final int[] positions = new int[4];
+
+		for (int group = 0; group < this.compounds.length; group++)
+		{
+			if (this.matches(document, node, group, 0, positions)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Возвращает запись селектора.
+	 *
+	 * @return запись селектора.
+	 */
+	@Override
+	@NotNull
+	public String toString()
+	{
+		return this.selector;
+	}
+
+	/**
+	 * Возвращает HTML-элементы, подходящие под один из перечисленных селекторов.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param group номер селектора.
+	 * @param positions массив для позиций параметров.
+	 * @param skip уже найденные HTML-элементы или {@code null}.
+	 * @return номера HTML-элементов по порядку.
+	 */
+	private int @NotNull [] select(@NotNull final HtmlDocument document,
+								   final int group,
+								   final int @NotNull [] positions,
+								   final boolean @Nullable [] skip)
+	{
+		final int[] candidates = this.compounds[group][0].getCandidates(document);
+		final boolean all = candidates == null;
+		final int size = all ? document.getNodeCount() : candidates.length;
+
+		int[] result = new int[Math.min(size, 16)];
+		int count = 0;
+
+		for (int index = 0; index < size; index++)
+		{
+			final int node = all ? index : candidates[index];
+
+			if (all && !document.isElement(node)) {
+				continue;
+			}
+
+			if (skip != null && skip[node]) {
+				continue;
+			}
+
+			if (!this.matches(document, node, group, 0, positions)) {
+				continue;
+			}
+
+			if (count == result.length) {
+				result = Arrays.copyOf(result, count * 2);
+			}
+
+			result[count++] = node;
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Проверяет, подходит ли HTML-элемент под часть селектора и все части левее неё.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param node номер HTML-элемента.
+	 * @param group номер селектора.
+	 * @param part номер части селектора.
+	 * @param positions массив для позиций параметров.
+	 * @return {@code true}, если подходит, иначе {@code false}.
+	 */
+	private boolean matches(@NotNull final HtmlDocument document,
+							final int node,
+							final int group,
+							final int part,
+							final int @NotNull [] positions)
+	{
+		if (!this.compounds[group][part].matches(document, node, positions)) {
+			return false;
+		}
+
+		if (part + 1 == this.compounds[group].length) {
+			return true;
+		}
+
+		final int parent = document.getParent(node);
+
+		return switch (this.combinators[group][part])
+			{
+				case CHILD: yield document.isElement(parent) && this.matches(document, parent, group, part + 1, positions);
+				case DESCENDANT: yield this.matchesAncestor(document, parent, group, part + 1, positions);
+				case ADJACENT: yield this.matchesSibling(document, node, group, part + 1, positions, true);
+				case SIBLING: yield this.matchesSibling(document, node, group, part + 1, positions, false);
+			};
+	}
+
+	/**
+	 * Проверяет, подходит ли под часть селектора один из HTML-элементов, содержащих узел.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param parent родительский узел.
+	 * @param group номер селектора.
+	 * @param part номер части селектора.
+	 * @param positions массив для позиций параметров.
+	 * @return {@code true}, если подходит, иначе {@code false}.
+	 */
+	private boolean matchesAncestor(@NotNull final HtmlDocument document,
+									final int parent,
+									final int group,
+									final int part,
+									final int @NotNull [] positions)
+	{
+		for (int ancestor = parent; document.isElement(ancestor); ancestor = document.getParent(ancestor))
+		{
+			if (this.matches(document, ancestor, group, part, positions)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Проверяет, подходит ли под часть селектора один из предшествующих HTML-элементов того же родителя.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param node номер HTML-элемента.
+	 * @param group номер селектора.
+	 * @param part номер части селектора.
+	 * @param positions массив для позиций параметров.
+	 * @param adjacent {@code true}, если проверяется только непосредственно предшествующий HTML-элемент.
+	 * @return {@code true}, если подходит, иначе {@code false}.
+	 */
+	private boolean matchesSibling(@NotNull final HtmlDocument document,
+								   final int node,
+								   final int group,
+								   final int part,
+								   final int @NotNull [] positions,
+								   final boolean adjacent)
+	{
+		int previous = HtmlDocument.NONE;
+
+		for (int sibling = document.getFirstChild(document.getParent(node));
+			 sibling != node;
+			 sibling = document.getNextSibling(sibling))
+		{
+			if (!document.isElement(sibling)) {
+				continue;
+			}
+
+			if (!adjacent && this.matches(document, sibling, group, part, positions)) {
+				return true;
+			}
+
+			previous = sibling;
+		}
+
+		return adjacent && previous >= 0 && this.matches(document, previous, group, part, positions);
+	}
+
+	/**
+	 * Перечисление комбинаторов CSS-селектора.
+	 */
+	private enum Combinator
+	{
+		/**
+		 * Потомок, комбинатор {@literal « »}.
+		 */
+		DESCENDANT,
+
+		/**
+		 * Дочерний HTML-элемент, комбинатор {@literal «>»}.
+		 */
+		CHILD,
+
+		/**
+		 * Непосредственно следующий HTML-элемент, комбинатор {@literal «+»}.
+		 */
+		ADJACENT,
+
+		/**
+		 * Любой следующий HTML-элемент, комбинатор {@literal «~»}.
+		 */
+		SIBLING;
+	}
+
+	/**
+	 * Часть CSS-селектора без комбинаторов.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 * @param name название неизвестного HTML-тега в виде {@link Grammar#foldCase(String)} или {@code null}.
+	 * @param id значение параметра {@code id} или {@code null}.
+	 * @param classes классы.
+	 * @param attributeNames названия параметров в виде {@link Grammar#foldCase(String)}.
+	 * @param attributeValues значения параметров или {@code null}, если проверяется только наличие параметра.
+	 */
+	private record Compound(@Nullable Tag tag,
+							@Nullable String name,
+							@Nullable String id,
+							@NotNull String @NotNull [] classes,
+							@NotNull String @NotNull [] attributeNames,
+							@Nullable String @NotNull [] attributeValues)
+	{
+		/**
+		 * Возвращает HTML-элементы из самого узкого подходящего индекса.
+		 *
+		 * @param document дерево HTML-документа.
+		 * @return номера HTML-элементов или {@code null}, если проверяются все узлы.
+		 */
+		private int @Nullable [] getCandidates(@NotNull final HtmlDocument document)
+		{
+			if (this.id != null) {
+				return document.getIdIndex(this.id);
+			}
+
+			int[] candidates = null;
+
+			for (String className : this.classes)
+			{
+				final int[] nodes = document.getClassIndex(className);
+
+				if (candidates == null || nodes.length < candidates.length) {
+					candidates = nodes;
+				}
+			}
+
+			if (this.tag != null || this.name != null)
+			{
+				final int[] nodes = document.getTagIndex(this.tag);
+
+				if (candidates == null || nodes.length < candidates.length) {
+					candidates = nodes;
+				}
+			}
+
+			return candidates;
+		}
+
+		/**
+		 * Проверяет, подходит ли HTML-элемент под часть селектора.
+		 *
+		 * @param document дерево HTML-документа.
+		 * @param node номер HTML-элемента.
+		 * @param positions массив для позиций параметров.
+		 * @return {@code true}, если подходит, иначе {@code false}.
+		 */
+		private boolean matches(@NotNull final HtmlDocument document, final int node, final int @NotNull [] positions)
+		{
+			if (this.tag != null && document.getTag(node) != this.tag) {
+				return false;
+			}
+
+			if (this.name != null && (document.getTag(node) != null || !document.hasName(node, this.name))) {
+				return false;
+			}
+
+			if (this.id != null)
+			{
+				if (!document.findAttribute(node, "id", positions) || !this.isValue(document, positions, this.id)) {
+					return false;
+				}
+			}
+
+			if (this.classes.length > 0)
+			{
+				if (!document.findAttribute(node, "class", positions) || positions[2] < 0) {
+					return false;
+				}
+
+				for (String className : this.classes)
+				{
+					if (!Compound.containsWord(document.getText(), positions[2], positions[3], className)) {
+						return false;
+					}
+				}
+			}
+
+			for (int index = 0; index < this.attributeNames.length; index++)
+			{
+				if (!document.findAttribute(node, this.attributeNames[index], positions)) {
+					return false;
+				}
+
+				if (this.attributeValues[index] != null && !this.isValue(document, positions, this.attributeValues[index])) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Проверяет значение найденного параметра.
+		 *
+		 * @param document дерево HTML-документа.
+		 * @param positions позиции параметра.
+		 * @param value ожидаемое значение.
+		 * @return {@code true}, если значение совпадает, иначе {@code false}.
+		 */
+		private boolean isValue(@NotNull final HtmlDocument document,
+								final int @NotNull [] positions,
+								@NotNull final String value)
+		{
+			final int start = Math.max(positions[2], 0);
+			final int end = Math.max(positions[3], 0);
+
+			return end - start == value.length() && Compound.regionEquals(document.getText(), start, value);
+		}
+
+		/**
+		 * Проверяет, содержит ли список слов, разделённых пробельными символами, слово.
+		 *
+		 * @param text текст.
+		 * @param start начало списка.
+		 * @param end позиция за концом списка.
+		 * @param word слово.
+		 * @return {@code true}, если содержит, иначе {@code false}.
+		 */
+		private static boolean containsWord(@NotNull final CharSequence text,
+											final int start,
+											final int end,
+											@NotNull final String word)
+		{
+			int index = start;
+
+			while (index < end)
+			{
+				final int wordStart = index;
+
+				while (index < end && !Grammar.isSpace(text.charAt(index))) {
+					index++;
+				}
+
+				if (index - wordStart == word.length() && Compound.regionEquals(text, wordStart, word)) {
+					return true;
+				}
+
+				index++;
+			}
+
+			return false;
+		}
+
+		/**
+		 * Сравнивает с учётом регистра часть текста со строкой.
+		 *
+		 * @param text текст.
+		 * @param start начало части текста.
+		 * @param string строка.
+		 * @return {@code true}, если часть текста совпадает со строкой, иначе {@code false}.
+		 */
+		private static boolean regionEquals(@NotNull final CharSequence text, final int start, @NotNull final String string)
+		{
+			for (int index = 0; index < string.length(); index++)
+			{
+				if (text.charAt(start + index) != string.charAt(index)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Класс разбора записи CSS-селектора.
+	 */
+	private static final class Parser
+	{
+		/**
+		 * Запись селектора.
+		 */
+		@NotNull
+		private final String selector;
+
+		/**
+		 * Текущая позиция.
+		 */
+		private int position;
+
+		/**
+		 * Конструктор для {@code Parser}.
+		 *
+		 * @param selector запись селектора.
+		 */
+		private Parser(@NotNull final String selector)
+		{
+			this.selector = selector;
+		}
+
+		/**
+		 * Разбирает запись селектора.
+		 *
+		 * @return скомпилированный селектор.
+		 * @throws IllegalArgumentException если селектор записан неверно.
+		 */
+		@NotNull
+		private Selector parse()
+		{
+			final List<Compound[]> compounds = new ArrayList<>();
+			final List<Combinator[]> combinators = new ArrayList<>();
+
+			do
+			{
+				final List<Compound> parts = new ArrayList<>();
+				final List<Combinator> links = new ArrayList<>();
+
+				this.skipSpaces();
+				parts.add(this.parseCompound());
+
+				Combinator combinator;
+
+				while ((combinator = this.parseCombinator()) != null)
+				{
+					links.add(combinator);
+					parts.add(this.parseCompound());
+				}
+
+				Collections.reverse(parts);
+				Collections.reverse(links);
+
+				compounds.add(parts.toArray(new Compound[0]));
+				combinators.add(links.toArray(new Combinator[0]));
+			}
+			while (this.consume(','));
+
+			if (this.position != this.selector.length()) {
+				throw new IllegalArgumentException();
+			}
+
+			return new Selector(
+				this.selector, compounds.toArray(new Compound[0][]), combinators.toArray(new Combinator[0][])
+			);
+		}
+
+		/**
+		 * Разбирает комбинатор.
+		 *
+		 * @return комбинатор или {@code null}, если дальше следует конец записи или запятая.
+		 */
+		@Nullable
+		private Combinator parseCombinator()
+		{
+			final int start = this.position;
+
+			this.skipSpaces();
+
+			if (this.position == this.selector.length() || this.selector.charAt(this.position) == ',') {
+				return null;
+			}
+
+			final Combinator combinator = switch (this.selector.charAt(this.position))
+				{
+					case '>': yield Combinator.CHILD;
+					case '+': yield Combinator.ADJACENT;
+					case '~': yield Combinator.SIBLING;
+					default: yield null;
+				};
+
+			if (combinator == null)
+			{
+				if (this.position == start) {
+					throw new IllegalArgumentException();
+				}
+
+				return Combinator.DESCENDANT;
+			}
+
+			this.position++;
+			this.skipSpaces();
+
+			return combinator;
+		}
+
+		/**
+		 * Разбирает часть селектора без комбинаторов.
+		 *
+		 * @return часть селектора.
+		 * @throws IllegalArgumentException если часть селектора записана неверно.
+		 */
+		@NotNull
+		private Compound parseCompound()
+		{
+			final int start = this.position;
+
+			Tag tag = null;
+			String name = null;
+			String id = null;
+
+			final List<String> classes = new ArrayList<>();
+			final List<String> attributeNames = new ArrayList<>();
+			final List<String> attributeValues = new ArrayList<>();
+
+			if (!this.consume('*') && this.isIdentifierPart())
+			{
+				final String identifier = this.parseIdentifier();
+
+				tag = Tag.ofName(identifier);
+
+				if (tag == null) {
+					name = Grammar.foldCase(identifier);
+				}
+			}
+
+			while (this.position < this.selector.length())
+			{
+				if (this.consume('#')) {
+					id = this.parseIdentifier();
+				}
+				else if (this.consume('.')) {
+					classes.add(this.parseIdentifier());
+				}
+				else if (this.consume('['))
+				{
+					this.skipSpaces();
+					attributeNames.add(Grammar.foldCase(this.parseIdentifier()));
+					this.skipSpaces();
+
+					String value = null;
+
+					if (this.consume('='))
+					{
+						this.skipSpaces();
+						value = this.parseValue();
+						this.skipSpaces();
+					}
+
+					attributeValues.add(value);
+
+					if (!this.consume(']')) {
+						throw new IllegalArgumentException();
+					}
+				}
+				else
+				{
+					break;
+				}
+			}
+
+			if (this.position == start) {
+				throw new IllegalArgumentException();
+			}
+
+			return new Compound(
+				tag,
+				name,
+				id,
+				classes.toArray(new String[0]),
+				attributeNames.toArray(new String[0]),
+				attributeValues.toArray(new String[0])
+			);
+		}
+
+		/**
+		 * Разбирает значение параметра в кавычках или без них.
+		 *
+		 * @return значение параметра.
+		 * @throws IllegalArgumentException если значение записано неверно.
+		 */
+		@NotNull
+		private String parseValue()
+		{
+			if (this.position < this.selector.length())
+			{
+				final char quote = this.selector.charAt(this.position);
+
+				if (quote == '"' || quote == '\'')
+				{
+					final int end = this.selector.indexOf(quote, this.position + 1);
+
+					if (end < 0) {
+						throw new IllegalArgumentException();
+					}
+
+					final String value = this.selector.substring(this.position + 1, end);
+
+					this.position = end + 1;
+
+					return value;
+				}
+			}
+
+			return this.parseIdentifier();
+		}
+
+		/**
+		 * Разбирает идентификатор.
+		 *
+		 * @return идентификатор.
+		 * @throws IllegalArgumentException если идентификатора нет.
+		 */
+		@NotNull
+		private String parseIdentifier()
+		{
+			final int start = this.position;
+
+			while (this.isIdentifierPart()) {
+				this.position++;
+			}
+
+			if (this.position == start) {
+				throw new IllegalArgumentException();
+			}
+
+			return this.selector.substring(start, this.position);
+		}
+
+		/**
+		 * Проверяет, является ли текущий символ частью идентификатора.
+		 *
+		 * @return {@code true}, если является, иначе {@code false}.
+		 */
+		private boolean isIdentifierPart()
+		{
+			if (this.position == this.selector.length()) {
+				return false;
+			}
+
+			final char symbol = this.selector.charAt(this.position);
+
+			return Character.isLetterOrDigit(symbol) || symbol == '-' || symbol == '_';
+		}
+
+		/**
+		 * Пропускает текущий символ, если он совпадает с указанным.
+		 *
+		 * @param symbol символ.
+		 * @return {@code true}, если символ пропущен, иначе {@code false}.
+		 */
+		private boolean consume(final char symbol)
+		{
+			if (this.position < this.selector.length() && this.selector.charAt(this.position) == symbol)
+			{
+				this.position++;
+
+				return true;
+			}
+
+			return false;
+		}
+
+		/**
+		 * Пропускает пробельные символы.
+		 */
+		private void skipSpaces()
+		{
+			while (this.position < this.selector.length() && Grammar.isSpace(this.selector.charAt(this.position))) {
+				this.position++;
+			}
+		}
+	}
+}
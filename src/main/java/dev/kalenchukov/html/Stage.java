@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * Класс этапа потоковой обработки HTML.
+ *
+ * <p>Этап получает текст частями, обрабатывает его одной операцией и передаёт результат
+ * следующему приёмнику по мере готовности. Цепочка этапов выполняет несколько операций
+ * за один просмотр исходного текста без создания промежуточных строк.
+ * Окончание текста сообщается методом {@link #finish()}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+abstract class Stage implements Appendable
+{
+	/**
+	 * Приёмник результата.
+	 */
+	@NotNull
+	final Appendable target;
+
+	/**
+	 * Конструктор для {@code Stage}.
+	 *
+	 * @param target приёмник результата.
+	 * @throws NullPointerException если в качестве {@code target} передан {@code null}.
+	 */
+	Stage(@NotNull final Appendable target)
+	{
+		Objects.requireNonNull(target);
+
+		this.target = target;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public Stage append(@Nullable final CharSequence csq) throws IOException
+	{
+		final CharSequence text = csq == null ? "null" : csq;
+
+		return this.append(text, 0, text.length());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public abstract Stage append(@Nullable CharSequence csq, int start, int end) throws IOException;
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param c {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public abstract Stage append(char c) throws IOException;
+
+	/**
+	 * Принимает символы из массива.
+	 *
+	 * @param chars массив символов.
+	 * @param offset начало символов в массиве.
+	 * @param count количество символов.
+	 * @throws IOException если приёмник результата не может принять символы.
+	 */
+	abstract void write(char @NotNull [] chars, int offset, int count) throws IOException;
+
+	/**
+	 * Завершает обработку текста.
+	 *
+	 * <p>Передаёт приёмнику оставшийся результат и завершает следующий этап.</p>
+	 *
+	 * @throws IOException если приёмник результата не может принять символы.
+	 */
+	void finish() throws IOException
+	{
+		if (this.target instanceof Stage stage) {
+			stage.finish();
+		}
+	}
+
+	/**
+	 * Передаёт символы из массива в приёмник.
+	 *
+	 * @param target приёмник символов.
+	 * @param chars массив символов.
+	 * @param offset начало символов в массиве.
+	 * @param count количество символов.
+	 * @throws IOException если приёмник не может принять символы.
+	 */
+	static void write(@NotNull final Appendable target,
+					  final char @NotNull [] chars,
+					  final int offset,
+					  final int count) throws IOException
+	{
+		if (target instanceof Stage stage)
+		{
+			stage.write(chars, offset, count);
+		}
+		else if (target instanceof StringBuilder builder)
+		{
+			builder.append(chars, offset, count);
+		}
+		else if (target instanceof Writer writer)
+		{
+			writer.write(chars, offset, count);
+		}
+		else
+		{
+			target.append(CharBuffer.wrap(chars, offset, count));
+		}
+	}
+}
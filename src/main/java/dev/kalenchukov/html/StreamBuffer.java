@@ -0,0 +1,337 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Класс буфера потокового текста.
+ *
+ * <p>Хранит часть текста, которая ещё не обработана, и адресует символы их позицией
+ * от начала всего текста. Пока текст не закончился, длина буфера считается неограниченной,
+ * а обращение к ещё не поступившему символу прерывает распознавание исключением {@link Underflow}.
+ * Поэтому {@link Grammar} и {@link HtmlTokenizer} работают с буфером так же, как с целым текстом.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class StreamBuffer implements CharSequence
+{
+	/**
+	 * Символы буфера.
+	 */
+	private char @NotNull [] chars;
+
+	/**
+	 * Позиция первого символа буфера от начала текста.
+	 */
+	private int base;
+
+	/**
+	 * Количество символов в буфере.
+	 */
+	private int size;
+
+	/**
+	 * Признак окончания текста.
+	 */
+	private boolean closed;
+
+	/**
+	 * Конструктор для {@code StreamBuffer}.
+	 */
+	StreamBuffer()
+	{
+		this.chars = new char[1024];
+	}
+
+	/**
+	 * Добавляет символы в конец буфера.
+	 *
+	 * @param text текст.
+	 * @param start начало добавляемых символов.
+	 * @param end позиция за концом добавляемых символов.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws IllegalStateException если текст уже закончился.
+	 */
+	void append(@NotNull final CharSequence text, final int start, final int end)
+	{
+		Objects.requireNonNull(text);
+		Objects.checkFromToIndex(start, end, text.length());
+
+		if (this.closed) {
+			throw new IllegalStateException();
+		}
+
+		final int count = end - start;
+
+		this.ensureCapacity(count);
+
+		if (text instanceof String string)
+		{
+			string.getChars(start, end, this.chars, this.size);
+		}
+		else
+		{
+			for (int index = start; index < end; index++) {
+				this.chars[this.size + index - start] = text.charAt(index);
+			}
+		}
+
+		this.size += count;
+	}
+
+	/**
+	 * Добавляет символ в конец буфера.
+	 *
+	 * @param symbol символ.
+	 * @throws IllegalStateException если текст уже закончился.
+	 */
+	void append(final char symbol)
+	{
+		if (this.closed) {
+			throw new IllegalStateException();
+		}
+
+		this.ensureCapacity(1);
+
+		this.chars[this.size++] = symbol;
+	}
+
+	/**
+	 * Добавляет символы в конец буфера.
+	 *
+	 * @param chars массив символов.
+	 * @param offset начало добавляемых символов в массиве.
+	 * @param count количество добавляемых символов.
+	 * @throws IllegalStateException если текст уже закончился.
+	 */
+	void append(final char @NotNull [] chars, final int offset, final int count)
+	{
+		Objects.checkFromIndexSize(offset, count, chars.length);
+
+		if (this.closed) {
+			throw new IllegalStateException();
+		}
+
+		this.ensureCapacity(count);
+
+		System.arraycopy(chars, offset, this.chars, this.size, count);
+
+		this.size += count;
+	}
+
+	/**
+	 * Отмечает окончание текста.
+	 */
+	void close()
+	{
+		this.closed = true;
+	}
+
+	/**
+	 * Проверяет окончание текста.
+	 *
+	 * @return {@code true}, если текст закончился, иначе {@code false}.
+	 */
+	boolean isClosed()
+	{
+		return this.closed;
+	}
+
+	/**
+	 * Возвращает позицию за последним поступившим символом.
+	 *
+	 * @return позицию за последним поступившим символом от начала текста.
+	 */
+	int getAvailable()
+	{
+		return this.base + this.size;
+	}
+
+	/**
+	 * Возвращает позицию символа среди поступивших символов.
+	 *
+	 * @param symbol искомый символ.
+	 * @param start позиция начала поиска от начала текста.
+	 * @return позицию символа от начала текста или {@code -1}, если символ не найден.
+	 */
+	int indexOf(final char symbol, final int start)
+	{
+		for (int offset = Math.max(start - this.base, 0); offset < this.size; offset++)
+		{
+			if (this.chars[offset] == symbol) {
+				return this.base + offset;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Удаляет из буфера символы до указанной позиции.
+	 *
+	 * @param position позиция от начала текста, символы до которой больше не нужны.
+	 */
+	void discard(final int position)
+	{
+		final int count = position - this.base;
+
+		if (count <= 0) {
+			return;
+		}
+
+		System.arraycopy(this.chars, count, this.chars, 0, this.size - count);
+
+		this.base = position;
+		this.size -= count;
+	}
+
+	/**
+	 * Передаёт символы буфера в приёмник.
+	 *
+	 * @param appendable приёмник символов.
+	 * @param start начало символов от начала текста.
+	 * @param end позиция за концом символов от начала текста.
+	 * @throws IOException если приёмник не может принять символы.
+	 */
+	void appendTo(@NotNull final Appendable appendable, final int start, final int end) throws IOException
+	{
+		if (start < end) {
+			Stage.write(appendable, this.chars, start - this.base, end - start);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Пока текст не закончился, возвращает {@link Integer#MAX_VALUE}.</p>
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int length()
+	{
+		if (this.closed) {
+			return this.base + this.size;
+		}
+
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param index {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws Underflow если символ ещё не поступил.
+	 * @throws IndexOutOfBoundsException если символ удалён из буфера или находится за концом текста.
+	 */
+	@Override
+	public char charAt(final int index)
+	{
+		final int offset = index - this.base;
+
+		if (offset >= 0 && offset < this.size) {
+			return this.chars[offset];
+		}
+
+		if (offset >= this.size && !this.closed) {
+			throw Underflow.INSTANCE;
+		}
+
+		throw new IndexOutOfBoundsException(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public CharSequence subSequence(final int start, final int end)
+	{
+		return new String(this.chars, start - this.base, end - start);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return символы буфера.
+	 */
+	@NotNull
+	@Override
+	public String toString()
+	{
+		return new String(this.chars, 0, this.size);
+	}
+
+	/**
+	 * Увеличивает буфер, если в нём не хватает места для указанного количества символов.
+	 *
+	 * @param count количество добавляемых символов.
+	 */
+	private void ensureCapacity(final int count)
+	{
+		if (this.size + count > this.chars.length) {
+			this.chars = Arrays.copyOf(this.chars, Math.max(this.size + count, this.chars.length * 2));
+		}
+	}
+
+	/**
+	 * Исключение обращения к символу, который ещё не поступил в буфер.
+	 *
+	 * <p>Не содержит стека вызовов, так как служит только для прерывания распознавания.</p>
+	 */
+	static final class Underflow extends RuntimeException
+	{
+		/**
+		 * Версия сериализации.
+		 */
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Единственный экземпляр исключения.
+		 */
+		@NotNull
+		static final Underflow INSTANCE = new Underflow();
+
+		/**
+		 * Конструктор для {@code Underflow}.
+		 */
+		private Underflow()
+		{
+			super(null, null, false, false);
+		}
+	}
+}
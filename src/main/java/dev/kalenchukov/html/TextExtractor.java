@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Класс извлечения видимого текста из HTML за один проход.
+ *
+ * <p>Результат похож на последовательный вызов {@link Hypertext#deleteComments()},
+ * {@link Hypertext#deleteCData()}, {@link Hypertext#deleteDoctype()}, {@link Hypertext#deleteTags()}
+ * и {@link Hypertext#decodeEntities()}, но текст просматривается один раз. Известные HTML-сущности
+ * заменяются специальными символами, неизвестные выводятся без изменений. Отличия от этих методов:</p>
+ * <ul>
+ *     <li>слова по разные стороны от HTML-тегов, на которых прерывается строка текста, например блочных,
+ *     ячеек таблиц, {@link Tag#LI} и {@link Tag#BR}, не сливаются: если между ними нет пробельных символов,
+ *     выводится перевод строки, а при замене пробельных символов — пробел;</li>
+ *     <li>содержимое HTML-тегов {@link Tag#SCRIPT} и {@link Tag#STYLE} не выводится;</li>
+ *     <li>HTML-сущности распознаются в исходном тексте, поэтому не заменяются HTML-сущности,
+ *     которые образуются только после удаления HTML-тегов.</li>
+ * </ul>
+ *
+ * <p>Части текста между лексемами записываются в {@link Appendable} целиком, без промежуточных строк.
+ * Если получатель является {@link Writer}, символы передаются ему массивами через буфер.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class TextExtractor
+{
+	/**
+	 * Средство чтения текста.
+	 */
+	@NotNull
+	private final HtmlReader reader;
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Получатель видимого текста.
+	 */
+	@NotNull
+	private final Appendable output;
+
+	/**
+	 * Заменять ли последовательности пробельных символов одним пробелом.
+	 */
+	private final boolean normalizeSpaces;
+
+	/**
+	 * Был ли записан хотя бы один символ.
+	 */
+	private boolean started;
+
+	/**
+	 * Ожидает ли записи разделитель: пробел, заменяющий последовательность пробельных символов,
+	 * или перевод строки на месте HTML-тега, на котором прерывается строка текста.
+	 */
+	private boolean spacePending;
+
+	/**
+	 * Является ли последний записанный символ пробельным.
+	 */
+	private boolean spaceLast;
+
+	/**
+	 * Конструктор для {@code TextExtractor}.
+	 *
+	 * @param text текст.
+	 * @param output получатель видимого текста.
+	 * @param normalizeSpaces {@code true}, если последовательности пробельных символов заменяются одним пробелом.
+	 */
+	private TextExtractor(@NotNull final CharSequence text,
+						  @NotNull final Appendable output,
+						  final boolean normalizeSpaces)
+	{
+		this.reader = new HtmlReader(text);
+		this.text = text;
+		this.output = output;
+		this.normalizeSpaces = normalizeSpaces;
+	}
+
+	/**
+	 * Записывает видимый текст HTML.
+	 *
+	 * <p>Если {@code normalizeSpaces} равен {@code true}, каждая последовательность пробельных символов
+	 * заменяется одним пробелом, а пробельные символы в начале и в конце текста не выводятся.
+	 * Пробельные символы, полученные из HTML-сущностей, например {@link Entity#NBSP}, не заменяются.</p>
+	 *
+	 * @param text текст.
+	 * @param output получатель видимого текста.
+	 * @param normalizeSpaces {@code true}, если последовательности пробельных символов заменяются одним пробелом.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	public static void extract(@NotNull final CharSequence text,
+							   @NotNull final Appendable output,
+							   final boolean normalizeSpaces) throws IOException
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(output);
+
+		WriterOutput.write(output, target -> new TextExtractor(text, target, normalizeSpaces).extract());
+	}
+
+	/**
+	 * Записывает видимый текст HTML.
+	 *
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void extract() throws IOException
+	{
+		boolean rawText = false;
+
+		while (this.reader.next())
+		{
+			final TokenType tokenType = this.reader.getTokenType();
+
+			if (tokenType == null)
+			{
+				if (!rawText) {
+					this.appendText(this.reader.getTextStart(), this.reader.getTextEnd());
+				}
+
+				continue;
+			}
+
+			switch (tokenType)
+			{
+				case OPEN_TAG:
+					rawText = TextExtractor.isRawText(this.reader.getTagName());
+					this.breakLine(this.reader.getTagName());
+					break;
+				case SELF_CLOSING_TAG:
+					this.breakLine(this.reader.getTagName());
+					break;
+				case CLOSE_TAG:
+					rawText = false;
+					this.breakLine(this.reader.getTagName());
+					break;
+				case ENTITY_NAME, ENTITY_NUMERIC, ENTITY_UNICODE:
+					this.appendEntity(this.reader.getEntity());
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Записывает часть текста.
+	 *
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendText(final int start, final int end) throws IOException
+	{
+		if (!this.normalizeSpaces)
+		{
+			if (start == end) {
+				return;
+			}
+
+			this.appendPendingSpace(this.text.charAt(start));
+			this.output.append(this.text, start, end);
+			this.spaceLast = Grammar.isSpace(this.text.charAt(end - 1));
+
+			return;
+		}
+
+		int index = start;
+
+		while (index < end)
+		{
+			if (Grammar.isSpace(this.text.charAt(index)))
+			{
+				this.spacePending = this.started;
+				index++;
+
+				continue;
+			}
+
+			final int wordStart = index;
+
+			while (index < end && !Grammar.isSpace(this.text.charAt(index))) {
+				index++;
+			}
+
+			this.appendPendingSpace(this.text.charAt(wordStart));
+			this.output.append(this.text, wordStart, index);
+		}
+	}
+
+	/**
+	 * Записывает специальный символ HTML-сущности.
+	 *
+	 * @param entity HTML-сущность или {@code null}, если она неизвестна.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendEntity(@Nullable final Entity entity) throws IOException
+	{
+		if (entity == null)
+		{
+			this.appendText(this.reader.getTextStart(), this.reader.getTextEnd());
+
+			return;
+		}
+
+		final char symbol = entity.getSymbol();
+
+		this.appendPendingSpace(symbol);
+		this.output.append(symbol);
+		this.spaceLast = Grammar.isSpace(symbol);
+	}
+
+	/**
+	 * Отмечает HTML-тег, на котором может прерываться строка текста.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 */
+	private void breakLine(@Nullable final Tag tag)
+	{
+		if (LineBreaks.isBreak(tag) && this.started && (this.normalizeSpaces || !this.spaceLast)) {
+			this.spacePending = true;
+		}
+	}
+
+	/**
+	 * Записывает разделитель, если он ожидает записи.
+	 *
+	 * <p>Без замены пробельных символов разделителем служит перевод строки,
+	 * который не записывается перед пробельным символом.</p>
+	 *
+	 * @param next символ, который будет записан следующим.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	private void appendPendingSpace(final char next) throws IOException
+	{
+		if (this.spacePending)
+		{
+			if (this.normalizeSpaces) {
+				this.output.append(' ');
+			}
+			else if (!Grammar.isSpace(next))
+			{
+				this.output.append('\n');
+			}
+
+			this.spacePending = false;
+		}
+
+		this.started = true;
+	}
+
+	/**
+	 * Проверяет, является ли содержимое HTML-тега невидимым текстом.
+	 *
+	 * @param tag HTML-тег или {@code null}.
+	 * @return {@code true}, если HTML-тег {@link Tag#SCRIPT} или {@link Tag#STYLE}, иначе {@code false}.
+	 */
+	private static boolean isRawText(@Nullable final Tag tag)
+	{
+		return tag == Tag.SCRIPT || tag == Tag.STYLE;
+	}
+}
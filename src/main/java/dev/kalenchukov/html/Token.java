@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Класс найденной лексемы HTML.
+ *
+ * <p>Содержит тип лексемы, её позицию в тексте и текст лексемы.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class Token
+{
+	/**
+	 * Тип лексемы.
+	 */
+	@NotNull
+	private final TokenType type;
+
+	/**
+	 * Начало лексемы.
+	 */
+	private final int start;
+
+	/**
+	 * Позиция за концом лексемы.
+	 */
+	private final int end;
+
+	/**
+	 * Текст лексемы.
+	 */
+	@NotNull
+	private final String value;
+
+	/**
+	 * Конструктор для {@code Token}.
+	 *
+	 * @param type тип лексемы.
+	 * @param start начало лексемы.
+	 * @param end позиция за концом лексемы.
+	 * @param value текст лексемы.
+	 * @throws NullPointerException если в качестве {@code type} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code value} передан {@code null}.
+	 */
+	Token(@NotNull final TokenType type, final int start, final int end, @NotNull final String value)
+	{
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(value);
+
+		this.type = type;
+		this.start = start;
+		this.end = end;
+		this.value = value;
+	}
+
+	/**
+	 * Возвращает тип лексемы.
+	 *
+	 * @return тип лексемы.
+	 */
+	@NotNull
+	public TokenType getType()
+	{
+		return this.type;
+	}
+
+	/**
+	 * Возвращает начало лексемы.
+	 *
+	 * @return позицию первого символа лексемы в тексте.
+	 */
+	public int getStart()
+	{
+		return this.start;
+	}
+
+	/**
+	 * Возвращает конец лексемы.
+	 *
+	 * @return позицию за последним символом лексемы в тексте.
+	 */
+	public int getEnd()
+	{
+		return this.end;
+	}
+
+	/**
+	 * Возвращает текст лексемы.
+	 *
+	 * @return текст лексемы.
+	 */
+	@NotNull
+	public String getValue()
+	{
+		return this.value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param object {@inheritDoc}
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof Token token)) {
+			return false;
+		}
+
+		return this.type == token.type
+			&& this.start == token.start
+			&& this.end == token.end
+			&& this.value.equals(token.value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.type, this.start, this.end, this.value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public String toString()
+	{
+		return this.type + " " + this.start + "-" + this.end + " " + this.value;
+	}
+}
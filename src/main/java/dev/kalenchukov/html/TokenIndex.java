@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Класс индекса лексем текста.
+ *
+ * <p>Хранит начало, конец и тип каждой лексемы всех типов {@link TokenType} в одном массиве
+ * в порядке начала лексем. Индекс строится за один просмотр текста {@link HtmlTokenizer},
+ * после чего поиск и проверки лексем любого типа выполняются без повторного анализа текста.
+ * Лексемы каждого типа совпадают с лексемами, распознаваемыми {@link HtmlTokenizer} только этого типа,
+ * так как лексемы разных типов распознаются независимо.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class TokenIndex
+{
+	/**
+	 * Количество элементов массива на одну лексему.
+	 */
+	static final int STRIDE = 3;
+
+	/**
+	 * Текст.
+	 */
+	@NotNull
+	private final CharSequence text;
+
+	/**
+	 * Начало, конец и порядковый номер типа каждой лексемы.
+	 */
+	private final int @NotNull [] tokens;
+
+	/**
+	 * Количество лексем каждого типа.
+	 */
+	private final int @NotNull [] counts;
+
+	/**
+	 * Конструктор для {@code TokenIndex}.
+	 *
+	 * @param text текст.
+	 * @param tokens начало, конец и порядковый номер типа каждой лексемы в порядке начала лексем.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokens} передан {@code null}.
+	 */
+	TokenIndex(@NotNull final CharSequence text, final int @NotNull [] tokens)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokens);
+
+		this.text = text;
+		this.tokens = tokens;
+		this.counts = new int[TokenType.values().length];
+
+		for (int index = 2; index < tokens.length; index += STRIDE) {
+			this.counts[tokens[index]]++;
+		}
+	}
+
+	/**
+	 * Строит индекс лексем текста.
+	 *
+	 * @param text текст.
+	 * @return индекс лексем.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	@NotNull
+	static TokenIndex of(@NotNull final CharSequence text)
+	{
+		Objects.requireNonNull(text);
+
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text);
+
+		int[] tokens = new int[STRIDE * 16];
+		int size = 0;
+
+		while (tokenizer.next())
+		{
+			if (size == tokens.length) {
+				tokens = Arrays.copyOf(tokens, size * 2);
+			}
+
+			tokens[size++] = tokenizer.getStart();
+			tokens[size++] = tokenizer.getEnd();
+			tokens[size++] = tokenizer.getType().ordinal();
+		}
+
+		return new TokenIndex(text, Arrays.copyOf(tokens, size));
+	}
+
+	/**
+	 * Проверяет, построен ли индекс для текста.
+	 *
+	 * @param text текст.
+	 * @return {@code true}, если индекс построен для этого же объекта текста, иначе {@code false}.
+	 */
+	boolean isOf(@NotNull final CharSequence text)
+	{
+		return this.text == text;
+	}
+
+	/**
+	 * Возвращает лексемы.
+	 *
+	 * @param tokenType тип лексем.
+	 * @return коллекцию текстов лексем в порядке их начала.
+	 */
+	@Unmodifiable
+	@NotNull
+	List<@NotNull String> find(@NotNull final TokenType tokenType)
+	{
+		final int ordinal = tokenType.ordinal();
+		final List<String> values = new ArrayList<>(this.counts[ordinal]);
+
+		for (int index = 0; index < this.tokens.length && values.size() < this.counts[ordinal]; index += STRIDE)
+		{
+			if (this.tokens[index + 2] == ordinal) {
+				values.add(this.text.subSequence(this.tokens[index], this.tokens[index + 1]).toString());
+			}
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Возвращает лексемы нескольких типов.
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return коллекцию лексем в порядке их начала.
+	 */
+	@Unmodifiable
+	@NotNull
+	List<@NotNull Token> findTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		final TokenType[] types = TokenType.values();
+		final List<Token> values = new ArrayList<>();
+
+		for (int index = 0; index < this.tokens.length; index += STRIDE)
+		{
+			final TokenType tokenType = types[this.tokens[index + 2]];
+
+			if (!tokenTypes.contains(tokenType)) {
+				continue;
+			}
+
+			final int start = this.tokens[index];
+			final int end = this.tokens[index + 1];
+
+			values.add(new Token(tokenType, start, end, this.text.subSequence(start, end).toString()));
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Возвращает поток лексем нескольких типов.
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return поток лексем в порядке их начала.
+	 */
+	@NotNull
+	Stream<@NotNull Token> streamTokens(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		final TokenType[] types = TokenType.values();
+
+		return IntStream.range(0, this.tokens.length / STRIDE)
+			.map(index -> index * STRIDE)
+			.filter(index -> tokenTypes.contains(types[this.tokens[index + 2]]))
+			.mapToObj(index -> new Token(
+				types[this.tokens[index + 2]],
+				this.tokens[index],
+				this.tokens[index + 1],
+				this.text.subSequence(this.tokens[index], this.tokens[index + 1]).toString()
+			));
+	}
+
+	/**
+	 * Подсчитывает лексемы нескольких типов.
+	 *
+	 * @param tokenTypes типы лексем.
+	 * @return количество лексем.
+	 */
+	int count(@NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		int count = 0;
+
+		for (TokenType tokenType : tokenTypes) {
+			count += this.counts[tokenType.ordinal()];
+		}
+
+		return count;
+	}
+
+	/**
+	 * Проверяет наличие HTML-тегов любого типа.
+	 *
+	 * @param tags HTML-теги.
+	 * @return {@code true}, если найден хотя бы один HTML-тег, иначе {@code false}.
+	 */
+	boolean containsTags(@NotNull final Set<@NotNull Tag> tags)
+	{
+		final TokenType[] types = TokenType.values();
+
+		for (int index = 0; index < this.tokens.length; index += STRIDE)
+		{
+			final int nameStart = switch (types[this.tokens[index + 2]])
+				{
+					case OPEN_TAG, SELF_CLOSING_TAG: yield this.tokens[index] + 1;
+					case CLOSE_TAG: yield this.tokens[index] + 2;
+					default: yield -1;
+				};
+
+			if (nameStart < 0) {
+				continue;
+			}
+
+			final Tag tag = Tag.ofName(this.text, nameStart, Grammar.matchTagName(this.text, nameStart));
+
+			if (tag != null && tags.contains(tag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Проверяет наличие HTML-сущностей любого типа.
+	 *
+	 * @param entities HTML-сущности.
+	 * @return {@code true}, если найдена хотя бы одна HTML-сущность, иначе {@code false}.
+	 */
+	boolean containsEntities(@NotNull final Set<@NotNull Entity> entities)
+	{
+		final TokenType[] types = TokenType.values();
+
+		for (int index = 0; index < this.tokens.length; index += STRIDE)
+		{
+			final EntityType entityType = switch (types[this.tokens[index + 2]])
+				{
+					case ENTITY_NAME: yield EntityType.NAME;
+					case ENTITY_NUMERIC: yield EntityType.NUMERIC;
+					case ENTITY_UNICODE: yield EntityType.UNICODE;
+					default: yield null;
+				};
+
+			if (entityType == null) {
+				continue;
+			}
+
+			if (EntityDecoder.resolve(this.text, this.tokens[index], this.tokens[index + 1], entityType, entities) != null) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Проверяет, является ли весь текст лексемой.
+	 *
+	 * <p>Лексемы разных типов не начинаются в одной позиции, поэтому весь текст может быть
+	 * только первой лексемой индекса.</p>
+	 *
+	 * @param tokenType тип лексемы.
+	 * @return {@code true}, если является, иначе {@code false}.
+	 */
+	boolean is(@NotNull final TokenType tokenType)
+	{
+		return this.tokens.length > 0
+			&& this.tokens[0] == 0
+			&& this.tokens[1] == this.text.length()
+			&& this.tokens[2] == tokenType.ordinal();
+	}
+}
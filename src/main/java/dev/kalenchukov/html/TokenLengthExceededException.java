@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import java.io.Serial;
+
+/**
+ * Исключение превышения наибольшей длины лексемы при потоковой обработке HTML.
+ *
+ * <p>Выбрасывается, если для распознавания лексемы или HTML-сущности требуется накопить
+ * больше символов, чем допускает {@link HtmlPipeline#getMaxTokenLength()}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class TokenLengthExceededException extends RuntimeException
+{
+	/**
+	 * Версия сериализации.
+	 */
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Наибольшая длина лексемы.
+	 */
+	private final int maxTokenLength;
+
+	/**
+	 * Конструктор для {@code TokenLengthExceededException}.
+	 *
+	 * @param maxTokenLength наибольшая длина лексемы.
+	 */
+	public TokenLengthExceededException(final int maxTokenLength)
+	{
+		super("Длина лексемы превышает " + maxTokenLength + " символов.");
+
+		this.maxTokenLength = maxTokenLength;
+	}
+
+	/**
+	 * Возвращает наибольшую длину лексемы.
+	 *
+	 * @return наибольшую длину лексемы.
+	 */
+	public int getMaxTokenLength()
+	{
+		return this.maxTokenLength;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Класс этапа потоковой обработки HTML, удаляющего лексемы.
+ *
+ * <p>Результат совпадает с результатом соответствующего метода {@link TokenizerEngine}.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class TokenStage extends BufferedStage
+{
+	/**
+	 * Лексический анализатор текста.
+	 */
+	@NotNull
+	private final HtmlTokenizer tokenizer;
+
+	/**
+	 * HTML-сущности которые будут удалены или {@code null}, если удаляются все лексемы.
+	 */
+	@Nullable
+	private final Set<@NotNull Entity> entities;
+
+	/**
+	 * Конструктор для {@code TokenStage}.
+	 *
+	 * @param target приёмник результата.
+	 * @param maxTokenLength наибольшее количество символов, накапливаемых для распознавания.
+	 * @param tokenTypes типы удаляемых лексем.
+	 * @param tags HTML-теги которые будут удалены или {@code null}, если удаляются HTML-теги с любым названием.
+	 * @param entities HTML-сущности которые будут удалены или {@code null}, если удаляются все лексемы.
+	 * @throws NullPointerException если в качестве {@code target} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	TokenStage(@NotNull final Appendable target,
+			   final int maxTokenLength,
+			   @NotNull final Set<@NotNull TokenType> tokenTypes,
+			   @Nullable final Set<@NotNull Tag> tags,
+			   @Nullable final Set<@NotNull Entity> entities)
+	{
+		super(target, maxTokenLength);
+
+		this.tokenizer = tags == null
+			? new HtmlTokenizer(this.buffer, tokenTypes)
+			: new HtmlTokenizer(this.buffer, tokenTypes, tags);
+		this.entities = entities;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@Override
+	int scan() throws IOException
+	{
+		try
+		{
+			while (this.tokenizer.next())
+			{
+				if (this.entities != null && !TokenizerEngine.contains(this.buffer, this.tokenizer, this.entities)) {
+					continue;
+				}
+
+				this.emit(this.tokenizer.getStart());
+				this.omit(this.tokenizer.getEnd());
+
+				this.tokenizer.skip();
+			}
+
+			return this.buffer.getAvailable();
+		}
+		catch (StreamBuffer.Underflow exception)
+		{
+			return this.tokenizer.getPosition();
+		}
+	}
+}
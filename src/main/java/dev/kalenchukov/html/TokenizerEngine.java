@@ -0,0 +1,430 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Класс механизма поиска и удаления лексем HTML на основе {@link HtmlTokenizer}.
+ *
+ * <p>Каждая операция выполняется за один просмотр текста.
+ * Текст, появившийся на месте удалённых лексем, повторно не рассматривается.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class TokenizerEngine implements Engine
+{
+	/**
+	 * Конструктор для {@code TokenizerEngine}.
+	 */
+	TokenizerEngine() {}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull String> find(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final List<String> values = new ArrayList<>();
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text, EnumSet.of(tokenType));
+
+		while (tokenizer.next()) {
+			values.add(tokenizer.getValue());
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull Token> findTokens(@NotNull final CharSequence text,
+										   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final List<Token> tokens = new ArrayList<>();
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text, tokenTypes);
+
+		while (tokenizer.next()) {
+			tokens.add(new Token(tokenizer.getType(), tokenizer.getStart(), tokenizer.getEnd(), tokenizer.getValue()));
+		}
+
+		return Collections.unmodifiableList(tokens);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public Stream<@NotNull Token> streamTokens(@NotNull final CharSequence text,
+											   @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text, tokenTypes);
+
+		return StreamSupport.stream(
+			new Spliterators.AbstractSpliterator<Token>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL)
+			{
+				@Override
+				public boolean tryAdvance(@NotNull final Consumer<? super Token> action)
+				{
+					if (!tokenizer.next()) {
+						return false;
+					}
+
+					action.accept(new Token(
+						tokenizer.getType(), tokenizer.getStart(), tokenizer.getEnd(), tokenizer.getValue()
+					));
+
+					return true;
+				}
+			},
+			false
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public int count(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text, tokenTypes);
+		int count = 0;
+
+		while (tokenizer.next()) {
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenTypes {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenTypes} передан {@code null}.
+	 */
+	@Override
+	public boolean contains(@NotNull final CharSequence text, @NotNull final Set<@NotNull TokenType> tokenTypes)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenTypes);
+
+		return new HtmlTokenizer(text, tokenTypes).next();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	public boolean containsTags(@NotNull final CharSequence text, @NotNull final Set<@NotNull Tag> tags)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tags);
+
+		return new HtmlTokenizer(
+			text, EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG, TokenType.CLOSE_TAG), tags
+		).next();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	public boolean containsEntities(@NotNull final CharSequence text, @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entities);
+
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(
+			text, EnumSet.of(TokenType.ENTITY_NAME, TokenType.ENTITY_NUMERIC, TokenType.ENTITY_UNICODE)
+		);
+
+		while (tokenizer.next())
+		{
+			if (TokenizerEngine.contains(text, tokenizer, entities)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	public boolean is(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		final HtmlTokenizer tokenizer = new HtmlTokenizer(text, EnumSet.of(tokenType));
+
+		return tokenizer.next() && tokenizer.getStart() == 0 && tokenizer.getEnd() == text.length();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tokenType {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tokenType} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String delete(@NotNull final CharSequence text, @NotNull final TokenType tokenType)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tokenType);
+
+		return TokenizerEngine.delete(text, new HtmlTokenizer(text, EnumSet.of(tokenType)), null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>HTML-теги, которые не удаляются, не распознаются,
+	 * поэтому HTML-теги в значениях их параметров также удаляются.</p>
+	 *
+	 * @param text {@inheritDoc}
+	 * @param tagTypes {@inheritDoc}
+	 * @param tags {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tagTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code tags} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteTags(@NotNull final CharSequence text,
+							 @NotNull final Set<@NotNull TagType> tagTypes,
+							 @NotNull final Set<@NotNull Tag> tags)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(tagTypes);
+		Objects.requireNonNull(tags);
+
+		final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+		for (TagType tagType : tagTypes) {
+			tokenTypes.add(TokenType.ofTagType(tagType));
+		}
+
+		return TokenizerEngine.delete(text, new HtmlTokenizer(text, tokenTypes, tags), null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @param entityTypes {@inheritDoc}
+	 * @param entities {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entityTypes} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code entities} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public String deleteEntities(@NotNull final CharSequence text,
+								 @NotNull final Set<@NotNull EntityType> entityTypes,
+								 @NotNull final Set<@NotNull Entity> entities)
+	{
+		Objects.requireNonNull(text);
+		Objects.requireNonNull(entityTypes);
+		Objects.requireNonNull(entities);
+
+		final Set<TokenType> tokenTypes = EnumSet.noneOf(TokenType.class);
+
+		for (EntityType entityType : entityTypes) {
+			tokenTypes.add(TokenType.ofEntityType(entityType));
+		}
+
+		return TokenizerEngine.delete(text, new HtmlTokenizer(text, tokenTypes), entities);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param text {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 */
+	@Override
+	@NotNull
+	public TokenIndex index(@NotNull final CharSequence text)
+	{
+		return TokenIndex.of(text);
+	}
+
+	/**
+	 * Удаляет лексемы.
+	 *
+	 * @param text текст.
+	 * @param tokenizer лексический анализатор текста.
+	 * @param entities HTML-сущности которые будут удалены или {@code null}, если удаляются все лексемы.
+	 * @return обработанный текст.
+	 */
+	@NotNull
+	private static String delete(@NotNull final CharSequence text,
+								 @NotNull final HtmlTokenizer tokenizer,
+								 @Nullable final Set<@NotNull Entity> entities)
+	{
+		StringBuilder result = null;
+		int copied = 0;
+
+		while (tokenizer.next())
+		{
+			if (entities != null && !TokenizerEngine.contains(text, tokenizer, entities)) {
+				continue;
+			}
+
+			if (result == null) {
+				result = new StringBuilder(text.length());
+			}
+
+			result.append(text, copied, tokenizer.getStart());
+			copied = tokenizer.getEnd();
+
+			tokenizer.skip();
+		}
+
+		if (result == null) {
+			return text.toString();
+		}
+
+		result.append(text, copied, text.length());
+
+		return result.toString();
+	}
+
+	/**
+	 * Проверяет, входит ли HTML-сущность текущей лексемы в коллекцию.
+	 *
+	 * <p>HTML-сущности в виде имени сравниваются по имени,
+	 * так как одно имя могут иметь несколько HTML-сущностей.</p>
+	 *
+	 * @param text текст.
+	 * @param tokenizer лексический анализатор текста.
+	 * @param entities HTML-сущности.
+	 * @return {@code true}, если входит, иначе {@code false}.
+	 */
+	static boolean contains(@NotNull final CharSequence text,
+							@NotNull final HtmlTokenizer tokenizer,
+							@NotNull final Set<@NotNull Entity> entities)
+	{
+		if (tokenizer.getType() == TokenType.ENTITY_NAME) {
+			return EntityDecoder.resolveName(text, tokenizer.getStart() + 1, tokenizer.getEnd() - 1, entities) != null;
+		}
+
+		final Entity entity = tokenizer.getEntity();
+
+		return entity != null && entities.contains(entity);
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * Класс записи текста в {@link Writer} через буфер символов.
+ *
+ * <p>{@link Writer#append(CharSequence, int, int)} создаёт строку для каждой части текста.
+ * Этот класс копирует части текста в буфер и передаёт их {@link Writer} массивом символов,
+ * поэтому части текста записываются без промежуточных строк.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+final class WriterOutput implements Appendable, Flushable
+{
+	/**
+	 * Размер буфера символов.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Поток записи.
+	 */
+	@NotNull
+	private final Writer writer;
+
+	/**
+	 * Буфер символов.
+	 */
+	private final char @NotNull [] buffer;
+
+	/**
+	 * Количество символов в буфере.
+	 */
+	private int size;
+
+	/**
+	 * Конструктор для {@code WriterOutput}.
+	 *
+	 * @param writer поток записи.
+	 * @throws NullPointerException если в качестве {@code writer} передан {@code null}.
+	 */
+	WriterOutput(@NotNull final Writer writer)
+	{
+		Objects.requireNonNull(writer);
+
+		this.writer = writer;
+		this.buffer = new char[BUFFER_SIZE];
+	}
+
+	/**
+	 * Создаёт запись в поток байтов.
+	 *
+	 * @param output поток байтов.
+	 * @param charset кодировка.
+	 * @return запись в поток байтов.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 */
+	@NotNull
+	static WriterOutput of(@NotNull final OutputStream output, @NotNull final Charset charset)
+	{
+		Objects.requireNonNull(output);
+		Objects.requireNonNull(charset);
+
+		return new WriterOutput(new OutputStreamWriter(output, charset));
+	}
+
+	/**
+	 * Создаёт запись в канал.
+	 *
+	 * @param channel канал.
+	 * @param charset кодировка.
+	 * @return запись в канал.
+	 * @throws NullPointerException если в качестве {@code channel} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code charset} передан {@code null}.
+	 */
+	@NotNull
+	static WriterOutput of(@NotNull final WritableByteChannel channel, @NotNull final Charset charset)
+	{
+		Objects.requireNonNull(channel);
+		Objects.requireNonNull(charset);
+
+		return new WriterOutput(Channels.newWriter(channel, charset));
+	}
+
+	/**
+	 * Записывает текст в получатель.
+	 *
+	 * <p>Если получатель является {@link Writer}, текст передаётся ему массивами символов через буфер,
+	 * который записывается по окончании записи. Сам получатель не сбрасывается.</p>
+	 *
+	 * @param output получатель текста.
+	 * @param content запись текста.
+	 * @throws NullPointerException если в качестве {@code output} передан {@code null}.
+	 * @throws NullPointerException если в качестве {@code content} передан {@code null}.
+	 * @throws IOException если получатель не смог записать текст.
+	 */
+	static void write(@NotNull final Appendable output, @NotNull final Content content) throws IOException
+	{
+		Objects.requireNonNull(output);
+		Objects.requireNonNull(content);
+
+		if (output instanceof Writer writer)
+		{
+			final WriterOutput writerOutput = new WriterOutput(writer);
+
+			content.writeTo(writerOutput);
+			writerOutput.writeBuffer();
+
+			return;
+		}
+
+		content.writeTo(output);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public WriterOutput append(@Nullable final CharSequence csq) throws IOException
+	{
+		final CharSequence text = csq == null ? "null" : csq;
+
+		return this.append(text, 0, text.length());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param csq {@inheritDoc}
+	 * @param start {@inheritDoc}
+	 * @param end {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public WriterOutput append(@Nullable final CharSequence csq, final int start, final int end) throws IOException
+	{
+		final CharSequence text = csq == null ? "null" : csq;
+
+		Objects.checkFromToIndex(start, end, text.length());
+
+		int index = start;
+
+		while (index < end)
+		{
+			if (this.size == this.buffer.length) {
+				this.writeBuffer();
+			}
+
+			final int count = Math.min(end - index, this.buffer.length - this.size);
+
+			if (text instanceof String string) {
+				string.getChars(index, index + count, this.buffer, this.size);
+			}
+			else if (text instanceof StringBuilder builder) {
+				builder.getChars(index, index + count, this.buffer, this.size);
+			}
+			else
+			{
+				for (int offset = 0; offset < count; offset++) {
+					this.buffer[this.size + offset] = text.charAt(index + offset);
+				}
+			}
+
+			this.size += count;
+			index += count;
+		}
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param c {@inheritDoc}
+	 * @return {@inheritDoc}
+	 * @throws IOException {@inheritDoc}
+	 */
+	@NotNull
+	@Override
+	public WriterOutput append(final char c) throws IOException
+	{
+		if (this.size == this.buffer.length) {
+			this.writeBuffer();
+		}
+
+		this.buffer[this.size++] = c;
+
+		return this;
+	}
+
+	/**
+	 * Записывает символы из буфера и сбрасывает поток записи.
+	 *
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		this.writeBuffer();
+		this.writer.flush();
+	}
+
+	/**
+	 * Записывает символы из буфера, не сбрасывая поток записи.
+	 *
+	 * @throws IOException если произошла ошибка записи.
+	 */
+	void writeBuffer() throws IOException
+	{
+		if (this.size > 0)
+		{
+			this.writer.write(this.buffer, 0, this.size);
+			this.size = 0;
+		}
+	}
+
+	/**
+	 * Интерфейс записи текста в получатель.
+	 */
+	@FunctionalInterface
+	interface Content
+	{
+		/**
+		 * Записывает текст.
+		 *
+		 * @param output получатель текста.
+		 * @throws IOException если получатель не смог записать текст.
+		 */
+		void writeTo(@NotNull Appendable output) throws IOException;
+	}
+}
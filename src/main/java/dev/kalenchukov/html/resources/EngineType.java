@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html.resources;
+
+/**
+ * Перечисление типов механизмов обработки HTML.
+ *
+ * @author Алексей Каленчуков
+ */
+public enum EngineType
+{
+	/**
+	 * Лексический анализатор.
+	 *
+	 * <p>Текст просматривается за линейное время без регулярных выражений.</p>
+	 */
+	TOKENIZER,
+
+	/**
+	 * Регулярные выражения {@link Regexp}.
+	 */
+	REGEXP,
+
+	/**
+	 * Лексический анализатор, обрабатывающий части текста параллельно
+	 * в {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+	 *
+	 * <p>Результат совпадает с результатом {@link #TOKENIZER}. Текст делится на части
+	 * по символам {@literal «<»}, и части анализируются независимо. Если лексема, начавшаяся в одной части,
+	 * продолжается в следующей, например HTML-комментарий, область CDATA или значение параметра
+	 * HTML-тега с символом {@literal «<»}, следующая часть анализируется повторно с учётом этой лексемы.
+	 * Короткий текст, а также любой текст при одном доступном процессоре обрабатывается в текущем потоке.</p>
+	 */
+	PARALLEL;
+}
@@ -25,6 +25,7 @@
 package dev.kalenchukov.html.resources;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -4003,6 +4004,53 @@ public enum Entity
 	@NotNull
 	private final String unicode;
 
+	/**
+	 * Таблица HTML-сущностей по имени.
+	 *
+	 * <p>Хеш-таблица с открытой адресацией. При совпадении имён хранится первая объявленная HTML-сущность.</p>
+	 */
+	@Nullable
+	private static final Entity @NotNull [] NAMES;
+
+	/**
+	 * Таблица HTML-сущностей по коду специального символа.
+	 *
+	 * <p>При совпадении специальных символов хранится первая объявленная HTML-сущность.</p>
+	 */
+	@Nullable
+	private static final Entity @NotNull [] CODES;
+
+	static
+	{
+		final Entity[] entities = Entity.values();
+
+		int maxCode = 0;
+
+		for (Entity entity : entities) {
+			maxCode = Math.max(maxCode, entity.symbol);
+		}
+
+		NAMES = new Entity[Integer.highestOneBit(entities.length) << 2];
+		CODES = new Entity[maxCode + 1];
+
+		for (Entity entity : entities)
+		{
+			if (CODES[entity.symbol] == null) {
+				CODES[entity.symbol] = entity;
+			}
+
+			int slot = entity.name.hashCode() & (NAMES.length - 1);
+
+			while (NAMES[slot] != null && !NAMES[slot].name.equals(entity.name)) {
+				slot = (slot + 1) & (NAMES.length - 1);
+			}
+
+			if (NAMES[slot] == null) {
+				NAMES[slot] = entity;
+			}
+		}
+	}
+
 	/**
 	 * Конструктор для {@code Entity}.
 	 *
@@ -4144,4 +4192,176 @@ public enum Entity
 	{
 		return "&#X" + this.unicode + ";";
 	}
+
+	/**
+	 * Возвращает HTML-сущность по имени.
+	 *
+	 * @param name имя HTML-сущности, например {@code "lt"}.
+	 * @return HTML-сущность или {@code null}, если HTML-сущности с таким именем нет.
+	 * @throws NullPointerException если в качестве {@code name} передан {@code null}.
+	 */
+	@Nullable
+	public static Entity ofName(@NotNull final CharSequence name)
+	{
+		Objects.requireNonNull(name);
+
+		return Entity.ofName(name, 0, name.length());
+	}
+
+	/**
+	 * Возвращает HTML-сущность по имени, записанному в части текста.
+	 *
+	 * <p>Имя сравнивается с учётом регистра. Метод не создаёт объектов.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало имени в тексте.
+	 * @param end позиция за концом имени в тексте.
+	 * @return HTML-сущность или {@code null}, если HTML-сущности с таким именем нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если {@code start} и {@code end} выходят за границы {@code text}.
+	 */
+	@Nullable
+	public static Entity ofName(@NotNull final CharSequence text, final int start, final int end)
+	{
+		Objects.requireNonNull(text);
+		Objects.checkFromToIndex(start, end, text.length());
+
+		int hash = 0;
+
+		for (int index = start; index < end; index++) {
+			hash = 31 * hash + text.charAt(index);
+		}
+
+		int slot = hash & (NAMES.length - 1);
+
+		while (NAMES[slot] != null)
+		{
+			final String name = NAMES[slot].name;
+
+			if (name.length() == end - start && Entity.regionEquals(name, text, start)) {
+				return NAMES[slot];
+			}
+
+			slot = (slot + 1) & (NAMES.length - 1);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Возвращает HTML-сущность по коду специального символа.
+	 *
+	 * @param codePoint код специального символа.
+	 * @return HTML-сущность или {@code null}, если HTML-сущности для такого символа нет.
+	 */
+	@Nullable
+	public static Entity ofCodePoint(final int codePoint)
+	{
+		if (codePoint < 0 || codePoint >= CODES.length) {
+			return null;
+		}
+
+		return CODES[codePoint];
+	}
+
+	/**
+	 * Возвращает HTML-сущность по числу, записанному в части текста.
+	 *
+	 * <p>Часть текста должна состоять только из цифр, ведущие нули допускаются.
+	 * Например, для {@code "060"} будет возвращена {@link #LT}. Метод не создаёт объектов.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало числа в тексте.
+	 * @param end позиция за концом числа в тексте.
+	 * @return HTML-сущность или {@code null}, если HTML-сущности для такого числа нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если {@code start} и {@code end} выходят за границы {@code text}.
+	 */
+	@Nullable
+	public static Entity ofNumeric(@NotNull final CharSequence text, final int start, final int end)
+	{
+		Objects.requireNonNull(text);
+		Objects.checkFromToIndex(start, end, text.length());
+
+		return Entity.ofCodePoint(Entity.parseCode(text, start, end, 10));
+	}
+
+	/**
+	 * Возвращает HTML-сущность по шестнадцатеричному числу, записанному в части текста.
+	 *
+	 * <p>Часть текста должна состоять только из шестнадцатеричных цифр в любом регистре,
+	 * ведущие нули допускаются. Например, для {@code "3c"} будет возвращена {@link #LT}.
+	 * Метод не создаёт объектов.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало числа в тексте.
+	 * @param end позиция за концом числа в тексте.
+	 * @return HTML-сущность или {@code null}, если HTML-сущности для такого числа нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если {@code start} и {@code end} выходят за границы {@code text}.
+	 */
+	@Nullable
+	public static Entity ofUnicode(@NotNull final CharSequence text, final int start, final int end)
+	{
+		Objects.requireNonNull(text);
+		Objects.checkFromToIndex(start, end, text.length());
+
+		return Entity.ofCodePoint(Entity.parseCode(text, start, end, 16));
+	}
+
+	/**
+	 * Возвращает код специального символа, записанный в части текста.
+	 *
+	 * @param text текст.
+	 * @param start начало числа в тексте.
+	 * @param end позиция за концом числа в тексте.
+	 * @param radix основание системы счисления.
+	 * @return код специального символа или {@code -1}, если запись некорректна или код превышает допустимый.
+	 */
+	private static int parseCode(@NotNull final CharSequence text, final int start, final int end, final int radix)
+	{
+		if (start == end) {
+			return -1;
+		}
+
+		int code = 0;
+
+		for (int index = start; index < end; index++)
+		{
+			final char symbol = text.charAt(index);
+			final int digit = symbol < 128 ? Character.digit(symbol, radix) : -1;
+
+			if (digit < 0) {
+				return -1;
+			}
+
+			code = code * radix + digit;
+
+			if (code >= CODES.length) {
+				return -1;
+			}
+		}
+
+		return code;
+	}
+
+	/**
+	 * Проверяет, совпадает ли строка с частью текста.
+	 *
+	 * @param string строка.
+	 * @param text текст.
+	 * @param start начало части текста.
+	 * @return {@code true}, если совпадает, иначе {@code false}.
+	 */
+	private static boolean regionEquals(@NotNull final String string, @NotNull final CharSequence text, final int start)
+	{
+		for (int index = 0; index < string.length(); index++)
+		{
+			if (string.charAt(index) != text.charAt(start + index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
 }
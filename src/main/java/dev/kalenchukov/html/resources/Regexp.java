@@ -25,10 +25,21 @@
 package dev.kalenchukov.html.resources;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Перечисление шаблонов регулярных выражений.
  *
+ * <p>Повторения в шаблонах записаны сверхжадными квантификаторами там, где возврат
+ * не может привести к совпадению, поэтому незавершённые конструкции не вызывают
+ * многократного возврата и переполнения стека.</p>
+ *
  * @author Алексей Каленчуков
  */
 public enum Regexp
@@ -46,7 +57,7 @@ public enum Regexp
 	CDATA("cdata", """
 		(?<cdata>
 			<!\\[CDATA\\[
-			(?<value>((?!\\]\\]>).)*?)
+			(?<value>(?:(?!\\]\\]>).)*+)
 			\\]\\]>
 		)
 		"""),
@@ -57,7 +68,7 @@ public enum Regexp
 	 * <p>Требования:</p>
 	 * <ul>
 	 * 		<li>Должен начинаться с символа {@literal «<»};</li>
-	 * 		<li>Название тега должно состоять из букв;</li>
+	 * 		<li>Название тега должно начинаться с буквы и состоять из букв и цифр;</li>
 	 * 		<li>Название параметра должно состоять из букв, цифр и символов {@literal «-», «_»};</li>
 	 * 		<li>Значение параметра в двойных кавычках не может содержать символ {@literal «"»};</li>
 	 * 		<li>Значение параметра в одинарных кавычках не может содержать символы {@literal «'»};</li>
@@ -68,34 +79,34 @@ public enum Regexp
 	SELF_CLOSING_TAG("tag", """
 		(?<tag>
 		<
-		(?<name>[a-z]+)
+		(?<name>[a-z][0-9a-z]*)
 		(?<params>
-			(
-				\\s+
-				[0-9a-z\\-_]+
-				(
-					\\s*=\\s*
-					(
-						(
+			(?:
+				\\s++
+				[0-9a-z\\-_]++
+				(?:
+					\\s*+=\\s*+
+					(?:
+						(?:
 							(?:")
-							[^"]*
+							[^"]*+
 							(?:")
 						)
 						|
-						(
+						(?:
 							(?:')
-							[^']*
+							[^']*+
 							(?:')
 						)
 						|
-						(
-							[^"'=\\s<>`]+
+						(?:
+							(?:[^"'=\\s<>`/]|/(?!>))++
 						)
 					)
 				)?
-			)+
-		)*
-		\\s*
+			)++
+		)?
+		\\s*+
 		/>
 		)
 		"""),
@@ -106,7 +117,7 @@ public enum Regexp
 	 * <p>Требования:</p>
 	 * <ul>
 	 * 		<li>Должен начинаться с символа {@literal «<»};</li>
-	 * 		<li>Название тега должно состоять из букв;</li>
+	 * 		<li>Название тега должно начинаться с буквы и состоять из букв и цифр;</li>
 	 * 		<li>Название параметра должно состоять из букв, цифр и символов {@literal «-", «_»};</li>
 	 * 		<li>Значение параметра в двойных кавычках не может содержать символ {@literal «"»};</li>
 	 * 		<li>Значение параметра в одинарных кавычках не может содержать символы {@literal «'»};</li>
@@ -117,34 +128,34 @@ public enum Regexp
 	OPEN_TAG("tag", """
 		(?<tag>
 			<
-			(?<name>[a-z]+)
+			(?<name>[a-z][0-9a-z]*)
 			(?<params>
-				(
-					\\s+
-					[0-9a-z\\-_]+
-					(
-						\\s*=\\s*
-						(
-							(
+				(?:
+					\\s++
+					[0-9a-z\\-_]++
+					(?:
+						\\s*+=\\s*+
+						(?:
+							(?:
 								(?:")
-								[^"]*
+								[^"]*+
 								(?:")
 							)
 							|
-							(
+							(?:
 								(?:')
-								[^']*
+								[^']*+
 								(?:')
 							)
 							|
-							(
-								[^"'=\\s<>`/]+
+							(?:
+								[^"'=\\s<>`/]++
 							)
 						)
 					)?
-				)+
-			)*
-			\\s*
+				)++
+			)?
+			\\s*+
 			>
 		)
 		"""),
@@ -155,15 +166,15 @@ public enum Regexp
 	 * <p>Требования:</p>
 	 * <ul>
 	 * 		<li>Должен начинаться со строки {@literal «</»};</li>
-	 * 		<li>Должен состоять из букв;</li>
+	 * 		<li>Название тега должно начинаться с буквы и состоять из букв и цифр;</li>
 	 * 		<li>Должен заканчиваться символом {@literal «>»}.</li>
 	 * </ul>
 	 */
 	CLOSE_TAG("tag", """
 		(?<tag>
 			</
-			(?<name>[a-z]+)
-			\\s*
+			(?<name>[a-z][0-9a-z]*)
+			\\s*+
 			>
 		)
 		"""),
@@ -185,7 +196,7 @@ public enum Regexp
 		(?<comment>
 			<!--
 			(?!(<|->))
-			(?<value>((?!<!--|-->|--!>).)*?)
+			(?<value>(?:(?!<!--|-->|--!>).)*+)
 			(?!(<!-))
 			-->
 		)
@@ -254,9 +265,9 @@ public enum Regexp
 	 */
 	ENTITY_NAME("entity", """
 		(?<entity>
-			(?=.{4,})
+			(?=.{4})
 			&
-			(?![0-9]+)
+			(?![0-9])
 			(?<name>[0-9A-Z]+)
 			;
 		)
@@ -275,8 +286,9 @@ public enum Regexp
 	 */
 	ENTITY_UNICODE("entity", """
 		(?<entity>
-			(?=.{6,})
+			(?=.{6})
 			&#X
+			(?=[0-9A-F]++;)
 			(?<unicode>
 				0*
 				(?<unicodeLeast>[0-9A-F]+)
@@ -298,8 +310,9 @@ public enum Regexp
 	 */
 	ENTITY_NUMERIC("entity", """
 		(?<entity>
-			(?=.{5,})
+			(?=.{5})
 			&#
+			(?=[0-9]++;)
 			(?<numeric>
 				0*
 				(?<numericLeast>[0-9]+)
@@ -315,20 +328,36 @@ public enum Regexp
 	private final String group;
 
 	/**
-	 * Шаблон регулярного выражения.
+	 * Шаблон регулярного выражения без пробельных символов форматирования.
 	 */
 	@NotNull
 	private final String pattern;
 
+	/**
+	 * Именованные группы регулярного выражения.
+	 */
+	@NotNull
+	private final List<@NotNull String> groups;
+
 	/**
 	 * Конструктор для {@code Regexp}.
 	 *
+	 * @param group основная группа регулярного выражения.
 	 * @param pattern шаблон регулярного выражения.
 	 */
 	Regexp(@NotNull final String group, @NotNull final String pattern)
 	{
 		this.group = group;
-		this.pattern = pattern;
+		this.pattern = pattern.replaceAll("[\n\t\s]*", "");
+
+		final List<String> groups = new ArrayList<>();
+		final Matcher matcher = Pattern.compile("\\(\\?<([a-zA-Z][a-zA-Z0-9]*)>").matcher(this.pattern);
+
+		while (matcher.find()) {
+			groups.add(matcher.group(1));
+		}
+
+		this.groups = Collections.unmodifiableList(groups);
 	}
 
 	/**
@@ -342,6 +371,18 @@ public enum Regexp
 		return this.group;
 	}
 
+	/**
+	 * Возвращает все именованные группы регулярного выражения.
+	 *
+	 * @return коллекцию имён групп в порядке их следования в шаблоне, начиная с основной группы.
+	 */
+	@Unmodifiable
+	@NotNull
+	public List<@NotNull String> getGroups()
+	{
+		return this.groups;
+	}
+
 	/**
 	 * Возвращает шаблон регулярного выражения.
 	 *
@@ -350,6 +391,6 @@ public enum Regexp
 	@NotNull
 	public String getPattern()
 	{
-		return this.pattern.replaceAll("[\n\t\s]*", "");
+		return this.pattern;
 	}
 }
@@ -25,6 +25,9 @@
 package dev.kalenchukov.html.resources;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
 
 /**
  * Перечисление HTML-тегов.
@@ -714,6 +717,32 @@ public enum Tag
 	@NotNull
 	private final String name;
 
+	/**
+	 * Таблица HTML-тегов по названию.
+	 *
+	 * <p>Хеш-таблица с открытой адресацией. Хеш вычисляется по названию в нижнем регистре.</p>
+	 */
+	@Nullable
+	private static final Tag @NotNull [] NAMES;
+
+	static
+	{
+		final Tag[] tags = Tag.values();
+
+		NAMES = new Tag[Integer.highestOneBit(tags.length) << 2];
+
+		for (Tag tag : tags)
+		{
+			int slot = Tag.hash(tag.name, 0, tag.name.length()) & (NAMES.length - 1);
+
+			while (NAMES[slot] != null) {
+				slot = (slot + 1) & (NAMES.length - 1);
+			}
+
+			NAMES[slot] = tag;
+		}
+	}
+
 	/**
 	 * Конструктор для {@code Tag}.
 	 *
@@ -734,4 +763,116 @@ public enum Tag
 	{
 		return this.name;
 	}
+
+	/**
+	 * Возвращает HTML-тег по названию.
+	 *
+	 * @param name название HTML-тега, например {@code "div"}.
+	 * @return HTML-тег или {@code null}, если HTML-тега с таким названием нет.
+	 * @throws NullPointerException если в качестве {@code name} передан {@code null}.
+	 */
+	@Nullable
+	public static Tag ofName(@NotNull final CharSequence name)
+	{
+		Objects.requireNonNull(name);
+
+		return Tag.ofName(name, 0, name.length());
+	}
+
+	/**
+	 * Возвращает HTML-тег по названию, записанному в части текста.
+	 *
+	 * <p>Название сравнивается без учёта регистра, как в регулярных выражениях с флагами
+	 * {@link java.util.regex.Pattern#CASE_INSENSITIVE} и {@link java.util.regex.Pattern#UNICODE_CASE}.
+	 * Метод не создаёт объектов.</p>
+	 *
+	 * @param text текст.
+	 * @param start начало названия в тексте.
+	 * @param end позиция за концом названия в тексте.
+	 * @return HTML-тег или {@code null}, если HTML-тега с таким названием нет.
+	 * @throws NullPointerException если в качестве {@code text} передан {@code null}.
+	 * @throws IndexOutOfBoundsException если {@code start} и {@code end} выходят за границы {@code text}.
+	 */
+	@Nullable
+	public static Tag ofName(@NotNull final CharSequence text, final int start, final int end)
+	{
+		Objects.requireNonNull(text);
+		Objects.checkFromToIndex(start, end, text.length());
+
+		int slot = Tag.hash(text, start, end) & (NAMES.length - 1);
+
+		while (NAMES[slot] != null)
+		{
+			final String name = NAMES[slot].name;
+
+			if (name.length() == end - start && Tag.regionEqualsIgnoreCase(name, text, start)) {
+				return NAMES[slot];
+			}
+
+			slot = (slot + 1) & (NAMES.length - 1);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Вычисляет хеш части текста без учёта регистра.
+	 *
+	 * @param text текст.
+	 * @param start начало части текста.
+	 * @param end позиция за концом части текста.
+	 * @return хеш.
+	 */
+	private static int hash(@NotNull final CharSequence text, final int start, final int end)
+	{
+		int hash = 0;
+
+		for (int index = start; index < end; index++) {
+			hash = 31 * hash + Tag.foldCase(text.charAt(index));
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Сравнивает строку с частью текста без учёта регистра.
+	 *
+	 * @param string строка в нижнем регистре.
+	 * @param text текст.
+	 * @param start начало части текста.
+	 * @return {@code true}, если совпадают, иначе {@code false}.
+	 */
+	private static boolean regionEqualsIgnoreCase(@NotNull final String string,
+												  @NotNull final CharSequence text,
+												  final int start)
+	{
+		for (int index = 0; index < string.length(); index++)
+		{
+			if (string.charAt(index) != Tag.foldCase(text.charAt(start + index))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Приводит символ к виду для сравнения без учёта регистра.
+	 *
+	 * @param symbol символ.
+	 * @return символ в нижнем регистре после перевода в верхний регистр.
+	 */
+	private static char foldCase(final char symbol)
+	{
+		if (symbol < 128)
+		{
+			if (symbol >= 'A' && symbol <= 'Z') {
+				return (char) (symbol + ('a' - 'A'));
+			}
+
+			return symbol;
+		}
+
+		return Character.toLowerCase(Character.toUpperCase(symbol));
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html.resources;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Перечисление типов лексем HTML.
+ *
+ * <p>Каждому типу соответствует регулярное выражение {@link Regexp},
+ * которое распознаёт лексемы этого типа.</p>
+ *
+ * @author Алексей Каленчуков
+ */
+public enum TokenType
+{
+	/**
+	 * Область CDATA.
+	 */
+	CDATA(Regexp.CDATA),
+
+	/**
+	 * Самозакрывающийся HTML-тег.
+	 */
+	SELF_CLOSING_TAG(Regexp.SELF_CLOSING_TAG),
+
+	/**
+	 * Открывающий HTML-тег.
+	 */
+	OPEN_TAG(Regexp.OPEN_TAG),
+
+	/**
+	 * Закрывающий HTML-тег.
+	 */
+	CLOSE_TAG(Regexp.CLOSE_TAG),
+
+	/**
+	 * HTML-комментарий.
+	 */
+	COMMENT(Regexp.COMMENT),
+
+	/**
+	 * Тип HTML-документа.
+	 */
+	DOCTYPE(Regexp.DOCTYPE),
+
+	/**
+	 * HTML-сущность в виде имени.
+	 */
+	ENTITY_NAME(Regexp.ENTITY_NAME),
+
+	/**
+	 * HTML-сущность в виде unicode.
+	 */
+	ENTITY_UNICODE(Regexp.ENTITY_UNICODE),
+
+	/**
+	 * HTML-сущность в виде числа.
+	 */
+	ENTITY_NUMERIC(Regexp.ENTITY_NUMERIC);
+
+	/**
+	 * Регулярное выражение.
+	 */
+	@NotNull
+	private final Regexp regexp;
+
+	/**
+	 * Конструктор для {@code TokenType}.
+	 *
+	 * @param regexp регулярное выражение.
+	 */
+	TokenType(@NotNull final Regexp regexp)
+	{
+		this.regexp = regexp;
+	}
+
+	/**
+	 * Возвращает регулярное выражение, которое распознаёт лексемы этого типа.
+	 *
+	 * @return регулярное выражение.
+	 */
+	@NotNull
+	public Regexp getRegexp()
+	{
+		return this.regexp;
+	}
+
+	/**
+	 * Возвращает тип лексемы HTML-тега.
+	 *
+	 * @param tagType тип HTML-тега.
+	 * @return тип лексемы.
+	 * @throws NullPointerException если в качестве {@code tagType} передан {@code null}.
+	 */
+	@NotNull
+	public static TokenType ofTagType(@NotNull final TagType tagType)
+	{
+		Objects.requireNonNull(tagType);
+
+		return switch (tagType)
+			{
+				case SELF_CLOSING: yield SELF_CLOSING_TAG;
+				case OPEN: yield OPEN_TAG;
+				case CLOSE: yield CLOSE_TAG;
+			};
+	}
+
+	/**
+	 * Возвращает тип лексемы HTML-сущности.
+	 *
+	 * @param entityType тип HTML-сущности.
+	 * @return тип лексемы.
+	 * @throws NullPointerException если в качестве {@code entityType} передан {@code null}.
+	 */
+	@NotNull
+	public static TokenType ofEntityType(@NotNull final EntityType entityType)
+	{
+		Objects.requireNonNull(entityType);
+
+		return switch (entityType)
+			{
+				case NAME: yield ENTITY_NAME;
+				case NUMERIC: yield ENTITY_NUMERIC;
+				case UNICODE: yield ENTITY_UNICODE;
+			};
+	}
+}
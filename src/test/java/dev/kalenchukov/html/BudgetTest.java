@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link Budget}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class BudgetTest
+{
+	/**
+	 * Проверка метода {@link Budget#unlimited()}.
+	 */
+	@Test
+	public void unlimited()
+	{
+		Budget budget = Budget.unlimited();
+
+		assertThat(budget.isUnlimited()).isTrue();
+		assertThat(budget.getMaxSteps()).isEqualTo(Long.MAX_VALUE);
+		assertThat(budget.getTimeout()).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Budget#ofSteps(long)}.
+	 */
+	@Test
+	public void ofSteps()
+	{
+		Budget budget = Budget.ofSteps(1000);
+
+		assertThat(budget.isUnlimited()).isFalse();
+		assertThat(budget.getMaxSteps()).isEqualTo(1000);
+		assertThat(budget.getTimeout()).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Budget#ofSteps(long)} с некорректным значением.
+	 */
+	@Test
+	public void ofStepsNotCorrect()
+	{
+		assertThatThrownBy(() -> Budget.ofSteps(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка метода {@link Budget#ofTimeout(Duration)}.
+	 */
+	@Test
+	public void ofTimeout()
+	{
+		Budget budget = Budget.ofTimeout(Duration.ofMillis(100));
+
+		assertThat(budget.isUnlimited()).isFalse();
+		assertThat(budget.getMaxSteps()).isEqualTo(Long.MAX_VALUE);
+		assertThat(budget.getTimeout()).isEqualTo(Duration.ofMillis(100));
+	}
+
+	/**
+	 * Проверка метода {@link Budget#ofTimeout(Duration)} с некорректным значением.
+	 */
+	@Test
+	public void ofTimeoutNotCorrect()
+	{
+		assertThatThrownBy(() -> Budget.ofTimeout(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Budget.ofTimeout(Duration.ofMillis(-1))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка методов {@link Budget#withSteps(long)} и {@link Budget#withTimeout(Duration)}.
+	 */
+	@Test
+	public void withStepsTimeout()
+	{
+		Budget budget = Budget.ofSteps(1000).withTimeout(Duration.ofSeconds(1)).withSteps(2000);
+
+		assertThat(budget.getMaxSteps()).isEqualTo(2000);
+		assertThat(budget.getTimeout()).isEqualTo(Duration.ofSeconds(1));
+	}
+}
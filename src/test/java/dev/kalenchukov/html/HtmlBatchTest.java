@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlBatch}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlBatchTest
+{
+	/**
+	 * Исполнитель операций.
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(8);
+
+	/**
+	 * Завершает работу исполнителя операций.
+	 */
+	@AfterAll
+	public static void shutdown()
+	{
+		EXECUTOR.shutdown();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Iterable)}.
+	 */
+	@Test
+	public void apply()
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteComments().deleteTags().decodeEntities().build();
+		HtmlBatch<String> batch = HtmlBatch.builder(pipeline::apply).setExecutor(EXECUTOR).build();
+
+		List<String> texts = IntStream.range(0, 1000)
+			.mapToObj(index -> "<!-- " + index + " --><i>" + index + "&lt;</i>")
+			.collect(Collectors.toList());
+
+		List<String> expected = IntStream.range(0, 1000)
+			.mapToObj(index -> index + "<")
+			.collect(Collectors.toList());
+
+		assertThat(batch.apply(texts)).isEqualTo(expected);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Iterable)} с пустой коллекцией текстов.
+	 */
+	@Test
+	public void applyEmpty()
+	{
+		HtmlBatch<String> batch = HtmlBatch.builder(text -> text).build();
+
+		assertThat(batch.apply(List.of())).isEmpty();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Stream)}.
+	 */
+	@Test
+	public void applyStream()
+	{
+		HtmlBatch<List<String>> batch = HtmlBatch.builder(text -> new Html(text).findTags())
+			.setExecutor(EXECUTOR)
+			.build();
+
+		assertThat(batch.apply(Stream.of("<b>x</b>", "x", "<br/>"))).containsExactly(
+			List.of("<b>", "</b>"),
+			List.of(),
+			List.of("<br/>")
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Iterable, java.util.function.Consumer)}.
+	 */
+	@Test
+	public void applyConsumer()
+	{
+		HtmlBatch<Integer> batch = HtmlBatch.builder(String::length).setExecutor(EXECUTOR).setWindowSize(3).build();
+		List<Integer> actual = new ArrayList<>();
+
+		batch.apply(Arrays.asList("a", "bb", "ccc", "dddd", "eeeee"), actual::add);
+
+		assertThat(actual).containsExactly(1, 2, 3, 4, 5);
+	}
+
+	/**
+	 * Проверка ограничения количества одновременно обрабатываемых текстов.
+	 */
+	@Test
+	public void applyWindowSize()
+	{
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		AtomicInteger read = new AtomicInteger();
+
+		HtmlBatch<Integer> batch = HtmlBatch.<Integer>builder(text -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				sleep();
+				active.decrementAndGet();
+
+				return Integer.parseInt(text);
+			})
+			.setExecutor(EXECUTOR)
+			.setWindowSize(3)
+			.build();
+
+		List<Integer> actual = new ArrayList<>();
+
+		batch.apply(
+			IntStream.range(0, 30).mapToObj(String::valueOf).peek(text -> read.incrementAndGet()),
+			result -> {
+				assertThat(read.get()).isLessThanOrEqualTo(result + 4);
+				actual.add(result);
+			}
+		);
+
+		assertThat(actual).isEqualTo(IntStream.range(0, 30).boxed().collect(Collectors.toList()));
+		assertThat(maxActive.get()).isLessThanOrEqualTo(3);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Iterable)} с исключением в операции.
+	 */
+	@Test
+	public void applyException()
+	{
+		HtmlBatch<Integer> batch = HtmlBatch.builder(Integer::parseInt).setExecutor(EXECUTOR).build();
+
+		assertThatThrownBy(() -> batch.apply(List.of("1", "<!-- длинный комментарий", "3")))
+			.isInstanceOf(NumberFormatException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch#apply(Iterable)} с {@code null} в качестве текста.
+	 */
+	@Test
+	public void applyNull()
+	{
+		HtmlBatch<String> batch = HtmlBatch.builder(text -> text).build();
+
+		assertThatThrownBy(() -> batch.apply(Arrays.asList("x", null)))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlBatch.Builder#setWindowSize(int)} с некорректным значением.
+	 */
+	@Test
+	public void setWindowSizeNotCorrect()
+	{
+		assertThatThrownBy(() -> HtmlBatch.builder(text -> text).setWindowSize(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка методов {@link HtmlBatch#getExecutor()} и {@link HtmlBatch#getWindowSize()}.
+	 */
+	@Test
+	public void build()
+	{
+		HtmlBatch<String> batch = HtmlBatch.builder(text -> text).build();
+
+		assertThat(batch.getExecutor()).isSameAs(ForkJoinPool.commonPool());
+		assertThat(batch.getWindowSize()).isEqualTo(Runtime.getRuntime().availableProcessors() * 4);
+		assertThat(HtmlBatch.builder(text -> text).setWindowSize(5).build().getWindowSize()).isEqualTo(5);
+	}
+
+	/**
+	 * Приостанавливает поток.
+	 */
+	private static void sleep()
+	{
+		try {
+			Thread.sleep(2);
+		}
+		catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
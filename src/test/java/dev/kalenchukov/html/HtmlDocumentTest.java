@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.NodeType;
+import dev.kalenchukov.html.resources.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlDocument}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlDocumentTest
+{
+	/**
+	 * Проверка метода {@link HtmlDocument#parse(CharSequence)}.
+	 */
+	@Test
+	public void parse()
+	{
+		String text = "<!DOCTYPE html><div><p>Текст&amp;<br>ещё</p><!-- a --></div>";
+		HtmlDocument document = HtmlDocument.parse(text);
+
+		int[] root = document.getChildren(HtmlDocument.ROOT);
+
+		assertThat(root).hasSize(2);
+		assertThat(document.getType(root[0])).isEqualTo(NodeType.DOCTYPE);
+		assertThat(document.getType(root[1])).isEqualTo(NodeType.ELEMENT);
+		assertThat(document.getTag(root[1])).isEqualTo(Tag.DIV);
+		assertThat(document.getSource(root[1]).toString()).isEqualTo("<div><p>Текст&amp;<br>ещё</p><!-- a --></div>");
+
+		int[] div = document.getChildren(root[1]);
+
+		assertThat(div).hasSize(2);
+		assertThat(document.getTag(div[0])).isEqualTo(Tag.P);
+		assertThat(document.getType(div[1])).isEqualTo(NodeType.COMMENT);
+
+		int[] p = document.getChildren(div[0]);
+
+		assertThat(p).hasSize(4);
+		assertThat(document.getType(p[0])).isEqualTo(NodeType.TEXT);
+		assertThat(document.getType(p[1])).isEqualTo(NodeType.ENTITY);
+		assertThat(document.getTag(p[2])).isEqualTo(Tag.BR);
+		assertThat(document.getFirstChild(p[2])).isEqualTo(HtmlDocument.NONE);
+		assertThat(document.getParent(p[3])).isEqualTo(div[0]);
+		assertThat(document.getNodeCount()).isEqualTo(9);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#parse(CharSequence)} с незакрытыми HTML-элементами.
+	 */
+	@Test
+	public void parseUnclosed()
+	{
+		String text = "<ul><li>a<li>b</ul></span><custom><Custom>c</CUSTOM>";
+		HtmlDocument document = HtmlDocument.parse(text);
+
+		int[] root = document.getChildren(HtmlDocument.ROOT);
+
+		assertThat(root).hasSize(2);
+		assertThat(document.getEnd(root[0])).isEqualTo(text.indexOf("</span>"));
+
+		int[] item = document.getChildren(root[0]);
+
+		assertThat(item).hasSize(2);
+		assertThat(document.getTag(item[0])).isEqualTo(Tag.LI);
+		assertThat(document.getSource(item[0]).toString()).isEqualTo("<li>a");
+		assertThat(document.getTag(item[1])).isEqualTo(Tag.LI);
+		assertThat(document.getSource(item[1]).toString()).isEqualTo("<li>b");
+
+		int[] custom = document.getChildren(root[1]);
+
+		assertThat(document.getTag(root[1])).isNull();
+		assertThat(document.getSource(custom[0]).toString()).isEqualTo("<Custom>c</CUSTOM>");
+		assertThat(document.getEnd(root[1])).isEqualTo(text.length());
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#parse(CharSequence)} с необязательными закрывающими HTML-тегами.
+	 */
+	@Test
+	public void parseImpliedEnd()
+	{
+		HtmlDocument document = HtmlDocument.parse("""
+			<dl><dt>a<dd>b<dt>c</dl>\
+			<table><thead><tr><th>d<th>e<tbody><tr><td>f<tr><td>g</table>\
+			<select><optgroup><option>h<option>i<optgroup><option>j</select>\
+			<p>k<p>l<div>m</div><p><span>n<ul><li>o<ul><li>p</ul><li>q<p>r<li>s</ul>\
+			<table><tr><td><p>t</td></tr></table>""");
+
+		assertThat(this.sources(document, document.getTagIndex(Tag.DL)[0]))
+			.containsExactly("<dt>a", "<dd>b", "<dt>c");
+		assertThat(this.sources(document, document.getTagIndex(Tag.THEAD)[0]))
+			.containsExactly("<tr><th>d<th>e");
+		assertThat(this.sources(document, document.getTagIndex(Tag.TBODY)[0]))
+			.containsExactly("<tr><td>f", "<tr><td>g");
+		assertThat(this.sources(document, document.getTagIndex(Tag.TR)[0]))
+			.containsExactly("<th>d", "<th>e");
+		assertThat(this.sources(document, document.getTagIndex(Tag.SELECT)[0]))
+			.containsExactly("<optgroup><option>h<option>i", "<optgroup><option>j");
+		assertThat(this.sources(document, document.getTagIndex(Tag.OPTGROUP)[0]))
+			.containsExactly("<option>h", "<option>i");
+
+		int[] paragraphs = document.getTagIndex(Tag.P);
+
+		assertThat(document.getSource(paragraphs[0]).toString()).isEqualTo("<p>k");
+		assertThat(document.getSource(paragraphs[1]).toString()).isEqualTo("<p>l");
+		assertThat(document.getSource(paragraphs[2]).toString()).isEqualTo("<p><span>n");
+		assertThat(document.getSource(paragraphs[3]).toString()).isEqualTo("<p>r");
+		assertThat(document.getSource(paragraphs[4]).toString()).isEqualTo("<p>t");
+
+		int[] lists = document.getTagIndex(Tag.UL);
+
+		assertThat(document.getParent(lists[0])).isEqualTo(HtmlDocument.ROOT);
+		assertThat(this.sources(document, lists[0]))
+			.containsExactly("<li>o<ul><li>p</ul>", "<li>q<p>r", "<li>s");
+		assertThat(this.sources(document, lists[1])).containsExactly("<li>p");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#getTextContent(int)}.
+	 */
+	@Test
+	public void getTextContent()
+	{
+		HtmlDocument document = HtmlDocument.parse("<p>a&lt;<b>b&#62;</b>&unknownx;<!-- c --></p>d");
+
+		assertThat(document.getTextContent(document.getFirstChild(HtmlDocument.ROOT))).isEqualTo("a<b>&unknownx;");
+		assertThat(document.getTextContent(HtmlDocument.ROOT)).isEqualTo("a<b>&unknownx;d");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#isDescendant(int, int)}.
+	 */
+	@Test
+	public void isDescendant()
+	{
+		HtmlDocument document = HtmlDocument.parse("<div><p>a</p></div><span>b</span>");
+
+		int div = document.getFirstChild(HtmlDocument.ROOT);
+		int text = document.getFirstChild(document.getFirstChild(div));
+
+		assertThat(document.isDescendant(text, div)).isTrue();
+		assertThat(document.isDescendant(text, HtmlDocument.ROOT)).isTrue();
+		assertThat(document.isDescendant(document.getNextSibling(div), div)).isFalse();
+		assertThat(document.isDescendant(div, text)).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#getAttribute(int, String)}.
+	 */
+	@Test
+	public void getAttribute()
+	{
+		HtmlDocument document = HtmlDocument.parse("<input TYPE=text disabled value='a&amp;b'/>Текст");
+
+		int input = document.getFirstChild(HtmlDocument.ROOT);
+
+		assertThat(document.getAttribute(input, "type")).isEqualTo("text");
+		assertThat(document.getAttribute(input, "disabled")).isEmpty();
+		assertThat(document.getAttribute(input, "Value")).isEqualTo("a&amp;b");
+		assertThat(document.getAttribute(input, "name")).isNull();
+		assertThat(document.getAttribute(document.getNextSibling(input), "type")).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#getElementById(String)}.
+	 */
+	@Test
+	public void getElementById()
+	{
+		HtmlDocument document = HtmlDocument.parse("<p id=a>1</p><p id=\"b\">2</p><p id=\"b\">3</p>");
+
+		assertThat(document.getTextContent(document.getElementById("b"))).isEqualTo("2");
+		assertThat(document.getElementById("a")).isEqualTo(document.getFirstChild(HtmlDocument.ROOT));
+		assertThat(document.getElementById("B")).isEqualTo(HtmlDocument.NONE);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#select(String)}.
+	 */
+	@Test
+	public void select()
+	{
+		HtmlDocument document = HtmlDocument.parse("<div class='price'><span>1</span></div><span>2</span>");
+
+		assertThat(document.select("div.price > span")).containsExactly(2);
+		assertThat(document.select("span")).containsExactly(2, 4);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlDocument#getType(int)} с номером несуществующего узла.
+	 */
+	@Test
+	public void getTypeOutOfBounds()
+	{
+		HtmlDocument document = HtmlDocument.parse("");
+
+		assertThat(document.getNodeCount()).isEqualTo(1);
+		assertThat(document.getType(HtmlDocument.ROOT)).isEqualTo(NodeType.DOCUMENT);
+
+		assertThatThrownBy(() -> document.getType(1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	/**
+	 * Возвращает тексты дочерних узлов.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param node номер узла.
+	 * @return тексты дочерних узлов.
+	 */
+	private List<String> sources(HtmlDocument document, int node)
+	{
+		List<String> sources = new ArrayList<>();
+
+		for (int child : document.getChildren(node)) {
+			sources.add(document.getSource(child).toString());
+		}
+
+		return sources;
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link HtmlMinifier}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlMinifierTest
+{
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)}.
+	 */
+	@Test
+	public void minify() throws IOException
+	{
+		String value = """
+			<!DOCTYPE html>
+			<HTML LANG="ru">
+				<Body  Class = "main"   ID='x y'>
+					<!-- удаляется -->
+					<!--[if IE]><p>IE</p><![endif]-->
+					<P>Первая    строка &amp;
+					вторая</P> <b>a</b>
+				</BODY>
+			</HTML>
+			""";
+
+		assertThat(this.minify(value)).isEqualTo(
+			"<!DOCTYPE html><html LANG=ru><body Class=main ID='x y'><!--[if IE]><p>IE</p><![endif]-->"
+				+ "<p>Первая строка &amp; вторая</p><b>a</b></body></html>"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} с пробельными символами
+	 * между HTML-тегами.
+	 */
+	@Test
+	public void minifySpacesBetweenTags() throws IOException
+	{
+		String inline = "<p>Hello <b>big</b>\n<i>world</i></p>";
+		String comment = "<b>a</b>\n\t<!-- - -->\n<i>b</i>";
+		String block = "\n<ul>\n\t<li><b>a</b>\n</li>\n\t<li>b<br>\n<i>c</i></li>\n</ul>\n";
+
+		assertThat(this.minify(inline)).isEqualTo("<p>Hello <b>big</b> <i>world</i></p>");
+		assertThat(this.minify(comment)).isEqualTo("<b>a</b> <i>b</i>");
+		assertThat(this.minify(block)).isEqualTo("<ul><li><b>a</b></li><li>b<br><i>c</i></li></ul>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} с HTML-комментариями,
+	 * удаление которых образует новые HTML-комментарии или HTML-теги.
+	 */
+	@Test
+	public void minifyCommentsJoiningText() throws IOException
+	{
+		String nested = "<!-- <!-- --> <p>a</p> -->";
+		String conditional = "<!--[if IE]>#<li><!----><![endif]-->";
+		String crossing = "<!-- <b> <!--x--> <i>c</i> -->";
+		String bracket = "<p<!--x-->/><b>a</b><!--y-->";
+
+		assertThat(this.minify(nested)).isEqualTo("<!-- <!-- --><p>a</p>-->");
+		assertThat(this.minify(conditional)).isEqualTo("<!--[if IE]>#<li><!----><![endif]-->");
+		assertThat(this.minify(crossing)).isEqualTo("<!-- <b> <!--x--> <i>c</i> -->");
+		assertThat(this.minify(bracket)).isEqualTo("<p<!--x-->/><b>a</b>");
+
+		for (String value : List.of(nested, conditional, crossing, bracket)) {
+			assertThat(this.attributes(this.minify(value))).isEqualTo(this.attributes(value));
+		}
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} с пробельными символами
+	 * по обе стороны от удалённого HTML-комментария.
+	 */
+	@Test
+	public void minifySpacesAroundComment() throws IOException
+	{
+		assertThat(this.minify("<p>a <!--x--> b</p>")).isEqualTo("<p>a b</p>");
+		assertThat(this.minify("<p>a<!--x--> b <!--y--> <!--z-->\n c</p>")).isEqualTo("<p>a b c</p>");
+		assertThat(this.minify("<p> <!--x--> a <!--y--> </p>")).isEqualTo("<p>a</p>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} с содержимым,
+	 * в котором пробельные символы сохраняются.
+	 */
+	@Test
+	public void minifyPreserved() throws IOException
+	{
+		String value = "<PRE>  a\n  <I> b </I>\n</PRE>\n<textarea> c  </textarea>\n<script>  if (a  <b) {}\n</script>";
+
+		assertThat(this.minify(value)).isEqualTo(
+			"<pre>  a\n  <i> b </i>\n</pre><textarea> c  </textarea> <script>  if (a  <b) {}\n</script>"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} со значениями параметров.
+	 */
+	@Test
+	public void minifyAttributes() throws IOException
+	{
+		String value = "<a href=\"/a\" title=\"\" data-x=\"a=b\" hidden>a</a><img src=\"a.png\"/><img alt='a/'/><br />";
+
+		assertThat(this.minify(value)).isEqualTo(
+			"<a href=\"/a\" title=\"\" data-x=\"a=b\" hidden>a</a><img src=a.png /><img alt='a/'/><br/>"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)} со значениями параметров
+	 * без кавычек, которые заканчиваются символом {@literal «/»}.
+	 */
+	@Test
+	public void minifyUnquotedSlash() throws IOException
+	{
+		String image = "<img src=a/ />";
+		String line = "<br data-x=/ />";
+		String spaced = "<img src = a/b/ alt=c />";
+
+		assertThat(this.minify(image)).isEqualTo("<img src=\"a/\"/>");
+		assertThat(this.minify(line)).isEqualTo("<br data-x=\"/\"/>");
+		assertThat(this.minify(spaced)).isEqualTo("<img src=\"a/b/\" alt=c />");
+		assertThat(this.attributes(this.minify(image))).isEqualTo(this.attributes(image));
+		assertThat(this.attributes(this.minify(line))).isEqualTo(this.attributes(line));
+		assertThat(this.attributes(this.minify(spaced))).isEqualTo(this.attributes(spaced));
+	}
+
+	/**
+	 * Проверка метода {@link HtmlMinifier#minify(CharSequence, Appendable)}
+	 * на сохранение HTML-тегов и их параметров.
+	 */
+	@Test
+	public void minifySameTags() throws IOException
+	{
+		String value = """
+			<div  class="a b" data-id = 'x' >
+				<img src = "/i.png" alt="Картинка" />
+				<input type=text value='a"b' disabled/>
+			</div>
+			""";
+
+		assertThat(this.attributes(this.minify(value))).isEqualTo(this.attributes(value));
+	}
+
+	/**
+	 * Возвращает сжатый HTML.
+	 *
+	 * @param value текст.
+	 * @return сжатый текст.
+	 */
+	private String minify(String value) throws IOException
+	{
+		StringBuilder result = new StringBuilder();
+		HtmlMinifier.minify(value, result);
+
+		return result.toString();
+	}
+
+	/**
+	 * Возвращает типы HTML-тегов и их параметры.
+	 *
+	 * @param value текст.
+	 * @return типы HTML-тегов и их параметры по порядку.
+	 */
+	private List<String> attributes(String value)
+	{
+		HtmlReader reader = new HtmlReader(value);
+		List<String> result = new ArrayList<>();
+
+		while (reader.next())
+		{
+			if (!EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG, TokenType.CLOSE_TAG).contains(reader.getTokenType())) {
+				continue;
+			}
+
+			result.add(reader.getTokenType() + " " + reader.getTagName());
+
+			for (int index = 0; index < reader.getAttributeCount(); index++) {
+				result.add(reader.getAttributeName(index) + "=" + reader.getAttributeValue(index));
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlParser}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlParserTest
+{
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)}.
+	 */
+	@Test
+	public void parse()
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P><x-y>&#60;";
+
+		RecordingHandler handler = new RecordingHandler();
+		HtmlParser.parse(value, handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument",
+			"doctype <!DOCTYPE html>",
+			"startTag P <p class=\"a&amp;b\">",
+			"text Текст",
+			"entity NBSP &nbsp;",
+			"selfClosingTag BR <br/>",
+			"comment <!-- - -->",
+			"cdata <![CDATA[<x>]]>",
+			"endTag P </P>",
+			"text <x-y>",
+			"entity LT &#60;",
+			"endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с неизвестным HTML-тегом.
+	 */
+	@Test
+	public void parseUnknownTag()
+	{
+		RecordingHandler handler = new RecordingHandler();
+		HtmlParser.parse("<unknown>Текст</unknown>", handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument",
+			"startTag null <unknown>",
+			"text Текст",
+			"endTag null </unknown>",
+			"endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с содержимым HTML-тега SCRIPT.
+	 */
+	@Test
+	public void parseScript()
+	{
+		RecordingHandler handler = new RecordingHandler();
+		HtmlParser.parse("<script>if (a<b) { x = '</p>&lt;'; }</SCRIPT ><b>", handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument",
+			"startTag SCRIPT <script>",
+			"text if (a<b) { x = '</p>&lt;'; }",
+			"endTag SCRIPT </SCRIPT >",
+			"startTag B <b>",
+			"endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с незакрытым HTML-тегом STYLE.
+	 */
+	@Test
+	public void parseUnclosedStyle()
+	{
+		RecordingHandler handler = new RecordingHandler();
+		HtmlParser.parse("<style>p { color: red; }</styles><b>", handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument",
+			"startTag STYLE <style>",
+			"text p { color: red; }</styles><b>",
+			"endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с содержимым HTML-тега TITLE.
+	 */
+	@Test
+	public void parseTitle()
+	{
+		RecordingHandler handler = new RecordingHandler();
+		HtmlParser.parse("<title>A &amp; <b>B</b></title>", handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument",
+			"startTag TITLE <title>",
+			"text A ",
+			"entity AMP &amp;",
+			"text  <b>B</b>",
+			"endTag TITLE </title>",
+			"endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с длинным текстом.
+	 */
+	@Test
+	public void parseLongText()
+	{
+		String value = "<p>" + "а".repeat(8191) + "😀" + "б".repeat(20_000) + "</p>";
+
+		List<String> parts = new ArrayList<>();
+
+		HtmlParser.parse(new StringBuilder(value), new HtmlHandler()
+		{
+			@Override
+			public void text(final char @NotNull [] ch, final int start, final int length)
+			{
+				parts.add(new String(ch, start, length));
+			}
+		});
+
+		assertThat(String.join("", parts)).isEqualTo(value.substring(3, value.length() - 4));
+		assertThat(parts).allSatisfy(part -> assertThat(part.length()).isLessThanOrEqualTo(8192));
+		assertThat(parts.get(0)).hasSize(8191);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с длинными HTML-комментарием
+	 * и областью CDATA.
+	 */
+	@Test
+	public void parseLongCommentAndCData()
+	{
+		String comment = "<!--" + "к".repeat(20_000) + "-->";
+		String cdata = "<![CDATA[" + "д".repeat(20_000) + "]]>";
+
+		List<String> comments = new ArrayList<>();
+		List<String> cdatas = new ArrayList<>();
+
+		HtmlParser.parse(comment + "<p>Текст</p>" + cdata, new HtmlHandler()
+		{
+			@Override
+			public void comment(final char @NotNull [] ch, final int start, final int length)
+			{
+				assertThat(ch.length).isLessThanOrEqualTo(8192);
+
+				comments.add(new String(ch, start, length));
+			}
+
+			@Override
+			public void cdata(final char @NotNull [] ch, final int start, final int length)
+			{
+				assertThat(ch.length).isLessThanOrEqualTo(8192);
+
+				cdatas.add(new String(ch, start, length));
+			}
+		});
+
+		assertThat(String.join("", comments)).isEqualTo(comment);
+		assertThat(String.join("", cdatas)).isEqualTo(cdata);
+		assertThat(comments).hasSize(3);
+		assertThat(cdatas).hasSize(3);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlParser#parse(CharSequence, HtmlHandler)} с {@code null}.
+	 */
+	@Test
+	public void parseNull()
+	{
+		assertThatThrownBy(() -> HtmlParser.parse(null, new RecordingHandler()))
+			.isExactlyInstanceOf(NullPointerException.class);
+
+		assertThatThrownBy(() -> HtmlParser.parse("", null))
+			.isExactlyInstanceOf(NullPointerException.class);
+	}
+
+	/**
+	 * Класс обработчика, записывающего события.
+	 */
+	static final class RecordingHandler implements HtmlHandler
+	{
+		/**
+		 * События.
+		 */
+		private final List<String> events = new ArrayList<>();
+
+		/**
+		 * Возвращает события.
+		 *
+		 * @return события.
+		 */
+		public List<String> getEvents()
+		{
+			return this.events;
+		}
+
+		@Override
+		public void startDocument()
+		{
+			this.events.add("startDocument");
+		}
+
+		@Override
+		public void endDocument()
+		{
+			this.events.add("endDocument");
+		}
+
+		@Override
+		public void startTag(@Nullable final Tag tag, final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("startTag " + tag + " " + new String(ch, start, length));
+		}
+
+		@Override
+		public void endTag(@Nullable final Tag tag, final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("endTag " + tag + " " + new String(ch, start, length));
+		}
+
+		@Override
+		public void selfClosingTag(@Nullable final Tag tag, final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("selfClosingTag " + tag + " " + new String(ch, start, length));
+		}
+
+		@Override
+		public void text(final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("text " + new String(ch, start, length));
+		}
+
+		@Override
+		public void comment(final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("comment " + new String(ch, start, length));
+		}
+
+		@Override
+		public void cdata(final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("cdata " + new String(ch, start, length));
+		}
+
+		@Override
+		public void doctype(final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("doctype " + new String(ch, start, length));
+		}
+
+		@Override
+		public void entity(@Nullable final Entity entity, final char @NotNull [] ch, final int start, final int length)
+		{
+			this.events.add("entity " + entity + " " + new String(ch, start, length));
+		}
+	}
+}
@@ -0,0 +1,553 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlPipeline}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlPipelineTest
+{
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)}.
+	 */
+	@Test
+	public void apply()
+	{
+		String value = "<!DOCTYPE html><!-- comment --><p class=\"a\">Текст&nbsp;&lt;b&gt;<b>жирный</b></p>";
+
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteComments()
+			.deleteDoctype()
+			.deleteTags(Set.of(Tag.B))
+			.decodeEntities()
+			.build();
+
+		assertThat(pipeline.apply(value)).isEqualTo("Текст\u00A0<b><b>жирный</b>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} без операций.
+	 */
+	@Test
+	public void applyEmpty()
+	{
+		String value = "<p>Текст&nbsp;</p>";
+
+		assertThat(HtmlPipeline.builder().build().apply(value)).isSameAs(value);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} с {@code null}.
+	 */
+	@Test
+	public void applyNull()
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteTags().build();
+
+		assertThatThrownBy(() -> pipeline.apply(null)).isInstanceOf(NullPointerException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} с порядком операций.
+	 */
+	@Test
+	public void applyOrder()
+	{
+		String value = "&lt;b&gt;Текст&lt;/b&gt;";
+
+		HtmlPipeline decodeFirst = HtmlPipeline.builder().decodeEntities().deleteTags().build();
+		HtmlPipeline deleteFirst = HtmlPipeline.builder().deleteTags().decodeEntities().build();
+
+		assertThat(decodeFirst.apply(value)).isEqualTo("Текст");
+		assertThat(deleteFirst.apply(value)).isEqualTo("<b>Текст</b>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} с лексемами на границе частей текста.
+	 */
+	@Test
+	public void applyLongText()
+	{
+		StringBuilder value = new StringBuilder();
+
+		for (int index = 0; index < 3000; index++) {
+			value.append("<!-- ").append(index).append(" --><b class=\"x\">&amp;").append(index).append("</b>");
+		}
+
+		String text = value.toString();
+
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteComments()
+			.deleteTag(Tag.B)
+			.decodeEntity(Entity.AMP)
+			.encodeEntities(EntityType.NUMERIC)
+			.build();
+
+		Html html = new Html(text);
+		html.deleteComments();
+		html.deleteTag(Tag.B);
+		html.decodeEntity(Entity.AMP);
+		html.encodeEntities(EntityType.NUMERIC);
+
+		assertThat(pipeline.apply(text)).isEqualTo(html.getText());
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(Reader, java.io.Writer)}.
+	 */
+	@Test
+	public void applyReader() throws IOException
+	{
+		String value = "<!DOCTYPE html><!-- comment --><p class=\"a\">Текст&amp;&lt;b&gt;<b>жирный</b></p>";
+
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteComments()
+			.deleteDoctype()
+			.deleteTags(Set.of(Tag.B))
+			.decodeEntities()
+			.build();
+
+		StringWriter writer = new StringWriter();
+		pipeline.apply(new ChunkedReader(value, new Random(1)), writer);
+
+		assertThat(writer.toString()).isEqualTo("Текст&<b><b>жирный</b>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(Reader, java.io.Writer)} без операций.
+	 */
+	@Test
+	public void applyReaderEmpty() throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		HtmlPipeline.builder().build().apply(new StringReader("<p>Текст</p>"), writer);
+
+		assertThat(writer.toString()).isEqualTo("<p>Текст</p>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(CharSequence, Appendable)}.
+	 */
+	@Test
+	public void applyAppendable() throws IOException
+	{
+		StringBuilder value = new StringBuilder();
+
+		for (int index = 0; index < 3000; index++) {
+			value.append("<!-- ").append(index).append(" --><p>Текст&amp;").append(index).append("</p>");
+		}
+
+		String text = value.toString();
+
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteComments()
+			.decodeEntities()
+			.build();
+
+		StringBuilder builder = new StringBuilder();
+		pipeline.apply(text, builder);
+
+		StringWriter writer = new StringWriter();
+		pipeline.apply(text, writer);
+
+		assertThat(builder.toString()).isEqualTo(pipeline.apply(text));
+		assertThat(writer.toString()).isEqualTo(pipeline.apply(text));
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(CharSequence, OutputStream, Charset)}.
+	 */
+	@Test
+	public void applyOutputStream() throws IOException
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteComments()
+			.decodeEntities()
+			.build();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		pipeline.apply("<!-- a --><p>Текст&nbsp;&copy;</p>", output, StandardCharsets.UTF_8);
+
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("<p>Текст\u00A0©</p>");
+
+		output.reset();
+		pipeline.apply("<p>Текст</p>", output, Charset.forName("windows-1251"));
+
+		assertThat(output.toByteArray()).isEqualTo("<p>Текст</p>".getBytes(Charset.forName("windows-1251")));
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(CharSequence, WritableByteChannel, Charset)}.
+	 */
+	@Test
+	public void applyChannel() throws IOException
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder()
+			.deleteTags()
+			.build();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		pipeline.apply("<p>Текст</p>", Channels.newChannel(output), StandardCharsets.UTF_16BE);
+
+		assertThat(output.toString(StandardCharsets.UTF_16BE)).isEqualTo("Текст");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#getMaxTokenLength()}.
+	 */
+	@Test
+	public void getMaxTokenLength()
+	{
+		assertThat(HtmlPipeline.builder().build().getMaxTokenLength()).isEqualTo(HtmlPipeline.DEFAULT_MAX_TOKEN_LENGTH);
+		assertThat(HtmlPipeline.builder().setMaxTokenLength(100).build().getMaxTokenLength()).isEqualTo(100);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline.Builder#setMaxTokenLength(int)} с некорректным значением.
+	 */
+	@Test
+	public void setMaxTokenLengthNotCorrect()
+	{
+		assertThatThrownBy(() -> HtmlPipeline.builder().setMaxTokenLength(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(Reader, java.io.Writer)} с ограничением длины лексемы.
+	 */
+	@Test
+	public void applyReaderMaxTokenLength() throws IOException
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteComments().decodeEntities().setMaxTokenLength(100).build();
+
+		StringBuilder value = new StringBuilder();
+
+		for (int index = 0; index < 10000; index++) {
+			value.append("<!-- ").append(index).append(" --><p>").append(index).append("&amp;</p>");
+		}
+
+		StringWriter writer = new StringWriter();
+		pipeline.apply(new ChunkedReader(value.toString(), new Random(1)), writer);
+
+		assertThat(writer.toString()).isEqualTo(value.toString().replaceAll("<!-- [0-9]+ -->", "").replace("&amp;", "&"));
+
+		String unclosed = "<p>Текст</p><!-- " + "x".repeat(1000);
+
+		assertThatThrownBy(() -> pipeline.apply(new StringReader(unclosed), new StringWriter()))
+			.isInstanceOf(TokenLengthExceededException.class);
+		assertThat(pipeline.apply(unclosed)).isEqualTo(unclosed);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(Reader, java.io.Writer)} с незавершёнными лексемами
+	 * и наибольшей длиной лексемы по умолчанию.
+	 */
+	@Test
+	public void applyReaderUnclosedDefaultMaxTokenLength() throws IOException
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteComments().deleteCData().build();
+
+		String tail = "x".repeat(HtmlPipeline.DEFAULT_MAX_TOKEN_LENGTH + 1);
+
+		assertThatThrownBy(() -> pipeline.apply(new StringReader("<p>Текст</p><!-- " + tail), new StringWriter()))
+			.isInstanceOf(TokenLengthExceededException.class);
+		assertThatThrownBy(() -> pipeline.apply(new StringReader("<p>Текст</p><![CDATA[" + tail), new StringWriter()))
+			.isInstanceOf(TokenLengthExceededException.class);
+
+		String unclosed = "<p>Текст</p><!-- " + tail;
+		Hypertext html = new Html(unclosed);
+		html.deleteComments();
+		html.deleteCData();
+
+		assertThat(pipeline.apply(unclosed)).isEqualTo(html.getText());
+
+		String closed = "<p>Текст</p><!-- " + "x".repeat(HtmlPipeline.DEFAULT_MAX_TOKEN_LENGTH / 2) + " -->";
+		StringWriter writer = new StringWriter();
+		pipeline.apply(new StringReader(closed), writer);
+
+		assertThat(writer.toString()).isEqualTo("<p>Текст</p>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} с незавершёнными лексемами длиннее
+	 * наибольшей длины лексемы по умолчанию.
+	 */
+	@Test
+	public void applyStringUnclosedOverDefaultMaxTokenLength()
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteComments().deleteTags().decodeEntities().build();
+
+		int length = HtmlPipeline.DEFAULT_MAX_TOKEN_LENGTH + 200_000;
+
+		for (String value : List.of(
+			"<p>Текст</p><!-- " + "x".repeat(length),
+			"x <b c" + "y".repeat(length),
+			"&" + "a".repeat(length)
+		))
+		{
+			Hypertext html = new Html(value);
+			html.deleteComments();
+			html.deleteTags();
+			html.decodeEntities();
+
+			assertThat(pipeline.apply(value)).isEqualTo(html.getText());
+		}
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline.Builder#build()}.
+	 */
+	@Test
+	public void build()
+	{
+		HtmlPipeline.Builder builder = HtmlPipeline.builder().deleteComments();
+		HtmlPipeline pipeline = builder.build();
+
+		builder.deleteTags();
+
+		assertThat(pipeline.apply("<!-- x --><b>x</b>")).isEqualTo("<b>x</b>");
+		assertThat(builder.build().apply("<!-- x --><b>x</b>")).isEqualTo("x");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlPipeline#apply(String)} из нескольких потоков.
+	 */
+	@Test
+	public void applyConcurrent()
+	{
+		HtmlPipeline pipeline = HtmlPipeline.builder().deleteComments().deleteTags().decodeEntities().build();
+
+		List<String> actual = IntStream.range(0, 1000)
+			.parallel()
+			.mapToObj(index -> pipeline.apply("<!-- " + index + " --><i>" + index + "&lt;</i>"))
+			.collect(Collectors.toList());
+
+		List<String> expected = IntStream.range(0, 1000)
+			.mapToObj(index -> index + "<")
+			.collect(Collectors.toList());
+
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	/**
+	 * Проверка соответствия результата {@link HtmlPipeline#apply(String)}
+	 * и {@link HtmlPipeline#apply(Reader, java.io.Writer)} последовательному вызову методов {@link Html}.
+	 */
+	@Test
+	public void htmlEquivalence() throws IOException
+	{
+		String[] parts = {
+			"<", "</", ">", "/>", "/", " ", "\n", "=", "\"", "'", "-", "b", "p", "x", "1", "é",
+			"<b>", "<br/>", "<a href=x>", "<b x='>'>", "<p title=\"<!--\">", "</p>",
+			"<!--", "-->", "<!-", "<![CDATA[", "]]>", "<!DOCTYPE html>", "<!DOCTYPE html",
+			"&", "&#", "&#x", ";", "amp", "lt", "gt", "nbsp", "60", "3c", "<", ">", " ", "&amp;", "&lt;"
+		};
+
+		Random random = new Random(42);
+
+		for (int iteration = 0; iteration < 3000; iteration++)
+		{
+			StringBuilder value = new StringBuilder();
+			int count = random.nextInt(random.nextInt(10) == 0 ? 3000 : 16);
+
+			for (int index = 0; index < count; index++) {
+				value.append(parts[random.nextInt(parts.length)]);
+			}
+
+			String text = value.toString();
+			Html html = new Html(text);
+			HtmlPipeline.Builder builder = HtmlPipeline.builder();
+			StringBuilder operations = new StringBuilder();
+			int operationCount = 1 + random.nextInt(5);
+
+			for (int index = 0; index < operationCount; index++)
+			{
+				int operation = random.nextInt(OPERATIONS.size());
+
+				OPERATIONS.get(operation).accept(new Operation(html, builder, random));
+				operations.append(operation).append(' ');
+			}
+
+			HtmlPipeline pipeline = builder.build();
+			StringWriter writer = new StringWriter();
+
+			pipeline.apply(new ChunkedReader(text, random), writer);
+
+			assertThat(pipeline.apply(text)).as(operations + text).isEqualTo(html.getText());
+			assertThat(writer.toString()).as(operations + text).isEqualTo(html.getText());
+		}
+	}
+
+	/**
+	 * Операции над {@link Html} и {@link HtmlPipeline.Builder} с одинаковыми параметрами.
+	 */
+	private static final List<Consumer<Operation>> OPERATIONS = List.of(
+		operation -> {
+			operation.html.deleteComments();
+			operation.builder.deleteComments();
+		},
+		operation -> {
+			operation.html.deleteCData();
+			operation.builder.deleteCData();
+		},
+		operation -> {
+			operation.html.deleteDoctype();
+			operation.builder.deleteDoctype();
+		},
+		operation -> {
+			operation.html.deleteTags();
+			operation.builder.deleteTags();
+		},
+		operation -> {
+			Tag tag = operation.random.nextBoolean() ? Tag.B : Tag.P;
+			operation.html.deleteTag(tag);
+			operation.builder.deleteTag(tag);
+		},
+		operation -> {
+			TagType tagType = TagType.values()[operation.random.nextInt(TagType.values().length)];
+			operation.html.deleteTags(tagType, Set.of(Tag.A));
+			operation.builder.deleteTags(tagType, Set.of(Tag.A));
+		},
+		operation -> {
+			operation.html.deleteEntities(Set.of(Entity.LT));
+			operation.builder.deleteEntities(Set.of(Entity.LT));
+		},
+		operation -> {
+			EntityType entityType = EntityType.values()[operation.random.nextInt(EntityType.values().length)];
+			operation.html.deleteEntity(Entity.AMP, entityType);
+			operation.builder.deleteEntity(Entity.AMP, entityType);
+		},
+		operation -> {
+			EntityType entityType = EntityType.values()[operation.random.nextInt(EntityType.values().length)];
+			operation.html.encodeEntities(entityType);
+			operation.builder.encodeEntities(entityType);
+		},
+		operation -> {
+			operation.html.encodeEntity(Entity.LT, EntityType.NAME);
+			operation.builder.encodeEntity(Entity.LT, EntityType.NAME);
+		},
+		operation -> {
+			operation.html.decodeEntities();
+			operation.builder.decodeEntities();
+		},
+		operation -> {
+			EntityType entityType = EntityType.values()[operation.random.nextInt(EntityType.values().length)];
+			operation.html.decodeEntities(entityType, Set.of(Entity.GT));
+			operation.builder.decodeEntities(entityType, Set.of(Entity.GT));
+		},
+		operation -> {
+			operation.html.decodeEntity(Entity.LT);
+			operation.builder.decodeEntity(Entity.LT);
+		}
+	);
+
+	/**
+	 * Параметры операции.
+	 *
+	 * @param html обрабатываемый HTML.
+	 * @param builder построитель цепочки операций.
+	 * @param random генератор параметров операции.
+	 */
+	private record Operation(Html html, HtmlPipeline.Builder builder, Random random) {}
+
+	/**
+	 * Поток, возвращающий текст частями случайной длины.
+	 */
+	private static final class ChunkedReader extends Reader
+	{
+		/**
+		 * Текст.
+		 */
+		private final String text;
+
+		/**
+		 * Генератор длины частей.
+		 */
+		private final Random random;
+
+		/**
+		 * Позиция чтения.
+		 */
+		private int position;
+
+		/**
+		 * Конструктор для {@code ChunkedReader}.
+		 *
+		 * @param text текст.
+		 * @param random генератор длины частей.
+		 */
+		private ChunkedReader(final String text, final Random random)
+		{
+			this.text = text;
+			this.random = random;
+		}
+
+		@Override
+		public int read(final char[] chars, final int offset, final int length)
+		{
+			if (this.position >= this.text.length()) {
+				return -1;
+			}
+
+			int count = Math.min(Math.min(length, 1 + this.random.nextInt(8)), this.text.length() - this.position);
+
+			this.text.getChars(this.position, this.position + count, chars, offset);
+			this.position += count;
+
+			return count;
+		}
+
+		@Override
+		public void close() {}
+	}
+}
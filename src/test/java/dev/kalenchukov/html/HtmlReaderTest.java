@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlReader}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlReaderTest
+{
+	/**
+	 * Проверка метода {@link HtmlReader#next()}.
+	 */
+	@Test
+	public void next()
+	{
+		HtmlReader reader = new HtmlReader("<p title='&lt;'>Текст&nbsp;<br/><!-- a --></p>");
+		List<String> events = new ArrayList<>();
+
+		while (reader.next()) {
+			events.add(reader.getTokenType() + " " + reader.getTagName() + " " + reader.getText());
+		}
+
+		assertThat(events).containsExactly(
+			"OPEN_TAG P <p title='&lt;'>",
+			"null null Текст",
+			"ENTITY_NAME null &nbsp;",
+			"SELF_CLOSING_TAG BR <br/>",
+			"COMMENT null <!-- a -->",
+			"CLOSE_TAG P </p>"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlReader#next()} с содержимым HTML-тегов SCRIPT и TITLE.
+	 */
+	@Test
+	public void nextRawText()
+	{
+		HtmlReader reader = new HtmlReader("<title>A&amp;<b></title><script>'</b>'</script>");
+		List<String> events = new ArrayList<>();
+
+		while (reader.next()) {
+			events.add(reader.isText() + " " + reader.getText());
+		}
+
+		assertThat(events).containsExactly(
+			"false <title>",
+			"true A",
+			"false &amp;",
+			"true <b>",
+			"false </title>",
+			"false <script>",
+			"true '</b>'",
+			"false </script>"
+		);
+	}
+
+	/**
+	 * Проверка методов {@link HtmlReader#getTextStart()} и {@link HtmlReader#getTextEnd()} на случайных текстах.
+	 */
+	@Test
+	public void getTextStartRandom()
+	{
+		String[] parts = {"<p>", "</p>", "<br/>", "<a href=\"x\">", "<!--", "-->", "&amp;", "&#60;",
+			"<script>", "</script>", "<title>", "</title>", "<![CDATA[", "]]>", "Текст", " ", "<", "&"};
+		Random random = new Random(20);
+
+		for (int iteration = 0; iteration < 500; iteration++)
+		{
+			StringBuilder value = new StringBuilder();
+
+			for (int count = random.nextInt(20); count > 0; count--) {
+				value.append(parts[random.nextInt(parts.length)]);
+			}
+
+			HtmlReader reader = new HtmlReader(value);
+			int position = 0;
+
+			while (reader.next())
+			{
+				assertThat(reader.getTextStart()).isEqualTo(position);
+				assertThat(reader.getTextEnd()).isGreaterThan(position);
+
+				position = reader.getTextEnd();
+			}
+
+			assertThat(position).isEqualTo(value.length());
+		}
+	}
+
+	/**
+	 * Проверка методов чтения параметров HTML-тега.
+	 */
+	@Test
+	public void getAttribute()
+	{
+		HtmlReader reader = new HtmlReader("<input type=\"text\" NAME = 'a b' disabled value=x/>");
+		reader.next();
+
+		assertThat(reader.getTokenType()).isEqualTo(TokenType.SELF_CLOSING_TAG);
+		assertThat(reader.getAttributeCount()).isEqualTo(4);
+		assertThat(reader.getAttributeName(0)).isEqualTo("type");
+		assertThat(reader.getAttributeValue(0)).isEqualTo("text");
+		assertThat(reader.getAttributeName(1)).isEqualTo("NAME");
+		assertThat(reader.getAttributeValue(1)).isEqualTo("a b");
+		assertThat(reader.getAttributeName(2)).isEqualTo("disabled");
+		assertThat(reader.getAttributeValue(2)).isNull();
+		assertThat(reader.getAttributeValueStart(2)).isEqualTo(-1);
+		assertThat(reader.getAttributeValue(3)).isEqualTo("x");
+		assertThat(reader.getAttributeValue("name")).isEqualTo("a b");
+		assertThat(reader.getAttributeIndex("value")).isEqualTo(3);
+		assertThat(reader.getAttributeIndex("id")).isEqualTo(-1);
+		assertThat(reader.getAttributeValue("id")).isNull();
+		assertThat(reader.getAttributeNameStart(0)).isEqualTo(7);
+		assertThat(reader.getAttributeNameEnd(0)).isEqualTo(11);
+		assertThat(reader.getAttributeValueStart(0)).isEqualTo(13);
+		assertThat(reader.getAttributeValueEnd(0)).isEqualTo(17);
+	}
+
+	/**
+	 * Проверка методов чтения параметров у лексемы, которая не является открывающим HTML-тегом.
+	 */
+	@Test
+	public void getAttributeNotTag()
+	{
+		HtmlReader reader = new HtmlReader("Текст&lt;</p>");
+
+		while (reader.next()) {
+			assertThat(reader.getAttributeCount()).isZero();
+		}
+
+		HtmlReader tag = new HtmlReader("<p>");
+		tag.next();
+
+		assertThatThrownBy(() -> tag.getAttributeName(0))
+			.isExactlyInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlReader#getEntity()}.
+	 */
+	@Test
+	public void getEntity()
+	{
+		HtmlReader reader = new HtmlReader("&#x3e;");
+		reader.next();
+
+		assertThat(reader.getEntity()).isEqualTo(Entity.GT);
+		assertThat(reader.getTagName()).isNull();
+	}
+
+	/**
+	 * Проверка методов {@link HtmlReader} без текущей лексемы.
+	 */
+	@Test
+	public void notCurrent()
+	{
+		HtmlReader reader = new HtmlReader("<p>");
+
+		assertThatThrownBy(reader::getTokenType).isExactlyInstanceOf(IllegalStateException.class);
+
+		reader.next();
+
+		assertThat(reader.getTagName()).isEqualTo(Tag.P);
+		assertThat(reader.next()).isFalse();
+		assertThatThrownBy(reader::getTextStart).isExactlyInstanceOf(IllegalStateException.class);
+	}
+}
@@ -24,19 +24,39 @@
 
 package dev.kalenchukov.html;
 
+import dev.kalenchukov.html.resources.EngineType;
 import dev.kalenchukov.html.resources.Entity;
 import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Regexp;
 import dev.kalenchukov.html.resources.Tag;
 import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 /**
  * Класс проверки методов класса {@link Html}.
@@ -45,6 +65,297 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class HtmlTest
 {
+	/**
+	 * Проверка метода {@link Html#getEngineType()}.
+	 */
+	@Test
+	public void getEngineType()
+	{
+		assertThat(new Html("").getEngineType()).isEqualTo(EngineType.TOKENIZER);
+		assertThat(new Html("", EngineType.REGEXP).getEngineType()).isEqualTo(EngineType.REGEXP);
+	}
+
+	/**
+	 * Проверка механизма обработки {@link EngineType#REGEXP}.
+	 */
+	@Test
+	public void engineTypeRegexp()
+	{
+		String value = "<!DOCTYPE html><p title='&lt;'>Текст<!-- комментарий --></p>";
+
+		Hypertext html = new Html(value, EngineType.REGEXP);
+
+		assertThat(html.findEntities()).containsExactly("&lt;");
+		assertThat(html.findComments()).containsExactly("<!-- комментарий -->");
+
+		html.deleteDoctype();
+		html.deleteComments();
+		html.deleteTags();
+
+		assertThat(html.getText()).isEqualTo("Текст");
+	}
+
+	/**
+	 * Проверка механизма обработки {@link EngineType#PARALLEL}.
+	 */
+	@Test
+	public void engineTypeParallel()
+	{
+		String value = "<!DOCTYPE html>"
+			+ "<p title='&lt;'>Текст&nbsp;&#60;<!-- <b>комментарий</b> --><br/></p>\n".repeat(10_000);
+
+		Hypertext html = new Html(value, EngineType.PARALLEL);
+		Hypertext expected = new Html(value);
+
+		assertThat(html.findTags()).isEqualTo(expected.findTags());
+		assertThat(html.findEntities()).isEqualTo(expected.findEntities());
+
+		html.deleteComments();
+		html.deleteTags(Set.of(Tag.BR));
+		html.decodeEntities();
+		expected.deleteComments();
+		expected.deleteTags(Set.of(Tag.BR));
+		expected.decodeEntities();
+
+		assertThat(html.getText()).isEqualTo(expected.getText());
+		assertThat(html.getText()).endsWith("Текст\u00A0<<br/>\n");
+	}
+
+	/**
+	 * Проверка конструктора {@link Html#Html(String, ForkJoinPool)}.
+	 */
+	@Test
+	public void htmlForkJoinPool()
+	{
+		String value = "<!DOCTYPE html>"
+			+ "<p title='&lt;'>Текст&nbsp;&#60;<!-- <b>комментарий</b> --><br/></p>\n".repeat(10_000);
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try
+		{
+			Html html = new Html(value, pool);
+			Hypertext expected = new Html(value);
+
+			assertThat(html.getEngineType()).isEqualTo(EngineType.PARALLEL);
+			assertThat(html.findTags()).isEqualTo(expected.findTags());
+			assertThat(pool.getPoolSize()).isPositive();
+
+			html.deleteComments();
+			expected.deleteComments();
+
+			assertThat(html.getText()).isEqualTo(expected.getText());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Проверка конструктора {@link Html#Html(String, ForkJoinPool)} с {@code null}.
+	 */
+	@Test
+	public void htmlForkJoinPoolNull()
+	{
+		assertThatThrownBy(() -> new Html("<p>", (ForkJoinPool) null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	/**
+	 * Проверка поиска лексем после изменения текста.
+	 */
+	@Test
+	public void findAfterChange()
+	{
+		Html html = new Html("<p>Текст&lt;<br/></p>");
+
+		assertThat(html.findTags()).containsExactly("<p>", "<br/>", "</p>");
+		assertThat(html.findEntities()).containsExactly("&lt;");
+
+		html.deleteTags(Set.of(Tag.P));
+
+		assertThat(html.findTags()).containsExactly("<p>", "</p>");
+		assertThat(html.isTag()).isFalse();
+
+		html.decodeEntities();
+
+		assertThat(html.findEntities()).isEmpty();
+
+		html.setText("<br/>");
+
+		assertThat(html.findTags()).containsExactly("<br/>");
+		assertThat(html.isTag()).isTrue();
+	}
+
+	/**
+	 * Проверка метода {@link Html#getBudget()}.
+	 */
+	@Test
+	public void getBudget()
+	{
+		Budget budget = Budget.ofSteps(100);
+
+		assertThat(new Html("").getBudget().isUnlimited()).isTrue();
+		assertThat(new Html("", EngineType.REGEXP, budget).getBudget()).isSameAs(budget);
+	}
+
+	/**
+	 * Проверка ограничения {@link Budget} по количеству шагов.
+	 */
+	@Test
+	public void budgetSteps()
+	{
+		String value = "<!-- " + "комментарий ".repeat(100) + "-->";
+
+		Hypertext html = new Html(value, EngineType.REGEXP, Budget.ofSteps(100));
+
+		assertThatThrownBy(html::findComments)
+			.isInstanceOfSatisfying(BudgetExceededException.class, exception -> {
+				assertThat(exception.getRegexp()).isEqualTo(Regexp.COMMENT);
+				assertThat(exception.getSteps()).isEqualTo(101);
+			});
+	}
+
+	/**
+	 * Проверка ограничения {@link Budget} по количеству шагов, которое не превышено.
+	 *
+	 * <p>Ограничение действует на каждый вызов отдельно.</p>
+	 */
+	@Test
+	public void budgetStepsNotExceeded()
+	{
+		String value = "<b>Текст</b>";
+
+		Hypertext html = new Html(value, EngineType.REGEXP, Budget.ofSteps(1000));
+
+		assertThat(html.findTags()).containsExactly("<b>", "</b>");
+		assertThat(html.findTags()).containsExactly("<b>", "</b>");
+
+		html.deleteTags();
+
+		assertThat(html.getText()).isEqualTo("Текст");
+	}
+
+	/**
+	 * Проверка ограничения {@link Budget} по количеству шагов при удалении HTML-тегов.
+	 */
+	@Test
+	public void budgetStepsDeleteTags()
+	{
+		String value = "<b>Текст</b>";
+
+		Hypertext html = new Html(value, EngineType.REGEXP, Budget.ofSteps(200));
+
+		assertThatThrownBy(html::deleteTags)
+			.isInstanceOfSatisfying(BudgetExceededException.class, exception -> {
+				assertThat(exception.getRegexp()).isIn(Regexp.SELF_CLOSING_TAG, Regexp.OPEN_TAG, Regexp.CLOSE_TAG);
+			});
+
+		assertThat(html.getText()).isEqualTo(value);
+	}
+
+	/**
+	 * Проверка ограничения {@link Budget} по времени выполнения.
+	 */
+	@Test
+	public void budgetTimeout()
+	{
+		String value = "<![CDATA[x]]>".repeat(1_000_000);
+
+		Hypertext html = new Html(value, EngineType.REGEXP, Budget.ofTimeout(Duration.ofMillis(1)));
+
+		assertThatThrownBy(html::findCData)
+			.isInstanceOfSatisfying(BudgetExceededException.class, exception -> {
+				assertThat(exception.getRegexp()).isEqualTo(Regexp.CDATA);
+			});
+	}
+
+	/**
+	 * Проверка механизма обработки {@link EngineType#REGEXP} с незавершёнными областями CDATA.
+	 */
+	@Test
+	public void engineTypeRegexpUnclosedCData()
+	{
+		String value = "<![CDATA[".repeat(100_000);
+		String closed = value + "]]>" + value;
+
+		assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+			Hypertext html = new Html(value, EngineType.REGEXP);
+
+			assertThat(html.findCData()).isEmpty();
+			assertThat(html.countTokens(EnumSet.of(TokenType.CDATA))).isZero();
+			assertThat(html.containsTokens(EnumSet.of(TokenType.CDATA))).isFalse();
+
+			html.deleteCData();
+
+			assertThat(html.getText()).isEqualTo(value);
+
+			Hypertext closedHtml = new Html(closed, EngineType.REGEXP);
+
+			assertThat(closedHtml.findCData()).containsExactly(value + "]]>");
+
+			closedHtml.deleteCData();
+
+			assertThat(closedHtml.getText()).isEqualTo(value);
+		});
+	}
+
+	/**
+	 * Проверка ограничения {@link Budget} с механизмом обработки {@link EngineType#TOKENIZER}.
+	 */
+	@Test
+	public void budgetTokenizer()
+	{
+		String value = "<!-- " + "комментарий ".repeat(100) + "-->";
+
+		Hypertext html = new Html(value, EngineType.TOKENIZER, Budget.ofSteps(1));
+
+		assertThat(html.findComments()).containsExactly(value);
+	}
+
+	/**
+	 * Проверка метода {@link Html#ofFile(Path, Charset)}.
+	 */
+	@Test
+	public void ofFile(@TempDir final Path directory) throws IOException
+	{
+		String value = "<!DOCTYPE html><p class=\"текст\">Текст&nbsp;&#60;<b>жирный</b><!-- комментарий --></p>";
+		Path path = directory.resolve("index.html");
+		Files.writeString(path, value.repeat(1000), StandardCharsets.UTF_8);
+
+		Hypertext expected = new Html(value.repeat(1000));
+		Hypertext actual = Html.ofFile(path, StandardCharsets.UTF_8);
+
+		assertThat(actual.findTags()).isEqualTo(expected.findTags());
+		assertThat(actual.findEntities()).isEqualTo(expected.findEntities());
+		assertThat(actual.findComments()).isEqualTo(expected.findComments());
+		assertThat(actual.findDoctype()).isEqualTo(expected.findDoctype());
+		assertThat(actual.isTag()).isFalse();
+		assertThat(actual.getText()).isEqualTo(expected.getText());
+
+		actual.deleteTags();
+		expected.deleteTags();
+
+		assertThat(actual.getText()).isEqualTo(expected.getText());
+	}
+
+	/**
+	 * Проверка метода {@link Html#ofFile(Path, Charset, EngineType, Budget)}.
+	 */
+	@Test
+	public void ofFileEngineType(@TempDir final Path directory) throws IOException
+	{
+		String value = "<p>Текст&nbsp;<b>жирный</b></p>";
+		Path path = directory.resolve("index.html");
+		Files.writeString(path, value, Charset.forName("windows-1251"));
+
+		Html html = Html.ofFile(path, Charset.forName("windows-1251"), EngineType.REGEXP, Budget.unlimited());
+
+		assertThat(html.getEngineType()).isEqualTo(EngineType.REGEXP);
+		assertThat(html.findTags()).containsExactly("<p>", "<b>", "</b>", "</p>");
+		assertThat(html.findEntities()).containsExactly("&nbsp;");
+	}
+
 	/**
 	 * Проверка метода {@link Html#getText()}.
 	 */
@@ -238,6 +549,39 @@ public class HtmlTest
 		assertThat(actualString).isEqualTo(expectedString);
 	}
 
+	/**
+	 * Проверка метода {@link Html#deleteTags()} без повторной обработки текста,
+	 * появившегося на месте удалённых HTML-тегов.
+	 */
+	@Test
+	public void deleteTagsOnce()
+	{
+		String value = "<<b>br/> <b<i>> </<b>b> <p title=\"<i>\"> <br x=a//>";
+
+		Hypertext html = new Html(value);
+		html.deleteTags();
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo("<br/> <b> </b>  ");
+	}
+
+	/**
+	 * Проверка метода {@link Html#deleteTags(Set)} с HTML-тегами в значениях параметров.
+	 */
+	@Test
+	public void deleteTagsExcludeNested()
+	{
+		String value = "<p title=\"<i>x</i>\">y</p><I title='<p>'>";
+
+		Hypertext html = new Html(value);
+		html.deleteTags(Set.of(Tag.P));
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo("<p title=\"x\">y</p>");
+	}
+
 	/**
 	 * Проверка метода {@link Html#deleteTags(TagType)}.
 	 */
@@ -928,6 +1272,42 @@ public class HtmlTest
 		assertThat(actualString).isEqualTo(expectedString);
 	}
 
+	/**
+	 * Проверка метода {@link Html#encodeEntities(EntityType)}.
+	 * Символы, используемые в записи HTML-сущностей, преобразуются один раз.
+	 */
+	@Test
+	public void encodeEntitiesControlSymbols()
+	{
+		String value = "AT&T #1; a&b";
+		String expectedString = "AT&amp;T &num;1&semi; a&amp;b";
+
+		Hypertext html = new Html(value);
+		html.encodeEntities(EntityType.NAME);
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo(expectedString);
+	}
+
+	/**
+	 * Проверка метода {@link Html#encodeEntities(EntityType, Set)}.
+	 * Символы, используемые в записи HTML-сущностей, преобразуются один раз.
+	 */
+	@Test
+	public void encodeEntitiesControlSymbolsExclude()
+	{
+		String value = "AT&T #1; a<b";
+		String expectedString = "AT&T &#X23;1; a&#X3C;b";
+
+		Hypertext html = new Html(value);
+		html.encodeEntities(EntityType.UNICODE, Set.of(Entity.AMP, Entity.SEMI));
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo(expectedString);
+	}
+
 	/**
 	 * Проверка метода {@link Html#decodeEntity(Entity)}.
 	 */
@@ -1288,6 +1668,42 @@ public class HtmlTest
 		assertThat(actualString).isEqualTo(expectedString);
 	}
 
+	/**
+	 * Проверка метода {@link Html#decodeEntities()}.
+	 * Результат преобразования повторно не преобразуется.
+	 */
+	@Test
+	public void decodeEntitiesOnce()
+	{
+		String value = "&amp;lt; &#38;gt; &#X26;#60; &&lt;&#x3c;&#0060;;";
+		String expectedString = "&lt; &gt; &#60; &<<<;";
+
+		Hypertext html = new Html(value);
+		html.decodeEntities();
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo(expectedString);
+	}
+
+	/**
+	 * Проверка метода {@link Html#decodeEntities()}.
+	 * Некорректные записи HTML-сущностей не преобразуются.
+	 */
+	@Test
+	public void decodeEntitiesNotCorrect()
+	{
+		String value = "&1a; &lt &#; &#X; &#x2G; &unknown; &#00033; &#X00021;";
+		String expectedString = "&1a; &lt &#; &#X; &#x2G; &unknown; ! !";
+
+		Hypertext html = new Html(value);
+		html.decodeEntities();
+
+		String actualString = html.getText();
+
+		assertThat(actualString).isEqualTo(expectedString);
+	}
+
 	/**
 	 * Класс проверки метода {@link Html#isComment()}.
 	 *
@@ -2372,6 +2788,35 @@ public class HtmlTest
 		assertThat(actualList).containsSequence(expectedList);
 	}
 
+	/**
+	 * Проверка метода {@link Html#findTags()} с цифрами в названии HTML-тегов.
+	 */
+	@Test
+	public void findTagsDigits()
+	{
+		String value = "<h1>Заголовок</h1><h2 class=a/><1a>";
+
+		Hypertext html = new Html(value);
+
+		List<String> actualList = html.findTags();
+
+		assertThat(actualList).containsExactly("<h1>", "<h2 class=a/>", "</h1>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#findEntities()} с HTML-сущностями в значениях параметров HTML-тегов.
+	 */
+	@Test
+	public void findEntitiesInTag()
+	{
+		String value = "<a href='?a=1&amp;b=2' title=\"&#X3C;\">";
+
+		Hypertext html = new Html(value);
+
+		assertThat(html.findTags()).containsExactly(value);
+		assertThat(html.findEntities()).containsExactly("&amp;", "&#X3C;");
+	}
+
 	/**
 	 * Проверка метода {@link Html#findCloseTags()}.
 	 */
@@ -2510,4 +2955,525 @@ public class HtmlTest
 
 		assertThat(actualList).containsSequence(expectedList);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Проверка метода {@link Html#findTokens(Set)}.
+	 */
+	@Test
+	public void findTokens()
+	{
+		String value = "<p>Текст&lt;<!-- x --><br/></p>";
+
+		Hypertext html = new Html(value);
+
+		assertThat(html.findTokens(Set.of(TokenType.CLOSE_TAG, TokenType.COMMENT, TokenType.ENTITY_NAME))).containsExactly(
+			new Token(TokenType.ENTITY_NAME, 8, 12, "&lt;"),
+			new Token(TokenType.COMMENT, 12, 22, "<!-- x -->"),
+			new Token(TokenType.CLOSE_TAG, 27, 31, "</p>")
+		);
+		assertThat(html.findTokens(Set.of())).isEmpty();
+	}
+
+	/**
+	 * Проверка метода {@link Html#findTagTokens()}.
+	 */
+	@Test
+	public void findTagTokens()
+	{
+		String value = "<p>Текст<br/><b>&amp;</b></p>";
+
+		Hypertext html = new Html(value);
+
+		assertThat(html.findTagTokens()).extracting(Token::getValue)
+			.containsExactly("<p>", "<br/>", "<b>", "</b>", "</p>");
+		assertThat(html.findTagTokens()).extracting(Token::getType).containsExactly(
+			TokenType.OPEN_TAG,
+			TokenType.SELF_CLOSING_TAG,
+			TokenType.OPEN_TAG,
+			TokenType.CLOSE_TAG,
+			TokenType.CLOSE_TAG
+		);
+		assertThat(html.findTagTokens()).allSatisfy(
+			token -> assertThat(value.substring(token.getStart(), token.getEnd())).isEqualTo(token.getValue())
+		);
+	}
+
+	/**
+	 * Проверка метода {@link Html#findEntityTokens()}.
+	 */
+	@Test
+	public void findEntityTokens()
+	{
+		String value = "&#60;&lt;<a title='&#x3e;'>&amp;";
+
+		Hypertext html = new Html(value);
+
+		assertThat(html.findEntityTokens()).containsExactly(
+			new Token(TokenType.ENTITY_NUMERIC, 0, 5, "&#60;"),
+			new Token(TokenType.ENTITY_NAME, 5, 9, "&lt;"),
+			new Token(TokenType.ENTITY_UNICODE, 19, 25, "&#x3e;"),
+			new Token(TokenType.ENTITY_NAME, 27, 32, "&amp;")
+		);
+	}
+
+	/**
+	 * Проверка метода {@link Html#findTokens(Set)} с разными механизмами обработки.
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = {"REGEXP", "PARALLEL"})
+	public void findTokensEngineType(final String engineType)
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+
+		Hypertext html = new Html(value, EngineType.valueOf(engineType));
+		Hypertext expected = new Html(value);
+
+		assertThat(html.findTokens(EnumSet.allOf(TokenType.class)))
+			.isEqualTo(expected.findTokens(EnumSet.allOf(TokenType.class)));
+		assertThat(html.findTagTokens()).isEqualTo(expected.findTagTokens());
+		assertThat(html.findEntityTokens()).isEqualTo(expected.findEntityTokens());
+	}
+
+	/**
+	 * Проверка метода {@link Html#findMatches(Set)}.
+	 */
+	@Test
+	public void findMatches()
+	{
+		Hypertext html = new Html("<p class=\"a\">\r\nТекст&nbsp;\n\n  <br/>");
+
+		List<Match> matches = html.findMatches(EnumSet.allOf(TokenType.class));
+
+		assertThat(matches).extracting(Match::getValue).containsExactly("<p class=\"a\">", "&nbsp;", "<br/>");
+		assertThat(matches).extracting(Match::getLine).containsExactly(1, 2, 4);
+		assertThat(matches).extracting(Match::getColumn).containsExactly(1, 6, 3);
+		assertThat(matches.get(0).getStart()).isEqualTo(0);
+		assertThat(matches.get(0).getGroup("name")).isEqualTo("p");
+		assertThat(matches.get(0).getGroup("params")).isEqualTo(" class=\"a\"");
+		assertThat(matches.get(1).getGroup("name")).isEqualTo("nbsp");
+	}
+
+	/**
+	 * Проверка метода {@link Html#findMatches(Set)} после изменения текста.
+	 */
+	@Test
+	public void findMatchesAfterChange()
+	{
+		Hypertext html = new Html("<!--\n-->\n<p>\n<br/>");
+
+		assertThat(html.findMatches(EnumSet.of(TokenType.OPEN_TAG)))
+			.extracting(Match::getLine).containsExactly(3);
+
+		html.deleteComments();
+
+		assertThat(html.findMatches(EnumSet.of(TokenType.OPEN_TAG)))
+			.extracting(Match::getLine).containsExactly(2);
+
+		html.setText("<p><br/>");
+
+		assertThat(html.findMatches(EnumSet.of(TokenType.SELF_CLOSING_TAG)))
+			.extracting(Match::getLine, Match::getColumn).containsExactly(tuple(1, 4));
+	}
+
+	/**
+	 * Проверка методов {@link Html#countTags()}, {@link Html#countEntities()} и {@link Html#countComments()}.
+	 */
+	@Test
+	public void count()
+	{
+		Hypertext html = new Html("<p>Текст&nbsp;<br/><!-- a --><!----></P>&#60;");
+
+		assertThat(html.countTags()).isEqualTo(3);
+		assertThat(html.countEntities()).isEqualTo(2);
+		assertThat(html.countComments()).isEqualTo(2);
+		assertThat(html.countTokens(EnumSet.of(TokenType.CDATA))).isZero();
+	}
+
+	/**
+	 * Проверка метода {@link Html#countTokens(Set)} после изменения текста.
+	 */
+	@Test
+	public void countAfterChange()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p>");
+
+		assertThat(html.findTags()).hasSize(3);
+		assertThat(html.countTags()).isEqualTo(3);
+
+		html.deleteTag(Tag.BR);
+
+		assertThat(html.countTags()).isEqualTo(2);
+	}
+
+	/**
+	 * Проверка метода {@link Html#containsTag(Tag)}.
+	 */
+	@Test
+	public void containsTag()
+	{
+		Hypertext html = new Html("<p>Текст<br/></DIV>");
+
+		assertThat(html.containsTag(Tag.P)).isTrue();
+		assertThat(html.containsTag(Tag.BR)).isTrue();
+		assertThat(html.containsTag(Tag.DIV)).isTrue();
+		assertThat(html.containsTag(Tag.B)).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link Html#containsEntity(Entity)}.
+	 */
+	@Test
+	public void containsEntity()
+	{
+		Hypertext html = new Html("Текст&nbsp;&#60;&#x26;");
+
+		assertThat(html.containsEntity(Entity.NBSP)).isTrue();
+		assertThat(html.containsEntity(Entity.LT)).isTrue();
+		assertThat(html.containsEntity(Entity.AMP)).isTrue();
+		assertThat(html.containsEntity(Entity.COPY)).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link Html#containsComment()}.
+	 */
+	@Test
+	public void containsComment()
+	{
+		assertThat(new Html("Текст<!-- a -->").containsComment()).isTrue();
+		assertThat(new Html("Текст<!-- a ->").containsComment()).isFalse();
+		assertThat(new Html("<!--").containsTokens(EnumSet.allOf(TokenType.class))).isFalse();
+	}
+
+	/**
+	 * Проверка методов подсчёта и проверки наличия с разными механизмами обработки.
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = {"TOKENIZER", "REGEXP", "PARALLEL"})
+	public void countEngineType(final String engineType)
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+
+		Hypertext html = new Html(value, EngineType.valueOf(engineType));
+		Hypertext expected = new Html(value);
+
+		for (TokenType tokenType : TokenType.values())
+		{
+			assertThat(html.countTokens(EnumSet.of(tokenType)))
+				.isEqualTo(expected.findTokens(EnumSet.of(tokenType)).size());
+		}
+
+		assertThat(html.countTags()).isEqualTo(expected.findTags().size());
+		assertThat(html.countEntities()).isEqualTo(expected.findEntities().size());
+		assertThat(html.containsTag(Tag.P)).isTrue();
+		assertThat(html.containsTag(Tag.DIV)).isFalse();
+		assertThat(html.containsEntity(Entity.GT)).isTrue();
+		assertThat(html.containsEntity(Entity.COPY)).isFalse();
+		assertThat(html.containsComment()).isTrue();
+	}
+
+	/**
+	 * Проверка метода {@link Html#parse(HtmlHandler)}.
+	 */
+	@Test
+	public void parse()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p>");
+		HtmlParserTest.RecordingHandler handler = new HtmlParserTest.RecordingHandler();
+
+		html.parse(handler);
+
+		assertThat(handler.getEvents()).containsExactly(
+			"startDocument", "startTag P <p>", "text Текст", "selfClosingTag BR <br/>", "endTag P </p>", "endDocument"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link Html#getReader()}.
+	 */
+	@Test
+	public void getReader()
+	{
+		Hypertext html = new Html("<a href='/'>Текст</a>");
+
+		HtmlReader reader = html.getReader();
+		reader.next();
+
+		assertThat(reader.getTagName()).isEqualTo(Tag.A);
+		assertThat(reader.getAttributeValue("href")).isEqualTo("/");
+	}
+
+	/**
+	 * Проверка метода {@link Html#select(String)}.
+	 */
+	@Test
+	public void select()
+	{
+		Hypertext html = new Html("<div class='price'><span>1</span><i>2</i></div><span>3</span>");
+
+		assertThat(html.select("div.price > span")).containsExactly("<span>1</span>");
+		assertThat(html.select("div > i, body")).containsExactly("<i>2</i>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#toPlainText(boolean)}.
+	 */
+	@Test
+	public void toPlainText()
+	{
+		Hypertext html = new Html("<p>Один  <script>два</script>три&amp;</p>");
+
+		assertThat(html.toPlainText(false)).isEqualTo("Один  три&");
+		assertThat(html.toPlainText(true)).isEqualTo("Один три&");
+		assertThat(html.getText()).isEqualTo("<p>Один  <script>два</script>три&amp;</p>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#writePlainText(Appendable, boolean)}.
+	 */
+	@Test
+	public void writePlainText() throws IOException
+	{
+		Hypertext html = new Html("<p>Один<style>p {}</style> два</p>");
+		StringWriter writer = new StringWriter();
+
+		html.writePlainText(writer, true);
+
+		assertThat(writer.toString()).isEqualTo("Один два");
+	}
+
+	/**
+	 * Проверка метода {@link Html#minify()}.
+	 */
+	@Test
+	public void minify()
+	{
+		Hypertext html = new Html("<DIV class=\"a\">\n\t<!-- - --><P>Текст</P>\n</DIV>");
+
+		html.minify();
+
+		assertThat(html.getText()).isEqualTo("<div class=a><p>Текст</p></div>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#writeMinified(Appendable)}.
+	 */
+	@Test
+	public void writeMinified() throws IOException
+	{
+		Hypertext html = new Html("<P  title='a'>Текст</P>");
+		StringWriter writer = new StringWriter();
+
+		html.writeMinified(writer);
+
+		assertThat(writer.toString()).isEqualTo("<p title=a>Текст</p>");
+		assertThat(html.getText()).isEqualTo("<P  title='a'>Текст</P>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#writeText(Appendable)}.
+	 */
+	@Test
+	public void writeText() throws IOException
+	{
+		Hypertext html = new Html("<p>Текст<!-- - --></p>");
+		html.deleteComments();
+
+		StringWriter writer = new StringWriter();
+		html.writeText(writer);
+
+		StringBuilder builder = new StringBuilder();
+		html.writeText(builder);
+
+		assertThat(writer.toString()).isEqualTo("<p>Текст</p>");
+		assertThat(builder.toString()).isEqualTo("<p>Текст</p>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#writeText(OutputStream, Charset)}.
+	 */
+	@Test
+	public void writeTextOutputStream() throws IOException
+	{
+		Hypertext html = new Html("<p>Текст&amp;</p>".repeat(1000));
+		html.decodeEntities();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		html.writeText(output, StandardCharsets.UTF_8);
+
+		assertThat(output.toByteArray()).isEqualTo(html.getText().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Проверка метода {@link Html#writeText(WritableByteChannel, Charset)}.
+	 */
+	@Test
+	public void writeTextChannel() throws IOException
+	{
+		Hypertext html = new Html("<p>Текст</p>");
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		html.writeText(Channels.newChannel(output), StandardCharsets.UTF_8);
+
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("<p>Текст</p>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#getDocument()}.
+	 */
+	@Test
+	public void getDocument()
+	{
+		Hypertext html = new Html("<a href='/'>Текст</a><br>");
+
+		HtmlDocument document = html.getDocument();
+
+		assertThat(html.getDocument()).isSameAs(document);
+		assertThat(document.getChildren(HtmlDocument.ROOT)).hasSize(2);
+
+		html.deleteTag(Tag.BR);
+
+		assertThat(html.getDocument()).isNotSameAs(document);
+		assertThat(html.getDocument().getChildren(HtmlDocument.ROOT)).hasSize(1);
+	}
+
+	/**
+	 * Проверка сброса индексов и дерева HTML-документа при изменении текста.
+	 */
+	@Test
+	public void updateResetsCaches()
+	{
+		Html html = new Html("<p>Текст&nbsp;</p>\n<br>");
+
+		html.findTags();
+		html.findMatches(EnumSet.of(TokenType.OPEN_TAG));
+		html.getDocument();
+
+		assertThat(html.isCached()).isTrue();
+
+		html.deleteTag(Tag.BR);
+
+		assertThat(html.isCached()).isFalse();
+
+		html.getDocument();
+		html.setText("<b>Текст</b>");
+
+		assertThat(html.isCached()).isFalse();
+		assertThat(html.findTags()).containsExactly("<b>", "</b>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamTokens(Set)}.
+	@Test
+	public void streamTokens()
+	{
+		String value = "<p>Текст&nbsp;<br/><!-- - --></p>&#60;";
+
+		Hypertext html = new Html(value);
+
+		assertThat(html.streamTokens(EnumSet.allOf(TokenType.class)))
+			.isEqualTo(html.findTokens(EnumSet.allOf(TokenType.class)));
+		assertThat(html.streamTokens(EnumSet.of(TokenType.COMMENT, TokenType.ENTITY_NUMERIC)))
+			.map(Token::getValue)
+			.containsExactly("<!-- - -->", "&#60;");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamTokens(Set)} после изменения текста.
+	 */
+	@Test
+	public void streamTokensAfterChange()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p>");
+		html.findOpenTags();
+		html.deleteTags();
+
+		assertThat(html.streamTokens(EnumSet.allOf(TokenType.class))).isEmpty();
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamTags()}.
+	 */
+	@Test
+	public void streamTags()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p><b>");
+
+		assertThat(html.streamTags()).containsExactly("<p>", "<br/>", "</p>", "<b>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamOpenTags()}.
+	 */
+	@Test
+	public void streamOpenTags()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p><b>");
+
+		assertThat(html.streamOpenTags()).containsExactly("<p>", "<b>");
+		assertThat(html.streamOpenTags().findFirst()).contains("<p>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamSelfClosingTags()}.
+	 */
+	@Test
+	public void streamSelfClosingTags()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p><hr />");
+
+		assertThat(html.streamSelfClosingTags()).containsExactly("<br/>", "<hr />");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamCloseTags()}.
+	 */
+	@Test
+	public void streamCloseTags()
+	{
+		Hypertext html = new Html("<p>Текст<br/></p></b>");
+
+		assertThat(html.streamCloseTags()).containsExactly("</p>", "</b>");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamEntities()}.
+	 */
+	@Test
+	public void streamEntities()
+	{
+		Hypertext html = new Html("&#x3e;Текст&nbsp;&#60;");
+
+		assertThat(html.streamEntities()).containsExactly("&#x3e;", "&nbsp;", "&#60;");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamComments()}.
+	 */
+	@Test
+	public void streamComments()
+	{
+		Hypertext html = new Html("<!-- a -->Текст<!---->");
+
+		assertThat(html.streamComments()).containsExactly("<!-- a -->", "<!---->");
+	}
+
+	/**
+	 * Проверка метода {@link Html#streamTokens(Set)} с разными механизмами обработки.
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = {"REGEXP", "PARALLEL"})
+	public void streamTokensEngineType(final String engineType)
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+
+		Hypertext html = new Html(value, EngineType.valueOf(engineType));
+		Hypertext expected = new Html(value);
+
+		assertThat(html.streamTokens(EnumSet.allOf(TokenType.class)))
+			.isEqualTo(expected.findTokens(EnumSet.allOf(TokenType.class)));
+		assertThat(html.streamTags().limit(2)).containsExactly("<p class=\"a&amp;b\">", "<br/>");
+		assertThat(html.streamEntities()).containsExactlyElementsOf(
+			expected.findEntityTokens().stream().map(Token::getValue).toList()
+		);
+	}
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.EngineType;
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link HtmlTokenizer}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class HtmlTokenizerTest
+{
+	/**
+	 * Проверка метода {@link HtmlTokenizer#next()}.
+	 */
+	@Test
+	public void next()
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+
+		HtmlTokenizer tokenizer = new HtmlTokenizer(value);
+
+		List<String> actualTokens = new ArrayList<>();
+
+		while (tokenizer.next()) {
+			actualTokens.add(tokenizer.getType() + " " + tokenizer.getValue());
+		}
+
+		assertThat(actualTokens).containsExactly(
+			"DOCTYPE <!DOCTYPE html>",
+			"OPEN_TAG <p class=\"a&amp;b\">",
+			"ENTITY_NAME &amp;",
+			"ENTITY_NAME &nbsp;",
+			"SELF_CLOSING_TAG <br/>",
+			"COMMENT <!-- - -->",
+			"CDATA <![CDATA[<x>]]>",
+			"OPEN_TAG <x>",
+			"CLOSE_TAG </P>",
+			"ENTITY_NUMERIC &#60;",
+			"ENTITY_UNICODE &#x3e;"
+		);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlTokenizer#next()} с указанными типами лексем.
+	 */
+	@Test
+	public void nextTokenTypes()
+	{
+		String value = "<b>&lt;</b>";
+
+		HtmlTokenizer tokenizer = new HtmlTokenizer(value, Set.of(TokenType.CLOSE_TAG, TokenType.ENTITY_NAME));
+
+		assertThat(tokenizer.next()).isTrue();
+		assertThat(tokenizer.getType()).isEqualTo(TokenType.ENTITY_NAME);
+		assertThat(tokenizer.next()).isTrue();
+		assertThat(tokenizer.getType()).isEqualTo(TokenType.CLOSE_TAG);
+		assertThat(tokenizer.next()).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlTokenizer#next()} с указанными HTML-тегами.
+	 */
+	@Test
+	public void nextTags()
+	{
+		String value = "<p title='<b>'><B></p>";
+
+		HtmlTokenizer tokenizer = new HtmlTokenizer(value, Set.of(TokenType.OPEN_TAG), Set.of(Tag.B));
+
+		List<String> actualTokens = new ArrayList<>();
+
+		while (tokenizer.next()) {
+			actualTokens.add(tokenizer.getValue());
+		}
+
+		assertThat(actualTokens).containsExactly("<b>", "<B>");
+	}
+
+	/**
+	 * Проверка метода {@link HtmlTokenizer#skip()}.
+	 */
+	@Test
+	public void skip()
+	{
+		String value = "<a title='&lt;'>&gt;";
+
+		HtmlTokenizer tokenizer = new HtmlTokenizer(value);
+
+		assertThat(tokenizer.next()).isTrue();
+
+		tokenizer.skip();
+
+		assertThat(tokenizer.next()).isTrue();
+		assertThat(tokenizer.getValue()).isEqualTo("&gt;");
+		assertThat(tokenizer.next()).isFalse();
+	}
+
+	/**
+	 * Проверка методов {@link HtmlTokenizer#getStart()} и {@link HtmlTokenizer#getEnd()}.
+	 */
+	@Test
+	public void getStartEnd()
+	{
+		HtmlTokenizer tokenizer = new HtmlTokenizer("ab</i >c");
+
+		tokenizer.next();
+
+		assertThat(tokenizer.getStart()).isEqualTo(2);
+		assertThat(tokenizer.getEnd()).isEqualTo(7);
+	}
+
+	/**
+	 * Проверка методов {@link HtmlTokenizer#getName()} и {@link HtmlTokenizer#getTag()}.
+	 */
+	@Test
+	public void getNameTag()
+	{
+		HtmlTokenizer tokenizer = new HtmlTokenizer("<Div id=1><custom><!-- -->");
+
+		tokenizer.next();
+
+		assertThat(tokenizer.getName()).isEqualTo("Div");
+		assertThat(tokenizer.getTag()).isEqualTo(Tag.DIV);
+
+		tokenizer.next();
+
+		assertThat(tokenizer.getName()).isEqualTo("custom");
+		assertThat(tokenizer.getTag()).isNull();
+
+		tokenizer.next();
+
+		assertThat(tokenizer.getName()).isNull();
+		assertThat(tokenizer.getTag()).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link HtmlTokenizer#getEntity()}.
+	 */
+	@Test
+	public void getEntity()
+	{
+		HtmlTokenizer tokenizer = new HtmlTokenizer("&permil; &#00060; &#X3c; &unknown; <b>");
+
+		tokenizer.next();
+		assertThat(tokenizer.getName()).isEqualTo("permil");
+		assertThat(tokenizer.getEntity()).isEqualTo(Entity.PERMIL);
+
+		tokenizer.next();
+		assertThat(tokenizer.getName()).isNull();
+		assertThat(tokenizer.getEntity()).isEqualTo(Entity.LT);
+
+		tokenizer.next();
+		assertThat(tokenizer.getEntity()).isEqualTo(Entity.LT);
+
+		tokenizer.next();
+		assertThat(tokenizer.getEntity()).isNull();
+
+		tokenizer.next();
+		assertThat(tokenizer.getEntity()).isNull();
+	}
+
+	/**
+	 * Проверка методов {@link HtmlTokenizer} без текущей лексемы.
+	 */
+	@Test
+	public void noToken()
+	{
+		HtmlTokenizer tokenizer = new HtmlTokenizer("текст");
+
+		assertThatThrownBy(tokenizer::getType).isInstanceOf(IllegalStateException.class);
+
+		assertThat(tokenizer.next()).isFalse();
+
+		assertThatThrownBy(tokenizer::skip).isInstanceOf(IllegalStateException.class);
+	}
+
+	/**
+	 * Проверка метода {@link HtmlTokenizer#next()} на текстах, требующих просмотра до конца текста
+	 * из многих позиций.
+	 */
+	@Test
+	public void nextLinear()
+	{
+		int length = 100_000;
+
+		String[] values = {
+			"<!--" + "x".repeat(length),
+			"<!-- <!-".repeat(length / 8),
+			"<![CDATA[".repeat(length / 9),
+			"<![CDATA[<!--".repeat(length / 13),
+			"<a x='".repeat(length / 6),
+			"<a x=\"<a y=' p=' <a y=\" q=\" ".repeat(length / 30),
+			"<a" + " b=1".repeat(length / 4),
+			"<a" + " ".repeat(length),
+			"&".repeat(length),
+			"&#x" + "0".repeat(length),
+			"<!DOCTYPE A B '+//x//y//z' '".repeat(length / 28),
+			"<b".repeat(length / 2)
+		};
+
+		for (String value : values)
+		{
+			CountingSequence sequence = new CountingSequence(value);
+			HtmlTokenizer tokenizer = new HtmlTokenizer(sequence);
+
+			while (tokenizer.next()) {
+				tokenizer.getEnd();
+			}
+
+			assertThat(sequence.getCount()).isLessThanOrEqualTo(32L * value.length());
+		}
+	}
+
+	/**
+	 * Проверка досрочного завершения потока {@link TokenizerEngine#streamTokens(CharSequence, Set)}.
+	 */
+	@Test
+	public void streamTokensShortCircuit()
+	{
+		String value = "<p>" + "Текст ".repeat(100_000) + "<br/>";
+		CountingSequence sequence = new CountingSequence(value);
+
+		Optional<Token> token = new TokenizerEngine()
+			.streamTokens(sequence, EnumSet.of(TokenType.OPEN_TAG, TokenType.SELF_CLOSING_TAG))
+			.findFirst();
+
+		assertThat(token).map(Token::getValue).contains("<p>");
+		assertThat(sequence.getCount()).isLessThan(100L);
+	}
+
+	/**
+	 * Проверка совпадения результатов {@link HtmlTokenizer} и регулярных выражений
+	 * на случайных текстах.
+	 */
+	@Test
+	public void regexpEquivalence()
+	{
+		String[] parts = {
+			"<", "</", ">", "/>", "/", " ", "\n", "=", "\"", "'", "`", "-", "b", "B", "h1", "a", "x", "1",
+			"<b>", "<br/>", "<a href=x>", "<b x='>'>", "<h1 a=b/>", "ſ", "K", "é", "😀",
+			"<!--", "-->", "--!>", "<!-", "->", "<![CDATA[", "<![cdata[", "]]>",
+			"<!DOCTYPE html", " PUBLIC \"-//W3C//DTD HTML 4.01//EN\"", " 'http://x'",
+			"&", "&#", "&#x", "&#X", ";", "lt", "permil", "0060", "3c", "Aacute", "aacute"
+		};
+
+		Random random = new Random(42);
+
+		for (int iteration = 0; iteration < 2000; iteration++)
+		{
+			StringBuilder value = new StringBuilder();
+			int count = random.nextInt(12);
+
+			for (int index = 0; index < count; index++) {
+				value.append(parts[random.nextInt(parts.length)]);
+			}
+
+			String text = value.toString();
+			Html tokenizer = new Html(text);
+			Html regexp = new Html(text, EngineType.REGEXP);
+
+			assertThat(tokenizer.findOpenTags()).as(text).isEqualTo(regexp.findOpenTags());
+			assertThat(tokenizer.findSelfClosingTags()).as(text).isEqualTo(regexp.findSelfClosingTags());
+			assertThat(tokenizer.findCloseTags()).as(text).isEqualTo(regexp.findCloseTags());
+			assertThat(tokenizer.findComments()).as(text).isEqualTo(regexp.findComments());
+			assertThat(tokenizer.findCData()).as(text).isEqualTo(regexp.findCData());
+			assertThat(tokenizer.findDoctype()).as(text).isEqualTo(regexp.findDoctype());
+			assertThat(tokenizer.findEntities()).as(text).isEqualTo(regexp.findEntities());
+			assertThat(tokenizer.isTag()).as(text).isEqualTo(regexp.isTag());
+			assertThat(tokenizer.isEntity()).as(text).isEqualTo(regexp.isEntity());
+			assertThat(tokenizer.isComment()).as(text).isEqualTo(regexp.isComment());
+
+			Tag tag = Tag.values()[random.nextInt(Tag.values().length)];
+			TagType tagType = TagType.values()[random.nextInt(TagType.values().length)];
+			Entity entity = Entity.values()[random.nextInt(Entity.values().length)];
+			EntityType entityType = EntityType.values()[random.nextInt(EntityType.values().length)];
+
+			tokenizer.deleteTag(Tag.B, tagType);
+			regexp.deleteTag(Tag.B, tagType);
+			tokenizer.deleteTag(tag, tagType);
+			regexp.deleteTag(tag, tagType);
+			tokenizer.deleteEntity(Entity.LT, entityType);
+			regexp.deleteEntity(Entity.LT, entityType);
+			tokenizer.deleteEntity(entity, entityType);
+			regexp.deleteEntity(entity, entityType);
+			tokenizer.deleteComments();
+			regexp.deleteComments();
+
+			assertThat(tokenizer.getText()).as(text).isEqualTo(regexp.getText());
+		}
+	}
+
+	/**
+	 * Последовательность символов, подсчитывающая обращения к символам.
+	 */
+	private static final class CountingSequence implements CharSequence
+	{
+		/**
+		 * Текст.
+		 */
+		private final String value;
+
+		/**
+		 * Количество обращений к символам.
+		 */
+		private long count;
+
+		/**
+		 * Конструктор для {@code CountingSequence}.
+		 *
+		 * @param value текст.
+		 */
+		private CountingSequence(final String value)
+		{
+			this.value = value;
+		}
+
+		/**
+		 * Возвращает количество обращений к символам.
+		 *
+		 * @return количество обращений к символам.
+		 */
+		public long getCount()
+		{
+			return this.count;
+		}
+
+		@Override
+		public int length()
+		{
+			return this.value.length();
+		}
+
+		@Override
+		public char charAt(final int index)
+		{
+			this.count++;
+
+			return this.value.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end)
+		{
+			return this.value.subSequence(start, end);
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.value;
+		}
+	}
+}
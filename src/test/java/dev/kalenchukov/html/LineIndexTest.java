@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link LineIndex}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LineIndexTest
+{
+	/**
+	 * Проверка метода {@link LineIndex#getLine(int)}.
+	 */
+	@Test
+	public void getLine()
+	{
+		LineIndex lines = LineIndex.of("ab\ncd\r\nef\rg\n");
+
+		assertThat(lines.getLine(0)).isEqualTo(1);
+		assertThat(lines.getLine(2)).isEqualTo(1);
+		assertThat(lines.getLine(3)).isEqualTo(2);
+		assertThat(lines.getLine(6)).isEqualTo(2);
+		assertThat(lines.getLine(7)).isEqualTo(3);
+		assertThat(lines.getLine(10)).isEqualTo(4);
+		assertThat(lines.getLine(12)).isEqualTo(5);
+	}
+
+	/**
+	 * Проверка метода {@link LineIndex#getColumn(int)}.
+	 */
+	@Test
+	public void getColumn()
+	{
+		LineIndex lines = LineIndex.of("ab\ncd\r\nef\rg\n");
+
+		assertThat(lines.getColumn(0)).isEqualTo(1);
+		assertThat(lines.getColumn(2)).isEqualTo(3);
+		assertThat(lines.getColumn(4)).isEqualTo(2);
+		assertThat(lines.getColumn(8)).isEqualTo(2);
+		assertThat(lines.getColumn(10)).isEqualTo(1);
+	}
+
+	/**
+	 * Проверка метода {@link LineIndex#of(CharSequence)} с пустым текстом.
+	 */
+	@Test
+	public void ofEmpty()
+	{
+		LineIndex lines = LineIndex.of("");
+
+		assertThat(lines.getLine(0)).isEqualTo(1);
+		assertThat(lines.getColumn(0)).isEqualTo(1);
+	}
+
+	/**
+	 * Проверка метода {@link LineIndex#isOf(CharSequence)}.
+	 */
+	@Test
+	public void isOf()
+	{
+		String value = "a\nb";
+
+		LineIndex lines = LineIndex.of(value);
+
+		assertThat(lines.isOf(value)).isTrue();
+		assertThat(lines.isOf(new String(value))).isFalse();
+	}
+}
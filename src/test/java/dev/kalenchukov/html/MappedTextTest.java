@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link MappedText}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class MappedTextTest
+{
+	/**
+	 * Проверка метода {@link MappedText#ofFile(Path, Charset)} с кодировкой UTF-8.
+	 */
+	@Test
+	public void ofFileUtf8(@TempDir final Path directory) throws IOException
+	{
+		String[] parts = {"<p>", "текст", "😀", "a", "&amp;", " ", "\u0085", "﻿"};
+		byte[][] invalid = {{(byte) 0xF0, (byte) 0x9F}, {(byte) 0xC0}, {(byte) 0x80}, {(byte) 0xED, (byte) 0xA0, (byte) 0x80}};
+		Random random = new Random(42);
+
+		for (int iteration = 0; iteration < 20; iteration++)
+		{
+			List<Byte> bytes = new ArrayList<>();
+			int count = random.nextInt(20000);
+
+			for (int index = 0; index < count; index++)
+			{
+				byte[] part = random.nextInt(20) == 0
+					? invalid[random.nextInt(invalid.length)]
+					: parts[random.nextInt(parts.length)].getBytes(StandardCharsets.UTF_8);
+
+				for (byte value : part) {
+					bytes.add(value);
+				}
+			}
+
+			byte[] value = new byte[bytes.size()];
+
+			for (int index = 0; index < value.length; index++) {
+				value[index] = bytes.get(index);
+			}
+
+			Path path = directory.resolve("utf8.html");
+			Files.write(path, value);
+
+			assertText(MappedText.ofFile(path, StandardCharsets.UTF_8), new String(value, StandardCharsets.UTF_8), random);
+		}
+	}
+
+	/**
+	 * Проверка метода {@link MappedText#ofFile(Path, Charset)} с однобайтовыми кодировками.
+	 */
+	@Test
+	public void ofFileSingleByte(@TempDir final Path directory) throws IOException
+	{
+		Random random = new Random(42);
+		byte[] value = new byte[5000];
+		random.nextBytes(value);
+
+		Path path = directory.resolve("single.html");
+		Files.write(path, value);
+
+		for (String name : new String[] {"windows-1251", "ISO-8859-1", "US-ASCII", "KOI8-R"})
+		{
+			Charset charset = Charset.forName(name);
+
+			assertText(MappedText.ofFile(path, charset), new String(value, charset), random);
+		}
+	}
+
+	/**
+	 * Проверка метода {@link MappedText#ofFile(Path, Charset)} с пустым файлом.
+	 */
+	@Test
+	public void ofFileEmpty(@TempDir final Path directory) throws IOException
+	{
+		Path path = directory.resolve("empty.html");
+		Files.write(path, new byte[0]);
+
+		assertThat(MappedText.ofFile(path, StandardCharsets.UTF_8).length()).isZero();
+		assertThat(MappedText.ofFile(path, StandardCharsets.ISO_8859_1).toString()).isEmpty();
+	}
+
+	/**
+	 * Проверка метода {@link MappedText#ofFile(Path, Charset)} с неподдерживаемой кодировкой.
+	 */
+	@Test
+	public void ofFileCharsetNotSupported(@TempDir final Path directory) throws IOException
+	{
+		Path path = directory.resolve("utf16.html");
+		Files.writeString(path, "<p>", StandardCharsets.UTF_16);
+
+		assertThatThrownBy(() -> MappedText.ofFile(path, StandardCharsets.UTF_16))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка метода {@link MappedText#getCharset()}.
+	 */
+	@Test
+	public void getCharset(@TempDir final Path directory) throws IOException
+	{
+		Path path = directory.resolve("index.html");
+		Files.writeString(path, "<p>");
+
+		assertThat(MappedText.ofFile(path, StandardCharsets.UTF_8).getCharset()).isEqualTo(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Проверка {@link HtmlTokenizer} с текстом {@link MappedText}.
+	 */
+	@Test
+	public void tokenizer(@TempDir final Path directory) throws IOException
+	{
+		String value = "<!DOCTYPE html><p class=\"а&amp;б\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+		Path path = directory.resolve("index.html");
+		Files.writeString(path, value.repeat(500), StandardCharsets.UTF_8);
+
+		assertThat(getTokens(new HtmlTokenizer(MappedText.ofFile(path, StandardCharsets.UTF_8))))
+			.isEqualTo(getTokens(new HtmlTokenizer(value.repeat(500))));
+	}
+
+	/**
+	 * Проверяет совпадение текста со строкой.
+	 *
+	 * @param actual текст.
+	 * @param expected строка.
+	 * @param random генератор позиций.
+	 */
+	private static void assertText(final MappedText actual, final String expected, final Random random)
+	{
+		assertThat(actual.length()).isEqualTo(expected.length());
+		assertThat(actual.toString()).isEqualTo(expected);
+
+		for (int iteration = 0; iteration < 1000 && !expected.isEmpty(); iteration++)
+		{
+			int index = random.nextInt(expected.length());
+			int end = Math.min(expected.length(), index + random.nextInt(100));
+
+			assertThat(actual.charAt(index)).isEqualTo(expected.charAt(index));
+			assertThat(actual.subSequence(index, end)).isEqualTo(expected.substring(index, end));
+		}
+
+		assertThatThrownBy(() -> actual.charAt(expected.length())).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	/**
+	 * Возвращает лексемы текста.
+	 *
+	 * @param tokenizer лексический анализатор текста.
+	 * @return лексемы.
+	 */
+	private static List<String> getTokens(final HtmlTokenizer tokenizer)
+	{
+		List<String> tokens = new ArrayList<>();
+
+		while (tokenizer.next()) {
+			tokens.add(tokenizer.getType() + " " + tokenizer.getStart() + " " + tokenizer.getValue());
+		}
+
+		return tokens;
+	}
+}
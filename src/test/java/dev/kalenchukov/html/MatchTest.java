@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Класс проверки методов класса {@link Match}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class MatchTest
+{
+	/**
+	 * Проверка метода {@link Match#getGroups()} у HTML-тега.
+	 */
+	@Test
+	public void getGroupsTag()
+	{
+		Match match = new Match(new Token(TokenType.SELF_CLOSING_TAG, 5, 24, "<img src='a.png' />"), 1, 6);
+
+		assertThat(match.getGroups()).containsExactly(
+			entry("tag", "<img src='a.png' />"),
+			entry("name", "img"),
+			entry("params", " src='a.png'")
+		);
+	}
+
+	/**
+	 * Проверка метода {@link Match#getGroups()} у объявления типа документа.
+	 */
+	@Test
+	public void getGroupsDoctype()
+	{
+		String value = "<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.01//EN\" \"http://www.w3.org/TR/html4/strict.dtd\">";
+
+		Match match = new Match(new Token(TokenType.DOCTYPE, 0, value.length(), value), 1, 1);
+
+		assertThat(match.getGroup("rootElement")).isEqualTo("HTML");
+		assertThat(match.getGroup("dtd")).isEqualTo("-//W3C//DTD HTML 4.01//EN");
+		assertThat(match.getGroup("language")).isEqualTo("EN");
+		assertThat(match.getGroup("url")).isEqualTo("http://www.w3.org/TR/html4/strict.dtd");
+	}
+
+	/**
+	 * Проверка метода {@link Match#getGroup(String)} у HTML-сущностей.
+	 */
+	@Test
+	public void getGroupEntity()
+	{
+		Match numeric = new Match(new Token(TokenType.ENTITY_NUMERIC, 0, 7, "&#0060;"), 1, 1);
+		Match unicode = new Match(new Token(TokenType.ENTITY_UNICODE, 0, 7, "&#x03E;"), 1, 1);
+
+		assertThat(numeric.getGroup("numericLeast")).isEqualTo("60");
+		assertThat(unicode.getGroup("unicodeLeast")).isEqualTo("3E");
+		assertThat(unicode.getGroup("numeric")).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Match#getGroups()} у лексем, найденных без регулярных выражений.
+	 */
+	@Test
+	public void getGroupsTokenizer()
+	{
+		String value = "<!DOCTYPE html><P class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></p>&#60;&#X3e;";
+
+		for (Match match : new Html(value).findMatches(EnumSet.allOf(TokenType.class)))
+		{
+			assertThat(match.getGroups())
+				.containsEntry(match.getType().getRegexp().getGroup(), match.getValue())
+				.hasSizeGreaterThan(1);
+		}
+	}
+
+	/**
+	 * Проверка метода {@link Match#toString()}.
+	 */
+	@Test
+	public void testToString()
+	{
+		Match match = new Match(new Token(TokenType.CLOSE_TAG, 3, 7, "</p>"), 2, 4);
+
+		assertThat(match.toString()).isEqualTo("2:4 CLOSE_TAG 3-7 </p>");
+	}
+}
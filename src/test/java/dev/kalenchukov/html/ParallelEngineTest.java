@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link ParallelEngine}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ParallelEngineTest
+{
+	/**
+	 * Части текста для проверки.
+	 */
+	private static final String[] PARTS = {
+		"<", "</", ">", "/>", "/", " ", "\n", "=", "\"", "'", "-", "b", "B", "h1", "a", "x", "1",
+		"<b>", "<br/>", "<a href=x>", "<b x='>'>", "<b x='<i>'>", "<h1 a=b/>", "</b>", "</i>", "é", "😀",
+		"<!--", "-->", "<!-", "<![CDATA[", "<![cdata[", "]]>", "<!DOCTYPE html>", "<!DOCTYPE html",
+		"&", "&#", "&#x", ";", "lt", "&lt;", "&amp;", "&#60;", "&#x3e;", "&nbsp;", "&Aacute;", "&permil;",
+		"<>&\"'", "©"
+	};
+
+	/**
+	 * Пул потоков.
+	 */
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	/**
+	 * Завершает работу пула потоков.
+	 */
+	@AfterAll
+	public static void shutdown()
+	{
+		POOL.shutdown();
+	}
+
+	/**
+	 * Проверка конструктора {@link ParallelEngine#ParallelEngine(ForkJoinPool, int)}
+	 * с некорректной минимальной длиной части текста.
+	 */
+	@Test
+	public void constructorNotCorrect()
+	{
+		assertThatThrownBy(() -> new ParallelEngine(POOL, 0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка метода {@link ParallelEngine#find(CharSequence, TokenType)}.
+	 */
+	@Test
+	public void find()
+	{
+		String value = "<p>" + "<b>Текст&amp;</b>".repeat(100) + "<br/>";
+
+		Engine engine = new ParallelEngine(POOL, 8);
+
+		assertThat(engine.find(value, TokenType.OPEN_TAG)).hasSize(101);
+		assertThat(engine.find(value, TokenType.CLOSE_TAG)).hasSize(100);
+		assertThat(engine.find(value, TokenType.SELF_CLOSING_TAG)).containsExactly("<br/>");
+	}
+
+	/**
+	 * Проверка метода {@link ParallelEngine#delete(CharSequence, TokenType)} с лексемой,
+	 * которая продолжается во всех частях текста.
+	 */
+	@Test
+	public void deleteCrossing()
+	{
+		String value = "<b>" + "<!-- " + "<i>&lt;</i>".repeat(1000) + "-->" + "<i>&lt;</i>";
+
+		Engine engine = new ParallelEngine(POOL, 8);
+		Engine expected = new TokenizerEngine();
+
+		assertThat(engine.delete(value, TokenType.COMMENT)).isEqualTo("<b><i>&lt;</i>");
+		assertThat(engine.find(value, TokenType.OPEN_TAG)).isEqualTo(expected.find(value, TokenType.OPEN_TAG));
+		assertThat(engine.find(value, TokenType.COMMENT)).isEqualTo(expected.find(value, TokenType.COMMENT));
+	}
+
+	/**
+	 * Проверка метода {@link ParallelEngine#decodeEntities(CharSequence, Set, Set)}.
+	 */
+	@Test
+	public void decodeEntities()
+	{
+		String value = "&lt;b&gt;Текст&nbsp;&#60;&#x3e;&amp;lt; ".repeat(100);
+
+		Engine engine = new ParallelEngine(POOL, 8);
+
+		assertThat(engine.decodeEntities(value, EnumSet.allOf(EntityType.class), EnumSet.allOf(Entity.class)))
+			.isEqualTo("<b>Текст <>&lt; ".repeat(100));
+	}
+
+	/**
+	 * Проверка метода {@link ParallelEngine#encodeEntities(CharSequence, EntityType, Set)}.
+	 */
+	@Test
+	public void encodeEntities()
+	{
+		String value = "<b>Текст</b>©".repeat(100);
+
+		Engine engine = new ParallelEngine(POOL, 8);
+
+		assertThat(engine.encodeEntities(value, EntityType.NAME, EnumSet.of(Entity.LT, Entity.GT, Entity.COPY)))
+			.isEqualTo("&lt;b&gt;Текст&lt;/b&gt;&copy;".repeat(100));
+	}
+
+	/**
+	 * Проверка обработки текста файла, отображённого в память.
+	 */
+	@Test
+	public void mappedText(@TempDir final Path directory) throws IOException
+	{
+		String value = "<p class=\"a&amp;b\">Текст&nbsp;😀<![CDATA[<x>]]></p>".repeat(200);
+		Path path = directory.resolve("text.html");
+
+		Files.writeString(path, value, StandardCharsets.UTF_8);
+
+		MappedText text = MappedText.ofFile(path, StandardCharsets.UTF_8);
+		Engine engine = new ParallelEngine(POOL, 8);
+		Engine expected = new TokenizerEngine();
+
+		assertThat(engine.find(text, TokenType.CDATA)).isEqualTo(expected.find(value, TokenType.CDATA));
+		assertThat(engine.deleteTags(text, EnumSet.allOf(TagType.class), EnumSet.allOf(Tag.class)))
+			.isEqualTo(expected.deleteTags(value, EnumSet.allOf(TagType.class), EnumSet.allOf(Tag.class)));
+		assertThat(engine.decodeEntities(text, EnumSet.allOf(EntityType.class), EnumSet.allOf(Entity.class)))
+			.isEqualTo(EntityDecoder.decode(value, EnumSet.allOf(EntityType.class), EnumSet.allOf(Entity.class)));
+	}
+
+	/**
+	 * Проверка совпадения результатов с {@link TokenizerEngine}.
+	 */
+	@Test
+	public void tokenizerEquivalence()
+	{
+		Random random = new Random(42);
+		Engine expected = new TokenizerEngine();
+
+		for (int iteration = 0; iteration < 300; iteration++)
+		{
+			StringBuilder value = new StringBuilder();
+			int count = random.nextInt(400);
+
+			for (int index = 0; index < count; index++) {
+				value.append(PARTS[random.nextInt(PARTS.length)]);
+			}
+
+			String text = value.toString();
+			Engine engine = new ParallelEngine(POOL, 1 + random.nextInt(64));
+
+			for (TokenType tokenType : TokenType.values())
+			{
+				assertThat(engine.find(text, tokenType)).as(text).isEqualTo(expected.find(text, tokenType));
+				assertThat(engine.delete(text, tokenType)).as(text).isEqualTo(expected.delete(text, tokenType));
+				assertThat(engine.is(text, tokenType)).as(text).isEqualTo(expected.is(text, tokenType));
+				assertThat(engine.index(text).find(tokenType)).as(text).isEqualTo(expected.find(text, tokenType));
+			}
+
+			assertThat(engine.findTokens(text, EnumSet.allOf(TokenType.class)))
+				.as(text).isEqualTo(expected.findTokens(text, EnumSet.allOf(TokenType.class)));
+
+			Set<TagType> tagTypes = EnumSet.of(TagType.values()[random.nextInt(TagType.values().length)]);
+			Set<Tag> tags = EnumSet.of(Tag.B, Tag.values()[random.nextInt(Tag.values().length)]);
+			Set<EntityType> entityTypes = EnumSet.of(EntityType.values()[random.nextInt(EntityType.values().length)]);
+			Set<Entity> entities = EnumSet.of(Entity.LT, Entity.values()[random.nextInt(Entity.values().length)]);
+
+			assertThat(engine.deleteTags(text, tagTypes, tags))
+				.as(text).isEqualTo(expected.deleteTags(text, tagTypes, tags));
+			assertThat(engine.deleteTags(text, EnumSet.allOf(TagType.class), EnumSet.allOf(Tag.class)))
+				.as(text).isEqualTo(expected.deleteTags(text, EnumSet.allOf(TagType.class), EnumSet.allOf(Tag.class)));
+			assertThat(engine.deleteEntities(text, entityTypes, entities))
+				.as(text).isEqualTo(expected.deleteEntities(text, entityTypes, entities));
+			assertThat(engine.decodeEntities(text, EnumSet.allOf(EntityType.class), EnumSet.allOf(Entity.class)))
+				.as(text).isEqualTo(expected.decodeEntities(text, EnumSet.allOf(EntityType.class), EnumSet.allOf(Entity.class)));
+			assertThat(engine.decodeEntities(text, entityTypes, entities))
+				.as(text).isEqualTo(expected.decodeEntities(text, entityTypes, entities));
+			assertThat(engine.encodeEntities(text, EntityType.NAME, EnumSet.allOf(Entity.class)))
+				.as(text).isEqualTo(expected.encodeEntities(text, EntityType.NAME, EnumSet.allOf(Entity.class)));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.EntityType;
+import dev.kalenchukov.html.resources.Regexp;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TagType;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link PatternCache}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class PatternCacheTest
+{
+	/**
+	 * Проверка конструктора {@link PatternCache#PatternCache(int)} с некорректной вместимостью.
+	 */
+	@Test
+	public void constructorNotCorrect()
+	{
+		assertThatThrownBy(() -> new PatternCache(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Проверка метода {@link PatternCache#getPattern(Regexp, int)}.
+	 */
+	@Test
+	public void getPattern()
+	{
+		PatternCache patternCache = new PatternCache(8);
+
+		Pattern actualPattern = patternCache.getPattern(Regexp.COMMENT, Pattern.DOTALL);
+
+		assertThat(actualPattern.pattern()).isEqualTo(Regexp.COMMENT.getPattern());
+		assertThat(actualPattern.flags()).isEqualTo(Pattern.DOTALL);
+		assertThat(patternCache.getPattern(Regexp.COMMENT, Pattern.DOTALL)).isSameAs(actualPattern);
+		assertThat(patternCache.getPattern(Regexp.COMMENT, 0)).isNotSameAs(actualPattern);
+		assertThat(patternCache.getHits()).isEqualTo(1L);
+		assertThat(patternCache.getMisses()).isEqualTo(2L);
+		assertThat(patternCache.size()).isEqualTo(2);
+	}
+
+	/**
+	 * Проверка метода {@link PatternCache#getPattern(Tag, TagType)}.
+	 */
+	@Test
+	public void getPatternTag()
+	{
+		PatternCache patternCache = new PatternCache(8);
+
+		Pattern actualPattern = patternCache.getPattern(Tag.B, TagType.CLOSE);
+
+		assertThat(actualPattern.matcher("</B >").matches()).isTrue();
+		assertThat(actualPattern.matcher("</br>").matches()).isFalse();
+		assertThat(patternCache.getPattern(Tag.B, TagType.CLOSE)).isSameAs(actualPattern);
+		assertThat(patternCache.getPattern(Tag.B, TagType.OPEN)).isNotSameAs(actualPattern);
+	}
+
+	/**
+	 * Проверка метода {@link PatternCache#getPattern(Entity, EntityType)}.
+	 */
+	@Test
+	public void getPatternEntity()
+	{
+		PatternCache patternCache = new PatternCache(8);
+
+		assertThat(patternCache.getPattern(Entity.LT, EntityType.NAME).matcher("&lt;").matches()).isTrue();
+		assertThat(patternCache.getPattern(Entity.LT, EntityType.NUMERIC).matcher("&#060;").matches()).isTrue();
+		assertThat(patternCache.getPattern(Entity.LT, EntityType.UNICODE).matcher("&#x3c;").matches()).isTrue();
+		assertThat(patternCache.getPattern(Entity.GT, EntityType.NAME).matcher("&lt;").matches()).isFalse();
+		assertThat(patternCache.getMisses()).isEqualTo(4L);
+	}
+
+	/**
+	 * Проверка вытеснения из {@link PatternCache} регулярного выражения, которое дольше всех не запрашивалось.
+	 */
+	@Test
+	public void eviction()
+	{
+		PatternCache patternCache = new PatternCache(2);
+
+		Pattern comment = patternCache.getPattern(Regexp.COMMENT, 0);
+		Pattern cdata = patternCache.getPattern(Regexp.CDATA, 0);
+		patternCache.getPattern(Regexp.COMMENT, 0);
+		patternCache.getPattern(Regexp.DOCTYPE, 0);
+
+		assertThat(patternCache.size()).isEqualTo(2);
+		assertThat(patternCache.getEvictions()).isEqualTo(1L);
+		assertThat(patternCache.getPattern(Regexp.COMMENT, 0)).isSameAs(comment);
+		assertThat(patternCache.getPattern(Regexp.CDATA, 0)).isNotSameAs(cdata);
+	}
+
+	/**
+	 * Проверка метода {@link PatternCache#clear()}.
+	 */
+	@Test
+	public void clear()
+	{
+		PatternCache patternCache = new PatternCache(8);
+		patternCache.getPattern(Regexp.COMMENT, 0);
+
+		patternCache.clear();
+
+		assertThat(patternCache.size()).isZero();
+		assertThat(patternCache.getMisses()).isEqualTo(1L);
+	}
+
+	/**
+	 * Проверка метода {@link PatternCache#getDefault()}.
+	 */
+	@Test
+	public void getDefault()
+	{
+		PatternCache patternCache = PatternCache.getDefault();
+
+		assertThat(patternCache).isSameAs(PatternCache.getDefault());
+		assertThat(patternCache.getCapacity()).isEqualTo(PatternCache.DEFAULT_CAPACITY);
+	}
+}
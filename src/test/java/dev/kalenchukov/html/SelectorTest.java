@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link Selector}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class SelectorTest
+{
+	/**
+	 * Текст для проверки селекторов.
+	 */
+	private static final String TEXT = """
+		<div class="item price" id="first"><span>1</span><b><span>2</span></b></div>
+		<DIV class='price'><Span data-x=y>3</Span><em>4</em><span title="a b">5</span></DIV>
+		<section><span class="price">6</span></section>
+		<custom><span>7</span></custom>
+		""";
+
+	/**
+	 * Проверка метода {@link Selector#select(HtmlDocument)}.
+	 */
+	@Test
+	public void select()
+	{
+		HtmlDocument document = HtmlDocument.parse(TEXT);
+
+		assertThat(this.select(document, "div.price > span")).containsExactly("1", "3", "5");
+		assertThat(this.select(document, "div.price span")).containsExactly("1", "2", "3", "5");
+		assertThat(this.select(document, "#first span")).containsExactly("1", "2");
+		assertThat(this.select(document, ".price")).hasSize(3);
+		assertThat(this.select(document, "span[data-x]")).containsExactly("3");
+		assertThat(this.select(document, "span[DATA-X=y]")).containsExactly("3");
+		assertThat(this.select(document, "span[title='a b']")).containsExactly("5");
+		assertThat(this.select(document, "span + em")).containsExactly("4");
+		assertThat(this.select(document, "span ~ span")).containsExactly("5");
+		assertThat(this.select(document, "section > .price, custom span")).containsExactly("6", "7");
+		assertThat(this.select(document, "span, div > span")).containsExactly("1", "2", "3", "5", "6", "7");
+		assertThat(this.select(document, "CUSTOM > *")).containsExactly("7");
+		assertThat(this.select(document, ".item.price > b > span")).containsExactly("2");
+		assertThat(this.select(document, "#missing, .missing, p")).isEmpty();
+	}
+
+	/**
+	 * Проверка метода {@link Selector#select(HtmlDocument)} с необязательными закрывающими HTML-тегами.
+	 */
+	@Test
+	public void selectImpliedEnd()
+	{
+		HtmlDocument document = HtmlDocument.parse("<ul><li>a<li>b<ul><li>c</ul><li>d</ul><dl><dt>e<dd>f</dl>");
+
+		assertThat(this.select(document, "ul > li")).containsExactly("a", "bc", "c", "d");
+		assertThat(this.select(document, "li + li")).containsExactly("bc", "d");
+		assertThat(this.select(document, "li ~ li")).containsExactly("bc", "d");
+		assertThat(this.select(document, "li li")).containsExactly("c");
+		assertThat(this.select(document, "dt + dd")).containsExactly("f");
+	}
+
+	/**
+	 * Проверка метода {@link Selector#matches(HtmlDocument, int)}.
+	 */
+	@Test
+	public void matches()
+	{
+		HtmlDocument document = HtmlDocument.parse(TEXT);
+		Selector selector = Selector.compile("div.price > span");
+
+		int div = document.getElementById("first");
+		int span = document.getFirstChild(div);
+
+		assertThat(selector.matches(document, span)).isTrue();
+		assertThat(selector.matches(document, div)).isFalse();
+		assertThat(selector.matches(document, document.getFirstChild(span))).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link Selector#compile(String)}.
+	 */
+	@Test
+	public void compile()
+	{
+		Selector selector = Selector.compile("div.price > span");
+
+		assertThat(Selector.compile("div.price > span")).isSameAs(selector);
+		assertThat(selector.toString()).isEqualTo("div.price > span");
+	}
+
+	/**
+	 * Проверка метода {@link Selector#compile(String)} с неверным селектором.
+	 *
+	 * @param selector селектор.
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = {"", " ", "div >", "> div", "div,", "div..a", "#", "[a", "[a='b]", "div $", "a b)"})
+	public void compileInvalid(String selector)
+	{
+		assertThatThrownBy(() -> Selector.compile(selector)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Возвращает текстовое содержимое найденных HTML-элементов.
+	 *
+	 * @param document дерево HTML-документа.
+	 * @param selector селектор.
+	 * @return текстовое содержимое найденных HTML-элементов.
+	 */
+	private List<String> select(HtmlDocument document, String selector)
+	{
+		List<String> result = new ArrayList<>();
+
+		for (int node : Selector.compile(selector).select(document)) {
+			result.add(document.getTextContent(node));
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link TextExtractor}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class TextExtractorTest
+{
+	/**
+	 * Проверка метода {@link TextExtractor#extract(CharSequence, Appendable, boolean)}.
+	 */
+	@Test
+	public void extract() throws IOException
+	{
+		String value = """
+			<!DOCTYPE html><html><head><title>Заголовок &amp; ещё</title>
+			<style>p > a { color: red; }</style><script>if (a < b && c) {}</script></head>
+			<body><!-- комментарий --><p class="a&amp;b">Текст&nbsp;абзаца &unknownx; &#60;br&#x3E;</p><![CDATA[x]]></body></html>
+			""";
+
+		StringBuilder result = new StringBuilder();
+		TextExtractor.extract(value, result, false);
+
+		assertThat(result.toString()).isEqualTo("Заголовок & ещё\n\nТекст абзаца &unknownx; <br>\n");
+	}
+
+	/**
+	 * Проверка метода {@link TextExtractor#extract(CharSequence, Appendable, boolean)} с заменой пробельных символов.
+	 */
+	@Test
+	public void extractNormalizeSpaces() throws IOException
+	{
+		String value = "\n <p>  Первая\t\tстрока </p>\r\n<p>&lt;вторая&gt;  &nbsp; <b>строка</b></p>\n ";
+
+		StringWriter result = new StringWriter();
+		TextExtractor.extract(value, result, true);
+
+		assertThat(result.toString()).isEqualTo("Первая строка <вторая>   строка");
+	}
+
+	/**
+	 * Проверка метода {@link TextExtractor#extract(CharSequence, Appendable, boolean)} с HTML-тегами,
+	 * на которых прерывается строка текста.
+	 */
+	@Test
+	public void extractLineBreaks() throws IOException
+	{
+		String paragraphs = "<p>a</p><p>b</p>";
+		String line = "a<br>b<br/> c";
+		String cells = "<table><tr><td>Price</td><td>10</td></tr></table>";
+		String items = "<ul><li>a<li><b>b</b></ul>\n<div>c</div>";
+
+		assertThat(this.extract(paragraphs, true)).isEqualTo("a b");
+		assertThat(this.extract(line, true)).isEqualTo("a b c");
+		assertThat(this.extract(cells, true)).isEqualTo("Price 10");
+		assertThat(this.extract(items, true)).isEqualTo("a b c");
+
+		assertThat(this.extract(paragraphs, false)).isEqualTo("a\nb");
+		assertThat(this.extract(line, false)).isEqualTo("a\nb c");
+		assertThat(this.extract(cells, false)).isEqualTo("Price\n10");
+		assertThat(this.extract(items, false)).isEqualTo("a\nb\nc");
+	}
+
+	/**
+	 * Проверка метода {@link TextExtractor#extract(CharSequence, Appendable, boolean)}
+	 * на совпадение с последовательным удалением лексем и преобразованием HTML-сущностей.
+	 */
+	@Test
+	public void extractSameAsDelete() throws IOException
+	{
+		String value = "<!DOCTYPE html><span id=x>Один&nbsp;<wbr/>два <!-- 3 --><i>&#169; &copy;</i>&bad;</span>";
+
+		Hypertext html = new Html(value);
+		html.deleteComments();
+		html.deleteCData();
+		html.deleteDoctype();
+		html.deleteTags();
+		html.decodeEntities();
+
+		StringBuilder result = new StringBuilder();
+		TextExtractor.extract(value, result, false);
+
+		assertThat(result.toString()).isEqualTo(html.getText());
+	}
+
+	/**
+	 * Возвращает видимый текст.
+	 *
+	 * @param value текст.
+	 * @param normalizeSpaces {@code true}, если последовательности пробельных символов заменяются одним пробелом.
+	 * @return видимый текст.
+	 */
+	private String extract(String value, boolean normalizeSpaces) throws IOException
+	{
+		StringBuilder result = new StringBuilder();
+		TextExtractor.extract(value, result, normalizeSpaces);
+
+		return result.toString();
+	}
+}
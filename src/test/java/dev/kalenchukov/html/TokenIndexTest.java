@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import dev.kalenchukov.html.resources.Entity;
+import dev.kalenchukov.html.resources.Tag;
+import dev.kalenchukov.html.resources.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link TokenIndex}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class TokenIndexTest
+{
+	/**
+	 * Проверка метода {@link TokenIndex#find(TokenType)}.
+	 */
+	@Test
+	public void find()
+	{
+		String value = "<!DOCTYPE html><p class=\"a&amp;b\">Текст&nbsp;<br/><!-- - --><![CDATA[<x>]]></P>&#60;&#x3e;";
+
+		TokenIndex index = TokenIndex.of(value);
+
+		assertThat(index.find(TokenType.OPEN_TAG)).containsExactly("<p class=\"a&amp;b\">", "<x>");
+		assertThat(index.find(TokenType.ENTITY_NAME)).containsExactly("&amp;", "&nbsp;");
+		assertThat(index.find(TokenType.SELF_CLOSING_TAG)).containsExactly("<br/>");
+		assertThat(index.find(TokenType.CLOSE_TAG)).containsExactly("</P>");
+		assertThat(index.find(TokenType.ENTITY_UNICODE)).containsExactly("&#x3e;");
+	}
+
+	/**
+	 * Проверка метода {@link TokenIndex#count(java.util.Set)}.
+	 */
+	@Test
+	public void count()
+	{
+		TokenIndex index = TokenIndex.of("<p>Текст&nbsp;<br/><!-- a --></P>&#60;");
+
+		assertThat(index.count(EnumSet.of(TokenType.OPEN_TAG, TokenType.CLOSE_TAG))).isEqualTo(2);
+		assertThat(index.count(EnumSet.allOf(TokenType.class))).isEqualTo(6);
+		assertThat(index.count(EnumSet.of(TokenType.CDATA))).isZero();
+	}
+
+	/**
+	 * Проверка метода {@link TokenIndex#containsTags(java.util.Set)}.
+	 */
+	@Test
+	public void containsTags()
+	{
+		TokenIndex index = TokenIndex.of("<p>Текст<br/></DIV><unknown>");
+
+		assertThat(index.containsTags(EnumSet.of(Tag.BR))).isTrue();
+		assertThat(index.containsTags(EnumSet.of(Tag.DIV))).isTrue();
+		assertThat(index.containsTags(EnumSet.of(Tag.B))).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link TokenIndex#containsEntities(java.util.Set)}.
+	 */
+	@Test
+	public void containsEntities()
+	{
+		TokenIndex index = TokenIndex.of("Текст&nbsp;&#60;&#X26;");
+
+		assertThat(index.containsEntities(EnumSet.of(Entity.NBSP))).isTrue();
+		assertThat(index.containsEntities(EnumSet.of(Entity.LT))).isTrue();
+		assertThat(index.containsEntities(EnumSet.of(Entity.AMP))).isTrue();
+		assertThat(index.containsEntities(EnumSet.of(Entity.COPY))).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link TokenIndex#is(TokenType)}.
+	 */
+	@Test
+	public void is()
+	{
+		assertThat(TokenIndex.of("<br/>").is(TokenType.SELF_CLOSING_TAG)).isTrue();
+		assertThat(TokenIndex.of("<br/>").is(TokenType.OPEN_TAG)).isFalse();
+		assertThat(TokenIndex.of("<b x='&lt;'>").is(TokenType.OPEN_TAG)).isTrue();
+		assertThat(TokenIndex.of("<b></b>").is(TokenType.OPEN_TAG)).isFalse();
+		assertThat(TokenIndex.of("").is(TokenType.COMMENT)).isFalse();
+	}
+
+	/**
+	 * Проверка метода {@link TokenIndex#isOf(CharSequence)}.
+	 */
+	@Test
+	public void isOf()
+	{
+		String value = "<b>";
+
+		TokenIndex index = TokenIndex.of(value);
+
+		assertThat(index.isOf(value)).isTrue();
+		assertThat(index.isOf(new String(value))).isFalse();
+	}
+
+	/**
+	 * Проверка совпадения результатов с {@link TokenizerEngine}.
+	 */
+	@Test
+	public void tokenizerEquivalence()
+	{
+		String[] parts = {
+			"<", "</", ">", "/>", "/", " ", "=", "\"", "'", "-", "b", "h1", "a", "1",
+			"<b>", "<br/>", "<a href=x>", "<b x='>'>", "<h1 a=b/>", "<a b=/>", "<a b=/ >", "</b>", "é",
+			"<!--", "-->", "<![CDATA[", "]]>", "<!DOCTYPE html>", "<!DOCTYPE html",
+			"&", "&#", "&#x", ";", "lt", "&lt;", "&#60;", "&#x3e;", "&nbsp;"
+		};
+
+		Random random = new Random(42);
+		Engine engine = new TokenizerEngine();
+
+		for (int iteration = 0; iteration < 2000; iteration++)
+		{
+			StringBuilder value = new StringBuilder();
+			int count = random.nextInt(12);
+
+			for (int index = 0; index < count; index++) {
+				value.append(parts[random.nextInt(parts.length)]);
+			}
+
+			String text = value.toString();
+			TokenIndex index = TokenIndex.of(text);
+
+			assertThat(index.findTokens(EnumSet.allOf(TokenType.class)))
+				.as(text).isEqualTo(engine.findTokens(text, EnumSet.allOf(TokenType.class)));
+
+			for (TokenType tokenType : TokenType.values())
+			{
+				assertThat(index.find(tokenType)).as(text).isEqualTo(engine.find(text, tokenType));
+				assertThat(index.is(tokenType)).as(text).isEqualTo(engine.is(text, tokenType));
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.html;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link WriterOutput}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class WriterOutputTest
+{
+	/**
+	 * Проверка метода {@link WriterOutput#append(CharSequence, int, int)}.
+	 */
+	@Test
+	public void append() throws IOException
+	{
+		String value = "Текст ".repeat(5000);
+
+		StringWriter writer = new StringWriter();
+		WriterOutput output = new WriterOutput(writer);
+
+		output.append(new StringBuilder("<b>"), 1, 2);
+
+		assertThat(writer.toString()).isEmpty();
+
+		output.append(value, 6, value.length());
+		output.append(CharBuffer.wrap("<i>"));
+		output.append('!');
+		output.append(null);
+		output.writeBuffer();
+
+		assertThat(writer.toString()).isEqualTo("b" + value.substring(6) + "<i>!null");
+	}
+
+	/**
+	 * Проверка метода {@link WriterOutput#write(Appendable, WriterOutput.Content)}.
+	 */
+	@Test
+	public void write() throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		StringBuilder builder = new StringBuilder();
+
+		WriterOutput.write(writer, output -> {
+			assertThat(output).isInstanceOf(WriterOutput.class);
+
+			output.append("<b>").append('!');
+		});
+		WriterOutput.write(builder, output -> {
+			assertThat(output).isSameAs(builder);
+
+			output.append("<b>").append('!');
+		});
+
+		assertThat(writer.toString()).isEqualTo("<b>!");
+		assertThat(builder.toString()).isEqualTo("<b>!");
+	}
+}
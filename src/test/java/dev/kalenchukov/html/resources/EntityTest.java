@@ -203,4 +203,97 @@ public class EntityTest
 
 		assertThat(actualMnemonicUnicode).isEqualTo("&#X23;");
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Проверка метода {@link Entity#ofName(CharSequence)}.
+	 */
+	@Test
+	public void ofName()
+	{
+		Entity actualEntity = Entity.ofName("DownArrowBar");
+
+		assertThat(actualEntity).isEqualTo(Entity.DOWNARROWBAR);
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofName(CharSequence)} с именем в другом регистре.
+	 */
+	@Test
+	public void ofNameCase()
+	{
+		assertThat(Entity.ofName("aacute")).isEqualTo(Entity.AACUTE2);
+		assertThat(Entity.ofName("Aacute")).isEqualTo(Entity.AACUTE);
+		assertThat(Entity.ofName("AACUTE")).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofName(CharSequence)} с неизвестным именем.
+	 */
+	@Test
+	public void ofNameNotCorrect()
+	{
+		assertThat(Entity.ofName("unknown")).isNull();
+		assertThat(Entity.ofName("")).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofName(CharSequence)} с именем, которое имеют несколько HTML-сущностей.
+	 */
+	@Test
+	public void ofNameDuplicate()
+	{
+		Entity actualEntity = Entity.ofName("permil");
+
+		assertThat(actualEntity).isEqualTo(Entity.PERMIL);
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofName(CharSequence, int, int)}.
+	 */
+	@Test
+	public void ofNameRegion()
+	{
+		Entity actualEntity = Entity.ofName("a &lt; b", 3, 5);
+
+		assertThat(actualEntity).isEqualTo(Entity.LT);
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofCodePoint(int)}.
+	 */
+	@Test
+	public void ofCodePoint()
+	{
+		assertThat(Entity.ofCodePoint('#')).isEqualTo(Entity.NUM);
+		assertThat(Entity.ofCodePoint(8212)).isEqualTo(Entity.MDASH);
+		assertThat(Entity.ofCodePoint('a')).isNull();
+		assertThat(Entity.ofCodePoint(-1)).isNull();
+		assertThat(Entity.ofCodePoint(Integer.MAX_VALUE)).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofNumeric(CharSequence, int, int)}.
+	 */
+	@Test
+	public void ofNumeric()
+	{
+		assertThat(Entity.ofNumeric("&#35;", 2, 4)).isEqualTo(Entity.NUM);
+		assertThat(Entity.ofNumeric("0008212", 0, 7)).isEqualTo(Entity.MDASH);
+		assertThat(Entity.ofNumeric("99999999999", 0, 11)).isNull();
+		assertThat(Entity.ofNumeric("3A", 0, 2)).isNull();
+		assertThat(Entity.ofNumeric("35", 1, 1)).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Entity#ofUnicode(CharSequence, int, int)}.
+	 */
+	@Test
+	public void ofUnicode()
+	{
+		assertThat(Entity.ofUnicode("&#X23;", 3, 5)).isEqualTo(Entity.NUM);
+		assertThat(Entity.ofUnicode("002014", 0, 6)).isEqualTo(Entity.MDASH);
+		assertThat(Entity.ofUnicode("3c", 0, 2)).isEqualTo(Entity.LT);
+		assertThat(Entity.ofUnicode("FFFFFFFFFF", 0, 10)).isNull();
+		assertThat(Entity.ofUnicode("3G", 0, 2)).isNull();
+	}
+}
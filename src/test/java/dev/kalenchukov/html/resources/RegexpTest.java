@@ -27,10 +27,12 @@ package dev.kalenchukov.html.resources;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 /**
  * Класс проверки констант и методов перечисления {@link Regexp}.
@@ -52,6 +54,23 @@ public class RegexpTest
 		assertThat(actualGroup).isEqualTo("comment");
 	}
 
+	/**
+	 * Проверка метода {@link Regexp#getGroups()}.
+	 */
+	@Test
+	public void getGroups()
+	{
+		assertThat(Regexp.CLOSE_TAG.getGroups()).containsExactly("tag", "name");
+		assertThat(Regexp.DOCTYPE.getGroups()).containsExactly(
+			"doctype", "rootElement", "public", "dtd", "registration",
+			"organization", "documentType", "language", "url"
+		);
+
+		for (Regexp regexp : Regexp.values()) {
+			assertThat(regexp.getGroups()).first().isEqualTo(regexp.getGroup());
+		}
+	}
+
 	/**
 	 * Проверка метода {@link Regexp#getPattern()}.
 	 */
@@ -284,5 +303,63 @@ public class RegexpTest
 			assertThat(actualGroup1).isEqualTo("<![CDATA[ Текст ]]>");
 			assertThat(actualGroup2).isEqualTo(" Текст ");
 		}
+
+		/**
+		 * Проверка регулярного выражения константы {@link Regexp#SELF_CLOSING_TAG}
+		 * со значением параметра без кавычек, которое заканчивается символом {@literal «/»}.
+		 */
+		@Test
+		public void selfClosingTagSlash()
+		{
+			String value = "<br x=a//>";
+			Pattern pattern = Pattern.compile(
+				Regexp.SELF_CLOSING_TAG.getPattern(),
+				Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE
+			);
+			Matcher matcher = pattern.matcher(value);
+			assertThat(matcher.matches()).isTrue();
+
+			String actualGroup = matcher.group("params");
+
+			assertThat(actualGroup).isEqualTo(" x=a/");
+		}
+
+		/**
+		 * Проверка регулярных выражений констант {@link Regexp} на текстах,
+		 * вызывающих многократный возврат при поиске.
+		 */
+		@Test
+		public void patternLinear()
+		{
+			int length = 200_000;
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+				assertThat(find(Regexp.COMMENT, "<!--" + "x".repeat(length) + "-->")).isTrue();
+				assertThat(find(Regexp.COMMENT, "<!--x".repeat(length / 5))).isFalse();
+				assertThat(find(Regexp.CDATA, "<![CDATA[" + "x".repeat(length) + "]]>")).isTrue();
+				assertThat(find(Regexp.OPEN_TAG, "<a" + " b=1".repeat(length / 4) + ">")).isTrue();
+				assertThat(find(Regexp.SELF_CLOSING_TAG, "<a" + " b=1".repeat(length / 4))).isFalse();
+				assertThat(find(Regexp.OPEN_TAG, "<a x='".repeat(length / 6))).isFalse();
+				assertThat(find(Regexp.ENTITY_NAME, "&".repeat(length))).isFalse();
+				assertThat(find(Regexp.ENTITY_NAME, "&a" + "b".repeat(length))).isFalse();
+				assertThat(find(Regexp.ENTITY_UNICODE, "&#x" + "0".repeat(length) + "g")).isFalse();
+				assertThat(find(Regexp.ENTITY_NUMERIC, "&#" + "0".repeat(length) + "g")).isFalse();
+			});
+		}
+
+		/**
+		 * Ищет в тексте совпадение с регулярным выражением.
+		 *
+		 * @param regexp регулярное выражение.
+		 * @param value текст.
+		 * @return {@code true}, если совпадение найдено, иначе {@code false}.
+		 */
+		private static boolean find(final Regexp regexp, final String value)
+		{
+			return Pattern.compile(
+				regexp.getPattern(),
+				Pattern.UNICODE_CASE + Pattern.CASE_INSENSITIVE + Pattern.DOTALL
+			).matcher(value).find();
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2022-2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.html.resources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки констант и методов перечисления {@link Tag}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class TagTest
+{
+	/**
+	 * Проверка метода {@link Tag#getName()}.
+	 */
+	@Test
+	public void getName()
+	{
+		Tag tag = Tag.H1;
+
+		String actualName = tag.getName();
+
+		assertThat(actualName).isEqualTo("h1");
+	}
+
+	/**
+	 * Проверка метода {@link Tag#ofName(CharSequence)}.
+	 */
+	@Test
+	public void ofName()
+	{
+		assertThat(Tag.ofName("blockquote")).isEqualTo(Tag.BLOCKQUOTE);
+		assertThat(Tag.ofName("BlockQuote")).isEqualTo(Tag.BLOCKQUOTE);
+		assertThat(Tag.ofName("H1")).isEqualTo(Tag.H1);
+		assertThat(Tag.ofName("\u212Abd")).isEqualTo(Tag.KBD);
+	}
+
+	/**
+	 * Проверка метода {@link Tag#ofName(CharSequence)} с неизвестным названием.
+	 */
+	@Test
+	public void ofNameNotCorrect()
+	{
+		assertThat(Tag.ofName("unknown")).isNull();
+		assertThat(Tag.ofName("")).isNull();
+		assertThat(Tag.ofName("h7")).isNull();
+	}
+
+	/**
+	 * Проверка метода {@link Tag#ofName(CharSequence, int, int)}.
+	 */
+	@Test
+	public void ofNameRegion()
+	{
+		Tag actualTag = Tag.ofName("<DIV class=a>", 1, 4);
+
+		assertThat(actualTag).isEqualTo(Tag.DIV);
+	}
+}